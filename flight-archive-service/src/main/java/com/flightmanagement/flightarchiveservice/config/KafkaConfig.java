@@ -1,8 +1,8 @@
 package com.flightmanagement.flightarchiveservice.config;
 
-import com.flightmanagement.flightarchiveservice.event.FlightEvent;
 import com.flightmanagement.flightarchiveservice.event.ReferenceEvent;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -26,9 +26,15 @@ public class KafkaConfig {
     @Value("${spring.kafka.consumer.group-id}")
     private String groupId;
 
+    // flight.events key'li (flight ID) yayınlandığından partition başına sıra korunur;
+    // concurrency partition sayısını geçmemeli
+    @Value("${kafka.flight-events.consumer.concurrency:3}")
+    private int flightEventConcurrency;
+
     // Flight Events Consumer Factory
+    // Value ham byte olarak alınır; FlightEventParser kaydı tek geçişte doğrudan FlightArchive'a okur
     @Bean
-    public ConsumerFactory<String, FlightEvent> flightEventConsumerFactory() {
+    public ConsumerFactory<String, byte[]> flightEventConsumerFactory() {
         Map<String, Object> configs = new HashMap<>();
         configs.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configs.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
@@ -38,14 +44,8 @@ public class KafkaConfig {
         // Key deserializer
         configs.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
 
-        // Value deserializer with error handling
-        configs.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
-        configs.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class.getName());
-
-        // JSON Deserializer settings
-        configs.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
-        configs.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
-        configs.put(JsonDeserializer.VALUE_DEFAULT_TYPE, FlightEvent.class.getName());
+        // Value deserializer: byte[] deserialization hata veremez, ErrorHandlingDeserializer gerekmez
+        configs.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
 
         return new DefaultKafkaConsumerFactory<>(configs);
     }
@@ -72,10 +72,11 @@ public class KafkaConfig {
 
     // Flight Events Listener Container Factory
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, FlightEvent> flightEventKafkaListenerContainerFactory() {
-        ConcurrentKafkaListenerContainerFactory<String, FlightEvent> factory =
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> flightEventKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(flightEventConsumerFactory());
+        factory.setConcurrency(flightEventConcurrency);
         factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
         factory.setCommonErrorHandler(new org.springframework.kafka.listener.DefaultErrorHandler());
         return factory;
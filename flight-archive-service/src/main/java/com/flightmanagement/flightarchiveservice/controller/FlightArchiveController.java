@@ -1,9 +1,12 @@
 package com.flightmanagement.flightarchiveservice.controller;
 
 import com.flightmanagement.flightarchiveservice.dto.response.FlightArchiveResponse;
+import com.flightmanagement.flightarchiveservice.dto.response.FlightStateResponse;
 import com.flightmanagement.flightarchiveservice.dto.response.FlightStatsResponse;
+import com.flightmanagement.flightarchiveservice.dto.response.FlightTimelineResponse;
 import com.flightmanagement.flightarchiveservice.dto.response.PagedResponse;
 import com.flightmanagement.flightarchiveservice.service.FlightArchiveService;
+import com.flightmanagement.flightarchiveservice.service.FlightTimelineService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -12,6 +15,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -20,6 +24,7 @@ import java.util.List;
 public class FlightArchiveController {
 
     private final FlightArchiveService flightArchiveService;
+    private final FlightTimelineService flightTimelineService;
 
     @GetMapping("/flights/history")
     public ResponseEntity<List<FlightArchiveResponse>> getFlightHistory(
@@ -87,5 +92,46 @@ public class FlightArchiveController {
         return ResponseEntity.ok(stats);
     }
 
+    // ===============================
+    // FLIGHT TIMELINE
+    // ===============================
+
+    @GetMapping("/flights/{flightId}/timeline")
+    public ResponseEntity<FlightTimelineResponse> getFlightTimeline(@PathVariable Long flightId) {
+        return flightTimelineService.getTimeline(flightId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/flights/timeline")
+    public ResponseEntity<FlightTimelineResponse> getFlightTimeline(
+            @RequestParam String flightNumber,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+
+        return flightTimelineService.getTimeline(flightNumber, date)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/flights/{flightId}/timeline/at")
+    public ResponseEntity<FlightStateResponse> getFlightStateAt(
+            @PathVariable Long flightId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime time) {
+
+        return flightTimelineService.getStateAt(flightId, time)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/flights/{flightId}/timeline/transitions")
+    public ResponseEntity<List<FlightStateResponse>> getFlightTransitions(
+            @PathVariable Long flightId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+
+        List<FlightStateResponse> transitions = flightTimelineService.getTransitions(flightId, from, to);
+        return ResponseEntity.ok(transitions);
+    }
+
 
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.flightmanagement.flightarchiveservice.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Timeline'daki tek bir durum snapshot'ı; validTo null ise güncel durumdur
+ */
+@Data
+public class FlightStateResponse {
+    private String eventId;
+    private String eventType;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime validFrom;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime validTo;
+
+    private Integer durationMinutes;
+
+    private String status;
+    private String previousStatus;
+    private Integer delayMinutes;
+    private String delayReason;
+    private String gateNumber;
+    private Long aircraftId;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm")
+    private LocalDateTime scheduledDeparture;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm")
+    private LocalDateTime scheduledArrival;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm")
+    private LocalDateTime actualDeparture;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm")
+    private LocalDateTime actualArrival;
+}
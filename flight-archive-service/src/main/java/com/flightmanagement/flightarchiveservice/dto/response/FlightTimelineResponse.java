@@ -0,0 +1,57 @@
+package com.flightmanagement.flightarchiveservice.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class FlightTimelineResponse {
+    private Long flightId;
+    private String flightNumber;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate flightDate;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm")
+    private LocalDateTime scheduledDeparture;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm")
+    private LocalDateTime scheduledArrival;
+
+    private String currentStatus;
+    private Integer transitionCount;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime firstEventTime;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime lastEventTime;
+
+    // Milestones
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm")
+    private LocalDateTime boardingAt;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm")
+    private LocalDateTime departedAt;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm")
+    private LocalDateTime arrivedAt;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm")
+    private LocalDateTime cancelledAt;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm")
+    private LocalDateTime removedAt;
+
+    // Phase durations (minutes)
+    private Integer scheduledPhaseMinutes;
+    private Integer boardingPhaseMinutes;
+    private Integer airborneMinutes;
+    private Integer departureDelayMinutes;
+    private Integer arrivalDelayMinutes;
+
+    private List<FlightStateResponse> transitions;
+}
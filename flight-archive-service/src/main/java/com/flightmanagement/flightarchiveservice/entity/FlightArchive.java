@@ -117,9 +117,14 @@ public class FlightArchive {
     private Boolean active;
 
     // JSON payload for complete event data
+    // Sıkıştırılmış modda null kalır; okuma getPayload() üzerinden şeffaftır
     @Column(columnDefinition = "TEXT")
     private String payload;
 
+    // PayloadCodec formatında sıkıştırılmış payload (archive.payload.storage=compressed)
+    @Column(name = "payload_compressed")
+    private byte[] payloadCompressed;
+
     @Column
     private String version;
 
@@ -127,6 +132,27 @@ public class FlightArchive {
     private LocalDateTime archivedAt;
 
     // Helper methods
+
+    /**
+     * Düz ya da sıkıştırılmış kolondan payload JSON'ı (eski kayıtlar düz TEXT olarak kalır)
+     */
+    public String getPayload() {
+        if (payload == null && payloadCompressed != null) {
+            return PayloadCodec.decompress(payloadCompressed);
+        }
+        return payload;
+    }
+
+    /**
+     * Payload'ı sıkıştırılmış kolona taşır; düz kolon boşaltılır
+     */
+    public void compressPayload() {
+        if (payload != null) {
+            payloadCompressed = PayloadCodec.compress(payload);
+            payload = null;
+        }
+    }
+
     public boolean isDelayed() {
         return delayMinutes != null && delayMinutes > 0;
     }
@@ -0,0 +1,102 @@
+package com.flightmanagement.flightarchiveservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Uçuş başına timeline özeti: güncel durum, milestone zamanları ve faz süreleri.
+ * Ingestion sırasında FlightTimelineService tarafından artımlı olarak güncellenir.
+ */
+@Entity
+@Table(name = "flight_timelines")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightTimeline {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private Long flightId;
+
+    @Column
+    private String flightNumber;
+
+    @Column
+    private LocalDate flightDate;
+
+    @Column
+    private LocalDateTime scheduledDeparture;
+
+    @Column
+    private LocalDateTime scheduledArrival;
+
+    @Column
+    private String currentStatus;
+
+    @Column(nullable = false)
+    private LocalDateTime firstEventTime;
+
+    @Column(nullable = false)
+    private LocalDateTime lastEventTime;
+
+    // Milestone'lar (actual zamanlar varsa onlar, yoksa ilgili status event'inin zamanı)
+    @Column
+    private LocalDateTime boardingAt;
+
+    @Column
+    private LocalDateTime departedAt;
+
+    @Column
+    private LocalDateTime arrivedAt;
+
+    @Column
+    private LocalDateTime cancelledAt;
+
+    // Uçuşun (veya segment'in) silindiği an
+    @Column
+    private LocalDateTime removedAt;
+
+    @Column(nullable = false)
+    private Integer transitionCount;
+
+    // Faz süreleri (dakika): scheduled → boarding → departed → arrived
+    @Column
+    private Integer scheduledPhaseMinutes;
+
+    @Column
+    private Integer boardingPhaseMinutes;
+
+    @Column
+    private Integer airborneMinutes;
+
+    @Column
+    private Integer departureDelayMinutes;
+
+    @Column
+    private Integer arrivalDelayMinutes;
+
+    // Helper methods
+    public void recomputeDurations() {
+        LocalDateTime scheduledPhaseEnd = boardingAt != null ? boardingAt : departedAt;
+        scheduledPhaseMinutes = minutesBetween(firstEventTime, scheduledPhaseEnd);
+        boardingPhaseMinutes = minutesBetween(boardingAt, departedAt);
+        airborneMinutes = minutesBetween(departedAt, arrivedAt);
+        departureDelayMinutes = minutesBetween(scheduledDeparture, departedAt);
+        arrivalDelayMinutes = minutesBetween(scheduledArrival, arrivedAt);
+    }
+
+    private static Integer minutesBetween(LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null) {
+            return null;
+        }
+        return (int) Duration.between(start, end).toMinutes();
+    }
+}
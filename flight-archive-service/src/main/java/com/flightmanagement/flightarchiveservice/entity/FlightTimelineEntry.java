@@ -0,0 +1,76 @@
+package com.flightmanagement.flightarchiveservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Bir uçuşun [validFrom, validTo) aralığında geçerli durum snapshot'ı. validTo null ise güncel durumdur.
+ * (flight_id, valid_from) index'i ile "T anındaki durum" tek index seek'tir.
+ */
+@Entity
+@Table(name = "flight_timeline_entries")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightTimelineEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long flightId;
+
+    @Column(nullable = false, unique = true)
+    private String eventId;
+
+    @Column(nullable = false)
+    private String eventType;
+
+    @Column(nullable = false)
+    private LocalDateTime validFrom;
+
+    @Column
+    private LocalDateTime validTo;
+
+    @Column
+    private String status;
+
+    @Column
+    private String previousStatus;
+
+    @Column
+    private Integer delayMinutes;
+
+    @Column
+    private String delayReason;
+
+    @Column
+    private String gateNumber;
+
+    @Column
+    private Long aircraftId;
+
+    @Column
+    private LocalDateTime scheduledDeparture;
+
+    @Column
+    private LocalDateTime scheduledArrival;
+
+    @Column
+    private LocalDateTime actualDeparture;
+
+    @Column
+    private LocalDateTime actualArrival;
+
+    // Helper methods
+    public Integer getDurationMinutes() {
+        if (validTo == null) {
+            return null;
+        }
+        return (int) java.time.Duration.between(validFrom, validTo).toMinutes();
+    }
+}
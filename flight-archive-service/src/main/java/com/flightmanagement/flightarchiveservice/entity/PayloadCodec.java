@@ -0,0 +1,98 @@
+package com.flightmanagement.flightarchiveservice.entity;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * flight_archives.payload_compressed kolonunun formatı.
+ *
+ * Payload'lar ~1 KB'lık, hep aynı iskelete sahip JSON'lardır (aynı key'ler, airline/aircraft/airport
+ * alt objeleri, status değerleri). Tek başına deflate bu boyutta zayıf kalır; bu yüzden flight-service
+ * payload'ının iskeletinden oluşan sabit bir preset dictionary kullanılır ve tekrar eden yapı
+ * neredeyse bedavaya sıkışır. PostgreSQL TOAST ~2 KB altındaki değerleri sıkıştırmadığından fark
+ * doğrudan tablo boyutuna yansır.
+ *
+ * Format: [1 byte format versiyonu][zlib stream]. Bir versiyonun dictionary'si yazıldıktan sonra
+ * değiştirilemez; yeni dictionary yeni versiyon numarasıyla eklenmeli.
+ */
+public final class PayloadCodec {
+
+    private static final byte FORMAT_DEFLATE_V1 = 1;
+
+    // Sık geçen parçalar sona yakın olmalı (deflate yakın referansları daha ucuza kodlar)
+    private static final byte[] DICTIONARY_V1 = (
+            "FLIGHT_CREATED FLIGHT_UPDATED FLIGHT_DELETED FLIGHT_DELAYED CONNECTING_FLIGHT_"
+                    + "CARGO POSITIONING FERRY DIVERTED CANCELLED A320 A321 A330 A350 B737 B738 B777 B787 "
+                    + "\"route\":{\"id\":,\"routeCode\":\"\",\"routePath\":\"\",\"distance\":,\"estimatedTime\":},"
+                    + "\"segmentNumber\":,\"parentFlightId\":,"
+                    + "\"delayReason\":\"WEATHER\",\"delayReason\":\"TECHNICAL\","
+                    + "\"status\":\"BOARDING\",\"status\":\"DEPARTED\",\"status\":\"DELAYED\",\"status\":\"ARRIVED\","
+                    + "{\"id\":,\"flightNumber\":\"\",\"flightDate\":[20,,],\"scheduledDeparture\":[20,,,,],"
+                    + "\"scheduledArrival\":[20,,,,],\"actualDeparture\":null,\"actualArrival\":null,"
+                    + "\"status\":\"SCHEDULED\",\"type\":\"PASSENGER\",\"passengerCount\":,\"cargoWeight\":,"
+                    + "\"gateNumber\":\"\",\"delayMinutes\":0,\"delayReason\":null,\"active\":true,"
+                    + "\"parentFlightId\":null,\"segmentNumber\":null,"
+                    + "\"airline\":{\"id\":,\"iataCode\":\"\",\"name\":\" Airlines\"},"
+                    + "\"aircraft\":{\"id\":,\"registrationNumber\":\"TC-\",\"aircraftType\":\"\"},"
+                    + "\"originAirport\":{\"id\":,\"iataCode\":\"\",\"name\":\" Airport\"},"
+                    + "\"destinationAirport\":{\"id\":,\"iataCode\":\"\",\"name\":\" International Airport\"},"
+                    + "\"route\":{\"id\":,\"routeCode\":\"")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private PayloadCodec() {
+    }
+
+    public static byte[] compress(String payload) {
+        byte[] input = payload.getBytes(StandardCharsets.UTF_8);
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setDictionary(DICTIONARY_V1);
+            deflater.setInput(input);
+            deflater.finish();
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length / 3 + 16);
+            out.write(FORMAT_DEFLATE_V1);
+            byte[] buffer = new byte[512];
+            while (!deflater.finished()) {
+                int length = deflater.deflate(buffer);
+                out.write(buffer, 0, length);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    public static String decompress(byte[] stored) {
+        if (stored.length == 0 || stored[0] != FORMAT_DEFLATE_V1) {
+            throw new IllegalStateException("Unknown compressed payload format: "
+                    + (stored.length == 0 ? "empty" : String.valueOf(stored[0])));
+        }
+
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(stored, 1, stored.length - 1);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(stored.length * 4);
+            byte[] buffer = new byte[1024];
+            while (!inflater.finished()) {
+                int length = inflater.inflate(buffer);
+                if (length == 0) {
+                    if (inflater.needsDictionary()) {
+                        inflater.setDictionary(DICTIONARY_V1);
+                    } else if (inflater.needsInput()) {
+                        throw new IllegalStateException("Truncated compressed payload");
+                    }
+                }
+                out.write(buffer, 0, length);
+            }
+            return out.toString(StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt compressed payload", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package com.flightmanagement.flightarchiveservice.event;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flightmanagement.flightarchiveservice.entity.FlightArchive;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * flight.events kaydını (ham JSON byte'ları) tek geçişte okuyup doğrudan FlightArchive'a yazar.
+ *
+ * FlightEvent + iç içe Map'lere deserialize edip payload'ı tekrar JSON'a çevirmek yerine streaming
+ * parser kullanılır: tipli alanlar token'lardan okunur, payload kolonu orijinal byte'ların
+ * payload dilimiyle aynen doldurulur. Tarihler flight-service'in gönderdiği array formatında
+ * ([yyyy, MM, dd, HH, mm, ss, nanos]) ya da ISO string olarak kabul edilir.
+ */
+@Component
+@Slf4j
+public class FlightEventParser {
+
+    private static final int DATE_TIME_PARTS = 7;
+
+    private final JsonFactory jsonFactory;
+
+    public FlightEventParser(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    /**
+     * Event metadata'sı, payload'daki uçuş alanları ve ham payload set edilmiş bir FlightArchive döner.
+     * Kayıt JSON object değilse IOException fırlatır.
+     */
+    public FlightArchive parse(byte[] rawEvent) throws IOException {
+        FlightArchive archive = new FlightArchive();
+
+        try (JsonParser parser = jsonFactory.createParser(rawEvent)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Flight event must be a JSON object");
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+
+                switch (field) {
+                    case "eventId":
+                        archive.setEventId(readString(parser));
+                        break;
+                    case "eventType":
+                        archive.setEventType(readString(parser));
+                        break;
+                    case "eventTime":
+                        archive.setEventTime(readDateTime(parser));
+                        break;
+                    case "entityType":
+                        archive.setEntityType(readString(parser));
+                        break;
+                    case "entityId":
+                        archive.setEntityId(readString(parser));
+                        break;
+                    case "version":
+                        archive.setVersion(readString(parser));
+                        break;
+                    case "payload":
+                        readPayload(parser, rawEvent, archive);
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+        }
+
+        archive.setArchivedAt(LocalDateTime.now());
+        return archive;
+    }
+
+    private void readPayload(JsonParser parser, byte[] rawEvent, FlightArchive archive) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return;
+        }
+
+        int start = (int) parser.currentTokenLocation().getByteOffset();
+        if (parser.currentToken() == JsonToken.START_OBJECT) {
+            readFlight(parser, archive);
+        } else {
+            parser.skipChildren();
+        }
+        int end = (int) parser.currentLocation().getByteOffset();
+
+        archive.setPayload(new String(rawEvent, start, end - start, StandardCharsets.UTF_8));
+    }
+
+    private void readFlight(JsonParser parser, FlightArchive archive) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+
+            switch (field) {
+                case "id":
+                    archive.setFlightId(readLong(parser));
+                    break;
+                case "flightNumber":
+                    archive.setFlightNumber(readString(parser));
+                    break;
+                case "flightDate":
+                    archive.setFlightDate(readDate(parser));
+                    break;
+                case "scheduledDeparture":
+                    archive.setScheduledDeparture(readDateTime(parser));
+                    break;
+                case "scheduledArrival":
+                    archive.setScheduledArrival(readDateTime(parser));
+                    break;
+                case "actualDeparture":
+                    archive.setActualDeparture(readDateTime(parser));
+                    break;
+                case "actualArrival":
+                    archive.setActualArrival(readDateTime(parser));
+                    break;
+                case "status":
+                    archive.setStatus(readString(parser));
+                    break;
+                case "type":
+                    archive.setFlightType(readString(parser));
+                    break;
+                case "passengerCount":
+                    archive.setPassengerCount(readInteger(parser));
+                    break;
+                case "cargoWeight":
+                    archive.setCargoWeight(readInteger(parser));
+                    break;
+                case "gateNumber":
+                    archive.setGateNumber(readString(parser));
+                    break;
+                case "delayMinutes":
+                    archive.setDelayMinutes(readInteger(parser));
+                    break;
+                case "delayReason":
+                    archive.setDelayReason(readString(parser));
+                    break;
+                case "active":
+                    archive.setActive(readBoolean(parser));
+                    break;
+                case "airline":
+                    readAirline(parser, archive);
+                    break;
+                case "aircraft":
+                    readAircraft(parser, archive);
+                    break;
+                case "originAirport":
+                    readAirport(parser, archive, true);
+                    break;
+                case "destinationAirport":
+                    readAirport(parser, archive, false);
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+    }
+
+    private void readAirline(JsonParser parser, FlightArchive archive) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+
+            switch (field) {
+                case "id":
+                    archive.setAirlineId(readLong(parser));
+                    break;
+                case "name":
+                    archive.setAirlineName(readString(parser));
+                    break;
+                case "iataCode":
+                    archive.setAirlineIataCode(readString(parser));
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+    }
+
+    private void readAircraft(JsonParser parser, FlightArchive archive) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+
+            switch (field) {
+                case "id":
+                    archive.setAircraftId(readLong(parser));
+                    break;
+                case "registrationNumber":
+                    archive.setAircraftRegistration(readString(parser));
+                    break;
+                case "aircraftType":
+                    archive.setAircraftType(readString(parser));
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+    }
+
+    private void readAirport(JsonParser parser, FlightArchive archive, boolean origin) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+
+            switch (field) {
+                case "id":
+                    Long id = readLong(parser);
+                    if (origin) archive.setOriginAirportId(id); else archive.setDestinationAirportId(id);
+                    break;
+                case "iataCode":
+                    String iataCode = readString(parser);
+                    if (origin) archive.setOriginAirportIata(iataCode); else archive.setDestinationAirportIata(iataCode);
+                    break;
+                case "name":
+                    String name = readString(parser);
+                    if (origin) archive.setOriginAirportName(name); else archive.setDestinationAirportName(name);
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+    }
+
+    // ===============================
+    // VALUE READERS
+    // ===============================
+
+    /**
+     * Scalar değerler metin olarak alınır (eski Map yolundaki toString davranışı); object/array atlanır
+     */
+    private String readString(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token.isScalarValue()) {
+            return parser.getText();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    private Long readLong(JsonParser parser) throws IOException {
+        if (parser.currentToken().isNumeric()) {
+            return parser.getLongValue();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    private Integer readInteger(JsonParser parser) throws IOException {
+        if (parser.currentToken().isNumeric()) {
+            return parser.getIntValue();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    private Boolean readBoolean(JsonParser parser) throws IOException {
+        if (parser.currentToken().isBoolean()) {
+            return parser.getBooleanValue();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    private LocalDate readDate(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_ARRAY) {
+            int[] parts = new int[DATE_TIME_PARTS];
+            int size = readIntArray(parser, parts);
+            return size >= 3 ? LocalDate.of(parts[0], parts[1], parts[2]) : null;
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            try {
+                return LocalDate.parse(parser.getText());
+            } catch (DateTimeParseException e) {
+                log.warn("Failed to parse flight date: {}", parser.getText());
+                return null;
+            }
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    private LocalDateTime readDateTime(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_ARRAY) {
+            int[] parts = new int[DATE_TIME_PARTS];
+            int size = readIntArray(parser, parts);
+            if (size >= 5) {
+                // Eksik saniye/nanosaniye 0 kalır
+                return LocalDateTime.of(parts[0], parts[1], parts[2], parts[3], parts[4], parts[5], parts[6]);
+            }
+            if (size >= 3) {
+                // Sadece tarih: gün başlangıcı
+                return LocalDate.of(parts[0], parts[1], parts[2]).atStartOfDay();
+            }
+            return null;
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            try {
+                return LocalDateTime.parse(parser.getText());
+            } catch (DateTimeParseException e) {
+                log.warn("Failed to parse flight datetime: {}", parser.getText());
+                return null;
+            }
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    /**
+     * [yyyy, MM, dd, HH, mm, ss, nanos] array'ini parts'a okur, fazlasını atlar; okunan sayı adedini döner
+     */
+    private int readIntArray(JsonParser parser, int[] parts) throws IOException {
+        int size = 0;
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+            if (token.isNumeric() && size < parts.length) {
+                parts[size++] = parser.getIntValue();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return size;
+    }
+}
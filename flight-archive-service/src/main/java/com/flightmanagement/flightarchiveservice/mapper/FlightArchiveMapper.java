@@ -2,6 +2,7 @@ package com.flightmanagement.flightarchiveservice.mapper;
 
 import com.flightmanagement.flightarchiveservice.dto.response.FlightArchiveResponse;
 import com.flightmanagement.flightarchiveservice.entity.FlightArchive;
+import com.flightmanagement.flightarchiveservice.repository.projection.FlightArchiveView;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -13,4 +14,10 @@ public interface FlightArchiveMapper {
     @Mapping(expression = "java(archive.isCancelled())", target = "isCancelled")
     @Mapping(expression = "java(archive.getFlightDuration())", target = "flightDuration")
     FlightArchiveResponse toResponse(FlightArchive archive);
+
+    @Mapping(expression = "java(view.isDelayed())", target = "isDelayed")
+    @Mapping(expression = "java(view.isCompleted())", target = "isCompleted")
+    @Mapping(expression = "java(view.isCancelled())", target = "isCancelled")
+    @Mapping(expression = "java(view.getFlightDuration())", target = "flightDuration")
+    FlightArchiveResponse toResponse(FlightArchiveView view);
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.flightmanagement.flightarchiveservice.mapper;
+
+import com.flightmanagement.flightarchiveservice.dto.response.FlightStateResponse;
+import com.flightmanagement.flightarchiveservice.dto.response.FlightTimelineResponse;
+import com.flightmanagement.flightarchiveservice.entity.FlightTimeline;
+import com.flightmanagement.flightarchiveservice.entity.FlightTimelineEntry;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface FlightTimelineMapper {
+
+    @Mapping(target = "transitions", ignore = true)
+    FlightTimelineResponse toResponse(FlightTimeline timeline);
+
+    @Mapping(expression = "java(entry.getDurationMinutes())", target = "durationMinutes")
+    FlightStateResponse toStateResponse(FlightTimelineEntry entry);
+}
@@ -1,9 +1,12 @@
 package com.flightmanagement.flightarchiveservice.repository;
 
 import com.flightmanagement.flightarchiveservice.entity.FlightArchive;
+import com.flightmanagement.flightarchiveservice.repository.projection.FlightArchiveView;
+import com.flightmanagement.flightarchiveservice.repository.projection.FlightStatsView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -48,27 +51,30 @@ public interface FlightArchiveRepository extends JpaRepository<FlightArchive, Lo
     List<FlightArchive> findDelayedFlightsByDate(@Param("minutes") Integer minutes, @Param("date") LocalDate date);
 
     // İstatistik sorguları
-    @Query("SELECT COUNT(f) FROM FlightArchive f WHERE f.flightDate = :date")
-    Long countByFlightDate(@Param("date") LocalDate date);
-
     @Query("SELECT COUNT(f) FROM FlightArchive f WHERE f.airlineId = :airlineId AND f.flightDate = :date")
     Long countByAirlineAndDate(@Param("airlineId") Long airlineId, @Param("date") LocalDate date);
 
-    @Query("SELECT COUNT(f) FROM FlightArchive f WHERE f.status = :status AND f.flightDate = :date")
-    Long countByStatusAndDate(@Param("status") String status, @Param("date") LocalDate date);
-
-    @Query("SELECT AVG(f.delayMinutes) FROM FlightArchive f WHERE f.delayMinutes > 0 AND f.flightDate = :date")
-    Double getAverageDelayByDate(@Param("date") LocalDate date);
-
-    @Query("SELECT COUNT(f) FROM FlightArchive f WHERE f.delayMinutes > 0 AND f.flightDate = :date")
-    Long countDelayedFlightsByDate(@Param("date") LocalDate date);
+    // Tek geçişte tüm günlük sayaçlar (idx_flight_date üzerinden)
+    @Query("SELECT COUNT(f) AS totalFlights, " +
+            "SUM(CASE WHEN f.status = 'ARRIVED' THEN 1 ELSE 0 END) AS arrivedFlights, " +
+            "SUM(CASE WHEN f.status = 'DEPARTED' THEN 1 ELSE 0 END) AS departedFlights, " +
+            "SUM(CASE WHEN f.status = 'CANCELLED' THEN 1 ELSE 0 END) AS cancelledFlights, " +
+            "SUM(CASE WHEN f.delayMinutes > 0 THEN 1 ELSE 0 END) AS delayedFlights, " +
+            "AVG(CASE WHEN f.delayMinutes > 0 THEN f.delayMinutes END) AS averageDelayMinutes " +
+            "FROM FlightArchive f WHERE f.flightDate = :date")
+    FlightStatsView getStatisticsByDate(@Param("date") LocalDate date);
 
     // Temizlik sorguları
+    @Modifying
     @Query("DELETE FROM FlightArchive f WHERE f.archivedAt < :cutoffDate")
     void deleteArchivedBefore(@Param("cutoffDate") LocalDateTime cutoffDate);
 
-    // En son kayıtlar
-    List<FlightArchive> findTop10ByOrderByEventTimeDesc();
+    // Liste endpoint'leri: payload kolonlarını okumayan projection sorguları
+    List<FlightArchiveView> findViewsByFlightNumberAndFlightDate(String flightNumber, LocalDate flightDate);
+    Page<FlightArchiveView> findViewsByFlightDateBetween(LocalDate startDate, LocalDate endDate, Pageable pageable);
+    List<FlightArchiveView> findViewsByAirlineIdAndFlightDateBetween(Long airlineId, LocalDate startDate, LocalDate endDate);
+    List<FlightArchiveView> findViewsByFlightDateAndDelayMinutesGreaterThan(LocalDate flightDate, Integer minutes);
+    List<FlightArchiveView> findTop10ViewsByOrderByEventTimeDesc();
 
     // Duplicate check
     boolean existsByEventId(String eventId);
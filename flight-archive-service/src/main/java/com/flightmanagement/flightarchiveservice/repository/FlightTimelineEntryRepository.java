@@ -0,0 +1,30 @@
+package com.flightmanagement.flightarchiveservice.repository;
+
+import com.flightmanagement.flightarchiveservice.entity.FlightTimelineEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Tüm sorgular (flight_id, valid_from) index'i üzerinden çalışır: nokta sorguları tek seek,
+ * transition listesi tek range scan.
+ */
+@Repository
+public interface FlightTimelineEntryRepository extends JpaRepository<FlightTimelineEntry, Long> {
+
+    // T anında geçerli snapshot (validFrom <= T olan en son kayıt)
+    Optional<FlightTimelineEntry> findFirstByFlightIdAndValidFromLessThanEqualOrderByValidFromDescIdDesc(
+            Long flightId, LocalDateTime time);
+
+    // T'den sonraki ilk snapshot (sırasız gelen event'i araya yerleştirmek için)
+    Optional<FlightTimelineEntry> findFirstByFlightIdAndValidFromGreaterThanOrderByValidFromAscIdAsc(
+            Long flightId, LocalDateTime time);
+
+    List<FlightTimelineEntry> findByFlightIdOrderByValidFromAscIdAsc(Long flightId);
+
+    List<FlightTimelineEntry> findByFlightIdAndValidFromBetweenOrderByValidFromAscIdAsc(
+            Long flightId, LocalDateTime from, LocalDateTime to);
+}
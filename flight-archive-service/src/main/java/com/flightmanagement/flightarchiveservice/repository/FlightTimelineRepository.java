@@ -0,0 +1,17 @@
+package com.flightmanagement.flightarchiveservice.repository;
+
+import com.flightmanagement.flightarchiveservice.entity.FlightTimeline;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+@Repository
+public interface FlightTimelineRepository extends JpaRepository<FlightTimeline, Long> {
+
+    Optional<FlightTimeline> findByFlightId(Long flightId);
+
+    // Aynı numara/tarih yeniden oluşturulmuş bir uçuşa ait olabilir; en son güncelleneni al
+    Optional<FlightTimeline> findFirstByFlightNumberAndFlightDateOrderByLastEventTimeDesc(String flightNumber, LocalDate flightDate);
+}
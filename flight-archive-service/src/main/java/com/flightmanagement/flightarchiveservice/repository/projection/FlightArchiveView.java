@@ -0,0 +1,77 @@
+package com.flightmanagement.flightarchiveservice.repository.projection;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Liste endpoint'leri için FlightArchive projection'ı.
+ *
+ * Kapalı (closed) projection olduğundan Spring Data yalnızca buradaki kolonları SELECT eder;
+ * payload / payload_compressed kolonları okunmaz ve entity persistence context'e alınmaz.
+ * Default method'lar kolon sayılmaz, FlightArchive'daki helper'larla aynı hesaplamayı yapar.
+ */
+public interface FlightArchiveView {
+
+    Long getId();
+    String getEventId();
+    String getEventType();
+    LocalDateTime getEventTime();
+    String getEntityType();
+    String getEntityId();
+
+    // Flight details
+    String getFlightNumber();
+    Long getFlightId();
+    Long getAirlineId();
+    String getAirlineName();
+    String getAirlineIataCode();
+    Long getAircraftId();
+    String getAircraftRegistration();
+    String getAircraftType();
+    Long getOriginAirportId();
+    String getOriginAirportIata();
+    String getOriginAirportName();
+    Long getDestinationAirportId();
+    String getDestinationAirportIata();
+    String getDestinationAirportName();
+
+    LocalDate getFlightDate();
+    LocalDateTime getScheduledDeparture();
+    LocalDateTime getScheduledArrival();
+    LocalDateTime getActualDeparture();
+    LocalDateTime getActualArrival();
+
+    String getStatus();
+    String getFlightType();
+    Integer getPassengerCount();
+    Integer getCargoWeight();
+    String getGateNumber();
+    Integer getDelayMinutes();
+    String getDelayReason();
+    Boolean getActive();
+    String getVersion();
+    LocalDateTime getArchivedAt();
+
+    // Helper methods
+    default boolean isDelayed() {
+        return getDelayMinutes() != null && getDelayMinutes() > 0;
+    }
+
+    default boolean isCompleted() {
+        return "ARRIVED".equals(getStatus());
+    }
+
+    default boolean isCancelled() {
+        return "CANCELLED".equals(getStatus());
+    }
+
+    default Integer getFlightDuration() {
+        if (getActualDeparture() != null && getActualArrival() != null) {
+            return (int) Duration.between(getActualDeparture(), getActualArrival()).toMinutes();
+        } else if (getScheduledDeparture() != null && getScheduledArrival() != null) {
+            return (int) Duration.between(getScheduledDeparture(), getScheduledArrival()).toMinutes();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,15 @@
+package com.flightmanagement.flightarchiveservice.repository.projection;
+
+/**
+ * Günlük istatistiklerin tek aggregate sorgudan dönen satırı.
+ * Boş günde SUM'lar null döner; null kontrolü servis tarafındadır.
+ */
+public interface FlightStatsView {
+
+    Long getTotalFlights();
+    Long getArrivedFlights();
+    Long getDepartedFlights();
+    Long getCancelledFlights();
+    Long getDelayedFlights();
+    Double getAverageDelayMinutes();
+}
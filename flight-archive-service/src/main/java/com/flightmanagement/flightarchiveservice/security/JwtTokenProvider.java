@@ -2,6 +2,9 @@ package com.flightmanagement.flightarchiveservice.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
@@ -14,6 +17,7 @@ import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Date;
 import java.util.stream.Collectors;
 
 @Component
@@ -23,17 +27,44 @@ public class JwtTokenProvider {
     @Value("${jwt.secret}")
     private String jwtSecret;
 
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    public void init() {
+        // Key ve parser thread-safe; her doğrulamada yeniden kurulmaz
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        return signingKey;
     }
 
     public boolean validateToken(String authToken) {
+        return parseVerifiedClaims(authToken) != null;
+    }
+
+    /**
+     * Token'ı tek parse ile doğrular ve principal'ı kurar; geçersiz token için null döner.
+     */
+    public VerifiedToken verifyToken(String authToken) {
+        Claims claims = parseVerifiedClaims(authToken);
+        if (claims == null) {
+            return null;
+        }
+        return new VerifiedToken(toUserDetails(claims), claims.getExpiration());
+    }
+
+    public UserDetails getUserDetailsFromToken(String token) {
+        return toUserDetails(jwtParser.parseClaimsJws(token).getBody());
+    }
+
+    private Claims parseVerifiedClaims(String authToken) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(authToken);
-            return true;
+            return jwtParser.parseClaimsJws(authToken).getBody();
         } catch (SecurityException ex) {
             log.error("Invalid JWT signature");
         } catch (MalformedJwtException ex) {
@@ -45,16 +76,10 @@ public class JwtTokenProvider {
         } catch (IllegalArgumentException ex) {
             log.error("JWT claims string is empty");
         }
-        return false;
+        return null;
     }
 
-    public UserDetails getUserDetailsFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-
+    private UserDetails toUserDetails(Claims claims) {
         String username = claims.getSubject();
         String roles = claims.get("roles", String.class);
 
@@ -64,4 +89,11 @@ public class JwtTokenProvider {
 
         return new User(username, "", authorities);
     }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class VerifiedToken {
+        private final UserDetails userDetails;
+        private final Date expiration;
+    }
 }
\ No newline at end of file
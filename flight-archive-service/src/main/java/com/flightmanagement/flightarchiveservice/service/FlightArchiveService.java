@@ -5,10 +5,13 @@ import com.flightmanagement.flightarchiveservice.dto.response.FlightArchiveRespo
 import com.flightmanagement.flightarchiveservice.dto.response.FlightStatsResponse;
 import com.flightmanagement.flightarchiveservice.entity.FlightArchive;
 import com.flightmanagement.flightarchiveservice.event.FlightEvent;
+import com.flightmanagement.flightarchiveservice.event.FlightEventParser;
 import com.flightmanagement.flightarchiveservice.mapper.FlightArchiveMapper;
 import com.flightmanagement.flightarchiveservice.repository.FlightArchiveRepository;
+import com.flightmanagement.flightarchiveservice.repository.projection.FlightStatsView;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -30,19 +33,29 @@ public class FlightArchiveService {
     private final FlightArchiveMapper flightArchiveMapper;
     private final ObjectMapper objectMapper;
     private final WebSocketMessageService webSocketMessageService;
+    private final FlightEventParser flightEventParser;
+    private final FlightTimelineService flightTimelineService;
+
+    // compressed: payload PayloadCodec ile sıkıştırılmış kolonda; json: düz TEXT (eski davranış)
+    @Value("${archive.payload.storage:compressed}")
+    private String payloadStorage;
+
+    // Event-sourced flight timeline projection'ı ingestion ile aynı transaction'da güncellenir
+    @Value("${archive.timeline.enabled:true}")
+    private boolean timelineEnabled;
 
     public FlightArchive archiveFlightEvent(FlightEvent event) {
         log.debug("Archiving flight event: {} for flight: {}", event.getEventType(), event.getEntityId());
 
-        // Duplicate check
-        if (flightArchiveRepository.existsByEventId(event.getEventId())) {
-            log.warn("Event already archived: {}", event.getEventId());
+        if (!shouldArchive(event.getEventId(), event.getEventType(), event.getEntityType())) {
             return null;
         }
 
         try {
             FlightArchive archive = mapEventToArchive(event);
+            applyPayloadStorage(archive);
             archive = flightArchiveRepository.save(archive);
+            applyToTimeline(archive);
             log.info("Flight event archived successfully: {}", event.getEventId());
             return archive;
         } catch (Exception e) {
@@ -52,9 +65,66 @@ public class FlightArchiveService {
 
     }
 
+    /**
+     * Kafka consumer yolu: ham kayıt FlightEventParser ile tek geçişte okunur, ara Map'ler ve
+     * payload'ın yeniden serialize edilmesi olmadan arşivlenir (payload kolonu orijinal byte'lar).
+     */
+    public FlightArchive archiveFlightEvent(byte[] rawEvent) {
+        FlightArchive archive;
+        try {
+            archive = flightEventParser.parse(rawEvent);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to parse flight event", e);
+        }
+        log.debug("Archiving flight event: {} for flight: {}", archive.getEventType(), archive.getEntityId());
+
+        if (!shouldArchive(archive.getEventId(), archive.getEventType(), archive.getEntityType())) {
+            return null;
+        }
+
+        try {
+            applyPayloadStorage(archive);
+            archive = flightArchiveRepository.save(archive);
+            applyToTimeline(archive);
+            log.info("Flight event archived successfully: {}", archive.getEventId());
+            return archive;
+        } catch (Exception e) {
+            log.error("Failed to archive flight event: {}", archive.getEventId(), e);
+            throw new RuntimeException("Failed to archive flight event", e);
+        }
+    }
+
+    private void applyToTimeline(FlightArchive archive) {
+        if (timelineEnabled) {
+            flightTimelineService.apply(archive);
+        }
+    }
+
+    private void applyPayloadStorage(FlightArchive archive) {
+        if ("compressed".equalsIgnoreCase(payloadStorage)) {
+            archive.compressPayload();
+        }
+    }
+
+    private boolean shouldArchive(String eventId, String eventType, String entityType) {
+        // Konsolide event'ler (ör. FLIGHT_DELAY_PROPAGATION) arşivlenmez; etkilenen her uçuş
+        // flight-service'ten ayrıca FLIGHT_DELAYED olarak gelir (archive + timeline satırı)
+        if (entityType != null && !"FLIGHT".equals(entityType)) {
+            log.debug("Skipping non-flight event: {} ({})", eventType, entityType);
+            return false;
+        }
+
+        // Duplicate check
+        if (flightArchiveRepository.existsByEventId(eventId)) {
+            log.warn("Event already archived: {}", eventId);
+            return false;
+        }
+        return true;
+    }
+
     public List<FlightArchiveResponse> getFlightHistory(String flightNumber, LocalDate date) {
         log.debug("Getting flight history for: {} on {}", flightNumber, date);
-        return flightArchiveRepository.findByFlightNumberAndFlightDate(flightNumber, date)
+        return flightArchiveRepository.findViewsByFlightNumberAndFlightDate(flightNumber, date)
                 .stream()
                 .map(flightArchiveMapper::toResponse)
                 .collect(Collectors.toList());
@@ -62,13 +132,13 @@ public class FlightArchiveService {
 
     public Page<FlightArchiveResponse> getFlightsByDateRange(LocalDate startDate, LocalDate endDate, Pageable pageable) {
         log.debug("Getting flights between {} and {}", startDate, endDate);
-        return flightArchiveRepository.findByFlightDateBetween(startDate, endDate, pageable)
+        return flightArchiveRepository.findViewsByFlightDateBetween(startDate, endDate, pageable)
                 .map(flightArchiveMapper::toResponse);
     }
 
     public List<FlightArchiveResponse> getFlightsByAirline(Long airlineId, LocalDate startDate, LocalDate endDate) {
         log.debug("Getting flights for airline: {} between {} and {}", airlineId, startDate, endDate);
-        return flightArchiveRepository.findByAirlineIdAndFlightDateBetween(airlineId, startDate, endDate)
+        return flightArchiveRepository.findViewsByAirlineIdAndFlightDateBetween(airlineId, startDate, endDate)
                 .stream()
                 .map(flightArchiveMapper::toResponse)
                 .collect(Collectors.toList());
@@ -76,7 +146,7 @@ public class FlightArchiveService {
 
     public List<FlightArchiveResponse> getDelayedFlights(Integer minDelayMinutes, LocalDate date) {
         log.debug("Getting flights delayed by more than {} minutes on {}", minDelayMinutes, date);
-        return flightArchiveRepository.findDelayedFlightsByDate(minDelayMinutes, date)
+        return flightArchiveRepository.findViewsByFlightDateAndDelayMinutesGreaterThan(date, minDelayMinutes)
                 .stream()
                 .map(flightArchiveMapper::toResponse)
                 .collect(Collectors.toList());
@@ -85,15 +155,17 @@ public class FlightArchiveService {
     public FlightStatsResponse getFlightStatistics(LocalDate date) {
         log.debug("Calculating flight statistics for: {}", date);
 
+        FlightStatsView view = flightArchiveRepository.getStatisticsByDate(date);
+
         FlightStatsResponse stats = new FlightStatsResponse();
         stats.setDate(date);
-        stats.setTotalFlights(flightArchiveRepository.countByFlightDate(date));
-        stats.setArrivedFlights(flightArchiveRepository.countByStatusAndDate("ARRIVED", date));
-        stats.setDepartedFlights(flightArchiveRepository.countByStatusAndDate("DEPARTED", date));
-        stats.setCancelledFlights(flightArchiveRepository.countByStatusAndDate("CANCELLED", date));
-        stats.setDelayedFlights(flightArchiveRepository.countDelayedFlightsByDate(date));
+        stats.setTotalFlights(orZero(view.getTotalFlights()));
+        stats.setArrivedFlights(orZero(view.getArrivedFlights()));
+        stats.setDepartedFlights(orZero(view.getDepartedFlights()));
+        stats.setCancelledFlights(orZero(view.getCancelledFlights()));
+        stats.setDelayedFlights(orZero(view.getDelayedFlights()));
 
-        Double avgDelay = flightArchiveRepository.getAverageDelayByDate(date);
+        Double avgDelay = view.getAverageDelayMinutes();
         stats.setAverageDelayMinutes(avgDelay != null ? avgDelay : 0.0);
 
         return stats;
@@ -101,7 +173,7 @@ public class FlightArchiveService {
 
     public List<FlightArchiveResponse> getRecentEvents(int limit) {
         log.debug("Getting {} most recent flight events", limit);
-        return flightArchiveRepository.findTop10ByOrderByEventTimeDesc()
+        return flightArchiveRepository.findTop10ViewsByOrderByEventTimeDesc()
                 .stream()
                 .limit(limit)
                 .map(flightArchiveMapper::toResponse)
@@ -277,6 +349,10 @@ public class FlightArchiveService {
     }
 
     // Helper methods for safe type conversion
+    private Long orZero(Long value) {
+        return value != null ? value : 0L;
+    }
+
     private String getStringValue(Map<String, Object> map, String key) {
         Object value = map.get(key);
         return value != null ? value.toString() : null;
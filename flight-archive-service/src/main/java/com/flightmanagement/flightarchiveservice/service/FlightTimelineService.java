@@ -0,0 +1,200 @@
+package com.flightmanagement.flightarchiveservice.service;
+
+import com.flightmanagement.flightarchiveservice.dto.response.FlightStateResponse;
+import com.flightmanagement.flightarchiveservice.dto.response.FlightTimelineResponse;
+import com.flightmanagement.flightarchiveservice.entity.FlightArchive;
+import com.flightmanagement.flightarchiveservice.entity.FlightTimeline;
+import com.flightmanagement.flightarchiveservice.entity.FlightTimelineEntry;
+import com.flightmanagement.flightarchiveservice.mapper.FlightTimelineMapper;
+import com.flightmanagement.flightarchiveservice.repository.FlightTimelineEntryRepository;
+import com.flightmanagement.flightarchiveservice.repository.FlightTimelineRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Uçuş başına event-sourced timeline projection'ı.
+ *
+ * Arşivlenen her flight event'i bir durum snapshot'ı olarak [validFrom, validTo) aralığıyla eklenir;
+ * önceki snapshot'ın aralığı kapatılır ve özet (güncel durum, milestone'lar, faz süreleri) güncellenir.
+ * Event'ler flight ID ile key'lendiğinden normalde sırayla gelir (append); eventTime'ı son snapshot'tan
+ * eski bir event gelirse önceki/sonraki snapshot arasına yerleştirilir. Her iki yol da index seek'tir,
+ * okumalar event tablosunu taramaz.
+ *
+ * Silme event'leri (FLIGHT_DELETED, SEGMENT_REMOVED, CONNECTING_FLIGHT_DELETED) REMOVED durumlu bir
+ * snapshot olarak eklenir; silme sonrasındaki bir an için getStateAt uçuşu kaldırılmış gösterir.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class FlightTimelineService {
+
+    public static final String REMOVED_STATUS = "REMOVED";
+
+    private static final Set<String> REMOVAL_EVENT_TYPES =
+            Set.of("FLIGHT_DELETED", "SEGMENT_REMOVED", "CONNECTING_FLIGHT_DELETED");
+
+    private final FlightTimelineRepository flightTimelineRepository;
+    private final FlightTimelineEntryRepository flightTimelineEntryRepository;
+    private final FlightTimelineMapper flightTimelineMapper;
+
+    /**
+     * Arşivlenen event'i projection'a uygular; FlightArchiveService ile aynı transaction'da çalışır
+     */
+    public void apply(FlightArchive archive) {
+        if (archive.getFlightId() == null || archive.getEventTime() == null) {
+            log.debug("Skipping timeline update for event without flight id/time: {}", archive.getEventId());
+            return;
+        }
+
+        LocalDateTime eventTime = archive.getEventTime();
+        FlightTimeline timeline = flightTimelineRepository.findByFlightId(archive.getFlightId()).orElse(null);
+        boolean latest = timeline == null || !eventTime.isBefore(timeline.getLastEventTime());
+
+        FlightTimelineEntry previous = flightTimelineEntryRepository
+                .findFirstByFlightIdAndValidFromLessThanEqualOrderByValidFromDescIdDesc(archive.getFlightId(), eventTime)
+                .orElse(null);
+        FlightTimelineEntry next = latest ? null : flightTimelineEntryRepository
+                .findFirstByFlightIdAndValidFromGreaterThanOrderByValidFromAscIdAsc(archive.getFlightId(), eventTime)
+                .orElse(null);
+
+        FlightTimelineEntry entry = toEntry(archive);
+        entry.setPreviousStatus(previous != null ? previous.getStatus() : null);
+        entry.setValidTo(next != null ? next.getValidFrom() : null);
+        flightTimelineEntryRepository.save(entry);
+
+        if (previous != null) {
+            previous.setValidTo(eventTime);
+            flightTimelineEntryRepository.save(previous);
+        }
+        if (next != null) {
+            next.setPreviousStatus(entry.getStatus());
+            flightTimelineEntryRepository.save(next);
+        }
+
+        flightTimelineRepository.save(updateSummary(timeline, archive, latest));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<FlightTimelineResponse> getTimeline(Long flightId) {
+        return flightTimelineRepository.findByFlightId(flightId).map(this::toResponse);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<FlightTimelineResponse> getTimeline(String flightNumber, LocalDate date) {
+        return flightTimelineRepository.findFirstByFlightNumberAndFlightDateOrderByLastEventTimeDesc(flightNumber, date)
+                .map(this::toResponse);
+    }
+
+    /**
+     * Uçuşun verilen andaki durumu; ilk event'ten önceyse boş döner
+     */
+    @Transactional(readOnly = true)
+    public Optional<FlightStateResponse> getStateAt(Long flightId, LocalDateTime time) {
+        return flightTimelineEntryRepository
+                .findFirstByFlightIdAndValidFromLessThanEqualOrderByValidFromDescIdDesc(flightId, time)
+                .map(flightTimelineMapper::toStateResponse);
+    }
+
+    @Transactional(readOnly = true)
+    public List<FlightStateResponse> getTransitions(Long flightId, LocalDateTime from, LocalDateTime to) {
+        List<FlightTimelineEntry> entries = from != null && to != null
+                ? flightTimelineEntryRepository.findByFlightIdAndValidFromBetweenOrderByValidFromAscIdAsc(flightId, from, to)
+                : flightTimelineEntryRepository.findByFlightIdOrderByValidFromAscIdAsc(flightId);
+        return entries.stream()
+                .map(flightTimelineMapper::toStateResponse)
+                .collect(Collectors.toList());
+    }
+
+    private FlightTimelineResponse toResponse(FlightTimeline timeline) {
+        FlightTimelineResponse response = flightTimelineMapper.toResponse(timeline);
+        response.setTransitions(getTransitions(timeline.getFlightId(), null, null));
+        return response;
+    }
+
+    private FlightTimelineEntry toEntry(FlightArchive archive) {
+        FlightTimelineEntry entry = new FlightTimelineEntry();
+        entry.setFlightId(archive.getFlightId());
+        entry.setEventId(archive.getEventId());
+        entry.setEventType(archive.getEventType());
+        entry.setValidFrom(archive.getEventTime());
+        entry.setStatus(statusOf(archive));
+        entry.setDelayMinutes(archive.getDelayMinutes());
+        entry.setDelayReason(archive.getDelayReason());
+        entry.setGateNumber(archive.getGateNumber());
+        entry.setAircraftId(archive.getAircraftId());
+        entry.setScheduledDeparture(archive.getScheduledDeparture());
+        entry.setScheduledArrival(archive.getScheduledArrival());
+        entry.setActualDeparture(archive.getActualDeparture());
+        entry.setActualArrival(archive.getActualArrival());
+        return entry;
+    }
+
+    private FlightTimeline updateSummary(FlightTimeline timeline, FlightArchive archive, boolean latest) {
+        LocalDateTime eventTime = archive.getEventTime();
+        if (timeline == null) {
+            timeline = new FlightTimeline();
+            timeline.setFlightId(archive.getFlightId());
+            timeline.setFirstEventTime(eventTime);
+            timeline.setLastEventTime(eventTime);
+            timeline.setTransitionCount(0);
+        }
+
+        timeline.setTransitionCount(timeline.getTransitionCount() + 1);
+        if (eventTime.isBefore(timeline.getFirstEventTime())) {
+            timeline.setFirstEventTime(eventTime);
+        }
+
+        // Tanımlayıcı alanlar ve güncel durum yalnızca en son event'ten alınır
+        if (latest) {
+            timeline.setLastEventTime(eventTime);
+            timeline.setCurrentStatus(statusOf(archive));
+            if (archive.getFlightNumber() != null) timeline.setFlightNumber(archive.getFlightNumber());
+            if (archive.getFlightDate() != null) timeline.setFlightDate(archive.getFlightDate());
+            if (archive.getScheduledDeparture() != null) timeline.setScheduledDeparture(archive.getScheduledDeparture());
+            if (archive.getScheduledArrival() != null) timeline.setScheduledArrival(archive.getScheduledArrival());
+        }
+
+        String status = archive.getStatus();
+        if ("BOARDING".equals(status) && (timeline.getBoardingAt() == null || eventTime.isBefore(timeline.getBoardingAt()))) {
+            timeline.setBoardingAt(eventTime);
+        }
+        if (archive.getActualDeparture() != null) {
+            timeline.setDepartedAt(archive.getActualDeparture());
+        } else if ("DEPARTED".equals(status) && timeline.getDepartedAt() == null) {
+            timeline.setDepartedAt(eventTime);
+        }
+        if (archive.getActualArrival() != null) {
+            timeline.setArrivedAt(archive.getActualArrival());
+        } else if ("ARRIVED".equals(status) && timeline.getArrivedAt() == null) {
+            timeline.setArrivedAt(eventTime);
+        }
+        if ("CANCELLED".equals(status) && timeline.getCancelledAt() == null) {
+            timeline.setCancelledAt(eventTime);
+        }
+        if (isRemoval(archive) && (timeline.getRemovedAt() == null || eventTime.isBefore(timeline.getRemovedAt()))) {
+            timeline.setRemovedAt(eventTime);
+        }
+
+        timeline.recomputeDurations();
+        return timeline;
+    }
+
+    // Silme event'i uçuşun silindiği andaki status'unu taşır; snapshot'ta kaldırılmış olarak görünmeli
+    private String statusOf(FlightArchive archive) {
+        return isRemoval(archive) ? REMOVED_STATUS : archive.getStatus();
+    }
+
+    private boolean isRemoval(FlightArchive archive) {
+        return archive.getEventType() != null && REMOVAL_EVENT_TYPES.contains(archive.getEventType());
+    }
+}
@@ -1,6 +1,6 @@
 package com.flightmanagement.flightarchiveservice.service;
 
-import com.flightmanagement.flightarchiveservice.event.FlightEvent;
+import com.flightmanagement.flightarchiveservice.entity.FlightArchive;
 import com.flightmanagement.flightarchiveservice.event.ReferenceEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,23 +23,23 @@ public class KafkaConsumerService {
             groupId = "flight-archive-service-group",
             containerFactory = "flightEventKafkaListenerContainerFactory"
     )
-    public void handleFlightEvent(@Payload FlightEvent flightEvent,
+    public void handleFlightEvent(@Payload byte[] rawEvent,
                                   @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
                                   @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
                                   @Header(KafkaHeaders.OFFSET) long offset,
                                   Acknowledgment acknowledgment) {
 
         log.info("Received flight event from topic: {}, partition: {}, offset: {}", topic, partition, offset);
-        log.debug("Flight event ID: {}, Type: {}, Entity ID: {}",
-                flightEvent.getEventId(), flightEvent.getEventType(), flightEvent.getEntityId());
 
         try {
-            flightArchiveService.archiveFlightEvent(flightEvent);
-            log.info("Flight event processed successfully: {} - {}",
-                    flightEvent.getEventType(), flightEvent.getEventId());
+            // Ham kayıt doğrudan arşive okunur (FlightEventParser); null: duplicate ya da uçuş dışı event
+            FlightArchive archive = flightArchiveService.archiveFlightEvent(rawEvent);
+            if (archive != null) {
+                log.info("Flight event processed successfully: {} - {}", archive.getEventType(), archive.getEventId());
+            }
             acknowledgment.acknowledge();
         } catch (Exception e) {
-            log.error("Failed to process flight event: {}", flightEvent.getEventId(), e);
+            log.error("Failed to process flight event at partition: {}, offset: {}", partition, offset, e);
             acknowledgment.acknowledge(); // Skip invalid messages to prevent infinite retry
         }
     }
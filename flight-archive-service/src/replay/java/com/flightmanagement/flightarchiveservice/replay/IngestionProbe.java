@@ -0,0 +1,168 @@
+package com.flightmanagement.flightarchiveservice.replay;
+
+import com.flightmanagement.flightarchiveservice.entity.FlightArchive;
+import com.flightmanagement.flightarchiveservice.event.FlightEvent;
+import com.flightmanagement.flightarchiveservice.service.FlightArchiveService;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * FlightArchiveService.archiveFlightEvent çağrılarını ölçer.
+ *
+ * Mevcut transaction proxy'sine iki advice eklenir: en dışa eklenen çağrı süresini (dedup kontrolü,
+ * insert ve commit dahil) ve yayından commit'e end-to-end süreyi, transaction interceptor'ının
+ * içine eklenen ise TransactionSynchronization ile yalnızca commit süresini kaydeder.
+ * Servis kodu değişmez; ölçülen yol production'daki proxy zinciriyle aynıdır.
+ */
+final class IngestionProbe implements BeanPostProcessor, Ordered {
+
+    private static final String ARCHIVE_METHOD = "archiveFlightEvent";
+
+    private final Map<String, Long> publishedAt = new ConcurrentHashMap<>();
+    private final LatencyRecorder archiveLatency = new LatencyRecorder();
+    private final LatencyRecorder commitLatency = new LatencyRecorder();
+    private final LatencyRecorder endToEndLatency = new LatencyRecorder();
+    private final AtomicLong processed = new AtomicLong();
+    private final LongAdder archived = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private volatile long lastCompletedNanos;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (AopUtils.getTargetClass(bean) != FlightArchiveService.class) {
+            return bean;
+        }
+        if (!(bean instanceof Advised)) {
+            throw new IllegalStateException("FlightArchiveService is expected to be a transactional proxy");
+        }
+        Advised advised = (Advised) bean;
+        advised.addAdvice(0, (MethodInterceptor) this::aroundArchive);
+        advised.addAdvice((MethodInterceptor) this::insideTransaction);
+        return bean;
+    }
+
+    /**
+     * Auto-proxy creator'dan sonra çalışmalı ki transaction proxy'si hazır olsun
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+
+    void published(String eventId, long nanos) {
+        if (eventId != null) {
+            publishedAt.put(eventId, nanos);
+        }
+    }
+
+    long processed() {
+        return processed.get();
+    }
+
+    long archived() {
+        return archived.sum();
+    }
+
+    long skipped() {
+        return skipped.sum();
+    }
+
+    long failed() {
+        return failed.sum();
+    }
+
+    long lastCompletedNanos() {
+        return lastCompletedNanos;
+    }
+
+    LatencyRecorder archiveLatency() {
+        return archiveLatency;
+    }
+
+    LatencyRecorder commitLatency() {
+        return commitLatency;
+    }
+
+    LatencyRecorder endToEndLatency() {
+        return endToEndLatency;
+    }
+
+    private Object aroundArchive(MethodInvocation invocation) throws Throwable {
+        if (!ARCHIVE_METHOD.equals(invocation.getMethod().getName())) {
+            return invocation.proceed();
+        }
+
+        long start = System.nanoTime();
+        Object result = null;
+        try {
+            result = invocation.proceed();
+            // null: duplicate ya da FLIGHT dışı event, yazılmadı
+            (result != null ? archived : skipped).increment();
+            return result;
+        } catch (Throwable e) {
+            failed.increment();
+            throw e;
+        } finally {
+            long end = System.nanoTime();
+            archiveLatency.record(end - start);
+
+            String eventId = eventId(invocation.getArguments(), result);
+            Long published = eventId != null ? publishedAt.remove(eventId) : null;
+            if (published != null) {
+                endToEndLatency.record(end - published);
+            }
+            lastCompletedNanos = end;
+            processed.incrementAndGet();
+        }
+    }
+
+    /**
+     * Ham kayıt yolunda eventId yalnızca arşivlenen kayıttan okunabilir; atlanan event'ler end-to-end'e girmez
+     */
+    private static String eventId(Object[] arguments, Object result) {
+        if (result instanceof FlightArchive) {
+            return ((FlightArchive) result).getEventId();
+        }
+        if (arguments.length > 0 && arguments[0] instanceof FlightEvent) {
+            return ((FlightEvent) arguments[0]).getEventId();
+        }
+        return null;
+    }
+
+    private Object insideTransaction(MethodInvocation invocation) throws Throwable {
+        if (ARCHIVE_METHOD.equals(invocation.getMethod().getName())
+                && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new CommitTimer());
+        }
+        return invocation.proceed();
+    }
+
+    private final class CommitTimer implements TransactionSynchronization {
+
+        private long commitStart;
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            commitStart = System.nanoTime();
+        }
+
+        @Override
+        public void afterCommit() {
+            if (commitStart != 0) {
+                commitLatency.record(System.nanoTime() - commitStart);
+            }
+        }
+    }
+}
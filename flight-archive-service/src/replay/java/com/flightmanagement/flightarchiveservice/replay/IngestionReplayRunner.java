@@ -0,0 +1,364 @@
+package com.flightmanagement.flightarchiveservice.replay;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.flightmanagement.flightarchiveservice.FlightArchiveServiceApplication;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+import org.springframework.kafka.test.utils.ContainerTestUtils;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * flight-archive-service ingestion benchmark'ı ve replay aracı.
+ *
+ * Sentetik bir günü (varsayılan 100k event) üretir ya da bir JSON-lines dosyasını replay eder;
+ * event'leri embedded Kafka broker'daki flight.events topic'ine yazar ve servisin kendi
+ * KafkaConsumerService → FlightArchiveService → FlightArchiveRepository yolundan geçirir.
+ * Veritabanı varsayılan olarak H2 (PostgreSQL modu, Liquibase şeması); -Dreplay.datasource.url
+ * ile gerçek bir PostgreSQL kullanılabilir.
+ *
+ * Rapor: events/sec, archive/commit/end-to-end latency ve DB write amplification
+ * (event başına statement/insert/transaction, saklanan byte / ham byte).
+ *
+ * Çalıştırma: mvn -Preplay verify -Dreplay.args="-Dreplay.events=20000 -Dreplay.rate=2000 ..."
+ * (ayarlar runner JVM'inin -Dreplay.* system property'leridir)
+ */
+@Slf4j
+public final class IngestionReplayRunner {
+
+    private static final String TOPIC = "flight.events";
+
+    private IngestionReplayRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int partitions = Integer.parseInt(setting("partitions", "3"));
+        int concurrency = Integer.parseInt(setting("concurrency", "3"));
+        long idleTimeoutNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(setting("idle-timeout-seconds", "30")));
+        Path resultsFile = Paths.get(setting("results", "target/replay-results.json"));
+
+        String input = setting("input", "");
+        Iterable<ReplayEvent> source;
+        String description;
+        if (!input.isBlank()) {
+            JsonLinesReplay replay = new JsonLinesReplay(Paths.get(input));
+            source = replay;
+            description = replay.describe();
+        } else {
+            SyntheticDay day = new SyntheticDay(
+                    Integer.parseInt(setting("events", "100000")),
+                    Long.parseLong(setting("seed", "42")),
+                    LocalDate.parse(setting("date", LocalDate.now().toString())));
+            source = day;
+            description = day.describe();
+
+            String output = setting("output", "");
+            if (!output.isBlank()) {
+                writeJsonLines(day, Paths.get(output));
+            }
+        }
+        log.warn("Replay source: {}", description);
+
+        EmbeddedKafkaKraftBroker kafka = new EmbeddedKafkaKraftBroker(1, partitions, TOPIC, "reference.events");
+        kafka.afterPropertiesSet();
+
+        IngestionProbe probe = new IngestionProbe();
+        ConfigurableApplicationContext application = new SpringApplicationBuilder(FlightArchiveServiceApplication.class)
+                .profiles("replay")
+                .initializers(context -> context.getBeanFactory().registerSingleton("ingestionProbe", probe))
+                .run(applicationArguments(kafka.getBrokersAsString(), concurrency));
+
+        ReplayResult result;
+        try {
+            waitForAssignment(application, partitions);
+
+            JdbcTemplate jdbcTemplate = application.getBean(JdbcTemplate.class);
+            Statistics statistics = application.getBean(EntityManagerFactory.class)
+                    .unwrap(SessionFactory.class)
+                    .getStatistics();
+            statistics.clear();
+            StoredBytes storedBefore = storedBytes(jdbcTemplate);
+
+            long start = System.nanoTime();
+            AtomicLong rawBytes = new AtomicLong();
+            long published = publish(source, kafka.getBrokersAsString(), probe, rawBytes);
+            long publishNanos = System.nanoTime() - start;
+            log.warn("Published {} events in {} ms, waiting for the archive consumer",
+                    published, TimeUnit.NANOSECONDS.toMillis(publishNanos));
+
+            awaitIngestion(probe, published, idleTimeoutNanos);
+            long elapsedNanos = Math.max(probe.lastCompletedNanos() - start, 1);
+            StoredBytes storedAfter = storedBytes(jdbcTemplate);
+
+            result = buildResult(description, partitions, concurrency, probe, statistics,
+                    published, publishNanos, elapsedNanos, rawBytes.get(),
+                    storedAfter.bytes - storedBefore.bytes, storedAfter.method);
+        } finally {
+            application.close();
+            kafka.destroy();
+        }
+
+        printReport(result);
+        writeReport(resultsFile, result);
+        System.exit(0);
+    }
+
+    private static String[] applicationArguments(String bootstrapServers, int concurrency) {
+        List<String> arguments = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.kafka.bootstrap-servers=" + bootstrapServers,
+                "--kafka.flight-events.consumer.concurrency=" + concurrency));
+
+        // Gerçek PostgreSQL üzerinde ölçüm (BRIN/partial index, TOAST vb. etkiler H2'de görünmez)
+        String datasourceUrl = setting("datasource.url", "");
+        if (!datasourceUrl.isBlank()) {
+            arguments.add("--spring.datasource.url=" + datasourceUrl);
+            arguments.add("--spring.datasource.username=" + setting("datasource.username", "admin"));
+            arguments.add("--spring.datasource.password=" + setting("datasource.password", ""));
+            arguments.add("--spring.datasource.driver-class-name=org.postgresql.Driver");
+            arguments.add("--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect");
+        }
+        return arguments.toArray(new String[0]);
+    }
+
+    private static void waitForAssignment(ConfigurableApplicationContext application, int partitions) {
+        KafkaListenerEndpointRegistry registry = application.getBean(KafkaListenerEndpointRegistry.class);
+        for (MessageListenerContainer container : registry.getListenerContainers()) {
+            if (Arrays.asList(container.getContainerProperties().getTopics()).contains(TOPIC)) {
+                ContainerTestUtils.waitForAssignment(container, partitions);
+                return;
+            }
+        }
+        throw new IllegalStateException("No listener container found for " + TOPIC);
+    }
+
+    /**
+     * Event'leri flight-service producer ayarlarına yakın bir producer ile yazar.
+     * replay.rate > 0 ise saniyedeki event sayısı sabitlenir (end-to-end latency için anlamlı);
+     * aksi halde olabildiğince hızlı yazılır (consumer kapasitesi için).
+     */
+    private static long publish(Iterable<ReplayEvent> source, String bootstrapServers, IngestionProbe probe,
+                                AtomicLong rawBytes) {
+        Map<String, Object> configs = new HashMap<>();
+        configs.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configs.put(ProducerConfig.ACKS_CONFIG, "all");
+        configs.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        configs.put(ProducerConfig.BATCH_SIZE_CONFIG, 65536);
+        configs.put(ProducerConfig.LINGER_MS_CONFIG, 10);
+        configs.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, setting("compression", "lz4"));
+
+        double rate = Double.parseDouble(setting("rate", "0"));
+        long intervalNanos = rate > 0 ? (long) (1e9 / rate) : 0;
+        AtomicLong sendFailures = new AtomicLong();
+        long published = 0;
+
+        try (KafkaProducer<String, byte[]> producer =
+                     new KafkaProducer<>(configs, new StringSerializer(), new ByteArraySerializer())) {
+            long start = System.nanoTime();
+            for (ReplayEvent event : source) {
+                if (intervalNanos > 0) {
+                    long due = start + published * intervalNanos;
+                    long wait;
+                    while ((wait = due - System.nanoTime()) > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                }
+                probe.published(event.eventId, System.nanoTime());
+                producer.send(new ProducerRecord<>(TOPIC, event.key, event.value), (metadata, exception) -> {
+                    if (exception != null) {
+                        sendFailures.incrementAndGet();
+                    }
+                });
+                rawBytes.addAndGet(event.value.length);
+                published++;
+            }
+            producer.flush();
+        }
+
+        if (sendFailures.get() > 0) {
+            log.warn("{} events could not be delivered to the broker", sendFailures.get());
+        }
+        return published - sendFailures.get();
+    }
+
+    /**
+     * Tüm event'ler işlenene ya da idle-timeout boyunca ilerleme olmayana kadar bekler
+     * (deserialize edilemeyen kayıtlar servise hiç ulaşmaz)
+     */
+    private static void awaitIngestion(IngestionProbe probe, long expected, long idleTimeoutNanos)
+            throws InterruptedException {
+        long lastProcessed = -1;
+        long lastProgress = System.nanoTime();
+        while (probe.processed() < expected) {
+            Thread.sleep(200);
+            long processed = probe.processed();
+            if (processed != lastProcessed) {
+                lastProcessed = processed;
+                lastProgress = System.nanoTime();
+            } else if (System.nanoTime() - lastProgress > idleTimeoutNanos) {
+                log.warn("No progress for {}s; {} of {} events processed",
+                        TimeUnit.NANOSECONDS.toSeconds(idleTimeoutNanos), processed, expected);
+                return;
+            }
+        }
+    }
+
+    private static ReplayResult buildResult(String description, int partitions, int concurrency,
+                                            IngestionProbe probe, Statistics statistics,
+                                            long published, long publishNanos, long elapsedNanos,
+                                            long rawBytes, long storedBytes, String storedBytesMethod) {
+        long processed = probe.processed();
+        double perEvent = processed > 0 ? 1.0 / processed : 0;
+        LatencyRecorder.Summary archive = probe.archiveLatency().summarize();
+        LatencyRecorder.Summary commit = probe.commitLatency().summarize();
+        LatencyRecorder.Summary endToEnd = probe.endToEndLatency().summarize();
+
+        return ReplayResult.builder()
+                .source(description)
+                .partitions(partitions)
+                .consumerConcurrency(concurrency)
+                .published(published)
+                .processed(processed)
+                .archived(probe.archived())
+                .skipped(probe.skipped())
+                .failed(probe.failed())
+                .publishSeconds(publishNanos / 1e9)
+                .elapsedSeconds(elapsedNanos / 1e9)
+                .eventsPerSecond(processed / (elapsedNanos / 1e9))
+                .archiveP50Millis(archive.p50Millis)
+                .archiveP99Millis(archive.p99Millis)
+                .archiveMaxMillis(archive.maxMillis)
+                .commitP50Millis(commit.p50Millis)
+                .commitP99Millis(commit.p99Millis)
+                .commitMaxMillis(commit.maxMillis)
+                .endToEndP50Millis(endToEnd.p50Millis)
+                .endToEndP99Millis(endToEnd.p99Millis)
+                .endToEndMaxMillis(endToEnd.maxMillis)
+                .statementsPerEvent(statistics.getPrepareStatementCount() * perEvent)
+                .insertsPerEvent(statistics.getEntityInsertCount() * perEvent)
+                .transactionsPerEvent(statistics.getTransactionCount() * perEvent)
+                .rawBytes(rawBytes)
+                .storedBytes(storedBytes)
+                .storedBytesMethod(storedBytesMethod)
+                .writeAmplification(rawBytes > 0 ? (double) storedBytes / rawBytes : 0)
+                .build();
+    }
+
+    /**
+     * PostgreSQL'de tablo + index + TOAST boyutu; H2'de yalnızca payload kolonlarının (düz + sıkıştırılmış) byte'ları
+     */
+    private static StoredBytes storedBytes(JdbcTemplate jdbcTemplate) {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if ("PostgreSQL".equalsIgnoreCase(product)) {
+            Long size = jdbcTemplate.queryForObject("SELECT pg_total_relation_size('flight_archives')", Long.class);
+            return new StoredBytes(size != null ? size : 0, "pg_total_relation_size");
+        }
+        Long size = jdbcTemplate.queryForObject("SELECT COALESCE(SUM(OCTET_LENGTH(payload)), 0)"
+                + " + COALESCE(SUM(OCTET_LENGTH(payload_compressed)), 0) FROM flight_archives", Long.class);
+        return new StoredBytes(size != null ? size : 0, "payload-columns");
+    }
+
+    private static void writeJsonLines(Iterable<ReplayEvent> events, Path file) throws Exception {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+            for (ReplayEvent event : events) {
+                out.write(event.value);
+                out.write('\n');
+            }
+        }
+        log.warn("Replay stream written to {}", file.toAbsolutePath());
+    }
+
+    private static void printReport(ReplayResult result) {
+        StringBuilder report = new StringBuilder("\n");
+        report.append(String.format("source            %s%n", result.getSource()));
+        report.append(String.format("partitions/conc   %d / %d%n", result.getPartitions(), result.getConsumerConcurrency()));
+        report.append(String.format("events            published %d, processed %d (archived %d, skipped %d, failed %d)%n",
+                result.getPublished(), result.getProcessed(), result.getArchived(), result.getSkipped(), result.getFailed()));
+        report.append(String.format("throughput        %.1f events/s over %.1f s (publish %.1f s)%n",
+                result.getEventsPerSecond(), result.getElapsedSeconds(), result.getPublishSeconds()));
+        report.append(String.format("archive latency   p50 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+                result.getArchiveP50Millis(), result.getArchiveP99Millis(), result.getArchiveMaxMillis()));
+        report.append(String.format("commit latency    p50 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+                result.getCommitP50Millis(), result.getCommitP99Millis(), result.getCommitMaxMillis()));
+        report.append(String.format("end-to-end        p50 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+                result.getEndToEndP50Millis(), result.getEndToEndP99Millis(), result.getEndToEndMaxMillis()));
+        report.append(String.format("per event         %.2f statements, %.2f inserts, %.2f transactions%n",
+                result.getStatementsPerEvent(), result.getInsertsPerEvent(), result.getTransactionsPerEvent()));
+        report.append(String.format("bytes             raw %d, stored %d (%s), amplification %.2fx%n",
+                result.getRawBytes(), result.getStoredBytes(), result.getStoredBytesMethod(),
+                result.getWriteAmplification()));
+        System.out.println(report);
+    }
+
+    private static void writeReport(Path resultsFile, ReplayResult result) throws Exception {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", Instant.now().toString());
+        report.put("settings", settings());
+        report.put("result", result);
+
+        if (resultsFile.getParent() != null) {
+            Files.createDirectories(resultsFile.getParent());
+        }
+        Files.write(resultsFile, new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValueAsBytes(report));
+        log.warn("Replay results written to {}", resultsFile.toAbsolutePath());
+    }
+
+    private static Map<String, String> settings() {
+        Map<String, String> settings = new TreeMap<>();
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith("replay.") && !name.equals("replay.datasource.password"))
+                .forEach(name -> settings.put(name, System.getProperty(name)));
+        return settings;
+    }
+
+    private static String setting(String name, String defaultValue) {
+        return System.getProperty("replay." + name, defaultValue);
+    }
+
+    private static final class StoredBytes {
+        private final long bytes;
+        private final String method;
+
+        private StoredBytes(long bytes, String method) {
+            this.bytes = bytes;
+            this.method = method;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.flightmanagement.flightarchiveservice.replay;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Dosyadan flight.events replay'i: her satır bir Kafka record value'su (FlightEvent JSON'ı).
+ * Gerçek topic'ten alınmış bir dump (ör. kafka-console-consumer çıktısı) veya
+ * -Dreplay.output ile yazılmış sentetik bir gün olabilir. Satırlar byte'ı byte'ına gönderilir.
+ *
+ * Key flight-service'teki gibi türetilir: payload.parentFlightId varsa o, yoksa entityId.
+ */
+final class JsonLinesReplay implements Iterable<ReplayEvent> {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final Path file;
+
+    JsonLinesReplay(Path file) {
+        this.file = file;
+    }
+
+    String describe() {
+        return "replay of " + file.toAbsolutePath();
+    }
+
+    @Override
+    public Iterator<ReplayEvent> iterator() {
+        BufferedReader reader;
+        try {
+            reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Replay file could not be opened: " + file, e);
+        }
+
+        return new Iterator<>() {
+            private ReplayEvent next = read();
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public ReplayEvent next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                ReplayEvent current = next;
+                next = read();
+                return current;
+            }
+
+            private ReplayEvent read() {
+                try {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (!line.isBlank()) {
+                            return toEvent(line);
+                        }
+                    }
+                    reader.close();
+                    return null;
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Replay file could not be read: " + file, e);
+                }
+            }
+        };
+    }
+
+    private static ReplayEvent toEvent(String line) throws IOException {
+        JsonNode event = JSON.readTree(line);
+        JsonNode parentFlightId = event.path("payload").path("parentFlightId");
+        String key = parentFlightId.isNumber() ? parentFlightId.asText() : event.path("entityId").asText(null);
+        return new ReplayEvent(event.path("eventId").asText(null), key, line.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,49 @@
+package com.flightmanagement.flightarchiveservice.replay;
+
+import java.util.Arrays;
+
+/**
+ * Süre örneklerini (nanosaniye) toplar; percentile'lar tam örnek kümesinden hesaplanır.
+ * Bir replay en fazla birkaç yüz bin örnek üretir.
+ */
+final class LatencyRecorder {
+
+    private long[] samples = new long[4096];
+    private int size;
+
+    synchronized void record(long durationNanos) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = durationNanos;
+    }
+
+    synchronized Summary summarize() {
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        return new Summary(size, percentile(sorted, 0.50), percentile(sorted, 0.99),
+                size > 0 ? sorted[size - 1] : 0);
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    static final class Summary {
+        final long count;
+        final double p50Millis;
+        final double p99Millis;
+        final double maxMillis;
+
+        private Summary(long count, long p50Nanos, long p99Nanos, long maxNanos) {
+            this.count = count;
+            this.p50Millis = p50Nanos / 1e6;
+            this.p99Millis = p99Nanos / 1e6;
+            this.maxMillis = maxNanos / 1e6;
+        }
+    }
+}
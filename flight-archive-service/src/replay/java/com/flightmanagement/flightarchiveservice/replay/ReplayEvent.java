@@ -0,0 +1,18 @@
+package com.flightmanagement.flightarchiveservice.replay;
+
+/**
+ * flight.events topic'ine aynen yazılacak tek bir kayıt: partition key + serialize edilmiş FlightEvent JSON'ı.
+ * eventId end-to-end latency eşleştirmesi için ayrıca tutulur.
+ */
+final class ReplayEvent {
+
+    final String eventId;
+    final String key;
+    final byte[] value;
+
+    ReplayEvent(String eventId, String key, byte[] value) {
+        this.eventId = eventId;
+        this.key = key;
+        this.value = value;
+    }
+}
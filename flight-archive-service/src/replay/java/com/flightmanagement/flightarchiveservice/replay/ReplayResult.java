@@ -0,0 +1,45 @@
+package com.flightmanagement.flightarchiveservice.replay;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Bir ingestion replay'inin ölçüm sonucu (JSON rapora aynen yazılır)
+ */
+@Getter
+@Builder
+public class ReplayResult {
+    private String source;
+    private int partitions;
+    private int consumerConcurrency;
+
+    // Akış
+    private long published;
+    private long processed;
+    private long archived;
+    private long skipped;
+    private long failed;
+    private double publishSeconds;
+    private double elapsedSeconds;
+    private double eventsPerSecond;
+
+    // Latency (ms): archiveFlightEvent çağrısı (commit dahil), yalnızca DB commit, yayından commit'e
+    private double archiveP50Millis;
+    private double archiveP99Millis;
+    private double archiveMaxMillis;
+    private double commitP50Millis;
+    private double commitP99Millis;
+    private double commitMaxMillis;
+    private double endToEndP50Millis;
+    private double endToEndP99Millis;
+    private double endToEndMaxMillis;
+
+    // DB write amplification
+    private double statementsPerEvent;
+    private double insertsPerEvent;
+    private double transactionsPerEvent;
+    private long rawBytes;
+    private long storedBytes;
+    private String storedBytesMethod;
+    private double writeAmplification;
+}
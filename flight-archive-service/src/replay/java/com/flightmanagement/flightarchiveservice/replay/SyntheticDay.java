@@ -0,0 +1,251 @@
+package com.flightmanagement.flightarchiveservice.replay;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flightmanagement.flightarchiveservice.event.FlightEvent;
+import org.springframework.kafka.support.JacksonUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Tek bir operasyon gününe ait sentetik flight.events akışı.
+ *
+ * Her uçuş flight-service'in ürettiği yaşam döngüsünü izler (CREATED, opsiyonel UPDATED,
+ * BOARDING, opsiyonel DELAYED, DEPARTED, ARRIVED; bir kısmı CANCELLED ile biter). Event'ler
+ * eventTime'a göre sıralanıp gün boyunca iç içe geçer; payload flight-service'teki
+ * FlightEventPayload ile aynı alanları ve aynı JSON biçimini (tarihler array) kullanır.
+ *
+ * Aynı seed ile aynı akış üretilir; payload'lar iterasyon sırasında serialize edilir.
+ */
+final class SyntheticDay implements Iterable<ReplayEvent> {
+
+    private static final int AIRLINE_COUNT = 20;
+    private static final int AIRCRAFT_PER_AIRLINE = 8;
+    private static final int AIRPORT_COUNT = 60;
+    private static final String[] AIRCRAFT_TYPES = {"A320", "A321", "B738", "B739", "A330", "B77W"};
+    private static final String[] DELAY_REASONS = {"WEATHER", "ATC", "TECHNICAL", "CREW", "LATE_INBOUND"};
+
+    private static final ObjectMapper JSON = JacksonUtils.enhancedObjectMapper();
+
+    private final int eventCount;
+    private final long seed;
+    private final LocalDate day;
+    private final List<SyntheticFlight> flights = new ArrayList<>();
+    private final List<Step> steps = new ArrayList<>();
+
+    SyntheticDay(int eventCount, long seed, LocalDate day) {
+        this.eventCount = eventCount;
+        this.seed = seed;
+        this.day = day;
+        plan();
+    }
+
+    int flightCount() {
+        return flights.size();
+    }
+
+    String describe() {
+        return "synthetic day " + day + " (" + steps.size() + " events, " + flights.size() + " flights, seed " + seed + ")";
+    }
+
+    @Override
+    public Iterator<ReplayEvent> iterator() {
+        Iterator<Step> delegate = steps.iterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return delegate.hasNext();
+            }
+
+            @Override
+            public ReplayEvent next() {
+                return toEvent(delegate.next());
+            }
+        };
+    }
+
+    /**
+     * Hedef event sayısına ulaşana kadar uçuş planlar, adımları zamana göre sıralar ve fazlasını atar
+     * (günün en son adımları; birkaç uçuşun ARRIVED'ı eksik kalabilir).
+     */
+    private void plan() {
+        Random random = new Random(seed);
+        while (steps.size() < eventCount) {
+            SyntheticFlight flight = newFlight(random, flights.size());
+            flights.add(flight);
+            planLifecycle(random, flight);
+        }
+        steps.sort(Comparator.comparing((Step step) -> step.time).thenComparingInt(step -> step.kind.ordinal()));
+        steps.subList(eventCount, steps.size()).clear();
+    }
+
+    private SyntheticFlight newFlight(Random random, int index) {
+        SyntheticFlight flight = new SyntheticFlight();
+        flight.id = 1_000_000L + index;
+        flight.airlineId = random.nextInt(AIRLINE_COUNT) + 1;
+        flight.flightNumber = airlineCode(flight.airlineId) + (index / AIRLINE_COUNT % 9000 + 1);
+        flight.aircraftId = (flight.airlineId - 1) * AIRCRAFT_PER_AIRLINE + random.nextInt(AIRCRAFT_PER_AIRLINE) + 1;
+        flight.originAirportId = random.nextInt(AIRPORT_COUNT) + 1;
+        flight.destinationAirportId = (flight.originAirportId + random.nextInt(AIRPORT_COUNT - 1)) % AIRPORT_COUNT + 1;
+        flight.scheduledDeparture = day.atTime(5, 0).plusMinutes(random.nextInt(18 * 60));
+        flight.scheduledArrival = flight.scheduledDeparture.plusMinutes(45 + random.nextInt(300));
+        flight.passengerCount = 80 + random.nextInt(220);
+        flight.cargoWeight = random.nextInt(8000);
+        flight.gateNumber = "G" + (random.nextInt(80) + 1);
+        return flight;
+    }
+
+    private void planLifecycle(Random random, SyntheticFlight flight) {
+        LocalDateTime departure = flight.scheduledDeparture;
+
+        // Tarife uçuştan saatler önce yayınlanır
+        steps.add(new Step(departure.minusMinutes(120 + random.nextInt(600)), flight, Kind.CREATED));
+        if (random.nextInt(10) == 0) {
+            steps.add(new Step(departure.minusMinutes(60 + random.nextInt(60)), flight, Kind.UPDATED));
+        }
+        if (random.nextInt(100) < 3) {
+            steps.add(new Step(departure.minusMinutes(random.nextInt(90)), flight, Kind.CANCELLED));
+            return;
+        }
+
+        steps.add(new Step(departure.minusMinutes(40), flight, Kind.BOARDING));
+        if (random.nextInt(5) == 0) {
+            flight.delayMinutes = 10 + random.nextInt(110);
+            flight.delayReason = DELAY_REASONS[random.nextInt(DELAY_REASONS.length)];
+            steps.add(new Step(departure.minusMinutes(20), flight, Kind.DELAYED));
+        }
+        LocalDateTime actualDeparture = departure.plusMinutes(flight.delayMinutes);
+        steps.add(new Step(actualDeparture, flight, Kind.DEPARTED));
+        steps.add(new Step(flight.scheduledArrival.plusMinutes(flight.delayMinutes), flight, Kind.ARRIVED));
+    }
+
+    private ReplayEvent toEvent(Step step) {
+        SyntheticFlight flight = step.flight;
+        String eventId = UUID.nameUUIDFromBytes((seed + ":" + flight.id + ":" + step.kind)
+                .getBytes(StandardCharsets.UTF_8)).toString();
+
+        FlightEvent event = FlightEvent.builder()
+                .eventId(eventId)
+                .eventType(step.kind.eventType)
+                .eventTime(step.time)
+                .entityType("FLIGHT")
+                .entityId(String.valueOf(flight.id))
+                .payload(payload(flight, step.kind))
+                .version("1.0")
+                .build();
+        try {
+            return new ReplayEvent(eventId, String.valueOf(flight.id), JSON.writeValueAsBytes(event));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Synthetic event could not be serialized: " + eventId, e);
+        }
+    }
+
+    private Map<String, Object> payload(SyntheticFlight flight, Kind kind) {
+        boolean delayed = flight.delayMinutes > 0 && kind.ordinal() >= Kind.DELAYED.ordinal();
+        LocalDateTime actualDeparture = kind.ordinal() >= Kind.DEPARTED.ordinal()
+                ? flight.scheduledDeparture.plusMinutes(flight.delayMinutes) : null;
+        LocalDateTime actualArrival = kind == Kind.ARRIVED
+                ? flight.scheduledArrival.plusMinutes(flight.delayMinutes) : null;
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("id", flight.id);
+        payload.put("flightNumber", flight.flightNumber);
+        payload.put("flightDate", day);
+        payload.put("scheduledDeparture", flight.scheduledDeparture);
+        payload.put("scheduledArrival", flight.scheduledArrival);
+        payload.put("actualDeparture", actualDeparture);
+        payload.put("actualArrival", actualArrival);
+        payload.put("status", kind.status);
+        payload.put("type", "PASSENGER");
+        payload.put("passengerCount", flight.passengerCount);
+        payload.put("cargoWeight", flight.cargoWeight);
+        payload.put("gateNumber", flight.gateNumber);
+        payload.put("delayMinutes", delayed ? flight.delayMinutes : 0);
+        payload.put("delayReason", delayed ? flight.delayReason : null);
+        payload.put("active", true);
+        payload.put("parentFlightId", null);
+        payload.put("segmentNumber", null);
+        payload.put("airline", reference(flight.airlineId, "iataCode", airlineCode(flight.airlineId),
+                "name", "Airline " + flight.airlineId));
+        payload.put("aircraft", reference(flight.aircraftId, "registrationNumber", "TC-" + airportCode(flight.aircraftId),
+                "aircraftType", AIRCRAFT_TYPES[(int) (flight.aircraftId % AIRCRAFT_TYPES.length)]));
+        payload.put("originAirport", reference(flight.originAirportId, "iataCode", airportCode(flight.originAirportId),
+                "name", "Airport " + flight.originAirportId));
+        payload.put("destinationAirport", reference(flight.destinationAirportId, "iataCode",
+                airportCode(flight.destinationAirportId), "name", "Airport " + flight.destinationAirportId));
+        return payload;
+    }
+
+    private static Map<String, Object> reference(long id, String firstKey, Object firstValue,
+                                                 String secondKey, Object secondValue) {
+        Map<String, Object> reference = new LinkedHashMap<>();
+        reference.put("id", id);
+        reference.put(firstKey, firstValue);
+        reference.put(secondKey, secondValue);
+        return reference;
+    }
+
+    private static String airlineCode(long airlineId) {
+        return "" + (char) ('A' + (airlineId - 1) / 26 % 26) + (char) ('A' + (airlineId - 1) % 26);
+    }
+
+    private static String airportCode(long id) {
+        return "" + (char) ('A' + id / 676 % 26) + (char) ('A' + id / 26 % 26) + (char) ('A' + id % 26);
+    }
+
+    private enum Kind {
+        CREATED("FLIGHT_CREATED", "SCHEDULED"),
+        UPDATED("FLIGHT_UPDATED", "SCHEDULED"),
+        CANCELLED("FLIGHT_STATUS_CHANGED", "CANCELLED"),
+        BOARDING("FLIGHT_STATUS_CHANGED", "BOARDING"),
+        DELAYED("FLIGHT_DELAYED", "DELAYED"),
+        DEPARTED("FLIGHT_STATUS_CHANGED", "DEPARTED"),
+        ARRIVED("FLIGHT_STATUS_CHANGED", "ARRIVED");
+
+        private final String eventType;
+        private final String status;
+
+        Kind(String eventType, String status) {
+            this.eventType = eventType;
+            this.status = status;
+        }
+    }
+
+    private static final class SyntheticFlight {
+        private long id;
+        private String flightNumber;
+        private long airlineId;
+        private long aircraftId;
+        private long originAirportId;
+        private long destinationAirportId;
+        private LocalDateTime scheduledDeparture;
+        private LocalDateTime scheduledArrival;
+        private int passengerCount;
+        private int cargoWeight;
+        private String gateNumber;
+        private int delayMinutes;
+        private String delayReason;
+    }
+
+    private static final class Step {
+        private final LocalDateTime time;
+        private final SyntheticFlight flight;
+        private final Kind kind;
+
+        private Step(LocalDateTime time, SyntheticFlight flight, Kind kind) {
+            this.time = time;
+            this.flight = flight;
+            this.kind = kind;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.flightmanagement.flightarchiveservice.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Preset dictionary'li payload formatı: round-trip, versiyon byte'ı, dictionary kazancı
+ * ve bozuk/bilinmeyen girdilerin reddi.
+ */
+class PayloadCodecTest {
+
+    private static final String PAYLOAD = "{\"id\":4711,\"flightNumber\":\"TK2024\",\"flightDate\":[2026,11,2],"
+            + "\"scheduledDeparture\":[2026,11,2,8,30],\"scheduledArrival\":[2026,11,2,9,45],"
+            + "\"actualDeparture\":null,\"actualArrival\":null,\"status\":\"SCHEDULED\",\"type\":\"PASSENGER\","
+            + "\"passengerCount\":180,\"cargoWeight\":1200,\"gateNumber\":\"B12\",\"delayMinutes\":0,"
+            + "\"delayReason\":null,\"active\":true,\"parentFlightId\":null,\"segmentNumber\":null,"
+            + "\"airline\":{\"id\":1,\"iataCode\":\"TK\",\"name\":\"Turkish Airlines\"},"
+            + "\"aircraft\":{\"id\":7,\"registrationNumber\":\"TC-JRE\",\"aircraftType\":\"A321\"},"
+            + "\"originAirport\":{\"id\":1,\"iataCode\":\"IST\",\"name\":\"Istanbul Airport\"},"
+            + "\"destinationAirport\":{\"id\":2,\"iataCode\":\"ESB\",\"name\":\"Esenboga International Airport\"},"
+            + "\"route\":{\"id\":12,\"routeCode\":\"IST-ESB-001\",\"routePath\":\"IST → ESB\","
+            + "\"distance\":351,\"estimatedTime\":75}}";
+
+    @Test
+    void roundTripsTypicalPayload() {
+        byte[] stored = PayloadCodec.compress(PAYLOAD);
+
+        assertThat(stored[0]).isEqualTo((byte) 1);
+        assertThat(PayloadCodec.decompress(stored)).isEqualTo(PAYLOAD);
+    }
+
+    @Test
+    void roundTripsEmptyUnicodeAndLargePayloads() {
+        String unicode = "{\"delayReason\":\"Şiddetli rüzgâr — İzmir/Çiğli\"}";
+        StringBuilder large = new StringBuilder("[");
+        for (int i = 0; i < 200; i++) {
+            large.append(PAYLOAD.replace("4711", String.valueOf(i))).append(',');
+        }
+        large.append("null]");
+
+        assertThat(PayloadCodec.decompress(PayloadCodec.compress(""))).isEmpty();
+        assertThat(PayloadCodec.decompress(PayloadCodec.compress(unicode))).isEqualTo(unicode);
+        assertThat(PayloadCodec.decompress(PayloadCodec.compress(large.toString()))).isEqualTo(large.toString());
+    }
+
+    @Test
+    void dictionaryBeatsPlainDeflateOnTypicalPayload() {
+        byte[] withDictionary = PayloadCodec.compress(PAYLOAD);
+
+        assertThat(withDictionary.length).isLessThan(plainDeflate(PAYLOAD).length);
+    }
+
+    @Test
+    void rejectsUnknownFormatVersion() {
+        byte[] stored = PayloadCodec.compress(PAYLOAD);
+        stored[0] = 2;
+
+        assertThatThrownBy(() -> PayloadCodec.decompress(stored))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("format");
+        assertThatThrownBy(() -> PayloadCodec.decompress(new byte[0]))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("empty");
+    }
+
+    @Test
+    void rejectsTruncatedPayload() {
+        byte[] stored = PayloadCodec.compress(PAYLOAD);
+        byte[] truncated = Arrays.copyOf(stored, stored.length / 2);
+
+        assertThatThrownBy(() -> PayloadCodec.decompress(truncated))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Truncated");
+    }
+
+    @Test
+    void rejectsCorruptPayload() {
+        byte[] stored = PayloadCodec.compress(PAYLOAD);
+        // Son 4 byte zlib adler32 checksum'ıdır
+        stored[stored.length - 1] ^= 0x5A;
+
+        assertThatThrownBy(() -> PayloadCodec.decompress(stored))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Corrupt");
+    }
+
+    @Test
+    void archiveReadsCompressedPayloadTransparently() {
+        FlightArchive archive = new FlightArchive();
+        archive.setPayload(PAYLOAD);
+
+        archive.compressPayload();
+
+        assertThat(archive.getPayloadCompressed()).isNotNull();
+        assertThat(archive.getPayload()).isEqualTo(PAYLOAD);
+    }
+
+    private static byte[] plainDeflate(String payload) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(payload.getBytes(StandardCharsets.UTF_8));
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[512];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.flightmanagement.flightarchiveservice.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flightmanagement.flightarchiveservice.entity.FlightArchive;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Streaming flight event parser'ı: tipli alanlar, tarih formatları, bilinmeyen alanların atlanması
+ * ve payload kolonunun orijinal byte diliminden aynen doldurulması.
+ */
+class FlightEventParserTest {
+
+    private static final String PAYLOAD = "{\"id\":4711,\"flightNumber\":\"TK2024\",\"flightDate\":[2026,11,2],"
+            + "\"scheduledDeparture\":[2026,11,2,8,30,15,500],\"scheduledArrival\":[2026,11,2,9,45],"
+            + "\"actualDeparture\":null,\"actualArrival\":null,\"status\":\"DELAYED\",\"type\":\"PASSENGER\","
+            + "\"passengerCount\":180,\"cargoWeight\":1200,\"gateNumber\":\"B12\",\"delayMinutes\":25,"
+            + "\"delayReason\":\"Şiddetli rüzgâr\",\"active\":true,\"parentFlightId\":null,"
+            + "\"route\":{\"id\":12,\"routeCode\":\"IST-ESB-001\",\"waypoints\":[[41.2,28.7],[39.9,32.8]]},"
+            + "\"airline\":{\"id\":1,\"iataCode\":\"TK\",\"name\":\"Turkish Airlines\"},"
+            + "\"aircraft\":{\"id\":7,\"registrationNumber\":\"TC-JRE\",\"aircraftType\":\"A321\"},"
+            + "\"originAirport\":{\"id\":1,\"iataCode\":\"IST\",\"name\":\"İstanbul Havalimanı\"},"
+            + "\"destinationAirport\":{\"id\":2,\"iataCode\":\"ESB\",\"name\":\"Esenboğa\"}}";
+
+    private final FlightEventParser flightEventParser = new FlightEventParser(new ObjectMapper());
+
+    @Test
+    void readsMetadataFlightFieldsAndRawPayloadSlice() throws IOException {
+        // Payload'dan önceki çok byte'lı karakterler byte offset hesabını sınar
+        String event = "{\"eventId\":\"e-1\",\"eventType\":\"FLIGHT_DELAYED\","
+                + "\"eventTime\":[2026,11,2,7,55,0,0],\"entityType\":\"FLIGHT\",\"entityId\":4711,"
+                + "\"source\":\"Uçuş servisi\",\"payload\":" + PAYLOAD + ",\"version\":\"1.0\"}";
+
+        FlightArchive archive = parse(event);
+
+        assertThat(archive.getEventId()).isEqualTo("e-1");
+        assertThat(archive.getEventType()).isEqualTo("FLIGHT_DELAYED");
+        assertThat(archive.getEventTime()).isEqualTo(LocalDateTime.of(2026, 11, 2, 7, 55));
+        assertThat(archive.getEntityType()).isEqualTo("FLIGHT");
+        assertThat(archive.getEntityId()).isEqualTo("4711");
+        assertThat(archive.getVersion()).isEqualTo("1.0");
+        assertThat(archive.getArchivedAt()).isNotNull();
+
+        assertThat(archive.getPayload()).isEqualTo(PAYLOAD);
+
+        assertThat(archive.getFlightId()).isEqualTo(4711L);
+        assertThat(archive.getFlightNumber()).isEqualTo("TK2024");
+        assertThat(archive.getFlightDate()).isEqualTo(LocalDate.of(2026, 11, 2));
+        assertThat(archive.getScheduledDeparture()).isEqualTo(LocalDateTime.of(2026, 11, 2, 8, 30, 15, 500));
+        assertThat(archive.getScheduledArrival()).isEqualTo(LocalDateTime.of(2026, 11, 2, 9, 45));
+        assertThat(archive.getActualDeparture()).isNull();
+        assertThat(archive.getStatus()).isEqualTo("DELAYED");
+        assertThat(archive.getFlightType()).isEqualTo("PASSENGER");
+        assertThat(archive.getPassengerCount()).isEqualTo(180);
+        assertThat(archive.getCargoWeight()).isEqualTo(1200);
+        assertThat(archive.getGateNumber()).isEqualTo("B12");
+        assertThat(archive.getDelayMinutes()).isEqualTo(25);
+        assertThat(archive.getDelayReason()).isEqualTo("Şiddetli rüzgâr");
+        assertThat(archive.getActive()).isTrue();
+
+        assertThat(archive.getAirlineId()).isEqualTo(1L);
+        assertThat(archive.getAirlineIataCode()).isEqualTo("TK");
+        assertThat(archive.getAirlineName()).isEqualTo("Turkish Airlines");
+        assertThat(archive.getAircraftId()).isEqualTo(7L);
+        assertThat(archive.getAircraftRegistration()).isEqualTo("TC-JRE");
+        assertThat(archive.getAircraftType()).isEqualTo("A321");
+        assertThat(archive.getOriginAirportId()).isEqualTo(1L);
+        assertThat(archive.getOriginAirportIata()).isEqualTo("IST");
+        assertThat(archive.getOriginAirportName()).isEqualTo("İstanbul Havalimanı");
+        assertThat(archive.getDestinationAirportId()).isEqualTo(2L);
+        assertThat(archive.getDestinationAirportIata()).isEqualTo("ESB");
+        assertThat(archive.getDestinationAirportName()).isEqualTo("Esenboğa");
+    }
+
+    @Test
+    void acceptsIsoStringDatesAndPartialArrays() throws IOException {
+        String event = "{\"eventTime\":\"2026-11-02T07:55:00\",\"payload\":{"
+                + "\"flightDate\":\"2026-11-02\",\"scheduledDeparture\":\"2026-11-02T08:30:00\","
+                + "\"scheduledArrival\":[2026,11,2],\"actualDeparture\":\"not-a-date\","
+                + "\"actualArrival\":[2026,11]}}";
+
+        FlightArchive archive = parse(event);
+
+        assertThat(archive.getEventTime()).isEqualTo(LocalDateTime.of(2026, 11, 2, 7, 55));
+        assertThat(archive.getFlightDate()).isEqualTo(LocalDate.of(2026, 11, 2));
+        assertThat(archive.getScheduledDeparture()).isEqualTo(LocalDateTime.of(2026, 11, 2, 8, 30));
+        // Sadece tarih içeren array gün başlangıcına çevrilir
+        assertThat(archive.getScheduledArrival()).isEqualTo(LocalDateTime.of(2026, 11, 2, 0, 0));
+        assertThat(archive.getActualDeparture()).isNull();
+        assertThat(archive.getActualArrival()).isNull();
+    }
+
+    @Test
+    void mismatchedValueTypesAreSkippedWithoutLosingLaterFields() throws IOException {
+        String event = "{\"payload\":{\"id\":\"4711\",\"passengerCount\":{\"adults\":170},"
+                + "\"active\":\"yes\",\"gateNumber\":[\"B12\"],\"airline\":\"TK\","
+                + "\"aircraft\":null,\"flightNumber\":\"TK2024\"},\"eventType\":\"FLIGHT_UPDATED\"}";
+
+        FlightArchive archive = parse(event);
+
+        assertThat(archive.getFlightId()).isNull();
+        assertThat(archive.getPassengerCount()).isNull();
+        assertThat(archive.getActive()).isNull();
+        assertThat(archive.getGateNumber()).isNull();
+        assertThat(archive.getAirlineId()).isNull();
+        assertThat(archive.getAircraftId()).isNull();
+        assertThat(archive.getFlightNumber()).isEqualTo("TK2024");
+        assertThat(archive.getEventType()).isEqualTo("FLIGHT_UPDATED");
+    }
+
+    @Test
+    void nullPayloadLeavesPayloadEmpty() throws IOException {
+        FlightArchive archive = parse("{\"eventType\":\"FLIGHT_DELETED\",\"payload\":null,\"entityId\":\"9\"}");
+
+        assertThat(archive.getPayload()).isNull();
+        assertThat(archive.getFlightId()).isNull();
+        assertThat(archive.getEntityId()).isEqualTo("9");
+    }
+
+    @Test
+    void nonObjectPayloadIsStoredVerbatim() throws IOException {
+        FlightArchive archive = parse("{\"payload\":[1, {\"id\":2}],\"eventType\":\"BULK\"}");
+
+        assertThat(archive.getPayload()).isEqualTo("[1, {\"id\":2}]");
+        assertThat(archive.getFlightId()).isNull();
+        assertThat(archive.getEventType()).isEqualTo("BULK");
+    }
+
+    @Test
+    void rejectsNonObjectRecord() {
+        assertThatThrownBy(() -> parse("[{\"eventType\":\"FLIGHT_CREATED\"}]"))
+                .isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> parse("{\"eventType\":\"FLIGHT_CREATED\","))
+                .isInstanceOf(IOException.class);
+    }
+
+    private FlightArchive parse(String event) throws IOException {
+        return flightEventParser.parse(event.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -42,7 +42,12 @@ class WebSocketService {
     const subscription = this.client.subscribe(topic, message => {
       try {
         const data = JSON.parse(message.body)
-        callback(data)
+        // BATCH zarfı (version 1): aynı pencerede biriken tekil mesajlar data dizisinde, sırayla
+        if (data.type === 'BATCH' && Array.isArray(data.data)) {
+          data.data.forEach(item => callback(item))
+        } else {
+          callback(data)
+        }
       } catch (error) {
         console.error('Error parsing WebSocket message:', error)
       }
@@ -0,0 +1,229 @@
+package com.flightmanagement.flightservice.benchmark;
+
+import com.flightmanagement.flightservice.dto.cache.AircraftCache;
+import com.flightmanagement.flightservice.dto.cache.AirlineCache;
+import com.flightmanagement.flightservice.dto.cache.AirportCache;
+import com.flightmanagement.flightservice.dto.cache.RouteCache;
+import com.flightmanagement.flightservice.dto.request.FlightRequest;
+import com.flightmanagement.flightservice.entity.Flight;
+import com.flightmanagement.flightservice.entity.enums.FlightStatus;
+import com.flightmanagement.flightservice.entity.enums.FlightType;
+import com.flightmanagement.flightservice.metrics.CacheMetrics;
+import com.flightmanagement.flightservice.service.ReferenceLookupContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cache.CacheManager;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmark'larda kullanılan sabit reference data ve uçuş örnekleri.
+ * Değerler deterministik üretilir; tarihler her zaman yarına göre ayarlanır ki validasyon
+ * kuralları (geçmiş tarih vb.) benchmark süresince değişmesin.
+ */
+final class BenchmarkFixtures {
+
+    static final int AIRLINE_COUNT = 4;
+    static final int AIRCRAFT_COUNT = 8;
+    static final int ROUTE_COUNT = 10;
+
+    private static final String[][] AIRPORTS = {
+            {"IST", "LTFM", "Istanbul Airport", "Istanbul", "TR"},
+            {"ESB", "LTAC", "Esenboga Airport", "Ankara", "TR"},
+            {"ADB", "LTBJ", "Adnan Menderes Airport", "Izmir", "TR"},
+            {"AYT", "LTAI", "Antalya Airport", "Antalya", "TR"},
+            {"SAW", "LTFJ", "Sabiha Gokcen Airport", "Istanbul", "TR"},
+            {"LHR", "EGLL", "Heathrow Airport", "London", "GB"}
+    };
+
+    private static final String[] AIRLINE_CODES = {"TK", "PC", "XQ", "VF"};
+
+    private static final DateTimeFormatter CSV_DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter CSV_DATETIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private BenchmarkFixtures() {
+    }
+
+    // CacheManager yok: prefetch doğrudan stub batch'e gider, ölçüm Redis'ten bağımsız kalır
+    static ReferenceLookupContext referenceLookupContext(MeterRegistry meterRegistry) {
+        return new ReferenceLookupContext(new StubReferenceDataService(), meterRegistry, new CacheMetrics(meterRegistry),
+                new StaticListableBeanFactory().getBeanProvider(CacheManager.class));
+    }
+
+    /**
+     * Benchmark'ta çağrılmayan bağımlılıklar için invocation kaydı tutmayan mock
+     * (normal mock her çağrıyı saklar ve uzun ölçümlerde heap'i şişirir).
+     */
+    static <T> T unused(Class<T> type) {
+        return Mockito.mock(type, Mockito.withSettings().stubOnly());
+    }
+
+    /**
+     * Ölçülen private builder metodlarına erişim; public API'yi benchmark için genişletmemek adına
+     * setup sırasında bir kez çözülür.
+     */
+    static MethodHandle privateMethod(Class<?> owner, String name, Class<?>... parameterTypes) {
+        try {
+            Method method = owner.getDeclaredMethod(name, parameterTypes);
+            method.setAccessible(true);
+            return MethodHandles.lookup().unreflect(method);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Benchmark target not found: " + owner.getSimpleName() + "." + name, e);
+        }
+    }
+
+    static LocalDate flightDate() {
+        return LocalDate.now().plusDays(1);
+    }
+
+    static List<AirlineCache> airlines() {
+        List<AirlineCache> airlines = new ArrayList<>();
+        for (int i = 0; i < AIRLINE_COUNT; i++) {
+            airlines.add(new AirlineCache((long) i + 1, AIRLINE_CODES[i], AIRLINE_CODES[i] + "Y",
+                    "Airline " + AIRLINE_CODES[i], "TR", "MAJOR", true));
+        }
+        return airlines;
+    }
+
+    static List<AircraftCache> aircraft() {
+        List<AircraftCache> aircraft = new ArrayList<>();
+        for (int i = 1; i <= AIRCRAFT_COUNT; i++) {
+            AircraftCache item = new AircraftCache();
+            item.setId((long) i);
+            item.setRegistrationNumber("TC-J" + (char) ('A' + i) + "Z");
+            item.setAircraftType(i % 2 == 0 ? "A321" : "B738");
+            item.setManufacturer(i % 2 == 0 ? "Airbus" : "Boeing");
+            item.setModel(i % 2 == 0 ? "A321neo" : "737-800");
+            item.setSeatCapacity(189);
+            item.setCargoCapacity(3500);
+            item.setMaxRange(5600);
+            item.setStatus("ACTIVE");
+            item.setAirlineId((long) ((i - 1) % AIRLINE_COUNT) + 1);
+            aircraft.add(item);
+        }
+        return aircraft;
+    }
+
+    static List<AirportCache> airports() {
+        List<AirportCache> airports = new ArrayList<>();
+        for (int i = 0; i < AIRPORTS.length; i++) {
+            String[] airport = AIRPORTS[i];
+            airports.add(new AirportCache((long) i + 1, airport[0], airport[1], airport[2], airport[3],
+                    airport[4], "Europe/Istanbul", 41.0 + i, 28.0 + i, "INTERNATIONAL", true));
+        }
+        return airports;
+    }
+
+    static List<RouteCache> routes() {
+        List<RouteCache> routes = new ArrayList<>();
+        for (int i = 1; i <= ROUTE_COUNT; i++) {
+            int origin = (i - 1) % AIRPORTS.length;
+            int destination = i % AIRPORTS.length;
+
+            RouteCache route = new RouteCache();
+            route.setId((long) i);
+            route.setRouteCode(AIRPORTS[origin][0] + "-" + AIRPORTS[destination][0] + "-00" + i);
+            route.setRouteName(AIRPORTS[origin][3] + "-" + AIRPORTS[destination][3] + " Route");
+            route.setRoutePath(AIRPORTS[origin][0] + " → " + AIRPORTS[destination][0]);
+            route.setRouteType("DOMESTIC");
+            route.setDistance(350 + i * 40);
+            route.setEstimatedFlightTime(60 + i * 5);
+            route.setIsMultiSegment(false);
+            route.setSegmentCount(1);
+            route.setActive(true);
+            route.setOriginAirportId((long) origin + 1);
+            route.setOriginAirportCode(AIRPORTS[origin][0]);
+            route.setOriginAirportName(AIRPORTS[origin][2]);
+            route.setDestinationAirportId((long) destination + 1);
+            route.setDestinationAirportCode(AIRPORTS[destination][0]);
+            route.setDestinationAirportName(AIRPORTS[destination][2]);
+            route.setVisibility("PUBLIC");
+            route.setAirlineId((long) ((i - 1) % AIRLINE_COUNT) + 1);
+            routes.add(route);
+        }
+        return routes;
+    }
+
+    static Flight flight(int index) {
+        LocalDateTime departure = flightDate().atTime(6, 0).plusMinutes(index * 35L % 960);
+
+        Flight flight = new Flight();
+        flight.setId((long) index + 1);
+        flight.setFlightNumber(AIRLINE_CODES[index % AIRLINE_COUNT] + (100 + index));
+        flight.setAirlineId((long) (index % AIRLINE_COUNT) + 1);
+        flight.setAircraftId((long) (index % AIRCRAFT_COUNT) + 1);
+        flight.setRouteId((long) (index % ROUTE_COUNT) + 1);
+        flight.setFlightDate(flightDate());
+        flight.setScheduledDeparture(departure);
+        flight.setScheduledArrival(departure.plusMinutes(75));
+        flight.setStatus(index % 7 == 0 ? FlightStatus.DELAYED : FlightStatus.SCHEDULED);
+        flight.setType(FlightType.PASSENGER);
+        flight.setPassengerCount(120 + index % 60);
+        flight.setCargoWeight(800);
+        flight.setGateNumber("A" + (index % 40));
+        flight.setDelayMinutes(index % 7 == 0 ? 25 : 0);
+        flight.setDelayReason(index % 7 == 0 ? "Late inbound aircraft" : null);
+        flight.setActive(true);
+        flight.setSegmentNumber(1);
+        flight.setIsConnectingFlight(false);
+        flight.setCreatedAt(LocalDateTime.now());
+        flight.setUpdatedAt(LocalDateTime.now());
+        return flight;
+    }
+
+    static FlightRequest flightRequest(int index) {
+        LocalDateTime departure = flightDate().atTime(6, 0).plusMinutes(index * 35L % 960);
+
+        return FlightRequest.builder()
+                .flightNumber(AIRLINE_CODES[index % AIRLINE_COUNT] + (100 + index))
+                .airlineId((long) (index % AIRLINE_COUNT) + 1)
+                .aircraftId((long) (index % AIRCRAFT_COUNT) + 1)
+                .routeId((long) (index % ROUTE_COUNT) + 1)
+                .creationMode("ROUTE")
+                .flightDate(flightDate())
+                .scheduledDeparture(departure)
+                .scheduledArrival(departure.plusMinutes(75))
+                .type(FlightType.PASSENGER)
+                .passengerCount(120 + index % 60)
+                .cargoWeight(800)
+                .gateNumber("A" + (index % 40))
+                .build();
+    }
+
+    /**
+     * CsvProcessingService'in beklediği header ile CSV içeriği üretir. Satırların bir kısmı
+     * route ID, bir kısmı IATA çifti kullanır; her onuncu satır kasıtlı olarak hatalıdır.
+     */
+    static byte[] csv(int rows) {
+        StringBuilder csv = new StringBuilder(rows * 96);
+        csv.append("flightNumber,airlineId,aircraftId,route,flightDate,scheduledDeparture,")
+                .append("scheduledArrival,type,delayMinutes,status,passengerCount,cargoWeight\n");
+
+        for (int i = 0; i < rows; i++) {
+            LocalDateTime departure = flightDate().atTime(6, 0).plusMinutes(i * 35L % 960);
+            String route = i % 3 == 0
+                    ? AIRPORTS[i % AIRPORTS.length][0] + "-" + AIRPORTS[(i + 1) % AIRPORTS.length][0]
+                    : String.valueOf(i % ROUTE_COUNT + 1);
+            LocalDateTime arrival = i % 10 == 9 ? departure.minusMinutes(30) : departure.plusMinutes(75);
+
+            csv.append(AIRLINE_CODES[i % AIRLINE_COUNT]).append(100 + i).append(',')
+                    .append(i % AIRLINE_COUNT + 1).append(',')
+                    .append(i % AIRCRAFT_COUNT + 1).append(',')
+                    .append(route).append(',')
+                    .append(CSV_DATE.format(departure)).append(',')
+                    .append(CSV_DATETIME.format(departure)).append(',')
+                    .append(CSV_DATETIME.format(arrival)).append(',')
+                    .append("PASSENGER,0,SCHEDULED,")
+                    .append(120 + i % 60).append(",\n");
+        }
+        return csv.toString().getBytes();
+    }
+}
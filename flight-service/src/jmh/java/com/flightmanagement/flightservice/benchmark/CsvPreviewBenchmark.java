@@ -0,0 +1,57 @@
+package com.flightmanagement.flightservice.benchmark;
+
+import com.flightmanagement.flightservice.dto.response.CsvPreviewResponse;
+import com.flightmanagement.flightservice.service.AutoRouteService;
+import com.flightmanagement.flightservice.service.CsvProcessingService;
+import com.flightmanagement.flightservice.service.FlightService;
+import com.flightmanagement.flightservice.service.ReferenceLookupContext;
+import com.flightmanagement.flightservice.validator.FlightValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.flightmanagement.flightservice.benchmark.BenchmarkFixtures.unused;
+
+/**
+ * CSV preview: satır parse, route çözümleme (ID ve IATA çifti) ve toplu validation.
+ * Upload endpoint'inde olduğu gibi her preview tek bir request scope içinde çalışır.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class CsvPreviewBenchmark {
+
+    @Param({"100", "1000"})
+    public int rows;
+
+    private CsvProcessingService csvProcessingService;
+    private ReferenceLookupContext referenceLookupContext;
+    private MockMultipartFile file;
+
+    @Setup
+    public void setUp() {
+        referenceLookupContext = BenchmarkFixtures.referenceLookupContext(new SimpleMeterRegistry());
+        csvProcessingService = new CsvProcessingService(
+                unused(FlightService.class),
+                unused(AutoRouteService.class),
+                new FlightValidator(referenceLookupContext),
+                referenceLookupContext);
+        file = new MockMultipartFile("file", "flights.csv", "text/csv", BenchmarkFixtures.csv(rows));
+    }
+
+    @Benchmark
+    public CsvPreviewResponse previewCsvFile() {
+        boolean opened = referenceLookupContext.openScope("benchmark");
+        try {
+            return csvProcessingService.previewCsvFile(file);
+        } finally {
+            if (opened) {
+                referenceLookupContext.closeScope();
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.flightmanagement.flightservice.benchmark;
+
+import com.flightmanagement.flightservice.dto.response.FlightResponse;
+import com.flightmanagement.flightservice.entity.Flight;
+import com.flightmanagement.flightservice.event.FlightEventPayload;
+import com.flightmanagement.flightservice.mapper.FlightMapperImpl;
+import com.flightmanagement.flightservice.service.KafkaProducerService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+
+import static com.flightmanagement.flightservice.benchmark.BenchmarkFixtures.unused;
+
+/**
+ * KafkaProducerService.buildFlightPayload: reference lookup'lı yol ve hazır FlightResponse'tan
+ * kurulan (lookup'sız) yol. Kafka'ya gönderim ölçüme dahil değildir.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class FlightEventPayloadBenchmark {
+
+    private KafkaProducerService kafkaProducerService;
+    private MethodHandle buildFromFlight;
+    private MethodHandle buildFromResponse;
+    private Flight flight;
+    private FlightResponse response;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        kafkaProducerService = new KafkaProducerService(unused(KafkaTemplate.class),
+                BenchmarkFixtures.referenceLookupContext(meterRegistry), meterRegistry);
+
+        buildFromFlight = BenchmarkFixtures.privateMethod(KafkaProducerService.class,
+                "buildFlightPayload", Flight.class);
+        buildFromResponse = BenchmarkFixtures.privateMethod(KafkaProducerService.class,
+                "buildFlightPayload", Flight.class, FlightResponse.class);
+
+        flight = BenchmarkFixtures.flight(4);
+
+        StubReferenceDataService referenceData = new StubReferenceDataService();
+        response = new FlightMapperImpl().toResponse(flight);
+        response.setAirline(referenceData.getAirline(flight.getAirlineId()));
+        response.setAircraft(referenceData.getAircraft(flight.getAircraftId()));
+        response.setRoute(referenceData.getRoute(flight.getRouteId()));
+        response.setOriginAirport(referenceData.getAirport(response.getRoute().getOriginAirportId()));
+        response.setDestinationAirport(referenceData.getAirport(response.getRoute().getDestinationAirportId()));
+    }
+
+    @Benchmark
+    public FlightEventPayload buildFlightPayload() throws Throwable {
+        return (FlightEventPayload) buildFromFlight.invoke(kafkaProducerService, flight);
+    }
+
+    @Benchmark
+    public FlightEventPayload buildFlightPayloadFromResponse() throws Throwable {
+        return (FlightEventPayload) buildFromResponse.invoke(kafkaProducerService, flight, response);
+    }
+}
@@ -0,0 +1,57 @@
+package com.flightmanagement.flightservice.benchmark;
+
+import com.flightmanagement.flightservice.dto.request.FlightRequest;
+import com.flightmanagement.flightservice.dto.response.FlightResponse;
+import com.flightmanagement.flightservice.entity.Flight;
+import com.flightmanagement.flightservice.mapper.FlightMapper;
+import com.flightmanagement.flightservice.mapper.FlightMapperImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MapStruct üretimi FlightMapper dönüşümleri (entity -> response, request -> entity).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class FlightMapperBenchmark {
+
+    private FlightMapper flightMapper;
+    private Flight flight;
+    private FlightRequest request;
+
+    @Setup
+    public void setUp() {
+        flightMapper = new FlightMapperImpl();
+        flight = BenchmarkFixtures.flight(7);
+        request = BenchmarkFixtures.flightRequest(7);
+    }
+
+    @Benchmark
+    public FlightResponse toResponse() {
+        return flightMapper.toResponse(flight);
+    }
+
+    @Benchmark
+    public FlightResponse toMinimalResponse() {
+        return flightMapper.toMinimalResponse(flight);
+    }
+
+    @Benchmark
+    public FlightResponse toSummaryResponse() {
+        return flightMapper.toSummaryResponse(flight);
+    }
+
+    @Benchmark
+    public Flight toEntity() {
+        return flightMapper.toEntity(request);
+    }
+
+    @Benchmark
+    public Flight csvToEntity() {
+        return flightMapper.csvToEntity(request);
+    }
+}
@@ -0,0 +1,96 @@
+package com.flightmanagement.flightservice.benchmark;
+
+import com.flightmanagement.flightservice.dto.response.FlightResponse;
+import com.flightmanagement.flightservice.entity.Flight;
+import com.flightmanagement.flightservice.mapper.FlightMapperImpl;
+import com.flightmanagement.flightservice.metrics.RemoteCallMetrics;
+import com.flightmanagement.flightservice.repository.FlightRepository;
+import com.flightmanagement.flightservice.service.*;
+import com.flightmanagement.flightservice.validator.FlightValidator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.invoke.MethodHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static com.flightmanagement.flightservice.benchmark.BenchmarkFixtures.unused;
+
+/**
+ * FlightService.buildFlightResponse: mapper + airline/aircraft/route/airport zenginleştirmesi.
+ *
+ * Reference data stub'dan gelir (remote çağrı yok), fan-out kapalıdır; ölçülen şey response
+ * kurulumunun kendi CPU ve allocation maliyetidir. Liste varyantı, list endpoint'lerinde olduğu
+ * gibi tek bir request scope içinde çalışır (tekrarlanan reference'lar memoize edilir).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class FlightResponseBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    private FlightService flightService;
+    private ReferenceLookupContext referenceLookupContext;
+    private MethodHandle buildFlightResponse;
+    private Flight flight;
+    private List<Flight> page;
+
+    @Setup
+    public void setUp() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        StubReferenceDataService referenceDataService = new StubReferenceDataService();
+        referenceLookupContext = BenchmarkFixtures.referenceLookupContext(meterRegistry);
+
+        ReferenceFanOutService referenceFanOutService = new ReferenceFanOutService(referenceDataService,
+                referenceLookupContext, new RemoteCallMetrics(meterRegistry), ForkJoinPool.commonPool(), meterRegistry);
+
+        flightService = new FlightService(
+                unused(FlightRepository.class),
+                new FlightMapperImpl(),
+                new FlightValidator(referenceLookupContext),
+                referenceLookupContext,
+                unused(KafkaProducerService.class),
+                unused(WebSocketMessageService.class),
+                unused(ConnectingFlightService.class),
+                unused(ArchiveServiceClient.class),
+                unused(AutoRouteService.class),
+                unused(DelayPropagationService.class),
+                unused(ConnectingFlightAggregateLoader.class),
+                referenceFanOutService);
+
+        buildFlightResponse = BenchmarkFixtures.privateMethod(FlightService.class, "buildFlightResponse", Flight.class);
+
+        flight = BenchmarkFixtures.flight(3);
+        page = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            page.add(BenchmarkFixtures.flight(i));
+        }
+    }
+
+    @Benchmark
+    public FlightResponse buildFlightResponse() throws Throwable {
+        return (FlightResponse) buildFlightResponse.invoke(flightService, flight);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE_SIZE)
+    public void buildFlightResponsePageInRequestScope(Blackhole blackhole) throws Throwable {
+        boolean opened = referenceLookupContext.openScope("benchmark");
+        try {
+            for (Flight item : page) {
+                blackhole.consume((FlightResponse) buildFlightResponse.invoke(flightService, item));
+            }
+        } finally {
+            if (opened) {
+                referenceLookupContext.closeScope();
+            }
+        }
+    }
+}
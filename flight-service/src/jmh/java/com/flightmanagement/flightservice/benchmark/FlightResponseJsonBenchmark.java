@@ -0,0 +1,70 @@
+package com.flightmanagement.flightservice.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.flightmanagement.flightservice.dto.response.FlightResponse;
+import com.flightmanagement.flightservice.entity.Flight;
+import com.flightmanagement.flightservice.mapper.FlightMapper;
+import com.flightmanagement.flightservice.mapper.FlightMapperImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FlightResponse JSON serileştirmesi. ObjectMapper WebConfig'teki HTTP converter ile aynı
+ * şekilde kurulur (JavaTimeModule, NON_NULL).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class FlightResponseJsonBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    private ObjectWriter writer;
+    private FlightResponse response;
+    private List<FlightResponse> page;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        writer = objectMapper.writer();
+
+        FlightMapper flightMapper = new FlightMapperImpl();
+        StubReferenceDataService referenceData = new StubReferenceDataService();
+        page = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Flight flight = BenchmarkFixtures.flight(i);
+            page.add(enrich(flightMapper.toResponse(flight), flight, referenceData));
+        }
+        response = page.get(0);
+    }
+
+    @Benchmark
+    public byte[] serializeFlightResponse() throws Exception {
+        return writer.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serializeFlightResponsePage() throws Exception {
+        return writer.writeValueAsBytes(page);
+    }
+
+    private FlightResponse enrich(FlightResponse response, Flight flight, StubReferenceDataService referenceData) {
+        response.setAirline(referenceData.getAirline(flight.getAirlineId()));
+        response.setAircraft(referenceData.getAircraft(flight.getAircraftId()));
+        response.setRoute(referenceData.getRoute(flight.getRouteId()));
+        response.setRoutePath(response.getRoute().getRoutePath());
+        response.setOriginAirport(referenceData.getAirport(response.getRoute().getOriginAirportId()));
+        response.setDestinationAirport(referenceData.getAirport(response.getRoute().getDestinationAirportId()));
+        return response;
+    }
+}
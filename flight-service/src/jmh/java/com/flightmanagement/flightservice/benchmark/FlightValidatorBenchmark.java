@@ -0,0 +1,51 @@
+package com.flightmanagement.flightservice.benchmark;
+
+import com.flightmanagement.flightservice.dto.request.FlightRequest;
+import com.flightmanagement.flightservice.validator.FlightValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FlightValidator: tek request doğrulaması ve CSV import'taki gibi toplu validation planı.
+ * Reference data stub'dan çözülür; her çağrı kendi validation scope'unu açar.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class FlightValidatorBenchmark {
+
+    @Param({"100"})
+    public int batchSize;
+
+    private FlightValidator flightValidator;
+    private FlightRequest request;
+    private List<FlightRequest> batch;
+
+    @Setup
+    public void setUp() {
+        flightValidator = new FlightValidator(BenchmarkFixtures.referenceLookupContext(new SimpleMeterRegistry()));
+        request = BenchmarkFixtures.flightRequest(5);
+        batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            batch.add(BenchmarkFixtures.flightRequest(i));
+        }
+    }
+
+    @Benchmark
+    public FlightRequest validateFlightRequest() {
+        flightValidator.validateFlightRequest(request);
+        return request;
+    }
+
+    @Benchmark
+    public List<Map<String, String>> validateFlightRequests() {
+        return flightValidator.validateFlightRequests(batch);
+    }
+}
@@ -0,0 +1,100 @@
+package com.flightmanagement.flightservice.benchmark;
+
+import com.flightmanagement.flightservice.dto.cache.AircraftCache;
+import com.flightmanagement.flightservice.dto.cache.AirlineCache;
+import com.flightmanagement.flightservice.dto.cache.AirportCache;
+import com.flightmanagement.flightservice.dto.cache.RouteCache;
+import com.flightmanagement.flightservice.service.ReferenceDataService;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.IntFunction;
+
+/**
+ * Reference manager'a gitmeden bellekteki fixture'lardan cevap veren ReferenceDataService.
+ * Benchmark'lar sadece flight-service tarafındaki CPU/allocation maliyetini ölçer.
+ */
+public class StubReferenceDataService extends ReferenceDataService {
+
+    private final Map<Long, AirlineCache> airlines = new HashMap<>();
+    private final Map<Long, AircraftCache> aircraft = new HashMap<>();
+    private final Map<Long, RouteCache> routes = new HashMap<>();
+    private final Map<Long, AirportCache> airports = new HashMap<>();
+    private final Map<String, AirportCache> airportsByIata = new HashMap<>();
+
+    public StubReferenceDataService() {
+        super(null, null);
+        for (AirlineCache airline : BenchmarkFixtures.airlines()) {
+            airlines.put(airline.getId(), airline);
+        }
+        for (AircraftCache item : BenchmarkFixtures.aircraft()) {
+            aircraft.put(item.getId(), item);
+        }
+        for (RouteCache route : BenchmarkFixtures.routes()) {
+            routes.put(route.getId(), route);
+        }
+        for (AirportCache airport : BenchmarkFixtures.airports()) {
+            airports.put(airport.getId(), airport);
+            airportsByIata.put(airport.getIataCode(), airport);
+        }
+    }
+
+    @Override
+    public AirlineCache getAirline(Long airlineId) {
+        return airlines.get(airlineId);
+    }
+
+    @Override
+    public AirportCache getAirport(Long airportId) {
+        return airports.get(airportId);
+    }
+
+    @Override
+    public AirportCache getAirportByIataCode(String iataCode) {
+        return airportsByIata.get(iataCode);
+    }
+
+    @Override
+    public AircraftCache getAircraft(Long aircraftId) {
+        return aircraft.get(aircraftId);
+    }
+
+    @Override
+    public RouteCache getRoute(Long routeId) {
+        return routes.get(routeId);
+    }
+
+    @Override
+    public RouteCache[] getRoutesByIds(Long[] routeIds) {
+        return batch(routeIds, routes, RouteCache[]::new);
+    }
+
+    @Override
+    public AirlineCache[] getAirlinesByIds(Long[] airlineIds) {
+        return batch(airlineIds, airlines, AirlineCache[]::new);
+    }
+
+    @Override
+    public AirportCache[] getAirportsByIds(Long[] airportIds) {
+        return batch(airportIds, airports, AirportCache[]::new);
+    }
+
+    @Override
+    public AircraftCache[] getAircraftsByIds(Long[] aircraftIds) {
+        return batch(aircraftIds, aircraft, AircraftCache[]::new);
+    }
+
+    @Override
+    public RouteCache[] getActiveRoutes() {
+        return routes.values().toArray(new RouteCache[0]);
+    }
+
+    private <T> T[] batch(Long[] ids, Map<Long, T> source, IntFunction<T[]> arrayFactory) {
+        return Arrays.stream(ids)
+                .map(source::get)
+                .filter(Objects::nonNull)
+                .toArray(arrayFactory);
+    }
+}
@@ -0,0 +1,55 @@
+package com.flightmanagement.flightservice.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Bir senaryonun operasyon sürelerini (nanosaniye) toplar. Percentile'lar tam örnek
+ * kümesinden hesaplanır; senaryo başına örnek sayısı birkaç yüz bini geçmez.
+ */
+final class LatencyRecorder {
+
+    private long[] samples = new long[4096];
+    private int size;
+    private long errors;
+
+    synchronized void record(long durationNanos, boolean success) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = durationNanos;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    synchronized Summary summarize() {
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        return new Summary(size, errors, percentile(sorted, 0.50), percentile(sorted, 0.99),
+                size > 0 ? sorted[size - 1] : 0);
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    static final class Summary {
+        final long operations;
+        final long errors;
+        final long p50Nanos;
+        final long p99Nanos;
+        final long maxNanos;
+
+        private Summary(long operations, long errors, long p50Nanos, long p99Nanos, long maxNanos) {
+            this.operations = operations;
+            this.errors = errors;
+            this.p50Nanos = p50Nanos;
+            this.p99Nanos = p99Nanos;
+            this.maxNanos = maxNanos;
+        }
+    }
+}
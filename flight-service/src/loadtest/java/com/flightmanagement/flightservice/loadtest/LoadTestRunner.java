@@ -0,0 +1,283 @@
+package com.flightmanagement.flightservice.loadtest;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.flightmanagement.flightservice.FlightServiceApplication;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * flight-service için tekrarlanabilir load test.
+ *
+ * reference-manager ve archive-service yerine gecikme/hata oranı ayarlanabilir in-process stub'lar,
+ * veritabanı olarak H2 (MySQL modu, Liquibase şeması) ve embedded Kafka broker kullanılır; servis
+ * aynı JVM'de gerçek HTTP portunda açılır. Senaryolar sırayla çalışır ve her biri için throughput,
+ * p50/p99 latency ve stub'lara giden remote çağrı sayıları raporlanır.
+ *
+ * Çalıştırma: mvn -Ploadtest verify -Dloadtest.args="-Dloadtest.concurrency=32 ..."
+ * (ayarlar runner JVM'inin -Dloadtest.* system property'leridir)
+ */
+@Slf4j
+public final class LoadTestRunner {
+
+    private static final String JWT_SECRET = "loadTestSigningKey0123456789012345678901234567890123456789012345";
+    private static final String DEFAULT_SCENARIOS = "list-pages,create-burst,status-storm,csv-import";
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> scenarios = List.of(setting("scenarios", DEFAULT_SCENARIOS).split(","));
+        int seedFlights = Integer.parseInt(setting("seed-flights", "200"));
+        Path resultsFile = Paths.get(setting("results", "target/loadtest-results.json"));
+
+        EmbeddedKafkaKraftBroker kafka = new EmbeddedKafkaKraftBroker(1,
+                Integer.parseInt(setting("kafka.partitions", "3")), "flight.events", "reference.events");
+        kafka.afterPropertiesSet();
+
+        StubServer referenceStub = ServiceStubs.referenceManager(
+                Long.parseLong(setting("reference.latency-ms", "15")),
+                Long.parseLong(setting("reference.jitter-ms", "10")),
+                Double.parseDouble(setting("reference.error-rate", "0.0")),
+                token("admin")).start();
+        StubServer archiveStub = ServiceStubs.archiveService(
+                Long.parseLong(setting("archive.latency-ms", "25")),
+                Long.parseLong(setting("archive.jitter-ms", "15")),
+                Double.parseDouble(setting("archive.error-rate", "0.0"))).start();
+
+        ConfigurableApplicationContext application = new SpringApplicationBuilder(FlightServiceApplication.class)
+                .profiles("loadtest")
+                .run("--server.port=0",
+                        "--spring.kafka.bootstrap-servers=" + kafka.getBrokersAsString(),
+                        "--reference-manager.base-url=" + referenceStub.baseUrl(),
+                        "--archive-service.base-url=" + archiveStub.baseUrl(),
+                        "--jwt.secret=" + JWT_SECRET);
+
+        ExecutorService clientExecutor = Executors.newCachedThreadPool();
+        List<ScenarioResult> results = new ArrayList<>();
+        try {
+            String baseUrl = "http://127.0.0.1:" + application.getEnvironment().getProperty("local.server.port");
+            LoadClient client = new LoadClient(baseUrl, token("loadtest"), clientExecutor);
+            Workloads workloads = new Workloads();
+
+            // Status storm ve list senaryoları için başlangıç verisi (ölçülmez)
+            runFixed(client, workloads.createBurst(), seedFlights, concurrency("seed"));
+            log.warn("Seeded {} flights", workloads.createdFlightCount());
+
+            for (String scenario : scenarios) {
+                Workloads.Workload workload = workload(workloads, scenario.trim());
+                results.add(runScenario(scenario.trim(), client, workload, referenceStub, archiveStub));
+            }
+        } finally {
+            application.close();
+            referenceStub.close();
+            archiveStub.close();
+            kafka.destroy();
+            clientExecutor.shutdownNow();
+        }
+
+        printReport(results);
+        writeReport(resultsFile, results);
+        System.exit(0);
+    }
+
+    private static Workloads.Workload workload(Workloads workloads, String scenario) {
+        switch (scenario) {
+            case "list-pages":
+                return workloads.listPages(Integer.parseInt(setting("list-pages.page-size", "20")));
+            case "create-burst":
+                return workloads.createBurst();
+            case "status-storm":
+                return workloads.statusStorm();
+            case "csv-import":
+                return workloads.csvImport(Integer.parseInt(setting("csv-import.rows", "50")));
+            default:
+                throw new IllegalArgumentException("Unknown scenario: " + scenario
+                        + " (supported: " + DEFAULT_SCENARIOS + ")");
+        }
+    }
+
+    private static ScenarioResult runScenario(String scenario, LoadClient client, Workloads.Workload workload,
+                                              StubServer referenceStub, StubServer archiveStub) throws Exception {
+        int concurrency = concurrency(scenario);
+        long warmupSeconds = Long.parseLong(setting("warmup-seconds", "5"));
+        long durationSeconds = Long.parseLong(setting("duration-seconds", "30"));
+
+        log.warn("Scenario {}: warmup {}s, measuring {}s with {} workers",
+                scenario, warmupSeconds, durationSeconds, concurrency);
+        runTimed(client, workload, concurrency, warmupSeconds, new LatencyRecorder());
+
+        Map<String, Long> referenceBefore = referenceStub.snapshot();
+        Map<String, Long> archiveBefore = archiveStub.snapshot();
+        LatencyRecorder recorder = new LatencyRecorder();
+        long elapsedNanos = runTimed(client, workload, concurrency, durationSeconds, recorder);
+
+        Map<String, Long> byRoute = new TreeMap<>();
+        long referenceCalls = diff("reference-manager", referenceBefore, referenceStub.snapshot(), byRoute);
+        long archiveCalls = diff("archive-service", archiveBefore, archiveStub.snapshot(), byRoute);
+
+        LatencyRecorder.Summary summary = recorder.summarize();
+        double seconds = elapsedNanos / 1e9;
+        return ScenarioResult.builder()
+                .scenario(scenario)
+                .concurrency(concurrency)
+                .durationSeconds(seconds)
+                .operations(summary.operations)
+                .errors(summary.errors)
+                .throughputPerSecond(summary.operations / seconds)
+                .p50Millis(summary.p50Nanos / 1e6)
+                .p99Millis(summary.p99Nanos / 1e6)
+                .maxMillis(summary.maxNanos / 1e6)
+                .referenceCalls(referenceCalls)
+                .archiveCalls(archiveCalls)
+                .remoteCallsPerOperation(summary.operations > 0
+                        ? (double) (referenceCalls + archiveCalls) / summary.operations : 0)
+                .remoteCallsByRoute(byRoute)
+                .build();
+    }
+
+    private static long runTimed(LoadClient client, Workloads.Workload workload, int concurrency,
+                                 long seconds, LatencyRecorder recorder) throws Exception {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(seconds);
+        AtomicLong iterations = new AtomicLong();
+        runWorkers(concurrency, () -> {
+            while (System.nanoTime() < deadline) {
+                execute(client, workload, iterations.getAndIncrement(), recorder);
+            }
+        });
+        return System.nanoTime() - start;
+    }
+
+    private static void runFixed(LoadClient client, Workloads.Workload workload, int operations,
+                                 int concurrency) throws Exception {
+        AtomicLong iterations = new AtomicLong();
+        LatencyRecorder recorder = new LatencyRecorder();
+        runWorkers(concurrency, () -> {
+            long iteration;
+            while ((iteration = iterations.getAndIncrement()) < operations) {
+                execute(client, workload, iteration, recorder);
+            }
+        });
+    }
+
+    private static void execute(LoadClient client, Workloads.Workload workload, long iteration,
+                                LatencyRecorder recorder) {
+        long start = System.nanoTime();
+        boolean success;
+        try {
+            success = workload.execute(client, iteration);
+        } catch (Exception e) {
+            log.debug("Load test operation failed: {}", e.getMessage());
+            success = false;
+        }
+        recorder.record(System.nanoTime() - start, success);
+    }
+
+    private static void runWorkers(int concurrency, Runnable worker) throws Exception {
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<?>> futures = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(workers.submit(worker));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private static long diff(String stub, Map<String, Long> before, Map<String, Long> after, Map<String, Long> byRoute) {
+        long total = 0;
+        for (Map.Entry<String, Long> entry : after.entrySet()) {
+            long delta = entry.getValue() - before.getOrDefault(entry.getKey(), 0L);
+            if (delta > 0) {
+                byRoute.put(stub + " " + entry.getKey(), delta);
+                total += delta;
+            }
+        }
+        return total;
+    }
+
+    private static void printReport(List<ScenarioResult> results) {
+        StringBuilder report = new StringBuilder("\n");
+        report.append(String.format("%-14s %5s %9s %7s %10s %9s %9s %9s %8s %8s %9s%n",
+                "scenario", "conc", "ops", "errors", "ops/s", "p50 ms", "p99 ms", "max ms",
+                "ref", "archive", "calls/op"));
+        for (ScenarioResult result : results) {
+            report.append(String.format("%-14s %5d %9d %7d %10.1f %9.2f %9.2f %9.2f %8d %8d %9.2f%n",
+                    result.getScenario(), result.getConcurrency(), result.getOperations(), result.getErrors(),
+                    result.getThroughputPerSecond(), result.getP50Millis(), result.getP99Millis(),
+                    result.getMaxMillis(), result.getReferenceCalls(), result.getArchiveCalls(),
+                    result.getRemoteCallsPerOperation()));
+        }
+        System.out.println(report);
+    }
+
+    private static void writeReport(Path resultsFile, List<ScenarioResult> results) throws Exception {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", Instant.now().toString());
+        report.put("settings", settings());
+        report.put("scenarios", results);
+
+        if (resultsFile.getParent() != null) {
+            Files.createDirectories(resultsFile.getParent());
+        }
+        Files.write(resultsFile, StubServer.JSON.copy()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValueAsBytes(report));
+        log.warn("Load test results written to {}", resultsFile.toAbsolutePath());
+    }
+
+    private static Map<String, String> settings() {
+        Map<String, String> settings = new TreeMap<>();
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith("loadtest."))
+                .forEach(name -> settings.put(name, System.getProperty(name)));
+        return settings;
+    }
+
+    private static int concurrency(String scenario) {
+        return Integer.parseInt(setting(scenario + ".concurrency", setting("concurrency", "16")));
+    }
+
+    private static String setting(String name, String defaultValue) {
+        return System.getProperty("loadtest." + name, defaultValue);
+    }
+
+    /**
+     * flight-service'in doğruladığı formatta (subject + roles claim) token üretir
+     */
+    private static String token(String subject) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .setSubject(subject)
+                .claim("roles", "ROLE_ADMIN,ROLE_USER")
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(now.plusSeconds(86400)))
+                .signWith(Keys.hmacShaKeyFor(JWT_SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+}
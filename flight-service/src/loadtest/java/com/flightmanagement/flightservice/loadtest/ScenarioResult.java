@@ -0,0 +1,27 @@
+package com.flightmanagement.flightservice.loadtest;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * Bir senaryonun ölçüm sonucu (JSON rapora aynen yazılır)
+ */
+@Getter
+@Builder
+public class ScenarioResult {
+    private String scenario;
+    private int concurrency;
+    private double durationSeconds;
+    private long operations;
+    private long errors;
+    private double throughputPerSecond;
+    private double p50Millis;
+    private double p99Millis;
+    private double maxMillis;
+    private long referenceCalls;
+    private long archiveCalls;
+    private double remoteCallsPerOperation;
+    private Map<String, Long> remoteCallsByRoute;
+}
@@ -0,0 +1,215 @@
+package com.flightmanagement.flightservice.loadtest;
+
+import com.flightmanagement.flightservice.dto.cache.AircraftCache;
+import com.flightmanagement.flightservice.dto.cache.AirlineCache;
+import com.flightmanagement.flightservice.dto.cache.AirportCache;
+import com.flightmanagement.flightservice.dto.cache.RouteCache;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * reference-manager ve archive-service stub'ları ile load test'in kullandığı sabit reference data.
+ *
+ * Veri seti deterministiktir: airline i, aircraft'ları ve route'ları (i - 1) % airlineCount + 1
+ * üzerinden eşlenir; tüm kayıtlar aktiftir. Workload'lar aynı ID uzayından request üretir.
+ */
+final class ServiceStubs {
+
+    static final int AIRLINE_COUNT = 10;
+    static final int AIRCRAFT_COUNT = 60;
+    static final int AIRPORT_COUNT = 30;
+    static final int ROUTE_COUNT = 120;
+    static final String[] AIRLINE_CODES = {"TK", "PC", "XQ", "VF", "AJ", "LH", "BA", "AF", "KL", "QR"};
+
+    private static final Map<Long, AirlineCache> AIRLINES = new LinkedHashMap<>();
+    private static final Map<Long, AircraftCache> AIRCRAFT = new LinkedHashMap<>();
+    private static final Map<Long, AirportCache> AIRPORTS = new LinkedHashMap<>();
+    private static final Map<String, AirportCache> AIRPORTS_BY_IATA = new HashMap<>();
+    // AutoRouteService yeni route oluşturabildiği için eşzamanlı yazılır
+    private static final Map<Long, RouteCache> ROUTES = new ConcurrentHashMap<>();
+
+    static {
+        for (int i = 1; i <= AIRLINE_COUNT; i++) {
+            String code = AIRLINE_CODES[i - 1];
+            AIRLINES.put((long) i, new AirlineCache((long) i, code, code + "X", "Airline " + code, "TR", "MAJOR", true));
+        }
+        for (int i = 1; i <= AIRPORT_COUNT; i++) {
+            String iata = "" + (char) ('A' + (i - 1) / 26 % 26) + (char) ('A' + (i - 1) % 26) + "X";
+            AirportCache airport = new AirportCache((long) i, iata, "L" + iata, "Airport " + iata, "City " + i,
+                    "TR", "Europe/Istanbul", 36.0 + i * 0.1, 26.0 + i * 0.2, "INTERNATIONAL", true);
+            AIRPORTS.put((long) i, airport);
+            AIRPORTS_BY_IATA.put(iata, airport);
+        }
+        for (int i = 1; i <= AIRCRAFT_COUNT; i++) {
+            AircraftCache aircraft = new AircraftCache();
+            aircraft.setId((long) i);
+            aircraft.setRegistrationNumber("TC-L" + i);
+            aircraft.setAircraftType(i % 2 == 0 ? "A321" : "B738");
+            aircraft.setManufacturer(i % 2 == 0 ? "Airbus" : "Boeing");
+            aircraft.setModel(i % 2 == 0 ? "A321neo" : "737-800");
+            aircraft.setSeatCapacity(220);
+            aircraft.setCargoCapacity(4000);
+            aircraft.setMaxRange(6000);
+            aircraft.setStatus("ACTIVE");
+            aircraft.setAirlineId(airlineOf(i));
+            AIRCRAFT.put((long) i, aircraft);
+        }
+        for (int i = 1; i <= ROUTE_COUNT; i++) {
+            AirportCache origin = AIRPORTS.get((long) ((i - 1) % AIRPORT_COUNT) + 1);
+            AirportCache destination = AIRPORTS.get((long) ((i + 6) % AIRPORT_COUNT) + 1);
+
+            RouteCache route = new RouteCache();
+            route.setId((long) i);
+            route.setRouteCode(origin.getIataCode() + "-" + destination.getIataCode() + "-" + i);
+            route.setRouteName(origin.getCity() + "-" + destination.getCity());
+            route.setRoutePath(origin.getIataCode() + " → " + destination.getIataCode());
+            route.setRouteType("DOMESTIC");
+            route.setDistance(300 + i * 7);
+            route.setEstimatedFlightTime(55 + i % 90);
+            route.setIsMultiSegment(false);
+            route.setSegmentCount(1);
+            route.setActive(true);
+            route.setOriginAirportId(origin.getId());
+            route.setOriginAirportCode(origin.getIataCode());
+            route.setOriginAirportName(origin.getName());
+            route.setDestinationAirportId(destination.getId());
+            route.setDestinationAirportCode(destination.getIataCode());
+            route.setDestinationAirportName(destination.getName());
+            route.setVisibility("PUBLIC");
+            route.setAirlineId(airlineOf(i));
+            ROUTES.put((long) i, route);
+        }
+    }
+
+    private ServiceStubs() {
+    }
+
+    static long airlineOf(int index) {
+        return (index - 1) % AIRLINE_COUNT + 1;
+    }
+
+    /**
+     * Airline'a ait aircraft ve route ID'leri (create workload'ları tutarlı request üretsin diye)
+     */
+    static long aircraftFor(long airlineId, long sequence) {
+        return airlineId + AIRLINE_COUNT * (sequence % (AIRCRAFT_COUNT / AIRLINE_COUNT));
+    }
+
+    static long routeFor(long airlineId, long sequence) {
+        return airlineId + AIRLINE_COUNT * (sequence % (ROUTE_COUNT / AIRLINE_COUNT));
+    }
+
+    static AirportCache airport(long id) {
+        return AIRPORTS.get(id);
+    }
+
+    static RouteCache route(long id) {
+        return ROUTES.get(id);
+    }
+
+    static StubServer referenceManager(long latencyMillis, long jitterMillis, double errorRate, String serviceToken) {
+        return new StubServer("reference-manager", latencyMillis, jitterMillis, errorRate)
+                .route("POST", "/api/v1/auth/login", (path, body) ->
+                        Map.of("token", serviceToken, "tokenType", "Bearer", "expiresIn", 86400))
+                .route("POST", "/api/v1/airlines/batch", (path, body) -> batch(body, AIRLINES::get))
+                .route("POST", "/api/v1/aircrafts/batch", (path, body) -> batch(body, AIRCRAFT::get))
+                .route("POST", "/api/v1/airports/batch", (path, body) -> batch(body, AIRPORTS::get))
+                .route("POST", "/api/v1/routes/batch", (path, body) -> batch(body, ROUTES::get))
+                .route("GET", "/api/v1/airlines/", (path, body) -> AIRLINES.get(parseId(path)))
+                .route("GET", "/api/v1/aircrafts/", (path, body) -> AIRCRAFT.get(parseId(path)))
+                .route("GET", "/api/v1/airports/iata/", (path, body) -> AIRPORTS_BY_IATA.get(path))
+                .route("GET", "/api/v1/airports/", (path, body) -> AIRPORTS.get(parseId(path)))
+                .route("POST", "/api/v1/routes", (path, body) -> Map.of("id", createRoute(body)))
+                .route("GET", "/api/v1/routes/airline/", (path, body) -> routesOfAirline(parseId(path)))
+                .route("GET", "/api/v1/routes/", (path, body) -> ROUTES.get(parseId(path)))
+                .route("GET", "/api/v1/routes", (path, body) -> ROUTES.values())
+                .route("GET", "/actuator/health", (path, body) -> Map.of("status", "UP"))
+                .route("GET", "/actuator/info", (path, body) -> Map.of("app", "reference-manager-stub"));
+    }
+
+    static StubServer archiveService(long latencyMillis, long jitterMillis, double errorRate) {
+        return new StubServer("archive-service", latencyMillis, jitterMillis, errorRate)
+                .route("POST", "/api/v1/archive/flights", (path, body) -> Map.of("status", "ARCHIVED"))
+                .route("GET", "/actuator/health", (path, body) -> Map.of("status", "UP"));
+    }
+
+    private static <T> List<T> batch(byte[] body, Function<Long, T> lookup) throws IOException {
+        Long[] ids = StubServer.JSON.readValue(body, Long[].class);
+        List<T> values = new ArrayList<>(ids.length);
+        for (Long id : ids) {
+            T value = lookup.apply(id);
+            if (value != null) {
+                values.add(value);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Aynı origin/destination ile route varsa onu döner, yoksa yeni route kaydeder
+     */
+    private static synchronized long createRoute(byte[] body) throws IOException {
+        Map<?, ?> request = StubServer.JSON.readValue(body, Map.class);
+        Long originId = asLong(request.get("originAirportId"));
+        Long destinationId = asLong(request.get("destinationAirportId"));
+        for (RouteCache route : ROUTES.values()) {
+            if (Objects.equals(route.getOriginAirportId(), originId)
+                    && Objects.equals(route.getDestinationAirportId(), destinationId)) {
+                return route.getId();
+            }
+        }
+
+        AirportCache origin = AIRPORTS.get(originId);
+        AirportCache destination = AIRPORTS.get(destinationId);
+        RouteCache route = new RouteCache();
+        route.setId((long) ROUTES.size() + 1);
+        route.setRouteCode(String.valueOf(request.get("routeCode")));
+        route.setRouteName(String.valueOf(request.get("routeName")));
+        route.setRouteType("DOMESTIC");
+        route.setDistance(500);
+        route.setEstimatedFlightTime(80);
+        route.setIsMultiSegment(false);
+        route.setSegmentCount(1);
+        route.setActive(true);
+        route.setOriginAirportId(originId);
+        route.setDestinationAirportId(destinationId);
+        if (origin != null && destination != null) {
+            route.setRoutePath(origin.getIataCode() + " → " + destination.getIataCode());
+            route.setOriginAirportCode(origin.getIataCode());
+            route.setDestinationAirportCode(destination.getIataCode());
+        }
+        route.setVisibility("PUBLIC");
+        ROUTES.put(route.getId(), route);
+        return route.getId();
+    }
+
+    private static List<RouteCache> routesOfAirline(Long airlineId) {
+        List<RouteCache> routes = new ArrayList<>();
+        for (RouteCache route : ROUTES.values()) {
+            if (route.getAirlineId().equals(airlineId)) {
+                routes.add(route);
+            }
+        }
+        return routes;
+    }
+
+    private static Long asLong(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : null;
+    }
+
+    private static Long parseId(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
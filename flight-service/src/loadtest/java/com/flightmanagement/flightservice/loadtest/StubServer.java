@@ -0,0 +1,180 @@
+package com.flightmanagement.flightservice.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Harici bir servisin (reference-manager, archive-service) yerine geçen in-process HTTP sunucusu.
+ *
+ * Her cevap öncesi sabit gecikme + rastgele jitter uygulanır ve error-rate olasılığıyla 503 döner.
+ * Route başına istek sayıları tutulur; senaryo başına remote çağrı sayısı snapshot farkından hesaplanır.
+ */
+@Slf4j
+final class StubServer implements AutoCloseable {
+
+    static final ObjectMapper JSON = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private final String name;
+    private final long latencyMillis;
+    private final long jitterMillis;
+    private final double errorRate;
+    private final List<Route> routes = new ArrayList<>();
+    private final Map<String, LongAdder> requestCounts = new ConcurrentHashMap<>();
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    StubServer(String name, long latencyMillis, long jitterMillis, double errorRate) {
+        this.name = name;
+        this.latencyMillis = latencyMillis;
+        this.jitterMillis = jitterMillis;
+        this.errorRate = errorRate;
+    }
+
+    /**
+     * Path prefix eşleşmesiyle route ekler; ilk eklenen eşleşen route kullanılır.
+     */
+    StubServer route(String method, String pathPrefix, Handler handler) {
+        routes.add(new Route(method, pathPrefix, handler));
+        return this;
+    }
+
+    StubServer start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 512);
+        executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+        log.warn("{} stub listening on {} (latency {}±{} ms, error rate {})",
+                name, baseUrl(), latencyMillis, jitterMillis, errorRate);
+        return this;
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Route etiketi -> o ana kadarki istek sayısı
+     */
+    Map<String, Long> snapshot() {
+        Map<String, Long> counts = new TreeMap<>();
+        requestCounts.forEach((route, count) -> counts.put(route, count.sum()));
+        return counts;
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.stop(0);
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void handle(HttpExchange exchange) {
+        try {
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getPath();
+            Route route = findRoute(method, path);
+            if (route == null) {
+                count(method + " <unmatched>");
+                respond(exchange, 404, Map.of("error", "No stub for " + method + " " + path));
+                return;
+            }
+            count(method + " " + route.pathPrefix);
+
+            simulateLatency();
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                respond(exchange, 503, Map.of("error", name + " stub injected failure"));
+                return;
+            }
+
+            byte[] body;
+            try (InputStream input = exchange.getRequestBody()) {
+                body = input.readAllBytes();
+            }
+            Object response = route.handler.handle(path.substring(route.pathPrefix.length()), body);
+            if (response == null) {
+                respond(exchange, 404, Map.of("error", "Not found: " + path));
+            } else {
+                respond(exchange, 200, response);
+            }
+        } catch (Exception e) {
+            log.warn("{} stub failed to handle request: {}", name, e.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private Route findRoute(String method, String path) {
+        for (Route route : routes) {
+            if (route.method.equals(method) && path.startsWith(route.pathPrefix)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private void count(String label) {
+        requestCounts.computeIfAbsent(label, key -> new LongAdder()).increment();
+    }
+
+    private void simulateLatency() throws InterruptedException {
+        long delay = latencyMillis + (jitterMillis > 0 ? ThreadLocalRandom.current().nextLong(jitterMillis + 1) : 0);
+        if (delay > 0) {
+            Thread.sleep(delay);
+        }
+    }
+
+    private void respond(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] payload = JSON.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, payload.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(payload);
+        }
+    }
+
+    @FunctionalInterface
+    interface Handler {
+        /**
+         * @param pathRemainder route prefix'inden sonra kalan path (ör. "/api/v1/airlines/" için "42")
+         * @return JSON'a çevrilecek cevap, bulunamadıysa null (404)
+         */
+        Object handle(String pathRemainder, byte[] body) throws IOException;
+    }
+
+    private static final class Route {
+        private final String method;
+        private final String pathPrefix;
+        private final Handler handler;
+
+        private Route(String method, String pathPrefix, Handler handler) {
+            this.method = method;
+            this.pathPrefix = pathPrefix;
+            this.handler = handler;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.flightmanagement.flightservice.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.flightmanagement.flightservice.dto.cache.AirportCache;
+import com.flightmanagement.flightservice.dto.cache.RouteCache;
+
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Scripted workload'lar. Her workload tek bir mantıksal kullanıcı operasyonudur (CSV import için
+ * preview + confirm birlikte); başarı tüm HTTP çağrıları 2xx döndüğünde sayılır.
+ *
+ * Oluşturulan uçuşların flight number/date çifti global bir sıra numarasından türetilir, böylece
+ * create ve CSV import senaryoları unique constraint'e takılmaz.
+ */
+final class Workloads {
+
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final String[] STATUS_LIFECYCLE = {"BOARDING", "DEPARTED", "DELAYED", "ARRIVED"};
+    private static final int NUMBERS_PER_DAY = 9000;
+
+    private final AtomicLong flightSequence = new AtomicLong();
+    private final List<Long> createdFlightIds = Collections.synchronizedList(new ArrayList<>());
+    private final Map<Long, AtomicInteger> statusVisits = new ConcurrentHashMap<>();
+    private final LocalDate baseDate = LocalDate.now().plusDays(1);
+
+    @FunctionalInterface
+    interface Workload {
+        /**
+         * @return operasyon başarılıysa true
+         */
+        boolean execute(LoadClient client, long iteration) throws Exception;
+    }
+
+    int createdFlightCount() {
+        return createdFlightIds.size();
+    }
+
+    /**
+     * Flight listesi sayfaları (varsayılan sıralama, ilk 10 sayfa arasında dolaşır)
+     */
+    Workload listPages(int pageSize) {
+        return (client, iteration) -> LoadClient.isSuccess(
+                client.get("/api/v1/flights?page=" + (iteration % 10) + "&size=" + pageSize));
+    }
+
+    /**
+     * Route bazlı tekil flight create; oluşan ID'ler status storm için saklanır
+     */
+    Workload createBurst() {
+        return (client, iteration) -> {
+            HttpResponse<byte[]> response = client.postJson("/api/v1/flights", flightRequest(flightSequence.getAndIncrement()));
+            if (!LoadClient.isSuccess(response)) {
+                return false;
+            }
+            JsonNode id = StubServer.JSON.readTree(response.body()).get("id");
+            if (id != null) {
+                createdFlightIds.add(id.asLong());
+            }
+            return true;
+        };
+    }
+
+    /**
+     * Oluşturulmuş uçuşlar üzerinde sırayla status geçişleri (ARRIVED archive çağrısı tetikler)
+     */
+    Workload statusStorm() {
+        return (client, iteration) -> {
+            int count = createdFlightIds.size();
+            if (count == 0) {
+                return false;
+            }
+            Long flightId = createdFlightIds.get((int) (iteration % count));
+            int visit = statusVisits.computeIfAbsent(flightId, id -> new AtomicInteger()).getAndIncrement();
+            String status = STATUS_LIFECYCLE[visit % STATUS_LIFECYCLE.length];
+            return LoadClient.isSuccess(client.put("/api/v1/flights/" + flightId + "/status?status=" + status));
+        };
+    }
+
+    /**
+     * CSV preview + geçerli satırların confirm edilmesi. Satırların üçte biri IATA çifti kullanır.
+     */
+    Workload csvImport(int rows) {
+        return (client, iteration) -> {
+            HttpResponse<byte[]> preview = client.postMultipart("/api/v1/flights/upload/preview",
+                    "file", "loadtest-" + iteration + ".csv", csv(rows));
+            if (!LoadClient.isSuccess(preview)) {
+                return false;
+            }
+
+            List<JsonNode> validRows = new ArrayList<>();
+            for (JsonNode row : StubServer.JSON.readTree(preview.body()).path("previewData")) {
+                if (row.path("valid").asBoolean()) {
+                    validRows.add(row);
+                }
+            }
+            if (validRows.isEmpty()) {
+                return false;
+            }
+            return LoadClient.isSuccess(client.postJson("/api/v1/flights/upload/confirm", validRows));
+        };
+    }
+
+    private Map<String, Object> flightRequest(long sequence) {
+        FlightSlot slot = slot(sequence);
+        Map<String, Object> request = new HashMap<>();
+        request.put("flightNumber", slot.flightNumber);
+        request.put("airlineId", slot.airlineId);
+        request.put("aircraftId", slot.aircraftId);
+        request.put("routeId", slot.routeId);
+        request.put("creationMode", "ROUTE");
+        request.put("flightDate", DATE.format(slot.departure));
+        request.put("scheduledDeparture", DATE_TIME.format(slot.departure));
+        request.put("scheduledArrival", DATE_TIME.format(slot.departure.plusMinutes(90)));
+        request.put("type", "PASSENGER");
+        request.put("passengerCount", 150);
+        request.put("cargoWeight", 1200);
+        request.put("gateNumber", "G" + (sequence % 60));
+        return request;
+    }
+
+    private byte[] csv(int rows) {
+        StringBuilder csv = new StringBuilder(rows * 100);
+        csv.append("flightNumber,airlineId,aircraftId,route,flightDate,scheduledDeparture,")
+                .append("scheduledArrival,type,delayMinutes,status,passengerCount,cargoWeight\n");
+
+        for (int i = 0; i < rows; i++) {
+            long sequence = flightSequence.getAndIncrement();
+            FlightSlot slot = slot(sequence);
+            String route = String.valueOf(slot.routeId);
+            if (i % 3 == 0) {
+                RouteCache existing = ServiceStubs.route(slot.routeId);
+                AirportCache origin = ServiceStubs.airport(existing.getOriginAirportId());
+                AirportCache destination = ServiceStubs.airport(existing.getDestinationAirportId());
+                route = origin.getIataCode() + "-" + destination.getIataCode();
+            }
+
+            csv.append(slot.flightNumber).append(',')
+                    .append(slot.airlineId).append(',')
+                    .append(slot.aircraftId).append(',')
+                    .append(route).append(',')
+                    .append(DATE.format(slot.departure)).append(',')
+                    .append(DATE_TIME.format(slot.departure)).append(',')
+                    .append(DATE_TIME.format(slot.departure.plusMinutes(90))).append(',')
+                    .append("PASSENGER,0,SCHEDULED,150,\n");
+        }
+        return csv.toString().getBytes();
+    }
+
+    private FlightSlot slot(long sequence) {
+        long airlineId = sequence % ServiceStubs.AIRLINE_COUNT + 1;
+        long perAirline = sequence / ServiceStubs.AIRLINE_COUNT;
+
+        FlightSlot slot = new FlightSlot();
+        slot.airlineId = airlineId;
+        slot.aircraftId = ServiceStubs.aircraftFor(airlineId, perAirline);
+        slot.routeId = ServiceStubs.routeFor(airlineId, perAirline);
+        slot.flightNumber = ServiceStubs.AIRLINE_CODES[(int) airlineId - 1] + (perAirline % NUMBERS_PER_DAY + 1);
+        slot.departure = baseDate.plusDays(perAirline / NUMBERS_PER_DAY)
+                .atTime(5, 0)
+                .plusMinutes(perAirline % 900);
+        return slot;
+    }
+
+    private static final class FlightSlot {
+        private long airlineId;
+        private long aircraftId;
+        private long routeId;
+        private String flightNumber;
+        private LocalDateTime departure;
+    }
+}
@@ -0,0 +1,57 @@
+package com.flightmanagement.flightservice.config;
+
+import com.flightmanagement.flightservice.metrics.RemoteCallMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+@Configuration
+@RequiredArgsConstructor
+public class InstrumentationConfig {
+
+    private final RemoteCallMetrics remoteCallMetrics;
+
+    @Bean
+    public FilterRegistrationBean<RemoteCallScopeFilter> remoteCallScopeFilter() {
+        FilterRegistrationBean<RemoteCallScopeFilter> registrationBean = new FilterRegistrationBean<>();
+        registrationBean.setFilter(new RemoteCallScopeFilter(remoteCallMetrics));
+        registrationBean.addUrlPatterns("/api/*");
+        registrationBean.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        return registrationBean;
+    }
+
+    /**
+     * Her API isteği boyunca yapılan remote çağrıları sayar
+     */
+    public static class RemoteCallScopeFilter extends OncePerRequestFilter {
+
+        private final RemoteCallMetrics remoteCallMetrics;
+
+        public RemoteCallScopeFilter(RemoteCallMetrics remoteCallMetrics) {
+            this.remoteCallMetrics = remoteCallMetrics;
+        }
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                        FilterChain filterChain) throws ServletException, IOException {
+
+            boolean opened = remoteCallMetrics.beginRequest();
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                if (opened) {
+                    remoteCallMetrics.endRequest(request.getMethod());
+                }
+            }
+        }
+    }
+}
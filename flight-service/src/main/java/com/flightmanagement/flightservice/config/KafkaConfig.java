@@ -1,6 +1,8 @@
 package com.flightmanagement.flightservice.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.flightmanagement.flightservice.event.FlightEvent;
+import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
@@ -10,9 +12,11 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.*;
 import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.JacksonUtils;
 import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
@@ -30,16 +34,77 @@ public class KafkaConfig {
     @Value("${spring.kafka.consumer.group-id}")
     private String groupId;
 
+    // flight.events producer tuning (application.yml: kafka.flight-events.*)
+    @Value("${kafka.flight-events.partitions:6}")
+    private int flightEventPartitions;
+
+    @Value("${kafka.flight-events.replicas:1}")
+    private short flightEventReplicas;
+
+    @Value("${kafka.flight-events.producer.batch-size:65536}")
+    private int batchSize;
+
+    @Value("${kafka.flight-events.producer.linger-ms:10}")
+    private int lingerMs;
+
+    @Value("${kafka.flight-events.producer.compression-type:lz4}")
+    private String compressionType;
+
+    @Value("${kafka.flight-events.producer.max-in-flight:5}")
+    private int maxInFlight;
+
+    @Value("${kafka.flight-events.producer.request-timeout-ms:30000}")
+    private int requestTimeoutMs;
+
+    @Value("${kafka.flight-events.producer.delivery-timeout-ms:120000}")
+    private int deliveryTimeoutMs;
+
+    @Value("${kafka.flight-events.producer.max-block-ms:2000}")
+    private long maxBlockMs;
+
+    // Event'ler flight ID ile key'lendiği için aynı uçuşun event'leri tek partition'da sıralı kalır
+    @Bean
+    public NewTopic flightEventsTopic() {
+        return TopicBuilder.name("flight.events")
+                .partitions(flightEventPartitions)
+                .replicas(flightEventReplicas)
+                .build();
+    }
+
     // Producer Configuration for FlightEvent
     @Bean
     public ProducerFactory<String, FlightEvent> flightEventProducerFactory() {
         Map<String, Object> configs = new HashMap<>();
         configs.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        configs.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configs.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
-        configs.put(JsonSerializer.ADD_TYPE_INFO_HEADERS, false);
 
-        return new DefaultKafkaProducerFactory<>(configs);
+        // Batching ve sıkıştırma
+        configs.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        configs.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        configs.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+
+        // Idempotent producer: retry'larda duplicate/yeniden sıralama olmaz (max in-flight <= 5)
+        configs.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        configs.put(ProducerConfig.ACKS_CONFIG, "all");
+        configs.put(ProducerConfig.RETRIES_CONFIG, Integer.MAX_VALUE);
+        configs.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION_CONFIG, Math.min(maxInFlight, 5));
+        // Kafka delivery.timeout.ms >= linger.ms + request.timeout.ms şartını producer ilk send'de
+        // kontrol eder; hatalı değer event'lerin sessizce kaybolmasına yol açmasın diye burada patlat
+        if (deliveryTimeoutMs < lingerMs + requestTimeoutMs) {
+            throw new IllegalStateException("kafka.flight-events.producer.delivery-timeout-ms (" + deliveryTimeoutMs
+                    + ") must be >= linger-ms + request-timeout-ms (" + (lingerMs + requestTimeoutMs) + ")");
+        }
+        configs.put(ProducerConfig.REQUEST_TIMEOUT_MS_CONFIG, requestTimeoutMs);
+        configs.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, deliveryTimeoutMs);
+
+        // Broker erişilemezken mutation thread'i uzun süre bloklanmasın
+        configs.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, maxBlockMs);
+
+        // FlightEvent için tek seferlik oluşturulan, tipe bağlı ObjectWriter kullanılır
+        ObjectMapper objectMapper = JacksonUtils.enhancedObjectMapper();
+        JsonSerializer<FlightEvent> valueSerializer = new JsonSerializer<FlightEvent>(
+                objectMapper.constructType(FlightEvent.class), objectMapper).noTypeInfo();
+
+        return new DefaultKafkaProducerFactory<>(configs, new StringSerializer(), valueSerializer);
     }
 
     @Bean
@@ -17,16 +17,22 @@ public class MetricsScheduler {
 
     private final MetricsService metricsService;
 
-    @Scheduled(fixedRate = 30000) // Her 30 saniyede bir
-    public void updateMetrics() {
-        log.debug("Updating metrics gauges");
+    // Gauge'lar flight mutasyonlarından güncellenir; bu sadece düşük frekanslı DB reconciliation
+    @Scheduled(fixedDelayString = "${metrics.gauges.reconcile-interval-ms:600000}")
+    public void reconcileGauges() {
+        log.debug("Reconciling metrics gauges");
         try {
-            metricsService.updateAllGauges();
+            metricsService.reconcileGauges();
         } catch (Exception e) {
-            log.error("Error updating metrics: {}", e.getMessage());
+            log.error("Error reconciling metrics: {}", e.getMessage());
         }
     }
 
+    @Scheduled(cron = "5 0 0 * * *") // Gün dönümü: gauge'lar yeni güne taşınır
+    public void rollOverGauges() {
+        reconcileGauges();
+    }
+
     @Scheduled(cron = "0 */5 * * * *") // Her 5 dakikada bir
     public void logMetricsSummary() {
         log.info("Metrics Summary - Active Flights: {}, Delayed Flights: {}, Today's Flights: {}, Memory Usage: {}%",
@@ -0,0 +1,57 @@
+package com.flightmanagement.flightservice.config;
+
+import com.flightmanagement.flightservice.service.ReferenceLookupContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+@Configuration
+@RequiredArgsConstructor
+public class ReferenceLookupConfig {
+
+    private final ReferenceLookupContext referenceLookupContext;
+
+    @Bean
+    public FilterRegistrationBean<ReferenceLookupFilter> referenceLookupFilter() {
+        FilterRegistrationBean<ReferenceLookupFilter> registrationBean = new FilterRegistrationBean<>();
+        registrationBean.setFilter(new ReferenceLookupFilter(referenceLookupContext));
+        registrationBean.addUrlPatterns("/api/*");
+        registrationBean.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registrationBean;
+    }
+
+    /**
+     * Her API isteği için bir referans lookup scope'u açar ve istek bitince kapatır
+     */
+    public static class ReferenceLookupFilter extends OncePerRequestFilter {
+
+        private final ReferenceLookupContext referenceLookupContext;
+
+        public ReferenceLookupFilter(ReferenceLookupContext referenceLookupContext) {
+            this.referenceLookupContext = referenceLookupContext;
+        }
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                        FilterChain filterChain) throws ServletException, IOException {
+
+            boolean opened = referenceLookupContext.openScope(request.getMethod() + " " + request.getRequestURI());
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                if (opened) {
+                    referenceLookupContext.closeScope();
+                }
+            }
+        }
+    }
+}
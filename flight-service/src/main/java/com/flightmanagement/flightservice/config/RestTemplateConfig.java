@@ -1,7 +1,13 @@
 package com.flightmanagement.flightservice.config;
 
+import com.flightmanagement.flightservice.metrics.RemoteCallMetrics;
+import com.flightmanagement.flightservice.service.ReferenceDataService;
+import com.flightmanagement.flightservice.service.ServiceTokenManager;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
@@ -9,17 +15,53 @@ import org.springframework.web.client.RestTemplate;
 @Configuration
 public class RestTemplateConfig {
 
+    @Value("${reference-fanout.connect-timeout-ms:1000}")
+    private int referenceConnectTimeoutMs;
+
+    @Value("${reference-fanout.deadline-ms:3000}")
+    private int referenceDeadlineMs;
+
+    @Bean
+    @Primary
+    public RestTemplate restTemplate(RemoteCallMetrics remoteCallMetrics) {
+        RestTemplate restTemplate = new RestTemplate();
+        restTemplate.setRequestFactory(clientHttpRequestFactory(5000, 10000));
+        restTemplate.getInterceptors().add(remoteCallMetrics);
+        return restTemplate;
+    }
+
+    /**
+     * Sadece fan-out tekil lookup'ları için (fanOutReferenceDataService). Fan-out deadline'ı dolduğunda
+     * future iptali bloklayan socket okumasını kesmez; çağrıyı sonlandıran bu timeout'lardır, bu yüzden
+     * deadline'a göre ayarlanır. Active route listesi, batch ve auto-route gibi diğer reference-manager
+     * çağrıları genel template'in 10 sn read timeout'unu kullanır.
+     */
     @Bean
-    public RestTemplate restTemplate() {
+    public RestTemplate referenceRestTemplate(RemoteCallMetrics remoteCallMetrics) {
+        if (referenceConnectTimeoutMs > referenceDeadlineMs) {
+            throw new IllegalStateException("reference-fanout.connect-timeout-ms (" + referenceConnectTimeoutMs
+                    + ") must not exceed reference-fanout.deadline-ms (" + referenceDeadlineMs + ")");
+        }
         RestTemplate restTemplate = new RestTemplate();
-        restTemplate.setRequestFactory(clientHttpRequestFactory());
+        restTemplate.setRequestFactory(clientHttpRequestFactory(referenceConnectTimeoutMs, referenceDeadlineMs));
+        restTemplate.getInterceptors().add(remoteCallMetrics);
         return restTemplate;
     }
 
-    private ClientHttpRequestFactory clientHttpRequestFactory() {
+    /**
+     * ReferenceFanOutService'in kullandığı, referenceRestTemplate üzerinden çalışan ReferenceDataService.
+     * Diğer tüm inject noktaları @Primary olan genel instance'ı alır.
+     */
+    @Bean
+    public ReferenceDataService fanOutReferenceDataService(@Qualifier("referenceRestTemplate") RestTemplate referenceRestTemplate,
+                                                           ServiceTokenManager serviceTokenManager) {
+        return new ReferenceDataService(referenceRestTemplate, serviceTokenManager);
+    }
+
+    private ClientHttpRequestFactory clientHttpRequestFactory(int connectTimeoutMs, int readTimeoutMs) {
         SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(5000);
-        factory.setReadTimeout(10000);
+        factory.setConnectTimeout(connectTimeoutMs);
+        factory.setReadTimeout(readTimeoutMs);
         return factory;
     }
 }
\ No newline at end of file
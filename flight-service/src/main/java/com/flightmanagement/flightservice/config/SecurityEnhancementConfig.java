@@ -1,20 +1,22 @@
 package com.flightmanagement.flightservice.config;
 
+import com.flightmanagement.flightservice.security.RequestRateLimiter;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.Ordered;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Configuration
 @Slf4j
@@ -61,36 +63,79 @@ public class SecurityEnhancementConfig {
     }
 
     @Bean
-    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter() {
+    public FilterRegistrationBean<RateLimitFilter> ipRateLimitFilter(RequestRateLimiter requestRateLimiter) {
         FilterRegistrationBean<RateLimitFilter> registrationBean = new FilterRegistrationBean<>();
-        registrationBean.setFilter(new RateLimitFilter());
+        registrationBean.setFilter(new RateLimitFilter(requestRateLimiter, false));
+        registrationBean.setName("ipRateLimitFilter");
         registrationBean.addUrlPatterns("/api/*");
+        // Spring Security zincirinden önce: 401/403 ile reddedilecek istekler de IP bazlı sınırlanır
         registrationBean.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
         return registrationBean;
     }
 
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RequestRateLimiter requestRateLimiter) {
+        FilterRegistrationBean<RateLimitFilter> registrationBean = new FilterRegistrationBean<>();
+        registrationBean.setFilter(new RateLimitFilter(requestRateLimiter, true));
+        registrationBean.setName("principalRateLimitFilter");
+        registrationBean.addUrlPatterns("/api/*");
+        // Spring Security zincirinden sonra: principal bazlı policy'ler için authentication hazır olmalı
+        registrationBean.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registrationBean;
+    }
+
     public static class RateLimitFilter extends OncePerRequestFilter {
 
-        private static final int MAX_REQUESTS_PER_MINUTE = 100;
-        private final Map<String, List<Long>> requestCounts = new ConcurrentHashMap<>();
+        private final RequestRateLimiter requestRateLimiter;
+        private final boolean authenticated;
+
+        /**
+         * @param authenticated false: security zincirinden önceki IP limiti, true: authentication sonrası policy
+         */
+        public RateLimitFilter(RequestRateLimiter requestRateLimiter, boolean authenticated) {
+            this.requestRateLimiter = requestRateLimiter;
+            this.authenticated = authenticated;
+        }
 
         @Override
         protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
                                         FilterChain filterChain) throws ServletException, IOException {
 
+            if (!requestRateLimiter.isEnabled()) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+
             String clientIp = getClientIpAddress(request);
-            long currentTime = System.currentTimeMillis();
+            String principal = authenticated ? getPrincipal() : null;
+            RequestRateLimiter.Decision decision = authenticated
+                    ? requestRateLimiter.check(request.getRequestURI(), principal, clientIp)
+                    : requestRateLimiter.checkClientIp(clientIp);
 
-            // Simple rate limiting (in production, use Redis or proper rate limiting solution)
-            if (!isRateLimitExceeded(clientIp, currentTime)) {
+            response.setHeader("X-RateLimit-Limit", String.valueOf(decision.getLimit()));
+            response.setHeader("X-RateLimit-Remaining", String.valueOf(decision.getRemaining()));
+
+            if (decision.isAllowed()) {
                 filterChain.doFilter(request, response);
             } else {
-                log.warn("Rate limit exceeded for IP: {}", clientIp);
+                log.warn("Rate limit exceeded for {} on {}",
+                        principal != null ? principal : clientIp, request.getRequestURI());
                 response.setStatus(429); // Too Many Requests
+                response.setHeader("Retry-After", String.valueOf(Math.max(1, (decision.getRetryAfterMillis() + 999) / 1000)));
+                response.setContentType("application/json");
                 response.getWriter().write("{\"error\":\"Rate limit exceeded\"}");
             }
         }
 
+        private String getPrincipal() {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication == null || !authentication.isAuthenticated()
+                    || authentication instanceof AnonymousAuthenticationToken) {
+                return null;
+            }
+            return authentication.getName();
+        }
+
         private String getClientIpAddress(HttpServletRequest request) {
             String xForwardedFor = request.getHeader("X-Forwarded-For");
             if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
@@ -104,20 +149,5 @@ public class SecurityEnhancementConfig {
 
             return request.getRemoteAddr();
         }
-
-        private boolean isRateLimitExceeded(String clientIp, long currentTime) {
-            requestCounts.computeIfAbsent(clientIp, k -> new java.util.ArrayList<>());
-            List<Long> requests = requestCounts.get(clientIp);
-
-            // Remove requests older than 1 minute
-            requests.removeIf(time -> currentTime - time > 60000);
-
-            if (requests.size() >= MAX_REQUESTS_PER_MINUTE) {
-                return true;
-            }
-
-            requests.add(currentTime);
-            return false;
-        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,159 @@
+package com.flightmanagement.flightservice.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread modeli yapılandırması.
+ *
+ * spring.threads.virtual.enabled=true ve JDK 21+ ile Spring Boot Tomcat request'lerini,
+ * @Async görevlerini ve Kafka listener'larını virtual thread'lerde çalıştırır; bu sınıf
+ * aynı modu referans lookup fan-out executor'üne uygular ve pinning olaylarını izler.
+ * Java 17'de (mevcut build) istek yok sayılır ve sınırlı bir platform thread havuzu kullanılır.
+ */
+@Configuration
+@Slf4j
+public class ThreadingConfig {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsRequested;
+
+    @Value("${reference-fanout.pool-size:16}")
+    private int fanOutPoolSize;
+
+    @Value("${reference-fanout.queue-capacity:200}")
+    private int fanOutQueueCapacity;
+
+    @Value("${threading.pinning-diagnostics.enabled:true}")
+    private boolean pinningDiagnosticsEnabled;
+
+    @Value("${threading.pinning-diagnostics.threshold-ms:20}")
+    private long pinningThresholdMs;
+
+    private RecordingStream pinningStream;
+
+    @Bean(name = "referenceFanOutExecutor", destroyMethod = "shutdown")
+    public ExecutorService referenceFanOutExecutor(MeterRegistry meterRegistry) {
+        ExecutorService executor;
+        if (isVirtualThreadMode()) {
+            executor = newVirtualThreadPerTaskExecutor();
+        } else {
+            AtomicInteger threadCounter = new AtomicInteger();
+            executor = new ThreadPoolExecutor(fanOutPoolSize, fanOutPoolSize, 60, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(fanOutQueueCapacity),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "ref-fanout-" + threadCounter.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    // Havuz doluysa lookup çağıran thread'de çalışır (sıralı davranışa geri düşer)
+                    new ThreadPoolExecutor.CallerRunsPolicy());
+        }
+
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "reference_fanout",
+                Tags.of("service", "flight-service"));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportThreadingMode(ApplicationReadyEvent event) {
+        if (virtualThreadsRequested && !isVirtualThreadMode()) {
+            log.warn("Virtual threads requested but running on Java {}; using platform threads",
+                    Runtime.version().feature());
+            return;
+        }
+
+        log.info("Threading mode: {}", isVirtualThreadMode() ? "virtual" : "platform");
+
+        if (isVirtualThreadMode() && pinningDiagnosticsEnabled) {
+            startPinningDiagnostics(event.getApplicationContext().getBean(MeterRegistry.class));
+        }
+    }
+
+    /**
+     * JFR jdk.VirtualThreadPinned olaylarını dinler: virtual thread bir synchronized blok veya
+     * native çağrı (çoğunlukla JDBC driver) içinde bloklandığında carrier thread'i kilitler.
+     * Olaylar kaynağına göre (jdbc/app/other) sayılır ve süreleri timer'a yazılır.
+     */
+    private void startPinningDiagnostics(MeterRegistry meterRegistry) {
+        try {
+            RecordingStream stream = new RecordingStream();
+            stream.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(pinningThresholdMs)).withStackTrace();
+            stream.onEvent("jdk.VirtualThreadPinned", recordedEvent -> {
+                String source = classifyPinningSource(recordedEvent);
+                Counter.builder("virtual_thread_pinned_total")
+                        .description("Virtual thread pinning events above threshold")
+                        .tag("service", "flight-service")
+                        .tag("source", source)
+                        .register(meterRegistry)
+                        .increment();
+                Timer.builder("virtual_thread_pinned_duration")
+                        .description("Duration virtual threads stayed pinned to their carrier")
+                        .tag("service", "flight-service")
+                        .tag("source", source)
+                        .register(meterRegistry)
+                        .record(recordedEvent.getDuration());
+                log.debug("Virtual thread pinned for {} ms ({})", recordedEvent.getDuration().toMillis(), source);
+            });
+            stream.startAsync();
+            pinningStream = stream;
+            log.info("Virtual thread pinning diagnostics enabled (threshold {} ms)", pinningThresholdMs);
+        } catch (Exception e) {
+            log.warn("Could not start pinning diagnostics: {}", e.getMessage());
+        }
+    }
+
+    private String classifyPinningSource(RecordedEvent recordedEvent) {
+        if (recordedEvent.getStackTrace() == null) {
+            return "other";
+        }
+        List<RecordedFrame> frames = recordedEvent.getStackTrace().getFrames();
+        for (RecordedFrame frame : frames) {
+            String className = frame.getMethod().getType().getName();
+            if (className.startsWith("com.mysql.") || className.startsWith("com.zaxxer.hikari.")) {
+                return "jdbc";
+            }
+            if (className.startsWith("com.flightmanagement.")) {
+                return "app";
+            }
+        }
+        return "other";
+    }
+
+    @PreDestroy
+    public void stopPinningDiagnostics() {
+        if (pinningStream != null) {
+            pinningStream.close();
+        }
+    }
+
+    private boolean isVirtualThreadMode() {
+        return virtualThreadsRequested && Runtime.version().feature() >= 21;
+    }
+
+    private ExecutorService newVirtualThreadPerTaskExecutor() {
+        // Kaynak Java 17 ile derlendiği için JDK 21 API'si reflection ile çağrılır
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual thread executor not available", e);
+        }
+    }
+}
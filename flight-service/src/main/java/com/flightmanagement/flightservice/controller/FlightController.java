@@ -8,7 +8,9 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import com.flightmanagement.flightservice.entity.Flight;
+import com.flightmanagement.flightservice.dto.request.BulkDelayRequest;
 import com.flightmanagement.flightservice.dto.request.FlightRequest;
+import com.flightmanagement.flightservice.event.DelayPropagationPayload;
 import com.flightmanagement.flightservice.dto.response.CsvUploadResult;
 import com.flightmanagement.flightservice.dto.response.FlightResponse;
 import com.flightmanagement.flightservice.entity.enums.FlightStatus;
@@ -145,6 +147,18 @@ public class FlightController {
         return ResponseEntity.ok(flightService.recordDelay(id, delayMinutes, reason));
     }
 
+    /**
+     * Hub aksaklığı gibi toplu gecikmeler: verilen uçuşlara gecikme uygular ve
+     * rotasyon/segment zincirleri boyunca knock-on gecikmeleri tek seferde yayar
+     */
+    @PutMapping("/delays/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<DelayPropagationPayload> recordBulkDelay(@Valid @RequestBody BulkDelayRequest request) {
+        log.info("Recording bulk delay for {} flights - {} minutes", request.getFlightIds().size(), request.getDelayMinutes());
+        return ResponseEntity.ok(flightService.recordBulkDelay(request.getFlightIds(),
+                request.getDelayMinutes(), request.getReason()));
+    }
+
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Void> deleteFlight(@PathVariable Long id) {
@@ -0,0 +1,54 @@
+package com.flightmanagement.flightservice.controller;
+
+import com.flightmanagement.flightservice.dto.response.ItineraryResponse;
+import com.flightmanagement.flightservice.service.ItinerarySearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/flights/itineraries")
+@RequiredArgsConstructor
+@Slf4j
+public class ItineraryController {
+
+    private final ItinerarySearchService itinerarySearchService;
+
+    /**
+     * A → B aktarmalı itinerary araması (ör. aksaklık sırasında manuel rebooking için)
+     */
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<List<ItineraryResponse>> searchItineraries(
+            @RequestParam String origin,
+            @RequestParam String destination,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "HH:mm") LocalTime departAfter,
+            @RequestParam(defaultValue = "1") int maxStops,
+            @RequestParam(defaultValue = "45") int minConnectionMinutes,
+            @RequestParam(defaultValue = "5") int maxResults) {
+
+        log.debug("Searching itineraries {} -> {} on {} (maxStops: {}, minConnection: {})",
+                origin, destination, date, maxStops, minConnectionMinutes);
+
+        return ResponseEntity.ok(itinerarySearchService.search(origin, destination, date, departAfter,
+                maxStops, minConnectionMinutes, maxResults));
+    }
+
+    /**
+     * Departure board cache'ini temizler (toplu değişiklik sonrası hemen güncel sonuç için)
+     */
+    @DeleteMapping("/boards")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> invalidateBoards() {
+        itinerarySearchService.invalidateBoards();
+        return ResponseEntity.noContent().build();
+    }
+}
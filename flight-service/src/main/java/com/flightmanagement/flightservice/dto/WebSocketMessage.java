@@ -1,11 +1,13 @@
 package com.flightmanagement.flightservice.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @NoArgsConstructor
@@ -13,7 +15,10 @@ import java.time.LocalDateTime;
 @Builder
 public class WebSocketMessage {
 
-    private String type; // CREATE, UPDATE, DELETE, STATUS_CHANGE
+    public static final String BATCH_TYPE = "BATCH";
+    public static final int BATCH_VERSION = 1;
+
+    private String type; // CREATE, UPDATE, DELETE, STATUS_CHANGE, BATCH
     private String entity; // FLIGHT
     private Object data;
     private Long entityId;
@@ -22,6 +27,9 @@ public class WebSocketMessage {
     private LocalDateTime timestamp;
     private String userId;
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer version; // Yalnızca BATCH zarfında set edilir
+
     public static WebSocketMessage create(String type, Object data, Long entityId, String flightNumber) {
         return WebSocketMessage.builder()
                 .entity("FLIGHT")
@@ -32,4 +40,21 @@ public class WebSocketMessage {
                 .timestamp(LocalDateTime.now())
                 .build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Aynı dispatch penceresinde aynı topic'e düşen birden fazla mesajı tek frame'de taşıyan zarf.
+     *
+     * Format (version 1): {"type": "BATCH", "entity": "FLIGHT", "version": 1, "timestamp": ...,
+     * "data": [ <tekil WebSocketMessage>, ... ]}. data içindeki mesajlar tekil mesajlarla aynı
+     * formattadır ve gönderim sırasını korur. Pencerede tek mesaj varsa zarf kullanılmaz.
+     */
+    public static WebSocketMessage batch(List<WebSocketMessage> messages) {
+        return WebSocketMessage.builder()
+                .entity("FLIGHT")
+                .type(BATCH_TYPE)
+                .version(BATCH_VERSION)
+                .data(messages)
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,22 @@
+package com.flightmanagement.flightservice.dto.request;
+
+import jakarta.validation.constraints.*;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkDelayRequest {
+
+    @NotEmpty(message = "At least one flight ID is required")
+    @Size(max = 10000, message = "Cannot delay more than 10000 flights at once")
+    private List<Long> flightIds;
+
+    @NotNull(message = "Delay minutes is required")
+    @Min(value = 1, message = "Delay must be at least 1 minute")
+    @Max(value = 1440, message = "Delay cannot exceed 24 hours")
+    private Integer delayMinutes;
+
+    @Size(max = 500, message = "Delay reason cannot exceed 500 characters")
+    private String reason;
+}
@@ -14,6 +14,9 @@ public class FlightSegmentRequest {
     @Max(value = 10, message = "Segment number cannot exceed 10")
     private Integer segmentNumber;
 
+    // Güncellemede mevcut segment uçuşunun ID'si (opsiyonel); verilmezse segment route üzerinden eşleştirilir
+    private Long segmentFlightId;
+
     @NotNull(message = "Origin airport ID is required")
     private Long originAirportId;
 
@@ -86,6 +86,7 @@ public class FlightResponse {
     private List<FlightResponse> connectingFlights;  // Segment'ler
     private Integer totalSegments;                   // Toplam segment sayısı
     private String fullRoute;                        // Tam route string'i
+    private List<FlightConnectionResponse> connections; // Segment'ler arası connection detayları
 
     // Performance ve analytics alanları
     private String flightPhase;         // "PRE_FLIGHT", "BOARDING", "AIRBORNE", "LANDED"
@@ -0,0 +1,51 @@
+package com.flightmanagement.flightservice.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ItineraryResponse {
+
+    private String originAirportCode;
+    private String destinationAirportCode;
+    private Integer stops;
+    private Integer totalDurationMinutes;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm")
+    private LocalDateTime departure;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm")
+    private LocalDateTime arrival;
+
+    private List<Leg> legs;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Leg {
+        private Long flightId;
+        private String flightNumber;
+        private Long parentFlightId;
+        private String originAirportCode;
+        private String destinationAirportCode;
+
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm")
+        private LocalDateTime departure;
+
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm")
+        private LocalDateTime arrival;
+
+        // Bir önceki bacağın inişinden bu bacağın kalkışına kadar geçen süre (ilk bacakta null)
+        private Integer connectionTimeMinutes;
+    }
+}
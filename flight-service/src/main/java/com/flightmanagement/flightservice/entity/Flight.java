@@ -2,10 +2,16 @@ package com.flightmanagement.flightservice.entity;
 
 import com.flightmanagement.flightservice.entity.enums.FlightStatus;
 import com.flightmanagement.flightservice.entity.enums.FlightType;
+import com.flightmanagement.flightservice.metrics.FlightGauges;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -16,12 +22,18 @@ import java.util.List;
 
 @Entity
 @Table(name = "flights")
+@EntityListeners(FlightGaugeListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Flight {
+    // Pooled table generator: ID'ler 50'lik bloklar halinde alınır, insert'ler JDBC batch'lenebilir.
+    // Kolondaki AUTO_INCREMENT ayrılmış blokları bilmez; tüm yazıcılar ID'yi id_generators'tan almalı
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "flight_id_gen")
+    @TableGenerator(name = "flight_id_gen", table = "id_generators",
+            pkColumnName = "gen_name", valueColumnName = "next_val",
+            pkColumnValue = "flights", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 10)
@@ -111,6 +123,14 @@ public class Flight {
     @OneToMany(mappedBy = "mainFlight", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
     private     List<FlightConnection> flightConnections = new ArrayList<>();
 
+    // Operasyonel gauge'lar için son yüklenen/kaydedilen katkı (persist edilmez, FlightGaugeListener yönetir)
+    @Transient
+    @Getter(AccessLevel.PACKAGE)
+    @Setter(AccessLevel.PACKAGE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private transient FlightGauges.Contribution gaugeSnapshot;
+
     // Helper methods
     public boolean isDelayed() {
         return delayMinutes != null && delayMinutes > 0;
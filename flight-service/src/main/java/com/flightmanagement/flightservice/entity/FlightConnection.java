@@ -15,8 +15,13 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class FlightConnection {
 
+    // Pooled table generator: ID'ler 50'lik bloklar halinde alınır, insert'ler JDBC batch'lenebilir.
+    // Kolondaki AUTO_INCREMENT ayrılmış blokları bilmez; tüm yazıcılar ID'yi id_generators'tan almalı
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "flight_connection_id_gen")
+    @TableGenerator(name = "flight_connection_id_gen", table = "id_generators",
+            pkColumnName = "gen_name", valueColumnName = "next_val",
+            pkColumnValue = "flight_connections", allocationSize = 50)
     private Long id;
 
     @Column(name = "main_flight_id", nullable = false)
@@ -0,0 +1,60 @@
+package com.flightmanagement.flightservice.entity;
+
+import com.flightmanagement.flightservice.metrics.FlightGauges;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Flight mutasyonlarını operasyonel gauge'lara yansıtır.
+ *
+ * Entity yüklendiğinde katkısı saklanır; persist/update/remove sonrası önceki katkı çıkarılıp
+ * yenisi eklenir. Delta sadece transaction commit olursa uygulanır (rollback sayaçları bozmaz).
+ * Hibernate listener'ı Spring bean container üzerinden oluşturur.
+ */
+@Component
+@RequiredArgsConstructor
+public class FlightGaugeListener {
+
+    private final FlightGauges flightGauges;
+
+    @PostLoad
+    public void onLoad(Flight flight) {
+        flight.setGaugeSnapshot(FlightGauges.Contribution.of(flight));
+    }
+
+    @PostPersist
+    public void onPersist(Flight flight) {
+        record(flight, null, FlightGauges.Contribution.of(flight));
+    }
+
+    @PostUpdate
+    public void onUpdate(Flight flight) {
+        record(flight, flight.getGaugeSnapshot(), FlightGauges.Contribution.of(flight));
+    }
+
+    @PostRemove
+    public void onRemove(Flight flight) {
+        record(flight, flight.getGaugeSnapshot(), null);
+    }
+
+    private void record(Flight flight, FlightGauges.Contribution previous, FlightGauges.Contribution current) {
+        flight.setGaugeSnapshot(current);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    flightGauges.apply(previous, current);
+                }
+            });
+        } else {
+            flightGauges.apply(previous, current);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.flightmanagement.flightservice.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Tek bir gecikme kaynağından (veya hub aksaklığından) türeyen tüm knock-on gecikmelerin özeti.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DelayPropagationPayload {
+
+    private List<Long> sourceFlightIds;
+    private String reason;
+    private Integer affectedFlightCount;
+    private Integer totalAddedDelayMinutes;
+    private Integer maxAddedDelayMinutes;
+    private List<AffectedFlight> affectedFlights;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AffectedFlight {
+        private Long id;
+        private String flightNumber;
+        private Long aircraftId;
+        private Long parentFlightId;
+        private Integer addedDelayMinutes;
+        private Integer delayMinutes;
+        private LocalDateTime scheduledDeparture;
+        private LocalDateTime scheduledArrival;
+        private String cause;  // ROTATION veya CONNECTION
+    }
+}
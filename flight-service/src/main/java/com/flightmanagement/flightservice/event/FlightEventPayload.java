@@ -0,0 +1,88 @@
+package com.flightmanagement.flightservice.event;
+
+import com.flightmanagement.flightservice.entity.enums.FlightStatus;
+import com.flightmanagement.flightservice.entity.enums.FlightType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * flight.events topic'ine giden uçuş payload'ı.
+ * Alan adları archive service'in beklediği eski Map formatıyla birebir aynıdır.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightEventPayload {
+
+    // Basic flight info
+    private Long id;
+    private String flightNumber;
+    private LocalDate flightDate;
+    private LocalDateTime scheduledDeparture;
+    private LocalDateTime scheduledArrival;
+    private LocalDateTime actualDeparture;
+    private LocalDateTime actualArrival;
+    private FlightStatus status;
+    private FlightType type;
+    private Integer passengerCount;
+    private Integer cargoWeight;
+    private String gateNumber;
+    private Integer delayMinutes;
+    private String delayReason;
+    private Boolean active;
+
+    // Aktarmalı uçuş bilgisi
+    private Long parentFlightId;
+    private Integer segmentNumber;
+
+    // Reference data
+    private AirlineInfo airline;
+    private AircraftInfo aircraft;
+    private AirportInfo originAirport;
+    private AirportInfo destinationAirport;
+    private RouteInfo route;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AirlineInfo {
+        private Long id;
+        private String iataCode;
+        private String name;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AircraftInfo {
+        private Long id;
+        private String registrationNumber;
+        private String aircraftType;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AirportInfo {
+        private Long id;
+        private String iataCode;
+        private String name;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RouteInfo {
+        private Long id;
+        private String routeCode;
+        private String routePath;
+        private Integer distance;
+        private Integer estimatedTime;
+    }
+}
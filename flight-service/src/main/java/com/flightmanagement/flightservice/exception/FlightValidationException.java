@@ -0,0 +1,23 @@
+package com.flightmanagement.flightservice.exception;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bir flight request'i için toplanan tüm kural ihlallerini taşır (alan -> mesaj).
+ * BusinessException'dan türediği için mevcut handler'lar ile uyumludur.
+ */
+public class FlightValidationException extends BusinessException {
+
+    private final Map<String, String> violations;
+
+    public FlightValidationException(Map<String, String> violations) {
+        super(String.join("; ", violations.values()));
+        this.violations = Collections.unmodifiableMap(new LinkedHashMap<>(violations));
+    }
+
+    public Map<String, String> getViolations() {
+        return violations;
+    }
+}
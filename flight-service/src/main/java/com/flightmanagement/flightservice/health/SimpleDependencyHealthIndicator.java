@@ -1,89 +1,235 @@
 package com.flightmanagement.flightservice.health;
 
+import com.flightmanagement.flightservice.service.ArchiveServiceClient;
 import com.flightmanagement.flightservice.service.ReferenceDataService;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
+/**
+ * Bağımlılık health durumu.
+ *
+ * Her bağımlılık arka planda kendi aralığıyla, timeout'lu ve diğerlerinden bağımsız (paralel)
+ * yoklanır; son sonuç yaşıyla birlikte snapshot olarak tutulur. /health, readiness gibi
+ * endpoint'ler snapshot'tan cevaplanır, istek başına hiçbir bağımlılığa gidilmez.
+ * stale-after-ms'den eski sonuç DOWN sayılır (sampler takıldıysa probe'lar yeşil kalmaz).
+ * Bir bağımlılığın önceki probe'u hâlâ çalışıyorsa (timeout sonrası askıda kalan çağrı) yenisi
+ * başlatılmaz; böylece probe thread sayısı bağımlılık sayısıyla sınırlı kalır.
+ */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class SimpleDependencyHealthIndicator {
 
+    private static final String KAFKA_PROBE_TOPIC = "flight.events";
+
     private final DataSource dataSource;
     private final RedisTemplate<String, Object> redisTemplate;
     private final ReferenceDataService referenceDataService;
+    private final ArchiveServiceClient archiveServiceClient;
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${health.sampler.timeout-ms:3000}")
+    private long probeTimeoutMs;
+
+    @Value("${health.sampler.stale-after-ms:60000}")
+    private long staleAfterMs;
+
+    @Value("${health.sampler.database-interval-ms:10000}")
+    private long databaseIntervalMs;
+
+    @Value("${health.sampler.redis-interval-ms:10000}")
+    private long redisIntervalMs;
+
+    @Value("${health.sampler.kafka-interval-ms:15000}")
+    private long kafkaIntervalMs;
+
+    @Value("${health.sampler.service-interval-ms:15000}")
+    private long serviceIntervalMs;
+
+    private final Map<String, Sample> samples = new ConcurrentHashMap<>();
+    private final Map<String, Probe> probes = new LinkedHashMap<>();
+    private ScheduledExecutorService scheduler;
+    private ExecutorService probeExecutor;
+
+    public SimpleDependencyHealthIndicator(DataSource dataSource,
+                                           RedisTemplate<String, Object> redisTemplate,
+                                           ReferenceDataService referenceDataService,
+                                           ArchiveServiceClient archiveServiceClient,
+                                           KafkaTemplate<String, Object> kafkaTemplate,
+                                           MeterRegistry meterRegistry) {
+        this.dataSource = dataSource;
+        this.redisTemplate = redisTemplate;
+        this.referenceDataService = referenceDataService;
+        this.archiveServiceClient = archiveServiceClient;
+        this.kafkaTemplate = kafkaTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void startSampler() {
+        probes.put("database", new Probe(databaseIntervalMs, this::checkDatabaseHealth, true));
+        probes.put("redis", new Probe(redisIntervalMs, this::checkRedisHealth, true));
+        probes.put("referenceManager", new Probe(serviceIntervalMs, this::checkReferenceManagerHealth, true));
+        probes.put("archiveService", new Probe(serviceIntervalMs, this::checkArchiveServiceHealth, false));
+        probes.put("kafka", new Probe(kafkaIntervalMs, this::checkKafkaHealth, true));
+
+        AtomicInteger threadCounter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "health-probe-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        // Her probe kendi zamanlamasıyla paralel çalışır: yavaş bir bağımlılık diğerlerini bekletmez
+        scheduler = Executors.newScheduledThreadPool(probes.size(), threadFactory);
+        // Bağımlılık başına en fazla bir probe çalıştığı için havuz bağımlılık sayısıyla sınırlıdır
+        ThreadPoolExecutor boundedProbeExecutor = new ThreadPoolExecutor(probes.size(), probes.size(),
+                60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(probes.size()), threadFactory);
+        boundedProbeExecutor.allowCoreThreadTimeOut(true);
+        probeExecutor = boundedProbeExecutor;
+
+        probes.forEach((name, probe) ->
+                scheduler.scheduleWithFixedDelay(() -> sample(name, probe), 0, probe.intervalMs, TimeUnit.MILLISECONDS));
+        log.info("Health sampler started for {} dependencies", probes.size());
+    }
 
+    @PreDestroy
+    public void stopSampler() {
+        scheduler.shutdownNow();
+        probeExecutor.shutdownNow();
+    }
+
+    /**
+     * Son snapshot'tan health cevabı üretir; bağımlılıklara çağrı yapmaz.
+     */
     public SimpleHealthResponse checkHealth() {
         Map<String, Object> details = new HashMap<>();
+        Map<String, Long> sampleAges = new HashMap<>();
         boolean allHealthy = true;
         LocalDateTime checkTime = LocalDateTime.now();
+        long now = System.currentTimeMillis();
 
-        // Database Health Check
-        try {
-            DatabaseHealth dbHealth = checkDatabaseHealth();
-            details.put("database", dbHealth);
-            if (!dbHealth.isHealthy()) {
-                allHealthy = false;
+        for (Map.Entry<String, Probe> entry : probes.entrySet()) {
+            String name = entry.getKey();
+            Sample sample = samples.get(name);
+            boolean healthy;
+            if (sample == null) {
+                details.put(name, createUnhealthyStatus("No health sample yet", "pending"));
+                healthy = false;
+            } else {
+                long ageMs = now - sample.sampledAtMillis;
+                sampleAges.put(name, ageMs);
+                if (ageMs > staleAfterMs) {
+                    details.put(name, createUnhealthyStatus("Health sample is stale", "age " + ageMs + " ms"));
+                    healthy = false;
+                } else {
+                    details.put(name, sample.result);
+                    healthy = sample.healthy;
+                }
             }
-        } catch (Exception e) {
-            details.put("database", createUnhealthyStatus("Database connection failed", e.getMessage()));
-            allHealthy = false;
-        }
 
-        // Redis Health Check
-        try {
-            RedisHealth redisHealth = checkRedisHealth();
-            details.put("redis", redisHealth);
-            if (!redisHealth.isHealthy()) {
+            // Zorunlu olmayan bağımlılıklar (archive) genel durumu DOWN yapmaz
+            if (!healthy && entry.getValue().critical) {
                 allHealthy = false;
             }
-        } catch (Exception e) {
-            details.put("redis", createUnhealthyStatus("Redis connection failed", e.getMessage()));
-            allHealthy = false;
         }
 
-        // Reference Manager Health Check
-        try {
-            ServiceHealth refManagerHealth = checkReferenceManagerHealth();
-            details.put("referenceManager", refManagerHealth);
-            if (!refManagerHealth.isHealthy()) {
-                allHealthy = false;
-            }
-        } catch (Exception e) {
-            details.put("referenceManager", createUnhealthyStatus("Reference Manager unreachable", e.getMessage()));
-            allHealthy = false;
+        // Overall status
+        details.put("checkTime", checkTime);
+        details.put("sampleAgeMs", sampleAges);
+        details.put("serviceName", "flight-service");
+        details.put("version", "2.0-ROUTE-BASED");
+
+        return new SimpleHealthResponse(allHealthy ? "UP" : "DOWN", allHealthy, details);
+    }
+
+    private void sample(String name, Probe probe) {
+        // cancel(true) bloklayan I/O'yu kesmeyebilir; askıdaki probe bitmeden aynı bağımlılığa yenisi açılmaz
+        if (!probe.running.compareAndSet(false, true)) {
+            record(name, createUnhealthyStatus("Previous health probe still running",
+                    "probe exceeded " + probeTimeoutMs + " ms and has not returned"), false);
+            return;
         }
 
-        // Kafka Health Check
+        long start = System.nanoTime();
+        Object result;
+        boolean healthy;
+        Future<Object> check;
         try {
-            KafkaHealth kafkaHealth = checkKafkaHealth();
-            details.put("kafka", kafkaHealth);
-            if (!kafkaHealth.isHealthy()) {
-                allHealthy = false;
-            }
+            check = probeExecutor.submit(() -> {
+                try {
+                    return probe.check.get();
+                } finally {
+                    probe.running.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            probe.running.set(false);
+            record(name, createUnhealthyStatus("Health probe rejected", e.getMessage()), false);
+            return;
+        }
+        try {
+            result = check.get(probeTimeoutMs, TimeUnit.MILLISECONDS);
+            healthy = isHealthy(result);
+        } catch (TimeoutException e) {
+            check.cancel(true);
+            result = createUnhealthyStatus("Health probe timed out", "timeout after " + probeTimeoutMs + " ms");
+            healthy = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
         } catch (Exception e) {
-            details.put("kafka", createUnhealthyStatus("Kafka connection failed", e.getMessage()));
-            allHealthy = false;
+            result = createUnhealthyStatus("Health probe failed", e.getMessage());
+            healthy = false;
         }
 
-        // Overall status
-        details.put("checkTime", checkTime);
-        details.put("serviceName", "flight-service");
-        details.put("version", "2.0-ROUTE-BASED");
+        long durationNanos = System.nanoTime() - start;
+        Timer.builder("health_probe_duration")
+                .description("Dependency health probe latency")
+                .tag("service", "flight-service")
+                .tag("dependency", name)
+                .tag("outcome", healthy ? "up" : "down")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(meterRegistry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
 
-        return new SimpleHealthResponse(allHealthy ? "UP" : "DOWN", allHealthy, details);
+        record(name, result, healthy);
+    }
+
+    private void record(String name, Object result, boolean healthy) {
+        Sample previous = samples.put(name, new Sample(result, healthy, System.currentTimeMillis()));
+        if (previous == null || previous.healthy != healthy) {
+            log.info("Dependency {} is {}", name, healthy ? "UP" : "DOWN");
+        }
+    }
+
+    private boolean isHealthy(Object result) {
+        if (result instanceof DatabaseHealth) return ((DatabaseHealth) result).isHealthy();
+        if (result instanceof RedisHealth) return ((RedisHealth) result).isHealthy();
+        if (result instanceof ServiceHealth) return ((ServiceHealth) result).isHealthy();
+        if (result instanceof KafkaHealth) return ((KafkaHealth) result).isHealthy();
+        return false;
     }
 
     private DatabaseHealth checkDatabaseHealth() {
@@ -112,8 +258,11 @@ public class SimpleDependencyHealthIndicator {
     private RedisHealth checkRedisHealth() {
         long startTime = System.currentTimeMillis();
         try {
-            // Ping Redis
-            String pingResult = redisTemplate.getConnectionFactory().getConnection().ping();
+            // Ping Redis (bağlantı pool'a geri verilir)
+            String pingResult;
+            try (RedisConnection connection = redisTemplate.getConnectionFactory().getConnection()) {
+                pingResult = connection.ping();
+            }
             long responseTime = System.currentTimeMillis() - startTime;
 
             boolean isHealthy = "PONG".equals(pingResult);
@@ -163,22 +312,25 @@ public class SimpleDependencyHealthIndicator {
         }
     }
 
+    private ServiceHealth checkArchiveServiceHealth() {
+        long startTime = System.currentTimeMillis();
+        boolean isHealthy = archiveServiceClient.isArchiveServiceHealthy();
+        long responseTime = System.currentTimeMillis() - startTime;
+
+        return ServiceHealth.builder()
+                .healthy(isHealthy)
+                .responseTimeMs(responseTime)
+                .status(isHealthy ? "UP" : "DOWN")
+                .serviceName("flight-archive-service")
+                .details(isHealthy ? "Service responsive" : "Service unavailable")
+                .build();
+    }
+
     private KafkaHealth checkKafkaHealth() {
         long startTime = System.currentTimeMillis();
         try {
-            // Kafka health check with timeout
-            CompletableFuture<Boolean> kafkaCheck = CompletableFuture.supplyAsync(() -> {
-                try {
-                    // Test Kafka connectivity by getting metadata
-                    kafkaTemplate.getProducerFactory().createProducer().partitionsFor("test-topic");
-                    return true;
-                } catch (Exception e) {
-                    log.debug("Kafka health check failed: {}", e.getMessage());
-                    return false;
-                }
-            });
-
-            Boolean isHealthy = kafkaCheck.get(3, TimeUnit.SECONDS); // 3 saniye timeout
+            // Template'in paylaşılan producer'ı ile metadata çekilir (her probe'da yeni producer açılmaz)
+            boolean isHealthy = !kafkaTemplate.partitionsFor(KAFKA_PROBE_TOPIC).isEmpty();
             long responseTime = System.currentTimeMillis() - startTime;
 
             return KafkaHealth.builder()
@@ -208,6 +360,31 @@ public class SimpleDependencyHealthIndicator {
         return status;
     }
 
+    private static final class Probe {
+        private final long intervalMs;
+        private final Supplier<Object> check;
+        private final boolean critical;
+        private final AtomicBoolean running = new AtomicBoolean();
+
+        private Probe(long intervalMs, Supplier<Object> check, boolean critical) {
+            this.intervalMs = intervalMs;
+            this.check = check;
+            this.critical = critical;
+        }
+    }
+
+    private static final class Sample {
+        private final Object result;
+        private final boolean healthy;
+        private final long sampledAtMillis;
+
+        private Sample(Object result, boolean healthy, long sampledAtMillis) {
+            this.result = result;
+            this.healthy = healthy;
+            this.sampledAtMillis = sampledAtMillis;
+        }
+    }
+
     // Simple Health Response class
     @lombok.Data
     @lombok.AllArgsConstructor
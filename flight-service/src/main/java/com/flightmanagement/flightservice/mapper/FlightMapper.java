@@ -31,6 +31,7 @@ public interface FlightMapper {
     @Mapping(target = "connectingFlights", ignore = true)
     @Mapping(target = "totalSegments", ignore = true)
     @Mapping(target = "fullRoute", ignore = true)
+    @Mapping(target = "connections", ignore = true)
     @Mapping(target = "routeDistance", ignore = true)
     @Mapping(target = "routeEstimatedTime", ignore = true)
     @Mapping(target = "isMultiSegmentRoute", ignore = true)
@@ -137,6 +138,7 @@ public interface FlightMapper {
     @Mapping(target = "connectingFlights", ignore = true)
     @Mapping(target = "totalSegments", ignore = true)
     @Mapping(target = "fullRoute", ignore = true)
+    @Mapping(target = "connections", ignore = true)
     @Mapping(target = "routeDistance", ignore = true)
     @Mapping(target = "routeEstimatedTime", ignore = true)
     @Mapping(target = "isMultiSegmentRoute", ignore = true)
@@ -231,6 +233,7 @@ public interface FlightMapper {
     @Mapping(target = "connectingFlights", ignore = true)
     @Mapping(target = "totalSegments", ignore = true)
     @Mapping(target = "fullRoute", ignore = true)
+    @Mapping(target = "connections", ignore = true)
     @Mapping(target = "routeDistance", ignore = true)
     @Mapping(target = "routeEstimatedTime", ignore = true)
     @Mapping(target = "isMultiSegmentRoute", ignore = true)
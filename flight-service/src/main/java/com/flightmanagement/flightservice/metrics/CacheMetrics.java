@@ -0,0 +1,91 @@
+package com.flightmanagement.flightservice.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache adına göre hit/miss sayaçları ve hit oranı.
+ *
+ * cache_requests_total{cache, result=hit|miss} Prometheus'ta oran hesabı için, cache_hit_ratio{cache}
+ * ise uygulama ayağa kalktığından beri kümülatif oranı doğrudan göstermek için yayınlanır.
+ * Tüm cache'lerin toplamı ayrıca eski cache_hits_total / cache_misses_total sayaçlarına yazılır.
+ */
+@Component
+public class CacheMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, CacheCounters> counters = new ConcurrentHashMap<>();
+
+    private final Counter totalHits;
+    private final Counter totalMisses;
+
+    // Sayaçlar constructor'da kaydedilir; benchmark/test'te elle oluşturulan instance da hazır olur
+    public CacheMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        totalHits = Counter.builder("cache_hits_total")
+                .description("Total number of cache hits")
+                .tag("service", "flight-service")
+                .register(meterRegistry);
+        totalMisses = Counter.builder("cache_misses_total")
+                .description("Total number of cache misses")
+                .tag("service", "flight-service")
+                .register(meterRegistry);
+    }
+
+    public void recordHit(String cacheName) {
+        countersFor(cacheName).hits.increment();
+        totalHits.increment();
+    }
+
+    public void recordMiss(String cacheName) {
+        countersFor(cacheName).misses.increment();
+        totalMisses.increment();
+    }
+
+    public void record(String cacheName, boolean hit) {
+        if (hit) {
+            recordHit(cacheName);
+        } else {
+            recordMiss(cacheName);
+        }
+    }
+
+    private CacheCounters countersFor(String cacheName) {
+        return counters.computeIfAbsent(cacheName, name -> new CacheCounters(meterRegistry, name));
+    }
+
+    private static final class CacheCounters {
+        private final Counter hits;
+        private final Counter misses;
+
+        private CacheCounters(MeterRegistry meterRegistry, String cacheName) {
+            hits = requestCounter(meterRegistry, cacheName, "hit");
+            misses = requestCounter(meterRegistry, cacheName, "miss");
+            Gauge.builder("cache_hit_ratio", this, CacheCounters::hitRatio)
+                    .description("Cumulative hit ratio per cache")
+                    .tag("service", "flight-service")
+                    .tag("cache", cacheName)
+                    .register(meterRegistry);
+        }
+
+        private static Counter requestCounter(MeterRegistry meterRegistry, String cacheName, String result) {
+            return Counter.builder("cache_requests_total")
+                    .description("Cache lookups by cache name and result")
+                    .tag("service", "flight-service")
+                    .tag("cache", cacheName)
+                    .tag("result", result)
+                    .register(meterRegistry);
+        }
+
+        private double hitRatio() {
+            double total = hits.count() + misses.count();
+            return total == 0 ? 0 : hits.count() / total;
+        }
+    }
+}
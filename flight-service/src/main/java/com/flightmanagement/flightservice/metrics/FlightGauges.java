@@ -0,0 +1,319 @@
+package com.flightmanagement.flightservice.metrics;
+
+import com.flightmanagement.flightservice.entity.Flight;
+import com.flightmanagement.flightservice.entity.enums.FlightStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Bugünün uçuşları için gerçek zamanlı operasyonel gauge'lar.
+ *
+ * Sayaçlar flight mutasyonlarından (FlightGaugeListener, commit sonrası) artımlı olarak
+ * güncellenir; gauge okuması sorgu çalıştırmaz. Tüm sayaçlar tek bir GaugeState içinde
+ * tutulur ve reconciliation veritabanından yeni bir state kurup atomik olarak değiştirir
+ * (gün dönümü de aynı yoldan işlenir). Reconciliation sorgusu sürerken gelen delta'lar eski
+ * state'e uygulanırken ayrıca biriktirilir ve yeni state'e geçişte onun üzerine tekrar uygulanır.
+ * Sorgu başlamadan commit olmuş ama listener'ı sorgu başladıktan sonra çalışan bir mutasyon iki kez
+ * sayılabilir; bu pencere commit ile after-commit callback arası kadardır ve sonraki reconcile düzeltir.
+ *
+ * "Aktif" uçuş: ARRIVED veya CANCELLED olmayan uçuş. Gecikmiş: delayMinutes > 0 veya DELAYED.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FlightGauges {
+
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicReference<GaugeState> state = new AtomicReference<>(new GaugeState(LocalDate.now()));
+    private final Set<Long> registeredAirlines = ConcurrentHashMap.newKeySet();
+    private final Set<Long> registeredAirports = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Long> routeOriginAirports = new ConcurrentHashMap<>();
+
+    // apply'lar read lock ile paralel çalışır; state değişimi write lock altında yapılır
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+    // Reconcile sürerken biriken [previous, current] delta'ları; reconcile yokken null
+    private volatile Queue<Contribution[]> pendingDeltas;
+
+    @PostConstruct
+    public void registerGauges() {
+        for (FlightStatus status : FlightStatus.values()) {
+            Gauge.builder("flights_today_by_status", this, gauges -> gauges.state.get().statusCount(status))
+                    .description("Today's flights by status")
+                    .tag("service", "flight-service")
+                    .tag("status", status.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    // ===============================
+    // OKUMA
+    // ===============================
+
+    public long getActiveFlights() {
+        return state.get().active.get();
+    }
+
+    public long getDelayedFlights() {
+        return state.get().delayed.get();
+    }
+
+    public long getTodayFlights() {
+        return state.get().total.get();
+    }
+
+    public LocalDate getTrackedDate() {
+        return state.get().date;
+    }
+
+    // ===============================
+    // ARTIMLI GÜNCELLEME
+    // ===============================
+
+    /**
+     * Bir uçuşun önceki katkısını çıkarıp yenisini ekler (create: previous null, delete: current null).
+     */
+    public void apply(Contribution previous, Contribution current) {
+        if (Objects.equals(previous, current)) {
+            return;
+        }
+        swapLock.readLock().lock();
+        try {
+            applyTo(state.get(), previous, current);
+            Queue<Contribution[]> pending = pendingDeltas;
+            if (pending != null) {
+                pending.add(new Contribution[]{previous, current});
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+        if (current != null) {
+            registerSegmentGauges(current);
+        }
+    }
+
+    private static void applyTo(GaugeState gaugeState, Contribution previous, Contribution current) {
+        if (previous != null) {
+            gaugeState.add(previous, -1);
+        }
+        if (current != null) {
+            gaugeState.add(current, 1);
+        }
+    }
+
+    // ===============================
+    // RECONCILIATION
+    // ===============================
+
+    /**
+     * Veritabanı sayımlarından yeni bir state kurar ve mevcut state ile değiştirir.
+     * Sayım sorgusu sürerken uygulanan delta'lar yeni state'e de aktarılır.
+     *
+     * @param counter [status, airlineId, routeId, count, delayedCount] satırlarını döner
+     * @return reconciliation öncesi ile sonrası arasındaki aktif uçuş farkı (drift)
+     */
+    public synchronized long reconcile(LocalDate date, Supplier<List<Object[]>> counter) {
+        swapLock.writeLock().lock();
+        try {
+            pendingDeltas = new ConcurrentLinkedQueue<>();
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+
+        List<Object[]> rows;
+        try {
+            rows = counter.get();
+        } catch (RuntimeException e) {
+            pendingDeltas = null;
+            throw e;
+        }
+
+        GaugeState rebuilt = new GaugeState(date);
+        for (Object[] row : rows) {
+            FlightStatus status = (FlightStatus) row[0];
+            Long airlineId = (Long) row[1];
+            Long routeId = (Long) row[2];
+            long count = ((Number) row[3]).longValue();
+            long delayedCount = row[4] != null ? ((Number) row[4]).longValue() : 0;
+            if (status == FlightStatus.DELAYED) {
+                delayedCount = count;
+            }
+            rebuilt.addCounts(status, airlineId, routeId, count, delayedCount);
+            registerSegmentGauges(new Contribution(date, true, status, airlineId, routeId, false));
+        }
+
+        GaugeState previous;
+        swapLock.writeLock().lock();
+        try {
+            for (Contribution[] delta : pendingDeltas) {
+                applyTo(rebuilt, delta[0], delta[1]);
+            }
+            pendingDeltas = null;
+            previous = state.getAndSet(rebuilt);
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        return previous.date.equals(date) ? rebuilt.active.get() - previous.active.get() : 0;
+    }
+
+    public boolean isRouteMapped(Long routeId) {
+        return routeOriginAirports.containsKey(routeId);
+    }
+
+    /**
+     * Route -> origin airport eşlemesi (airport bazlı gauge'lar route sayaçlarından türetilir).
+     */
+    public void mapRouteOrigin(Long routeId, Long originAirportId) {
+        if (routeId == null || originAirportId == null) {
+            return;
+        }
+        routeOriginAirports.put(routeId, originAirportId);
+        if (registeredAirports.add(originAirportId)) {
+            registerGauge("flights_active_by_airport", "airport_id", originAirportId,
+                    gauges -> gauges.state.get().activeFromAirport(originAirportId, gauges.routeOriginAirports));
+        }
+    }
+
+    public Set<Long> getTrackedRouteIds() {
+        return state.get().activeByRoute.keySet();
+    }
+
+    private void registerSegmentGauges(Contribution contribution) {
+        Long airlineId = contribution.airlineId;
+        if (airlineId != null && registeredAirlines.add(airlineId)) {
+            registerGauge("flights_active_by_airline", "airline_id", airlineId,
+                    gauges -> gauges.state.get().activeForAirline(airlineId));
+        }
+    }
+
+    private void registerGauge(String name, String tagKey, Long id, ToDoubleFunction<FlightGauges> value) {
+        Gauge.builder(name, this, value)
+                .description("Today's active flights by " + tagKey.replace("_id", ""))
+                .tag("service", "flight-service")
+                .tag(tagKey, String.valueOf(id))
+                .register(meterRegistry);
+    }
+
+    /**
+     * Bir uçuşun gauge'lara katkısı (immutable). Entity yüklendiğinde/kaydedildiğinde alınır,
+     * bir sonraki mutasyonda önceki katkının çıkarılması için kullanılır.
+     */
+    public static final class Contribution {
+        private final LocalDate date;
+        private final boolean visible;
+        private final FlightStatus status;
+        private final Long airlineId;
+        private final Long routeId;
+        private final boolean delayed;
+
+        private Contribution(LocalDate date, boolean visible, FlightStatus status,
+                             Long airlineId, Long routeId, boolean delayed) {
+            this.date = date;
+            this.visible = visible;
+            this.status = status;
+            this.airlineId = airlineId;
+            this.routeId = routeId;
+            this.delayed = delayed;
+        }
+
+        public static Contribution of(Flight flight) {
+            return new Contribution(flight.getFlightDate(), !Boolean.FALSE.equals(flight.getActive()),
+                    flight.getStatus(), flight.getAirlineId(), flight.getRouteId(),
+                    flight.isDelayed() || flight.getStatus() == FlightStatus.DELAYED);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Contribution)) return false;
+            Contribution that = (Contribution) o;
+            return visible == that.visible && delayed == that.delayed && status == that.status
+                    && Objects.equals(date, that.date) && Objects.equals(airlineId, that.airlineId)
+                    && Objects.equals(routeId, that.routeId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(date, visible, status, airlineId, routeId, delayed);
+        }
+    }
+
+    private static final class GaugeState {
+        private final LocalDate date;
+        private final AtomicLong total = new AtomicLong();
+        private final AtomicLong active = new AtomicLong();
+        private final AtomicLong delayed = new AtomicLong();
+        private final Map<FlightStatus, AtomicLong> byStatus = new EnumMap<>(FlightStatus.class);
+        private final Map<Long, AtomicLong> activeByAirline = new ConcurrentHashMap<>();
+        private final Map<Long, AtomicLong> activeByRoute = new ConcurrentHashMap<>();
+
+        private GaugeState(LocalDate date) {
+            this.date = date;
+            // EnumMap sadece burada doldurulur, sonrasında yapısı değişmez
+            for (FlightStatus status : FlightStatus.values()) {
+                byStatus.put(status, new AtomicLong());
+            }
+        }
+
+        private void add(Contribution contribution, int delta) {
+            if (!contribution.visible || !date.equals(contribution.date) || contribution.status == null) {
+                return;
+            }
+            addCounts(contribution.status, contribution.airlineId, contribution.routeId,
+                    delta, contribution.delayed ? delta : 0);
+        }
+
+        private void addCounts(FlightStatus status, Long airlineId, Long routeId, long count, long delayedCount) {
+            total.addAndGet(count);
+            byStatus.get(status).addAndGet(count);
+            delayed.addAndGet(delayedCount);
+            if (status != FlightStatus.ARRIVED && status != FlightStatus.CANCELLED) {
+                active.addAndGet(count);
+                if (airlineId != null) {
+                    activeByAirline.computeIfAbsent(airlineId, id -> new AtomicLong()).addAndGet(count);
+                }
+                if (routeId != null) {
+                    activeByRoute.computeIfAbsent(routeId, id -> new AtomicLong()).addAndGet(count);
+                }
+            }
+        }
+
+        private double statusCount(FlightStatus status) {
+            return byStatus.get(status).get();
+        }
+
+        private double activeForAirline(Long airlineId) {
+            AtomicLong count = activeByAirline.get(airlineId);
+            return count != null ? count.get() : 0;
+        }
+
+        private double activeFromAirport(Long airportId, Map<Long, Long> routeOrigins) {
+            long sum = 0;
+            for (Map.Entry<Long, AtomicLong> entry : activeByRoute.entrySet()) {
+                if (airportId.equals(routeOrigins.get(entry.getKey()))) {
+                    sum += entry.getValue().get();
+                }
+            }
+            return sum;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.flightmanagement.flightservice.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sıcak yoldaki servislerin public metodları için operasyon bazlı latency ölçümü.
+ *
+ * flight_service_operation_duration{component, operation, outcome} percentile histogram ile
+ * yayınlanır; Prometheus'ta histogram_quantile ile p95/p99 çıkarılabilir. Proxy üzerinden
+ * gelen çağrılar ölçülür, sınıf içi (self) çağrılar ayrıca sayılmaz.
+ *
+ * Dashboard'ların kullandığı eski toplu timer'lar (flights_creation_duration, flights_query_duration,
+ * reference_data_fetch_duration) da aynı ölçümden beslenir.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class HotPathMetricsAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    @Value("${instrumentation.enabled:true}")
+    private boolean enabled;
+
+    @Value("${instrumentation.percentile-histogram:true}")
+    private boolean percentileHistogram;
+
+    private Timer flightCreationTimer;
+    private Timer flightQueryTimer;
+    private Timer referenceDataFetchTimer;
+
+    @PostConstruct
+    public void registerLegacyTimers() {
+        flightCreationTimer = legacyTimer("flights_creation_duration", "Time taken to create a flight");
+        flightQueryTimer = legacyTimer("flights_query_duration", "Time taken to query flights");
+        referenceDataFetchTimer = legacyTimer("reference_data_fetch_duration", "Time taken to fetch reference data");
+    }
+
+    @Around("execution(public * com.flightmanagement.flightservice.service.FlightService.*(..))"
+            + " || execution(public * com.flightmanagement.flightservice.service.ReferenceDataService.*(..))"
+            + " || execution(public * com.flightmanagement.flightservice.service.AutoRouteService.*(..))"
+            + " || execution(public * com.flightmanagement.flightservice.service.CsvProcessingService.*(..))"
+            + " || execution(public * com.flightmanagement.flightservice.service.ArchiveServiceClient.*(..))")
+    public Object timeOperation(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!enabled) {
+            return joinPoint.proceed();
+        }
+
+        String component = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        String operation = joinPoint.getSignature().getName();
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            Object result = joinPoint.proceed();
+            outcome = "success";
+            return result;
+        } finally {
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+            timer(component, operation, outcome).record(elapsed);
+
+            Timer legacy = legacyTimerFor(component, operation);
+            if (legacy != null) {
+                legacy.record(elapsed);
+            }
+        }
+    }
+
+    private Timer legacyTimerFor(String component, String operation) {
+        if ("FlightService".equals(component)) {
+            if (operation.startsWith("create")) {
+                return flightCreationTimer;
+            }
+            if (operation.startsWith("get") || operation.startsWith("search")) {
+                return flightQueryTimer;
+            }
+        } else if ("ReferenceDataService".equals(component) && operation.startsWith("get")) {
+            return referenceDataFetchTimer;
+        }
+        return null;
+    }
+
+    private Timer legacyTimer(String name, String description) {
+        return Timer.builder(name)
+                .description(description)
+                .tag("service", "flight-service")
+                .register(meterRegistry);
+    }
+
+    private Timer timer(String component, String operation, String outcome) {
+        return timers.computeIfAbsent(component + "." + operation + "." + outcome, key -> {
+            Timer.Builder builder = Timer.builder("flight_service_operation_duration")
+                    .description("Latency of flight-service hot path operations")
+                    .tag("service", "flight-service")
+                    .tag("component", component)
+                    .tag("operation", operation)
+                    .tag("outcome", outcome);
+            if (percentileHistogram) {
+                builder.publishPercentileHistogram()
+                        .minimumExpectedValue(Duration.ofMillis(1))
+                        .maximumExpectedValue(Duration.ofSeconds(30));
+            }
+            return builder.register(meterRegistry);
+        });
+    }
+}
@@ -0,0 +1,129 @@
+package com.flightmanagement.flightservice.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * RestTemplate üzerinden yapılan servisler arası çağrıların ölçümü.
+ *
+ * Her çağrı hedef (host:port) ve sonuca göre sayılır ve süresi histogram'lı timer'a yazılır.
+ * Bir HTTP isteği boyunca yapılan remote çağrı sayısı request scope'unda toplanır ve istek
+ * bitince remote_calls_per_request dağılımına kaydedilir. Scope thread'e bağlı olduğu için
+ * başka thread'e devredilen işler propagate() ile sarılmalıdır.
+ */
+@Component
+@RequiredArgsConstructor
+public class RemoteCallMetrics implements ClientHttpRequestInterceptor {
+
+    private static final ThreadLocal<AtomicInteger> REQUEST_CALLS = new ThreadLocal<>();
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+                                        ClientHttpRequestExecution execution) throws IOException {
+        String target = target(request.getURI());
+        AtomicInteger requestCalls = REQUEST_CALLS.get();
+        if (requestCalls != null) {
+            requestCalls.incrementAndGet();
+        }
+
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            outcome = response.getStatusCode().isError() ? "http_error" : "success";
+            return response;
+        } finally {
+            Timer.builder("remote_call_duration")
+                    .description("Outbound HTTP call latency by target")
+                    .tag("service", "flight-service")
+                    .tag("target", target)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofSeconds(30))
+                    .register(meterRegistry)
+                    .record(Duration.ofNanos(System.nanoTime() - start));
+            Counter.builder("remote_calls_total")
+                    .description("Outbound HTTP calls by target and outcome")
+                    .tag("service", "flight-service")
+                    .tag("target", target)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    /**
+     * Request scope'unu açar; zaten açıksa false döner (iç içe filtre/forward).
+     */
+    public boolean beginRequest() {
+        if (REQUEST_CALLS.get() != null) {
+            return false;
+        }
+        REQUEST_CALLS.set(new AtomicInteger());
+        return true;
+    }
+
+    public void endRequest(String method) {
+        AtomicInteger requestCalls = REQUEST_CALLS.get();
+        REQUEST_CALLS.remove();
+        if (requestCalls == null) {
+            return;
+        }
+
+        DistributionSummary.builder("remote_calls_per_request")
+                .description("Outbound HTTP calls made while serving one API request")
+                .tag("service", "flight-service")
+                .tag("method", method)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(200.0)
+                .register(meterRegistry)
+                .record(requestCalls.get());
+    }
+
+    /**
+     * Çağıran thread'in request sayacını worker thread'e taşır.
+     */
+    public <T> Supplier<T> propagate(Supplier<T> task) {
+        AtomicInteger requestCalls = REQUEST_CALLS.get();
+        if (requestCalls == null) {
+            return task;
+        }
+        return () -> {
+            AtomicInteger previous = REQUEST_CALLS.get();
+            REQUEST_CALLS.set(requestCalls);
+            try {
+                return task.get();
+            } finally {
+                if (previous != null) {
+                    REQUEST_CALLS.set(previous);
+                } else {
+                    REQUEST_CALLS.remove();
+                }
+            }
+        };
+    }
+
+    private static String target(URI uri) {
+        if (uri.getHost() == null) {
+            return "unknown";
+        }
+        return uri.getPort() > 0 ? uri.getHost() + ":" + uri.getPort() : uri.getHost();
+    }
+}
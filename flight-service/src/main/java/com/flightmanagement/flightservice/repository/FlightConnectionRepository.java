@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -70,4 +71,8 @@ public interface FlightConnectionRepository extends JpaRepository<FlightConnecti
             "WHERE fc.mainFlightId = :mainFlightId " +
             "ORDER BY fc.segmentOrder")
     List<FlightConnection> findByMainFlightIdWithSegmentFlights(@Param("mainFlightId") Long mainFlightId);
+
+    // Birden fazla ana uçuşun connection'larını tek sorguda getir (sayfalı listeler için)
+    @Query("SELECT fc FROM FlightConnection fc WHERE fc.mainFlightId IN :mainFlightIds ORDER BY fc.mainFlightId, fc.segmentOrder")
+    List<FlightConnection> findByMainFlightIdIn(@Param("mainFlightIds") Collection<Long> mainFlightIds);
 }
\ No newline at end of file
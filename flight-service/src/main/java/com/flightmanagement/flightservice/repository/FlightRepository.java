@@ -11,6 +11,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -92,6 +93,11 @@ public interface FlightRepository extends JpaRepository<Flight, Long> {
     @Query("SELECT COUNT(f) FROM Flight f WHERE f.flightDate = :date AND f.status = :status AND f.active = true")
     long countFlightsByDateAndStatus(@Param("date") LocalDate date, @Param("status") FlightStatus status);
 
+    // Operasyonel gauge reconciliation: [status, airlineId, routeId, count, delayedCount]
+    @Query("SELECT f.status, f.airlineId, f.routeId, COUNT(f), SUM(CASE WHEN f.delayMinutes > 0 THEN 1 ELSE 0 END) " +
+            "FROM Flight f WHERE f.flightDate = :date AND f.active = true GROUP BY f.status, f.airlineId, f.routeId")
+    List<Object[]> countGaugeSegmentsByDate(@Param("date") LocalDate date);
+
     @Query("SELECT f.type, COUNT(f) FROM Flight f WHERE f.flightDate = :date AND f.active = true GROUP BY f.type")
     List<Object[]> countFlightsGroupedByTypeAndDate(@Param("date") LocalDate date);
 
@@ -121,6 +127,31 @@ public interface FlightRepository extends JpaRepository<Flight, Long> {
                                                @Param("start") LocalDateTime start,
                                                @Param("end") LocalDateTime end);
 
+    // Itinerary search için uçuş bacakları: ana connecting kayıtları hariç (segment'leri zaten ayrı satır), iptaller hariç
+    @Query("SELECT f FROM Flight f WHERE f.scheduledDeparture >= :start AND f.scheduledDeparture < :end " +
+            "AND f.active = true AND f.status <> :excludedStatus " +
+            "AND (f.isConnectingFlight = false OR f.isConnectingFlight IS NULL OR f.parentFlightId IS NOT NULL) " +
+            "ORDER BY f.scheduledDeparture")
+    List<Flight> findItineraryLegsInTimeRange(@Param("start") LocalDateTime start,
+                                              @Param("end") LocalDateTime end,
+                                              @Param("excludedStatus") FlightStatus excludedStatus);
+
+    // Delay propagation: uçak rotasyonları ve segment zincirleri tek sorguda yüklenir
+    @Query("SELECT f FROM Flight f WHERE f.aircraftId IN :aircraftIds " +
+            "AND f.scheduledDeparture >= :start AND f.scheduledDeparture < :end AND f.active = true " +
+            "ORDER BY f.aircraftId, f.scheduledDeparture")
+    List<Flight> findRotationFlights(@Param("aircraftIds") Collection<Long> aircraftIds,
+                                     @Param("start") LocalDateTime start,
+                                     @Param("end") LocalDateTime end);
+
+    @Query("SELECT f FROM Flight f WHERE f.parentFlightId IN :parentFlightIds ORDER BY f.parentFlightId, f.segmentNumber")
+    List<Flight> findSegmentsByParentFlightIds(@Param("parentFlightIds") Collection<Long> parentFlightIds);
+
+    // Ana uçuş(lar) ve tüm segment'leri tek sorguda (connecting flight aggregate okuması için)
+    @Query("SELECT f FROM Flight f WHERE f.id IN :mainFlightIds OR f.parentFlightId IN :mainFlightIds " +
+            "ORDER BY COALESCE(f.parentFlightId, f.id), f.segmentNumber")
+    List<Flight> findMainFlightsWithSegments(@Param("mainFlightIds") Collection<Long> mainFlightIds);
+
     // Gecikme analizi
     @Query("SELECT f FROM Flight f WHERE f.delayMinutes >= :minDelayMinutes AND f.flightDate = :date AND f.active = true")
     List<Flight> findDelayedFlightsByDateAndMinutes(@Param("date") LocalDate date, @Param("minDelayMinutes") Integer minDelayMinutes);
@@ -0,0 +1,292 @@
+package com.flightmanagement.flightservice.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * API rate limiter.
+ *
+ * Local modda her key (policy + client) için kilitsiz bir TokenBucket tutulur; key sayısı
+ * max-keys ile sınırlıdır ve pencere boyunca boşta kalan (yani zaten dolu olan) bucket'lar
+ * periyodik olarak silinir. Redis modunda limit cluster genelinde sliding window counter ile
+ * uygulanır; Redis'e ulaşılamazsa local bucket'a düşülür.
+ *
+ * İki aşamada uygulanır: Spring Security'den önce her istek IP bazlı limite (checkClientIp)
+ * tabi tutulur, böylece 401/403 ile reddedilen istekler de sınırlanır. Authentication'dan sonra
+ * policy seçimi: önce route policy (ilk eşleşen pattern), sonra principal policy, yoksa
+ * authenticated/anonymous varsayılan limit. Client key'i authenticated isteklerde principal,
+ * diğerlerinde IP adresidir.
+ */
+@Component
+@Slf4j
+public class RequestRateLimiter {
+
+    private static final long WINDOW_MILLIS = 60_000;
+
+    private static final String SLIDING_WINDOW_SCRIPT =
+            "local current = redis.call('INCR', KEYS[1]) " +
+            "if current == 1 then redis.call('PEXPIRE', KEYS[1], ARGV[1]) end " +
+            "local previous = tonumber(redis.call('GET', KEYS[2]) or '0') " +
+            "return {current, previous}";
+
+    // rate_limit_decisions_total policy tag'leri; route policy'leri tek "route" tag'inde toplanır
+    private static final String[] POLICY_TYPES = {"ip", "route", "principal", "authenticated", "anonymous"};
+
+    private final RedisConnectionFactory redisConnectionFactory;
+
+    @Value("${security.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${security.rate-limit.mode:local}")
+    private String mode;
+
+    @Value("${security.rate-limit.max-requests-per-minute:100}")
+    private int anonymousLimit;
+
+    @Value("${security.rate-limit.authenticated-requests-per-minute:600}")
+    private int authenticatedLimit;
+
+    @Value("${security.rate-limit.ip-requests-per-minute:600}")
+    private int ipLimit;
+
+    @Value("${security.rate-limit.route-policies:}")
+    private String[] routePolicyDefinitions;
+
+    @Value("${security.rate-limit.principal-policies:}")
+    private String[] principalPolicyDefinitions;
+
+    @Value("${security.rate-limit.max-keys:100000}")
+    private int maxKeys;
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final long epochMillis = System.currentTimeMillis();
+
+    private final List<RoutePolicy> routePolicies = new ArrayList<>();
+    private final Map<String, Integer> principalPolicies = new HashMap<>();
+    private final Map<String, Counter> decisionCounters = new HashMap<>();
+    private StringRedisTemplate redisTemplate;
+    private DefaultRedisScript<List> slidingWindowScript;
+
+    // Karar sayaçları bir kez kaydedilir; check() her istekte registry lookup yapmaz
+    public RequestRateLimiter(RedisConnectionFactory redisConnectionFactory, MeterRegistry meterRegistry) {
+        this.redisConnectionFactory = redisConnectionFactory;
+        for (String policy : POLICY_TYPES) {
+            decisionCounters.put(policy + "|allowed", decisionCounter(meterRegistry, policy, "allowed"));
+            decisionCounters.put(policy + "|rejected", decisionCounter(meterRegistry, policy, "rejected"));
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        for (String definition : routePolicyDefinitions) {
+            String[] parts = parseDefinition(definition);
+            if (parts != null) {
+                routePolicies.add(new RoutePolicy(parts[0], clampLimit(Integer.parseInt(parts[1]))));
+            }
+        }
+        for (String definition : principalPolicyDefinitions) {
+            String[] parts = parseDefinition(definition);
+            if (parts != null) {
+                principalPolicies.put(parts[0], clampLimit(Integer.parseInt(parts[1])));
+            }
+        }
+
+        if ("redis".equalsIgnoreCase(mode)) {
+            redisTemplate = new StringRedisTemplate(redisConnectionFactory);
+            slidingWindowScript = new DefaultRedisScript<>(SLIDING_WINDOW_SCRIPT, List.class);
+        }
+
+        log.info("Rate limiter initialized: mode={}, ip={}/min, anonymous={}/min, authenticated={}/min, {} route and {} principal policies",
+                mode, ipLimit, anonymousLimit, authenticatedLimit, routePolicies.size(), principalPolicies.size());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Authentication'dan önce uygulanan IP bazlı limit (token geçerli olsun olmasın)
+     */
+    public Decision checkClientIp(String clientIp) {
+        return decide("ip", "ip|ip:" + clientIp, clampLimit(ipLimit));
+    }
+
+    /**
+     * Authentication sonrası route/principal/authenticated/anonymous policy'si
+     */
+    public Decision check(String path, String principal, String clientIp) {
+        String policyName;
+        int limit;
+        String client = principal != null ? "user:" + principal : "ip:" + clientIp;
+
+        RoutePolicy routePolicy = findRoutePolicy(path);
+        if (routePolicy != null) {
+            policyName = "route:" + routePolicy.pattern;
+            limit = routePolicy.limit;
+        } else if (principal != null && principalPolicies.containsKey(principal)) {
+            policyName = "principal";
+            limit = principalPolicies.get(principal);
+        } else if (principal != null) {
+            policyName = "authenticated";
+            limit = clampLimit(authenticatedLimit);
+        } else {
+            policyName = "anonymous";
+            limit = clampLimit(anonymousLimit);
+        }
+
+        return decide(policyName.startsWith("route:") ? "route" : policyName, policyName + "|" + client, limit);
+    }
+
+    private Decision decide(String policyType, String key, int limit) {
+        Decision decision = redisTemplate != null ? checkShared(key, limit) : null;
+        if (decision == null) {
+            decision = checkLocal(key, limit);
+        }
+
+        decisionCounters.get(policyType + (decision.allowed ? "|allowed" : "|rejected")).increment();
+        return decision;
+    }
+
+    private static Counter decisionCounter(MeterRegistry meterRegistry, String policy, String result) {
+        return Counter.builder("rate_limit_decisions_total")
+                .description("Rate limiter decisions by policy type")
+                .tag("service", "flight-service")
+                .tag("policy", policy)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private Decision checkLocal(String key, int limit) {
+        long now = System.currentTimeMillis() - epochMillis;
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxKeys) {
+                evictIdleBuckets(now, true);
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(limit, now));
+        }
+
+        long result = bucket.tryAcquire(now, limit, WINDOW_MILLIS);
+        if (result >= 0) {
+            return new Decision(true, limit, result, 0);
+        }
+        return new Decision(false, limit, 0, -result - 1);
+    }
+
+    /**
+     * Sliding window counter: önceki dakikanın sayısı geçen süre oranında azaltılarak
+     * bu dakikanın sayısına eklenir. Redis hatasında null döner (local moda düşülür).
+     */
+    @SuppressWarnings("unchecked")
+    private Decision checkShared(String key, int limit) {
+        long now = System.currentTimeMillis();
+        long window = now / WINDOW_MILLIS;
+        long elapsedInWindow = now % WINDOW_MILLIS;
+        try {
+            List<Long> counts = redisTemplate.execute(slidingWindowScript,
+                    Arrays.asList("rate:" + key + ":" + window, "rate:" + key + ":" + (window - 1)),
+                    String.valueOf(WINDOW_MILLIS * 2));
+            if (counts == null || counts.size() < 2) {
+                return null;
+            }
+
+            double estimated = counts.get(1) * (1.0 - (double) elapsedInWindow / WINDOW_MILLIS) + counts.get(0);
+            if (estimated <= limit) {
+                return new Decision(true, limit, (long) Math.max(0, limit - estimated), 0);
+            }
+            return new Decision(false, limit, 0, WINDOW_MILLIS - elapsedInWindow);
+        } catch (Exception e) {
+            log.debug("Shared rate limit check failed, using local bucket: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${security.rate-limit.sweep-interval-ms:60000}")
+    public void sweepIdleBuckets() {
+        evictIdleBuckets(System.currentTimeMillis() - epochMillis, false);
+    }
+
+    private void evictIdleBuckets(long now, boolean enforceBound) {
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.isIdle(now, WINDOW_MILLIS));
+
+        // Hâlâ sınırdaysa (çok sayıda aktif client) rastgele ~%10 key çıkarılır
+        if (enforceBound && buckets.size() >= maxKeys) {
+            int target = maxKeys - Math.max(1, maxKeys / 10);
+            Iterator<String> iterator = buckets.keySet().iterator();
+            while (buckets.size() > target && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+            log.warn("Rate limiter key store full ({} keys), evicted active buckets", maxKeys);
+        }
+
+        if (before != buckets.size()) {
+            log.debug("Rate limiter evicted {} buckets, {} remaining", before - buckets.size(), buckets.size());
+        }
+    }
+
+    private RoutePolicy findRoutePolicy(String path) {
+        for (RoutePolicy policy : routePolicies) {
+            if (pathMatcher.match(policy.pattern, path)) {
+                return policy;
+            }
+        }
+        return null;
+    }
+
+    private String[] parseDefinition(String definition) {
+        if (definition == null || definition.isBlank()) {
+            return null;
+        }
+        int separator = definition.lastIndexOf('=');
+        if (separator <= 0) {
+            log.warn("Ignoring invalid rate limit policy: {}", definition);
+            return null;
+        }
+        return new String[]{definition.substring(0, separator).trim(), definition.substring(separator + 1).trim()};
+    }
+
+    private int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, TokenBucket.MAX_CAPACITY));
+    }
+
+    private static final class RoutePolicy {
+        private final String pattern;
+        private final int limit;
+
+        private RoutePolicy(String pattern, int limit) {
+            this.pattern = pattern;
+            this.limit = limit;
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Decision {
+        private final boolean allowed;
+        private final int limit;
+        private final long remaining;
+        private final long retryAfterMillis;
+    }
+}
@@ -0,0 +1,62 @@
+package com.flightmanagement.flightservice.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tek bir AtomicLong içinde tutulan kilitsiz token bucket.
+ *
+ * Üst 40 bit son dolum zamanı (limiter başlangıcından beri ms), alt 24 bit kalan token
+ * miktarı (binde bir token hassasiyetinde). Böylece her key için sabit boyutlu tek bir
+ * state vardır ve acquire bir CAS döngüsüdür.
+ */
+final class TokenBucket {
+
+    static final int MAX_CAPACITY = 16_000;
+
+    private static final int TOKEN_BITS = 24;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final long MILLI = 1000;
+
+    private final AtomicLong state;
+
+    TokenBucket(long capacity, long nowMillis) {
+        state = new AtomicLong(pack(nowMillis, capacity * MILLI));
+    }
+
+    /**
+     * Bir token almaya çalışır.
+     *
+     * @return alındıysa negatif olmayan kalan token sayısı, alınamadıysa -(bir token için beklenecek ms) - 1
+     */
+    long tryAcquire(long nowMillis, long capacity, long windowMillis) {
+        long capacityMilli = capacity * MILLI;
+        while (true) {
+            long current = state.get();
+            long last = current >>> TOKEN_BITS;
+            long tokens = current & TOKEN_MASK;
+
+            long elapsed = Math.max(0, nowMillis - last);
+            long refilled = Math.min(capacityMilli, tokens + elapsed * capacityMilli / windowMillis);
+
+            if (refilled < MILLI) {
+                long waitMillis = (MILLI - refilled) * windowMillis / capacityMilli + 1;
+                return -waitMillis - 1;
+            }
+
+            if (state.compareAndSet(current, pack(Math.max(last, nowMillis), refilled - MILLI))) {
+                return (refilled - MILLI) / MILLI;
+            }
+        }
+    }
+
+    /**
+     * Pencere boyunca hiç kullanılmayan bucket zaten doludur; silinmesi davranışı değiştirmez.
+     */
+    boolean isIdle(long nowMillis, long windowMillis) {
+        return nowMillis - (state.get() >>> TOKEN_BITS) >= windowMillis;
+    }
+
+    private static long pack(long timeMillis, long tokensMilli) {
+        return (timeMillis << TOKEN_BITS) | (tokensMilli & TOKEN_MASK);
+    }
+}
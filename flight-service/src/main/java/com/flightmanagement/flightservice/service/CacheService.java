@@ -3,6 +3,7 @@ package com.flightmanagement.flightservice.service;
 import com.flightmanagement.flightservice.dto.cache.AircraftCache;
 import com.flightmanagement.flightservice.dto.cache.AirlineCache;
 import com.flightmanagement.flightservice.dto.cache.AirportCache;
+import com.flightmanagement.flightservice.metrics.CacheMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -18,6 +19,7 @@ import java.util.concurrent.TimeUnit;
 public class CacheService {
 
     private final RedisTemplate<String, Object> redisTemplate;
+    private final CacheMetrics cacheMetrics;
 
     @Value("${cache.ttl.airline}")
     private long airlineTtl;
@@ -43,6 +45,7 @@ public class CacheService {
     public AirlineCache getAirlineFromCache(Long id) {
         String key = AIRLINE_PREFIX + id;
         AirlineCache airline = (AirlineCache) redisTemplate.opsForValue().get(key);
+        cacheMetrics.record("redis-airline", airline != null);
         if (airline != null) {
             log.debug("Cache hit for airline: {}", key);
         } else {
@@ -67,6 +70,7 @@ public class CacheService {
     public AirportCache getAirportFromCache(Long id) {
         String key = AIRPORT_PREFIX + id;
         AirportCache airport = (AirportCache) redisTemplate.opsForValue().get(key);
+        cacheMetrics.record("redis-airport", airport != null);
         if (airport != null) {
             log.debug("Cache hit for airport: {}", key);
         } else {
@@ -94,6 +98,7 @@ public class CacheService {
     public AircraftCache getAircraftFromCache(Long id) {
         String key = AIRCRAFT_PREFIX + id;
         AircraftCache aircraft = (AircraftCache) redisTemplate.opsForValue().get(key);
+        cacheMetrics.record("redis-aircraft", aircraft != null);
         if (aircraft != null) {
             log.debug("Cache hit for aircraft: {}", key);
         } else {
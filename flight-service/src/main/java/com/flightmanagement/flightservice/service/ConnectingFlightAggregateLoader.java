@@ -0,0 +1,319 @@
+package com.flightmanagement.flightservice.service;
+
+import com.flightmanagement.flightservice.dto.cache.RouteCache;
+import com.flightmanagement.flightservice.dto.response.FlightConnectionResponse;
+import com.flightmanagement.flightservice.dto.response.FlightResponse;
+import com.flightmanagement.flightservice.entity.Flight;
+import com.flightmanagement.flightservice.entity.FlightConnection;
+import com.flightmanagement.flightservice.exception.BusinessException;
+import com.flightmanagement.flightservice.exception.ResourceNotFoundException;
+import com.flightmanagement.flightservice.mapper.FlightMapper;
+import com.flightmanagement.flightservice.repository.FlightConnectionRepository;
+import com.flightmanagement.flightservice.repository.FlightRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Aktarmalı uçuşlar için aggregate read model.
+ *
+ * Ana uçuş + segment'ler tek sorguda, connection'lar ikinci sorguda yüklenir;
+ * tüm airline/aircraft/route/airport referansları önce reference cache'ten, cache'te olmayanlar
+ * batch olarak çözülür ve response'lar
+ * bellekteki veriden kurulur. Sayfalı listelerde aynı işlem bütün sayfa için
+ * bir kez yapılır (ana uçuş başına sorgu/lookup yok).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class ConnectingFlightAggregateLoader {
+
+    private final FlightRepository flightRepository;
+    private final FlightConnectionRepository flightConnectionRepository;
+    private final FlightMapper flightMapper;
+    private final ReferenceLookupContext referenceLookupContext;
+
+    /**
+     * Tek bir aktarmalı uçuşu segment'leri ve connection'larıyla birlikte getirir
+     */
+    public FlightResponse loadConnectingFlight(Long mainFlightId) {
+        List<Flight> flights = flightRepository.findMainFlightsWithSegments(List.of(mainFlightId));
+
+        Flight mainFlight = flights.stream()
+                .filter(flight -> mainFlightId.equals(flight.getId()))
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Main flight not found"));
+
+        if (!Boolean.TRUE.equals(mainFlight.getIsConnectingFlight())) {
+            throw new BusinessException("Flight is not a connecting flight");
+        }
+
+        List<Flight> segments = flights.stream()
+                .filter(flight -> mainFlightId.equals(flight.getParentFlightId()))
+                .collect(Collectors.toList());
+
+        return withScope("connecting-flight:" + mainFlightId,
+                () -> assemble(List.of(mainFlight), Map.of(mainFlightId, segments)).get(0));
+    }
+
+    /**
+     * Sayfadaki ana uçuşların tamamı için segment + connection'ları toplu yükler.
+     * Dönen liste mainFlights sırasını korur.
+     */
+    public List<FlightResponse> loadConnectingFlights(List<Flight> mainFlights) {
+        if (mainFlights.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Long> mainFlightIds = mainFlights.stream().map(Flight::getId).collect(Collectors.toList());
+        Map<Long, List<Flight>> segmentsByParent = flightRepository.findSegmentsByParentFlightIds(mainFlightIds).stream()
+                .collect(Collectors.groupingBy(Flight::getParentFlightId, LinkedHashMap::new, Collectors.toList()));
+
+        return withScope("connecting-flights:" + mainFlightIds.size(),
+                () -> assemble(mainFlights, segmentsByParent));
+    }
+
+    /**
+     * Ana uçuşun segment'lerini reference data ile zenginleştirilmiş olarak getirir
+     */
+    public List<FlightResponse> loadSegments(Long mainFlightId) {
+        List<Flight> segments = flightRepository.findByParentFlightIdOrderBySegmentNumber(mainFlightId);
+
+        return withScope("connecting-segments:" + mainFlightId, () -> {
+            prefetchReferences(segments);
+            return segments.stream()
+                    .map(this::buildFlightResponse)
+                    .collect(Collectors.toList());
+        });
+    }
+
+    /**
+     * Ana uçuşun connection detaylarını (segment uçuşlarıyla birlikte) getirir
+     */
+    public List<FlightConnectionResponse> loadConnectionDetails(Long mainFlightId) {
+        // Önce uçuşlar yüklenir ki connection'ların mainFlight/segmentFlight ilişkileri
+        // persistence context'ten çözülsün (ek lazy sorgu olmadan)
+        List<Flight> flights = flightRepository.findMainFlightsWithSegments(List.of(mainFlightId));
+        List<FlightConnection> connections = flightConnectionRepository.findByMainFlightIdIn(List.of(mainFlightId));
+
+        if (connections.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Flight> segments = flights.stream()
+                .filter(flight -> mainFlightId.equals(flight.getParentFlightId()))
+                .collect(Collectors.toList());
+
+        return withScope("connection-details:" + mainFlightId, () -> {
+            prefetchReferences(segments);
+            Map<Long, FlightResponse> segmentResponses = segments.stream()
+                    .collect(Collectors.toMap(Flight::getId, this::buildFlightResponse));
+            return buildConnectionResponses(connections, segmentResponses, true);
+        });
+    }
+
+    // ===============================
+    // ASSEMBLY
+    // ===============================
+
+    private List<FlightResponse> assemble(List<Flight> mainFlights, Map<Long, List<Flight>> segmentsByParent) {
+        List<Long> mainFlightIds = mainFlights.stream().map(Flight::getId).collect(Collectors.toList());
+        Map<Long, List<FlightConnection>> connectionsByMain = flightConnectionRepository.findByMainFlightIdIn(mainFlightIds).stream()
+                .collect(Collectors.groupingBy(FlightConnection::getMainFlightId));
+
+        List<Flight> allFlights = new ArrayList<>(mainFlights);
+        segmentsByParent.values().forEach(allFlights::addAll);
+        prefetchReferences(allFlights);
+
+        List<FlightResponse> responses = new ArrayList<>(mainFlights.size());
+        for (Flight mainFlight : mainFlights) {
+            List<Flight> segments = segmentsByParent.getOrDefault(mainFlight.getId(), Collections.emptyList());
+
+            Map<Long, FlightResponse> segmentResponses = new LinkedHashMap<>();
+            for (Flight segment : segments) {
+                segmentResponses.put(segment.getId(), buildFlightResponse(segment));
+            }
+
+            FlightResponse response = buildFlightResponse(mainFlight);
+            response.setConnectingFlights(new ArrayList<>(segmentResponses.values()));
+            response.setTotalSegments(segments.size());
+            response.setFullRoute(buildFullRoute(segments));
+            response.setConnections(buildConnectionResponses(
+                    connectionsByMain.getOrDefault(mainFlight.getId(), Collections.emptyList()),
+                    segmentResponses, false));
+            responses.add(response);
+        }
+
+        return responses;
+    }
+
+    private FlightResponse buildFlightResponse(Flight flight) {
+        FlightResponse response = flightMapper.toResponse(flight);
+
+        try {
+            response.setAirline(referenceLookupContext.getAirline(flight.getAirlineId()));
+            response.setAircraft(referenceLookupContext.getAircraft(flight.getAircraftId()));
+
+            if (flight.getRouteId() != null) {
+                RouteCache route = referenceLookupContext.getRoute(flight.getRouteId());
+                response.setRoute(route);
+                response.setRoutePath(route.getRoutePath());
+                response.setRouteDistance(route.getDistance());
+                response.setRouteEstimatedTime(route.getEstimatedFlightTime());
+                response.setIsMultiSegmentRoute(route.getIsMultiSegment());
+
+                if (route.getOriginAirportId() != null) {
+                    response.setOriginAirport(referenceLookupContext.getAirport(route.getOriginAirportId()));
+                }
+                if (route.getDestinationAirportId() != null) {
+                    response.setDestinationAirport(referenceLookupContext.getAirport(route.getDestinationAirportId()));
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Error populating reference data for flight {}: {}", flight.getId(), e.getMessage());
+        }
+
+        return response;
+    }
+
+    private List<FlightConnectionResponse> buildConnectionResponses(List<FlightConnection> connections,
+                                                                    Map<Long, FlightResponse> segmentResponses,
+                                                                    boolean includeSegmentFlight) {
+        List<FlightConnectionResponse> responses = new ArrayList<>(connections.size());
+
+        for (int i = 0; i < connections.size(); i++) {
+            FlightConnection connection = connections.get(i);
+            FlightConnectionResponse response = flightMapper.toConnectionResponse(connection);
+            FlightResponse segment = segmentResponses.get(connection.getSegmentFlightId());
+
+            if (segment != null) {
+                if (includeSegmentFlight) {
+                    response.setSegmentFlight(segment);
+                }
+                response.setSegmentDeparture(segment.getScheduledDeparture());
+                response.setSegmentArrival(segment.getScheduledArrival());
+
+                RouteCache route = segment.getRoute();
+                if (route != null) {
+                    response.setOriginAirportCode(route.getOriginAirportCode());
+                    response.setDestinationAirportCode(route.getDestinationAirportCode());
+                    response.setOriginAirportName(route.getOriginAirportName());
+                    response.setDestinationAirportName(route.getDestinationAirportName());
+                    response.setRouteCode(route.getRouteCode());
+                    response.setRoutePath(route.getRoutePath());
+                    response.setRouteDistance(route.getDistance());
+                    response.setRouteEstimatedTime(route.getEstimatedFlightTime());
+                }
+            }
+
+            if (i > 0) {
+                FlightResponse previous = segmentResponses.get(connections.get(i - 1).getSegmentFlightId());
+                if (previous != null) {
+                    response.setPreviousSegmentArrival(previous.getScheduledArrival());
+                }
+            }
+            if (i < connections.size() - 1) {
+                FlightResponse next = segmentResponses.get(connections.get(i + 1).getSegmentFlightId());
+                if (next != null) {
+                    response.setNextSegmentDeparture(next.getScheduledDeparture());
+                }
+            }
+
+            response.setConnectionType(response.getConnectionCategory());
+            response.setIsValidConnection(response.isValidForPassengers());
+            if (response.needsSpecialHandling()) {
+                response.setConnectionWarning(response.getConnectionDescription());
+            }
+
+            responses.add(response);
+        }
+
+        return responses;
+    }
+
+    private String buildFullRoute(List<Flight> segments) {
+        if (segments.isEmpty()) return "";
+
+        StringBuilder route = new StringBuilder();
+
+        try {
+            Flight firstSegment = segments.get(0);
+            if (firstSegment.getRouteId() != null) {
+                RouteCache firstRoute = referenceLookupContext.getRoute(firstSegment.getRouteId());
+                if (firstRoute.getOriginAirportCode() != null) {
+                    route.append(firstRoute.getOriginAirportCode());
+                }
+            }
+
+            for (Flight segment : segments) {
+                if (segment.getRouteId() != null) {
+                    RouteCache segmentRoute = referenceLookupContext.getRoute(segment.getRouteId());
+                    if (segmentRoute.getDestinationAirportCode() != null) {
+                        route.append(" → ").append(segmentRoute.getDestinationAirportCode());
+                    }
+                }
+            }
+
+        } catch (Exception e) {
+            log.warn("Error building full route from segments: {}", e.getMessage());
+            return "Complex Route";
+        }
+
+        return route.toString();
+    }
+
+    // ===============================
+    // REFERENCE PREFETCH
+    // ===============================
+
+    /**
+     * Uçuşların referans verdiği airline, aircraft, route ve (route'lardan gelen)
+     * airport'ları scope'a yükler. ReferenceLookupContext önce @Cacheable reference cache'lerine
+     * bakar; batch endpoint'i sadece cache'te olmayan ID'ler için çağrılır.
+     */
+    private void prefetchReferences(List<Flight> flights) {
+        Set<Long> airlineIds = new HashSet<>();
+        Set<Long> aircraftIds = new HashSet<>();
+        Set<Long> routeIds = new LinkedHashSet<>();
+        for (Flight flight : flights) {
+            if (flight.getAirlineId() != null) airlineIds.add(flight.getAirlineId());
+            if (flight.getAircraftId() != null) aircraftIds.add(flight.getAircraftId());
+            if (flight.getRouteId() != null) routeIds.add(flight.getRouteId());
+        }
+
+        referenceLookupContext.prefetchAirlines(airlineIds);
+        referenceLookupContext.prefetchAircraft(aircraftIds);
+        referenceLookupContext.prefetchRoutes(routeIds);
+
+        Set<Long> airportIds = new HashSet<>();
+        for (Long routeId : routeIds) {
+            try {
+                RouteCache route = referenceLookupContext.getRoute(routeId);
+                if (route != null) {
+                    if (route.getOriginAirportId() != null) airportIds.add(route.getOriginAirportId());
+                    if (route.getDestinationAirportId() != null) airportIds.add(route.getDestinationAirportId());
+                }
+            } catch (Exception e) {
+                log.debug("Route {} could not be resolved for airport prefetch: {}", routeId, e.getMessage());
+            }
+        }
+        referenceLookupContext.prefetchAirports(airportIds);
+    }
+
+    private <T> T withScope(String name, Supplier<T> work) {
+        boolean opened = referenceLookupContext.openScope(name);
+        try {
+            return work.get();
+        } finally {
+            if (opened) {
+                referenceLookupContext.closeScope();
+            }
+        }
+    }
+}
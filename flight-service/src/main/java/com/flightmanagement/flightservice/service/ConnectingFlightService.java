@@ -24,7 +24,13 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -36,9 +42,13 @@ public class ConnectingFlightService {
     private final FlightRepository flightRepository;
     private final FlightConnectionRepository flightConnectionRepository;
     private final FlightMapper flightMapper;
-    private final ReferenceDataService referenceDataService;
+    private final ReferenceLookupContext referenceLookupContext;
     private final KafkaProducerService kafkaProducerService;
     private final WebSocketMessageService webSocketMessageService;
+    private final ConnectingFlightAggregateLoader connectingFlightAggregateLoader;
+
+    // Yeniden sıralanan connection'ların flush arası geçici segment_order başlangıcı
+    private static final int PLACEHOLDER_SEGMENT_ORDER = 1000;
 
     /**
      * Aktarmalı uçuş oluşturur
@@ -59,13 +69,15 @@ public class ConnectingFlightService {
         // Connection'ları kaydet
         saveFlightConnections(mainFlight, segments);
 
-        // Kafka event
-        kafkaProducerService.sendFlightEvent("CONNECTING_FLIGHT_CREATED", mainFlight);
-
-        // WebSocket notification
         FlightResponse response = buildConnectingFlightResponse(mainFlight, segments);
-        webSocketMessageService.sendFlightUpdate("CONNECTING_FLIGHT_CREATED", response,
-                mainFlight.getId(), mainFlight.getFlightNumber());
+
+        // Kafka + WebSocket event'leri commit sonrası
+        Flight created = mainFlight;
+        TransactionCallbacks.afterCommit(() -> {
+            kafkaProducerService.sendFlightEvent("CONNECTING_FLIGHT_CREATED", created, response);
+            webSocketMessageService.sendFlightUpdate("CONNECTING_FLIGHT_CREATED", response,
+                    created.getId(), created.getFlightNumber());
+        });
 
         return response;
     }
@@ -124,8 +136,8 @@ public class ConnectingFlightService {
 
     private void validateRouteContinuity(FlightSegmentRequest current, FlightSegmentRequest next, int segmentIndex) {
         try {
-            RouteCache currentRoute = referenceDataService.getRoute(getRouteIdFromSegment(current));
-            RouteCache nextRoute = referenceDataService.getRoute(getRouteIdFromSegment(next));
+            RouteCache currentRoute = referenceLookupContext.getRoute(getRouteIdFromSegment(current));
+            RouteCache nextRoute = referenceLookupContext.getRoute(getRouteIdFromSegment(next));
 
             if (currentRoute.getDestinationAirportId() == null || nextRoute.getOriginAirportId() == null) {
                 throw new InvalidRequestException(
@@ -184,7 +196,7 @@ public class ConnectingFlightService {
             }
 
             try {
-                RouteCache route = referenceDataService.getRoute(routeId);
+                RouteCache route = referenceLookupContext.getRoute(routeId);
                 if (route == null || !route.isActive()) {
                     throw new InvalidRequestException(
                             String.format("Invalid or inactive route for segment %d: %d", i + 1, routeId));
@@ -199,7 +211,7 @@ public class ConnectingFlightService {
     private void validateReferenceData(ConnectingFlightRequest request) {
         // Airline validation
         try {
-            var airline = referenceDataService.getAirline(request.getAirlineId());
+            var airline = referenceLookupContext.getAirline(request.getAirlineId());
             if (airline == null || !airline.getActive()) {
                 throw new InvalidRequestException("Invalid or inactive airline: " + request.getAirlineId());
             }
@@ -209,7 +221,7 @@ public class ConnectingFlightService {
 
         // Aircraft validation
         try {
-            var aircraft = referenceDataService.getAircraft(request.getAircraftId());
+            var aircraft = referenceLookupContext.getAircraft(request.getAircraftId());
             if (aircraft == null || !"ACTIVE".equals(aircraft.getStatus())) {
                 throw new InvalidRequestException("Invalid or inactive aircraft: " + request.getAircraftId());
             }
@@ -258,16 +270,15 @@ public class ConnectingFlightService {
      * Uçuş segment'lerini oluşturur
      */
     private List<Flight> createFlightSegments(Flight mainFlight, ConnectingFlightRequest request) {
-        List<Flight> segments = new java.util.ArrayList<>();
+        List<Flight> segments = new ArrayList<>();
 
         for (int i = 0; i < request.getSegments().size(); i++) {
             FlightSegmentRequest segmentRequest = request.getSegments().get(i);
-            Flight segment = createSegmentFromRequest(mainFlight, segmentRequest, i + 1);
-            segment = flightRepository.save(segment);
-            segments.add(segment);
+            segments.add(createSegmentFromRequest(mainFlight, segmentRequest, i + 1));
         }
 
-        return segments;
+        // Tek batch halinde persist edilir; ID'ler pooled generator'dan insert beklemeden gelir
+        return flightRepository.saveAll(segments);
     }
 
     /**
@@ -276,6 +287,19 @@ public class ConnectingFlightService {
     private Flight createSegmentFromRequest(Flight mainFlight, FlightSegmentRequest segmentRequest, int segmentNumber) {
         Flight segment = flightMapper.segmentRequestToEntity(segmentRequest);
 
+        applySegmentFields(segment, mainFlight, segmentRequest, segmentNumber, getRouteIdFromSegment(segmentRequest));
+        segment.setIsConnectingFlight(false); // Bu bir segment, ana uçuş değil
+        segment.setStatus(FlightStatus.SCHEDULED);
+
+        return segment;
+    }
+
+    /**
+     * Ana uçuştan kopyalanan ve segment request'inden gelen alanları segment'e uygular
+     * (hem yeni segment oluştururken hem de diff bazlı güncellemede kullanılır)
+     */
+    private void applySegmentFields(Flight segment, Flight mainFlight, FlightSegmentRequest segmentRequest,
+                                    int segmentNumber, Long routeId) {
         // Ana uçuştan kopyalanacak bilgiler
         segment.setFlightNumber(mainFlight.getFlightNumber() + "-S" + segmentNumber);
         segment.setAirlineId(mainFlight.getAirlineId());
@@ -286,7 +310,6 @@ public class ConnectingFlightService {
         segment.setActive(mainFlight.getActive());
 
         // Segment'e özel bilgiler
-        Long routeId = getRouteIdFromSegment(segmentRequest);
         segment.setRouteId(routeId);
         segment.setFlightDate(segmentRequest.getScheduledDeparture().toLocalDate());
         segment.setScheduledDeparture(segmentRequest.getScheduledDeparture());
@@ -297,34 +320,38 @@ public class ConnectingFlightService {
         // Connecting flight ilişkisi
         segment.setParentFlightId(mainFlight.getId());
         segment.setSegmentNumber(segmentNumber);
-        segment.setIsConnectingFlight(false); // Bu bir segment, ana uçuş değil
         segment.setConnectionTimeMinutes(segmentRequest.getConnectionTimeMinutes());
-        segment.setStatus(FlightStatus.SCHEDULED);
-
-        return segment;
     }
 
     /**
      * Flight connection'ları kaydeder
      */
     private void saveFlightConnections(Flight mainFlight, List<Flight> segments) {
-        for (int i = 0; i < segments.size(); i++) {
-            Flight segment = segments.get(i);
-
-            FlightConnection connection = new FlightConnection();
-            connection.setMainFlightId(mainFlight.getId());
-            connection.setSegmentFlightId(segment.getId());
-            connection.setSegmentOrder(i + 1);
-
-            if (i < segments.size() - 1) {
-                Flight currentSegment = segments.get(i);
-                Flight nextSegment = segments.get(i + 1);
-                int connectionTime = calculateConnectionTime(currentSegment, nextSegment);
-                connection.setConnectionTimeMinutes(connectionTime);
-            }
+        List<FlightConnection> connections = new ArrayList<>();
 
-            flightConnectionRepository.save(connection);
+        for (int i = 0; i < segments.size(); i++) {
+            connections.add(buildConnection(mainFlight, segments, i));
         }
+
+        flightConnectionRepository.saveAll(connections);
+    }
+
+    private FlightConnection buildConnection(Flight mainFlight, List<Flight> segments, int index) {
+        Flight segment = segments.get(index);
+
+        FlightConnection connection = new FlightConnection();
+        connection.setMainFlightId(mainFlight.getId());
+        connection.setSegmentFlightId(segment.getId());
+        connection.setSegmentOrder(index + 1);
+        connection.setConnectionTimeMinutes(index < segments.size() - 1
+                ? calculateConnectionTime(segment, segments.get(index + 1))
+                : null);
+
+        // İlişkiler set edilir ki Hibernate insert sıralamasında flight'ları connection'lardan önce yazsın
+        connection.setMainFlight(mainFlight);
+        connection.setSegmentFlight(segment);
+
+        return connection;
     }
 
     /**
@@ -340,7 +367,12 @@ public class ConnectingFlightService {
     }
 
     /**
-     * Aktarmalı uçuş güncelleme
+     * Aktarmalı uçuş güncelleme.
+     *
+     * Segment'ler silinip yeniden oluşturulmaz: gelen segment'ler mevcut olanlarla kimlik
+     * (segmentFlightId, yoksa route) üzerinden eşleştirilir, sadece gereken insert/update/delete'ler
+     * yapılır ve commit sonrası değişen her segment için ayrı event yayınlanır. Eşleşen segment'lerin
+     * ID'leri pozisyonları değişse de korunur.
      */
     public FlightResponse updateConnectingFlight(Long mainFlightId, ConnectingFlightRequest request) {
         log.debug("Updating connecting flight with ID: {}", mainFlightId);
@@ -353,45 +385,233 @@ public class ConnectingFlightService {
             throw new BusinessException("Flight is not a connecting flight");
         }
 
+        List<Flight> existingSegments = flightRepository.findByParentFlightIdOrderBySegmentNumber(mainFlightId);
+        // Entity'ler değiştirilmeden önce yüklenir; sorgu öncesi auto flush ara durumu yazmasın
+        List<FlightConnection> existingConnections = flightConnectionRepository.findByMainFlightIdOrderBySegmentOrder(mainFlightId);
+
         // Update kuralları kontrolü
-        validateUpdateRules(mainFlight, request);
+        validateUpdateRules(mainFlight, existingSegments);
 
         // Validasyon
         validateConnectingFlightRequest(request);
 
-        // Mevcut segment'leri ve connection'ları sil
-        deleteExistingSegments(mainFlightId);
-
         // Ana uçuşu güncelle
+        List<Object> mainSnapshot = changeSnapshot(mainFlight);
         updateMainFlightFromRequest(mainFlight, request);
-        mainFlight = flightRepository.save(mainFlight);
+        boolean mainChanged = !mainSnapshot.equals(changeSnapshot(mainFlight));
 
-        // Yeni segment'leri oluştur
-        List<Flight> newSegments = createFlightSegments(mainFlight, request);
+        // Segment diff'i uygula
+        SegmentDiff diff = applySegmentDiff(mainFlight, existingSegments, request);
 
-        // Yeni connection'ları kaydet
-        saveFlightConnections(mainFlight, newSegments);
+        if (!mainChanged && !diff.hasChanges()) {
+            log.debug("Connecting flight {} unchanged, skipping update events", mainFlightId);
+            return buildConnectingFlightResponse(mainFlight, diff.segments);
+        }
+
+        if (mainChanged) {
+            mainFlight = flightRepository.save(mainFlight);
+        }
+        persistSegmentDiff(mainFlight, diff, existingConnections);
 
-        // Kafka event
-        kafkaProducerService.sendFlightEvent("CONNECTING_FLIGHT_UPDATED", mainFlight);
+        log.info("Connecting flight {} updated: {} segments added, {} updated, {} removed",
+                mainFlight.getFlightNumber(), diff.inserted.size(), diff.updated.size(), diff.removed.size());
 
         // Response oluştur
-        FlightResponse response = buildConnectingFlightResponse(mainFlight, newSegments);
-        webSocketMessageService.sendFlightUpdate("CONNECTING_FLIGHT_UPDATED", response,
-                mainFlight.getId(), mainFlight.getFlightNumber());
+        FlightResponse response = buildConnectingFlightResponse(mainFlight, diff.segments);
+
+        // Segment bazlı event'ler ve özet event commit sonrası, bu sırayla
+        Flight updated = mainFlight;
+        TransactionCallbacks.afterCommit(() -> {
+            publishSegmentEvents("SEGMENT_REMOVED", diff.removed);
+            publishSegmentEvents("SEGMENT_ADDED", diff.inserted);
+            publishSegmentEvents("SEGMENT_UPDATED", diff.updated);
+
+            kafkaProducerService.sendFlightEvent("CONNECTING_FLIGHT_UPDATED", updated, response);
+            webSocketMessageService.sendFlightUpdate("CONNECTING_FLIGHT_UPDATED", response,
+                    updated.getId(), updated.getFlightNumber());
+        });
 
         return response;
     }
 
-    private void validateUpdateRules(Flight existingFlight, ConnectingFlightRequest request) {
+    /**
+     * Gelen segment'leri mevcut segment'lerle kimlik üzerinden eşleştirir: segmentFlightId verilmişse
+     * o segment, verilmemişse aynı route'u kullanan ilk eşleşmemiş mevcut segment (mevcut sıra
+     * korunarak). Eşleşen segment yeni pozisyonuna taşınıp yerinde güncellenir; böylece araya segment
+     * eklemek veya aradan çıkarmak sonraki segment'leri yeniden oluşturmaz. Eşleşmeyen request
+     * segment'leri eklenir, eşleşmeyen mevcut segment'ler silinir.
+     */
+    private SegmentDiff applySegmentDiff(Flight mainFlight, List<Flight> existingSegments, ConnectingFlightRequest request) {
+        List<FlightSegmentRequest> requested = request.getSegments();
+        List<Long> routeIds = requested.stream().map(this::getRouteIdFromSegment).collect(Collectors.toList());
+
+        // Segment number sırasında; eşleşen segment'ler çıkarılır
+        Map<Long, Flight> unmatched = new LinkedHashMap<>();
+        for (Flight segment : existingSegments) {
+            unmatched.put(segment.getId(), segment);
+        }
+
+        // Önce açık ID'ler eşleşir ki route eşleştirmesi o segment'leri başka bir request segment'ine vermesin
+        Flight[] matches = new Flight[requested.size()];
+        for (int i = 0; i < requested.size(); i++) {
+            Long segmentFlightId = requested.get(i).getSegmentFlightId();
+            if (segmentFlightId != null) {
+                matches[i] = unmatched.remove(segmentFlightId);
+                if (matches[i] == null) {
+                    throw new InvalidRequestException(String.format(
+                            "Segment %d does not belong to connecting flight %d or is referenced more than once", segmentFlightId, mainFlight.getId()));
+                }
+            }
+        }
+        for (int i = 0; i < requested.size(); i++) {
+            if (matches[i] == null && requested.get(i).getSegmentFlightId() == null) {
+                Long routeId = routeIds.get(i);
+                matches[i] = unmatched.values().stream()
+                        .filter(segment -> Objects.equals(segment.getRouteId(), routeId))
+                        .findFirst()
+                        .orElse(null);
+                if (matches[i] != null) {
+                    unmatched.remove(matches[i].getId());
+                }
+            }
+        }
+
+        SegmentDiff diff = new SegmentDiff();
+
+        for (int i = 0; i < requested.size(); i++) {
+            FlightSegmentRequest segmentRequest = requested.get(i);
+            int segmentNumber = i + 1;
+            Flight existing = matches[i];
+
+            if (existing != null) {
+                List<Object> snapshot = changeSnapshot(existing);
+                String previousFlightNumber = existing.getFlightNumber();
+                applySegmentFields(existing, mainFlight, segmentRequest, segmentNumber, routeIds.get(i));
+                if (!snapshot.equals(changeSnapshot(existing))) {
+                    diff.updated.add(existing);
+                }
+                if (!Objects.equals(previousFlightNumber, existing.getFlightNumber())) {
+                    diff.renamed.add(existing);
+                }
+                diff.segments.add(existing);
+            } else {
+                Flight segment = createSegmentFromRequest(mainFlight, segmentRequest, segmentNumber);
+                diff.inserted.add(segment);
+                diff.segments.add(segment);
+            }
+        }
+
+        diff.removed.addAll(unmatched.values());
+        return diff;
+    }
+
+    private void persistSegmentDiff(Flight mainFlight, SegmentDiff diff, List<FlightConnection> existingConnections) {
+        Map<Long, FlightConnection> connectionsBySegment = new HashMap<>();
+        for (FlightConnection connection : existingConnections) {
+            connectionsBySegment.put(connection.getSegmentFlightId(), connection);
+        }
+
+        List<FlightConnection> removedConnections = diff.removed.stream()
+                .map(segment -> connectionsBySegment.remove(segment.getId()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        // Pozisyonu değişen eşleşmiş segment'ler geçici flight number/segment order alır ve silinenlerle
+        // aynı flush'ta yazılır: yeni segment'ler ve yer değiştirenler aynı flight number/segment order'ı
+        // kullanacağı için unique constraint'ler insert'lerden ve son update'lerden önce boşalmış olmalı
+        List<String> finalFlightNumbers = new ArrayList<>();
+        boolean movedAside = moveAsidePositionedKeys(diff, connectionsBySegment, finalFlightNumbers);
+        if (!diff.removed.isEmpty()) {
+            flightConnectionRepository.deleteAll(removedConnections);
+            flightRepository.deleteAll(diff.removed);
+        }
+        if (movedAside || !diff.removed.isEmpty()) {
+            flightRepository.flush();
+        }
+        for (int i = 0; i < diff.renamed.size(); i++) {
+            diff.renamed.get(i).setFlightNumber(finalFlightNumbers.get(i));
+        }
+
+        if (!diff.updated.isEmpty()) {
+            flightRepository.saveAll(diff.updated);
+        }
+        if (!diff.inserted.isEmpty()) {
+            flightRepository.saveAll(diff.inserted);
+        }
+
+        // Sadece yeni, sırası veya connection time'ı değişen connection'lar yazılır
+        List<FlightConnection> changedConnections = new ArrayList<>();
+        for (int i = 0; i < diff.segments.size(); i++) {
+            FlightConnection expected = buildConnection(mainFlight, diff.segments, i);
+            FlightConnection existing = connectionsBySegment.get(expected.getSegmentFlightId());
+
+            if (existing == null) {
+                changedConnections.add(expected);
+            } else if (!Objects.equals(existing.getConnectionTimeMinutes(), expected.getConnectionTimeMinutes())
+                    || !Objects.equals(existing.getSegmentOrder(), expected.getSegmentOrder())) {
+                existing.setConnectionTimeMinutes(expected.getConnectionTimeMinutes());
+                existing.setSegmentOrder(expected.getSegmentOrder());
+                changedConnections.add(existing);
+            }
+        }
+        if (!changedConnections.isEmpty()) {
+            flightConnectionRepository.saveAll(changedConnections);
+        }
+    }
+
+    /**
+     * Flight number'ı veya connection sırası değişen eşleşmiş segment'lere ID'lerinden türetilen geçici
+     * değerler verir; asıl flight number'lar finalFlightNumbers'a (diff.renamed sırasıyla) alınır.
+     * Geçici değer verilen bir şey varsa true döner.
+     */
+    private boolean moveAsidePositionedKeys(SegmentDiff diff, Map<Long, FlightConnection> connectionsBySegment,
+                                            List<String> finalFlightNumbers) {
+        for (Flight segment : diff.renamed) {
+            finalFlightNumbers.add(segment.getFlightNumber());
+            // 10 karakter sınırı içinde ve gerçek flight number'larla çakışmayan değer
+            segment.setFlightNumber("~" + Long.toString(segment.getId(), 36));
+        }
+
+        int placeholderOrder = PLACEHOLDER_SEGMENT_ORDER;
+        for (int i = 0; i < diff.segments.size(); i++) {
+            Long segmentId = diff.segments.get(i).getId();
+            FlightConnection connection = segmentId != null ? connectionsBySegment.get(segmentId) : null;
+            if (connection != null && !Objects.equals(connection.getSegmentOrder(), i + 1)) {
+                connection.setSegmentOrder(placeholderOrder++);
+            }
+        }
+
+        return !diff.renamed.isEmpty() || placeholderOrder > PLACEHOLDER_SEGMENT_ORDER;
+    }
+
+    private void publishSegmentEvents(String eventType, List<Flight> segments) {
+        for (Flight segment : segments) {
+            kafkaProducerService.sendFlightEvent(eventType, segment);
+            webSocketMessageService.sendFlightUpdate(eventType,
+                    "SEGMENT_REMOVED".equals(eventType) ? null : flightMapper.toResponse(segment),
+                    segment.getId(), segment.getFlightNumber());
+        }
+    }
+
+    /**
+     * Güncellemede karşılaştırılan alanlar (değişiklik yoksa update/event yapılmaz)
+     */
+    private List<Object> changeSnapshot(Flight flight) {
+        return Arrays.asList(flight.getFlightNumber(), flight.getAirlineId(), flight.getAircraftId(),
+                flight.getRouteId(), flight.getFlightDate(), flight.getScheduledDeparture(),
+                flight.getScheduledArrival(), flight.getType(), flight.getPassengerCount(),
+                flight.getCargoWeight(), flight.getGateNumber(), flight.getNotes(), flight.getActive(),
+                flight.getSegmentNumber(), flight.getConnectionTimeMinutes());
+    }
+
+    private void validateUpdateRules(Flight existingFlight, List<Flight> existingSegments) {
         // Eğer ana uçuş departed ise güncelleme yapılamaz
         if (existingFlight.isDeparted()) {
             throw new BusinessException("Cannot update connecting flight after departure");
         }
 
         // Eğer herhangi bir segment departed ise ana uçuş güncellenemez
-        List<Flight> segments = flightRepository.findByParentFlightIdOrderBySegmentNumber(existingFlight.getId());
-        boolean anySegmentDeparted = segments.stream().anyMatch(Flight::isDeparted);
+        boolean anySegmentDeparted = existingSegments.stream().anyMatch(Flight::isDeparted);
 
         if (anySegmentDeparted) {
             throw new BusinessException("Cannot update connecting flight when any segment has departed");
@@ -432,12 +652,12 @@ public class ConnectingFlightService {
         // Ana uçuşu sil
         flightRepository.delete(mainFlight);
 
-        // Kafka event
-        kafkaProducerService.sendFlightEvent("CONNECTING_FLIGHT_DELETED", mainFlight);
-
-        // WebSocket notification
-        webSocketMessageService.sendFlightUpdate("CONNECTING_FLIGHT_DELETED", null,
-                mainFlightId, mainFlight.getFlightNumber());
+        // Kafka + WebSocket event'leri commit sonrası
+        TransactionCallbacks.afterCommit(() -> {
+            kafkaProducerService.sendFlightEvent("CONNECTING_FLIGHT_DELETED", mainFlight);
+            webSocketMessageService.sendFlightUpdate("CONNECTING_FLIGHT_DELETED", null,
+                    mainFlightId, mainFlight.getFlightNumber());
+        });
     }
 
     /**
@@ -448,12 +668,8 @@ public class ConnectingFlightService {
 
         Page<Flight> flightsPage = flightRepository.findConnectingFlightsWithFilters(airlineId, flightDate, pageable);
 
-        List<FlightResponse> responses = flightsPage.getContent().stream()
-                .map(mainFlight -> {
-                    List<Flight> segments = flightRepository.findByParentFlightIdOrderBySegmentNumber(mainFlight.getId());
-                    return buildConnectingFlightResponse(mainFlight, segments);
-                })
-                .collect(Collectors.toList());
+        // Sayfanın tüm segment/connection/reference verisi toplu yüklenir
+        List<FlightResponse> responses = connectingFlightAggregateLoader.loadConnectingFlights(flightsPage.getContent());
 
         return new PageImpl<>(responses, pageable, flightsPage.getTotalElements());
     }
@@ -462,27 +678,7 @@ public class ConnectingFlightService {
      * Connection detaylarını getir
      */
     public List<FlightConnectionResponse> getConnectionDetails(Long mainFlightId) {
-        List<FlightConnection> connections = flightConnectionRepository
-                .findByMainFlightIdOrderBySegmentOrder(mainFlightId);
-
-        return connections.stream()
-                .map(connection -> {
-                    FlightConnectionResponse response = flightMapper.toConnectionResponse(connection);
-
-                    // Airport kodlarını route'lardan al
-                    try {
-                        if (connection.getSegmentFlight() != null && connection.getSegmentFlight().getRouteId() != null) {
-                            RouteCache route = referenceDataService.getRoute(connection.getSegmentFlight().getRouteId());
-                            response.setOriginAirportCode(route.getOriginAirportCode());
-                            response.setDestinationAirportCode(route.getDestinationAirportCode());
-                        }
-                    } catch (Exception e) {
-                        log.warn("Could not fetch route info for connection: {}", e.getMessage());
-                    }
-
-                    return response;
-                })
-                .collect(Collectors.toList());
+        return connectingFlightAggregateLoader.loadConnectionDetails(mainFlightId);
     }
 
     /**
@@ -583,11 +779,11 @@ public class ConnectingFlightService {
 
         // Reference data'ları doldur
         try {
-            response.setAirline(referenceDataService.getAirline(mainFlight.getAirlineId()));
-            response.setAircraft(referenceDataService.getAircraft(mainFlight.getAircraftId()));
+            response.setAirline(referenceLookupContext.getAirline(mainFlight.getAirlineId()));
+            response.setAircraft(referenceLookupContext.getAircraft(mainFlight.getAircraftId()));
 
             if (mainFlight.getRouteId() != null) {
-                response.setRoute(referenceDataService.getRoute(mainFlight.getRouteId()));
+                response.setRoute(referenceLookupContext.getRoute(mainFlight.getRouteId()));
             }
         } catch (Exception e) {
             log.warn("Could not populate reference data: {}", e.getMessage());
@@ -614,14 +810,14 @@ public class ConnectingFlightService {
             // İlk segment'in origin'i
             Flight firstSegment = segments.get(0);
             if (firstSegment.getRouteId() != null) {
-                RouteCache firstRoute = referenceDataService.getRoute(firstSegment.getRouteId());
+                RouteCache firstRoute = referenceLookupContext.getRoute(firstSegment.getRouteId());
                 route.append(firstRoute.getOriginAirportCode());
             }
 
             // Tüm segment'lerin destination'larını ekle
             for (Flight segment : segments) {
                 if (segment.getRouteId() != null) {
-                    RouteCache segmentRoute = referenceDataService.getRoute(segment.getRouteId());
+                    RouteCache segmentRoute = referenceLookupContext.getRoute(segment.getRouteId());
                     route.append(" → ").append(segmentRoute.getDestinationAirportCode());
                 }
             }
@@ -644,7 +840,7 @@ public class ConnectingFlightService {
         if (segment.getOriginAirportId() != null && segment.getDestinationAirportId() != null) {
             try {
                 // Reference Manager'dan bu airport'lar arası route'u bul
-                RouteCache[] routes = referenceDataService.getActiveRoutes();
+                RouteCache[] routes = referenceLookupContext.getActiveRoutes();
                 for (RouteCache route : routes) {
                     if (route.getOriginAirportId() != null && route.getDestinationAirportId() != null &&
                             route.getOriginAirportId().equals(segment.getOriginAirportId()) &&
@@ -665,4 +861,16 @@ public class ConnectingFlightService {
 
         throw new BusinessException("Segment must have origin and destination airport IDs");
     }
-}
\ No newline at end of file
+
+    private static final class SegmentDiff {
+        private final List<Flight> segments = new ArrayList<>();   // Güncelleme sonrası sıralı segment listesi
+        private final List<Flight> inserted = new ArrayList<>();
+        private final List<Flight> updated = new ArrayList<>();
+        private final List<Flight> removed = new ArrayList<>();
+        private final List<Flight> renamed = new ArrayList<>();    // Eşleşmiş ve flight number'ı değişen (updated'ın alt kümesi)
+
+        private boolean hasChanges() {
+            return !inserted.isEmpty() || !updated.isEmpty() || !removed.isEmpty();
+        }
+    }
+}
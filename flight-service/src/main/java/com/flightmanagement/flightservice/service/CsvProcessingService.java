@@ -6,6 +6,7 @@ import com.flightmanagement.flightservice.dto.response.CsvUploadResult;
 import com.flightmanagement.flightservice.entity.enums.FlightStatus;
 import com.flightmanagement.flightservice.entity.enums.FlightType;
 import com.flightmanagement.flightservice.exception.BusinessException;
+import com.flightmanagement.flightservice.validator.FlightValidator;
 import com.opencsv.CSVReader;
 import com.opencsv.exceptions.CsvException;
 import lombok.RequiredArgsConstructor;
@@ -28,8 +29,9 @@ import java.util.regex.Pattern;
 public class CsvProcessingService {
 
     private final FlightService flightService;
-    private final ReferenceDataService referenceDataService;
     private final AutoRouteService autoRouteService;
+    private final FlightValidator flightValidator;
+    private final ReferenceLookupContext referenceLookupContext;
 
     private static final String[] EXPECTED_HEADERS = {
             "flightNumber", "airlineId", "aircraftId", "route", "flightDate",
@@ -61,6 +63,9 @@ public class CsvProcessingService {
             // Header validation
             validateCsvHeaders(records.get(0));
 
+            // Satırlardaki route ID'leri tek batch'te çözülür
+            prefetchRouteIds(records);
+
             // Process each data row
             for (int i = 1; i < records.size(); i++) {
                 String[] row = records.get(i);
@@ -68,6 +73,9 @@ public class CsvProcessingService {
                 previewRows.add(previewRow);
             }
 
+            // Parse edilebilen satırlar tek validation planıyla doğrulanır
+            applyBatchValidation(previewRows);
+
         } catch (IOException | CsvException e) {
             throw new BusinessException("Error reading CSV file: " + e.getMessage());
         }
@@ -99,13 +107,29 @@ public class CsvProcessingService {
         List<String> errors = new ArrayList<>();
         int successCount = 0;
 
+        List<CsvPreviewResponse.PreviewRow> rowsToImport = new ArrayList<>();
+        List<FlightRequest> requests = new ArrayList<>();
         for (CsvPreviewResponse.PreviewRow previewRow : validRows) {
-            if (!previewRow.isValid()) {
-                continue; // Skip invalid rows
+            if (previewRow.isValid()) {
+                rowsToImport.add(previewRow);
+                requests.add(convertPreviewRowToFlightRequest(previewRow));
+            }
+        }
+
+        // Tüm satırların referans verisi tek seferde çözülür; ihlalli satırlar import edilmez
+        List<Map<String, String>> violations = flightValidator.validateFlightRequests(requests);
+
+        for (int i = 0; i < rowsToImport.size(); i++) {
+            CsvPreviewResponse.PreviewRow previewRow = rowsToImport.get(i);
+            FlightRequest flightRequest = requests.get(i);
+
+            if (!violations.get(i).isEmpty()) {
+                errors.add("Row " + previewRow.getRowNumber() + " (" + flightRequest.getFlightNumber() + "): " +
+                        String.join("; ", violations.get(i).values()));
+                continue;
             }
 
             try {
-                FlightRequest flightRequest = convertPreviewRowToFlightRequest(previewRow);
                 flightService.createFlight(flightRequest);
                 successCount++;
                 log.debug("Successfully imported flight: {}", flightRequest.getFlightNumber());
@@ -146,6 +170,41 @@ public class CsvProcessingService {
 
     // ============ PRIVATE HELPER METHODS ============
 
+    private void prefetchRouteIds(List<String[]> records) {
+        Set<Long> routeIds = new HashSet<>();
+        for (int i = 1; i < records.size(); i++) {
+            String[] row = records.get(i);
+            if (row.length > 3 && row[3] != null && isNumeric(row[3].trim())) {
+                routeIds.add(Long.parseLong(row[3].trim()));
+            }
+        }
+        referenceLookupContext.prefetchRoutes(routeIds);
+    }
+
+    /**
+     * Parse/route aşamasını geçen satırları FlightValidator'ın toplu planıyla doğrular ve
+     * bulunan tüm ihlalleri satırın fieldErrors'una ekler
+     */
+    private void applyBatchValidation(List<CsvPreviewResponse.PreviewRow> previewRows) {
+        List<CsvPreviewResponse.PreviewRow> candidates = new ArrayList<>();
+        List<FlightRequest> requests = new ArrayList<>();
+        for (CsvPreviewResponse.PreviewRow previewRow : previewRows) {
+            if (previewRow.isValid()) {
+                candidates.add(previewRow);
+                requests.add(convertPreviewRowToFlightRequest(previewRow));
+            }
+        }
+
+        List<Map<String, String>> violations = flightValidator.validateFlightRequests(requests);
+        for (int i = 0; i < candidates.size(); i++) {
+            if (!violations.get(i).isEmpty()) {
+                CsvPreviewResponse.PreviewRow previewRow = candidates.get(i);
+                previewRow.getFieldErrors().putAll(violations.get(i));
+                previewRow.setValid(false);
+            }
+        }
+    }
+
     private void validateCsvHeaders(String[] headers) {
         if (headers.length < EXPECTED_HEADERS.length) {
             throw new BusinessException("CSV file must have at least " + EXPECTED_HEADERS.length + " columns");
@@ -285,7 +344,7 @@ public class CsvProcessingService {
 
             // Validate route exists in database
             try {
-                var route = referenceDataService.getRoute(routeId);
+                var route = referenceLookupContext.getRoute(routeId);
                 if (route == null) {
                     fieldErrors.put("route", "Route ID " + routeId + " not found in database");
                     return;
@@ -311,8 +370,8 @@ public class CsvProcessingService {
 
             // Validate IATA codes
             try {
-                var originAirport = referenceDataService.getAirportByIataCode(originIata);
-                var destAirport = referenceDataService.getAirportByIataCode(destIata);
+                var originAirport = referenceLookupContext.getAirportByIataCode(originIata);
+                var destAirport = referenceLookupContext.getAirportByIataCode(destIata);
 
                 if (originAirport == null) {
                     fieldErrors.put("route", "Origin airport " + originIata + " not found");
@@ -358,6 +417,8 @@ public class CsvProcessingService {
         request.setScheduledDeparture(data.getScheduledDeparture());
         request.setScheduledArrival(data.getScheduledArrival());
         request.setType(data.getType());
+        request.setPassengerCount(data.getPassengerCount());
+        request.setCargoWeight(data.getCargoWeight());
         request.setStatus(FlightStatus.SCHEDULED);
         request.setActive(true);
 
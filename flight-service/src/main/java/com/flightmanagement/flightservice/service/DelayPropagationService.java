@@ -0,0 +1,444 @@
+package com.flightmanagement.flightservice.service;
+
+import com.flightmanagement.flightservice.entity.Flight;
+import com.flightmanagement.flightservice.entity.enums.FlightStatus;
+import com.flightmanagement.flightservice.event.DelayPropagationPayload;
+import com.flightmanagement.flightservice.exception.BusinessException;
+import com.flightmanagement.flightservice.repository.FlightRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Gecikmeleri uçak rotasyonları ve aktarmalı uçuş segment zincirleri boyunca yayar.
+ *
+ * Kaynak uçuşların uçaklarına ait rotasyonlar ve ilgili segment'ler toplu sorgularla yüklenir,
+ * uçuşlar kalkış sırasına göre tek geçişte işlenir: etkilenmiş bir öncülün tahmini varışı +
+ * minimum turnaround (aynı uçak) / minimum connection (aynı parent) süresi, uçuşun kalkışını
+ * geçiyorsa aradaki fark knock-on gecikme olarak eklenir. Değişen uçuşlar tek batch'te kaydedilir;
+ * commit sonrası tek bir konsolide özet event yayınlanır. Uçuş başına FLIGHT_DELAYED büyük bir
+ * aksaklıkta binlerce event demek olduğu için opt-in'dir (delay-propagation.publish-flight-events).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class DelayPropagationService {
+
+    private static final int IN_CLAUSE_CHUNK = 1000;
+    private static final Set<FlightStatus> FROZEN_STATUSES =
+            EnumSet.of(FlightStatus.DEPARTED, FlightStatus.ARRIVED, FlightStatus.CANCELLED);
+
+    private final FlightRepository flightRepository;
+    private final KafkaProducerService kafkaProducerService;
+    private final WebSocketMessageService webSocketMessageService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${delay-propagation.enabled:true}")
+    private boolean enabled;
+
+    @Value("${delay-propagation.min-turnaround-minutes:30}")
+    private int minTurnaroundMinutes;
+
+    @Value("${delay-propagation.min-connection-minutes:45}")
+    private int minConnectionMinutes;
+
+    @Value("${delay-propagation.horizon-hours:24}")
+    private int horizonHours;
+
+    @Value("${delay-propagation.max-affected-flights:20000}")
+    private int maxAffectedFlights;
+
+    @Value("${delay-propagation.publish-flight-events:false}")
+    private boolean publishFlightEvents;
+
+    // ===============================
+    // PUBLIC API
+    // ===============================
+
+    /**
+     * Birden fazla uçuşa aynı gecikmeyi uygular (ör. hub aksaklığı) ve sonuçları tek geçişte yayar.
+     */
+    public DelayPropagationPayload applyDisruption(List<Long> flightIds, int delayMinutes, String reason) {
+        log.info("Applying disruption delay of {} minutes to {} flights", delayMinutes, flightIds.size());
+
+        List<Flight> sources = new ArrayList<>();
+        for (List<Long> chunk : chunks(new ArrayList<>(new HashSet<>(flightIds)))) {
+            sources.addAll(flightRepository.findAllById(chunk));
+        }
+        if (sources.isEmpty()) {
+            throw new BusinessException("None of the given flights exist");
+        }
+
+        Map<Long, Integer> sourceDelays = new HashMap<>();
+        for (Flight flight : sources) {
+            if (FROZEN_STATUSES.contains(flight.getStatus())) {
+                continue;
+            }
+            int current = flight.getDelayMinutes() != null ? flight.getDelayMinutes() : 0;
+            flight.setDelayMinutes(current + delayMinutes);
+            flight.setDelayReason(reason);
+            flight.setStatus(FlightStatus.DELAYED);
+            flight.setScheduledDeparture(flight.getScheduledDeparture().plusMinutes(delayMinutes));
+            flight.setScheduledArrival(flight.getScheduledArrival().plusMinutes(delayMinutes));
+            sourceDelays.put(flight.getId(), delayMinutes);
+        }
+
+        List<Flight> delayedSources = sources.stream()
+                .filter(f -> sourceDelays.containsKey(f.getId()))
+                .collect(Collectors.toList());
+        flightRepository.saveAll(delayedSources);
+
+        // Knock-on olmasa da özet yayınlanır; kaynaklar sourceFlightIds ile taşınır
+        DelayPropagationPayload payload = propagate(delayedSources, sourceDelays, reason, true);
+
+        // Özet yoksa (propagation kapalı) kaynak gecikmeleri ancak uçuş başına event'le duyurulabilir
+        if (publishFlightEvents || payload == null) {
+            TransactionCallbacks.afterCommit(() -> kafkaProducerService.sendFlightEvents("FLIGHT_DELAYED", delayedSources));
+        }
+        return payload;
+    }
+
+    /**
+     * Tek bir uçuşa kaydedilen gecikmeyi downstream uçuşlara yayar. Kaynak uçuş zaten kaydedilmiş olmalı.
+     */
+    public DelayPropagationPayload propagateFrom(Flight source, int addedDelayMinutes) {
+        if (addedDelayMinutes <= 0) {
+            return null;
+        }
+        Map<Long, Integer> sourceDelays = new HashMap<>();
+        sourceDelays.put(source.getId(), addedDelayMinutes);
+        return propagate(List.of(source), sourceDelays, source.getDelayReason(), false);
+    }
+
+    // ===============================
+    // PROPAGATION
+    // ===============================
+
+    /**
+     * @param publishWithoutKnockOn downstream uçuş etkilenmese de özet event yayınlanır (kaynakları başka event duyurmuyorsa)
+     */
+    private DelayPropagationPayload propagate(List<Flight> sources, Map<Long, Integer> sourceDelays, String reason,
+                                              boolean publishWithoutKnockOn) {
+        if (!enabled || sources.isEmpty()) {
+            return null;
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+
+        Map<Long, Flight> network = loadNetwork(sources, sourceDelays);
+
+        // Sıralama orijinal kalkışa göre yapılır; kaynakların kaydırılmış saati rotasyon sırasını bozmamalı
+        Map<Long, LocalDateTime> originalDeparture = new HashMap<>();
+        network.values().forEach(f -> originalDeparture.put(f.getId(),
+                f.getScheduledDeparture().minusMinutes(sourceDelays.getOrDefault(f.getId(), 0))));
+        Comparator<Flight> byOriginalDeparture = Comparator
+                .comparing((Flight f) -> originalDeparture.get(f.getId()))
+                .thenComparing(Flight::getId);
+
+        Map<Long, List<Edge>> predecessors = buildPredecessors(network.values(), byOriginalDeparture);
+
+        // Kaynaklar etkilenmiş kabul edilir; tahmini varışları zaten kaydedilmiş (kaydırılmış) varış saatidir
+        Map<Long, LocalDateTime> projectedArrival = new HashMap<>();
+        Map<Long, Long> rootOf = new HashMap<>();
+        for (Flight source : sources) {
+            projectedArrival.put(source.getId(), source.getScheduledArrival());
+            rootOf.put(source.getId(), source.getId());
+        }
+
+        List<Flight> ordered = network.values().stream()
+                .filter(f -> !isMainConnectingFlight(f))
+                .sorted(byOriginalDeparture)
+                .collect(Collectors.toList());
+
+        Map<Long, DelayPropagationPayload.AffectedFlight> affected = new LinkedHashMap<>();
+
+        for (Flight flight : ordered) {
+            if (projectedArrival.containsKey(flight.getId()) || FROZEN_STATUSES.contains(flight.getStatus())) {
+                continue;
+            }
+
+            LocalDateTime requiredDeparture = null;
+            Edge cause = null;
+            for (Edge edge : predecessors.getOrDefault(flight.getId(), List.of())) {
+                LocalDateTime predecessorArrival = projectedArrival.get(edge.fromId);
+                if (predecessorArrival == null) {
+                    continue; // Öncül etkilenmemiş
+                }
+                LocalDateTime ready = predecessorArrival.plusMinutes(edge.bufferMinutes);
+                if (requiredDeparture == null || ready.isAfter(requiredDeparture)) {
+                    requiredDeparture = ready;
+                    cause = edge;
+                }
+            }
+
+            if (requiredDeparture == null || !requiredDeparture.isAfter(flight.getScheduledDeparture())) {
+                continue;
+            }
+
+            int added = (int) Duration.between(flight.getScheduledDeparture(), requiredDeparture).toMinutes();
+            if (added <= 0) {
+                continue;
+            }
+
+            Long root = rootOf.get(cause.fromId);
+            Flight rootFlight = network.get(root);
+            applyDelay(flight, added, "Knock-on delay from " + (rootFlight != null ? rootFlight.getFlightNumber() : root));
+
+            projectedArrival.put(flight.getId(), flight.getScheduledArrival());
+            rootOf.put(flight.getId(), root);
+            affected.put(flight.getId(), toAffected(flight, added, cause.type));
+
+            if (affected.size() > maxAffectedFlights) {
+                throw new BusinessException("Delay propagation exceeded " + maxAffectedFlights
+                        + " affected flights, aborting");
+            }
+        }
+
+        List<Flight> changed = network.values().stream()
+                .filter(f -> affected.containsKey(f.getId()))
+                .collect(Collectors.toList());
+        changed.addAll(syncMainFlights(network, affected.keySet()));
+
+        // Pooled ID + JDBC batching sayesinde update'ler batch halinde gider
+        flightRepository.saveAll(changed);
+
+        DelayPropagationPayload payload = buildPayload(sourceDelays, reason, affected);
+
+        sample.stop(Timer.builder("delay_propagation_duration")
+                .description("Time to compute and persist knock-on delays")
+                .tag("service", "flight-service")
+                .register(meterRegistry));
+        DistributionSummary.builder("delay_propagation_affected_flights")
+                .description("Flights delayed by a single propagation run")
+                .tag("service", "flight-service")
+                .register(meterRegistry)
+                .record(affected.size());
+
+        // Event'ler yalnızca commit sonrası; limit aşımı ya da çağıranın hatası rollback'e yol açabilir
+        if (!affected.isEmpty() || publishWithoutKnockOn) {
+            TransactionCallbacks.afterCommit(() -> {
+                if (publishFlightEvents) {
+                    kafkaProducerService.sendFlightEvents("FLIGHT_DELAYED", changed);
+                }
+                kafkaProducerService.sendDelayPropagationEvent(payload);
+                webSocketMessageService.sendBulkFlightUpdate("DELAY_PROPAGATION", payload);
+            });
+        }
+
+        log.info("Delay propagation from {} source flights affected {} downstream flights (network size: {})",
+                sources.size(), affected.size(), network.size());
+        return payload;
+    }
+
+    /**
+     * Kaynak uçakların rotasyonlarını ve ilgili segment zincirlerini toplu sorgularla yükler.
+     * Segment'ler yeni uçaklar getirirse onların rotasyonları da (sınırlı iterasyonla) eklenir.
+     */
+    private Map<Long, Flight> loadNetwork(List<Flight> sources, Map<Long, Integer> sourceDelays) {
+        Map<Long, Flight> network = new HashMap<>();
+        sources.forEach(f -> network.put(f.getId(), f));
+
+        LocalDateTime start = sources.stream()
+                .map(f -> f.getScheduledDeparture().minusMinutes(sourceDelays.getOrDefault(f.getId(), 0)))
+                .min(Comparator.naturalOrder())
+                .orElseThrow();
+        LocalDateTime end = sources.stream()
+                .map(Flight::getScheduledArrival)
+                .max(Comparator.naturalOrder())
+                .orElseThrow()
+                .plusHours(horizonHours);
+
+        Set<Long> loadedAircraft = new HashSet<>();
+        Set<Long> loadedParents = new HashSet<>();
+
+        for (int iteration = 0; iteration < 3; iteration++) {
+            Set<Long> aircraftIds = network.values().stream()
+                    .map(Flight::getAircraftId)
+                    .filter(id -> id != null && !loadedAircraft.contains(id))
+                    .collect(Collectors.toSet());
+            Set<Long> parentIds = network.values().stream()
+                    .map(f -> isMainConnectingFlight(f) ? f.getId() : f.getParentFlightId())
+                    .filter(id -> id != null && !loadedParents.contains(id))
+                    .collect(Collectors.toSet());
+
+            if (aircraftIds.isEmpty() && parentIds.isEmpty()) {
+                break;
+            }
+
+            for (List<Long> chunk : chunks(new ArrayList<>(aircraftIds))) {
+                flightRepository.findRotationFlights(chunk, start, end).forEach(f -> network.putIfAbsent(f.getId(), f));
+            }
+            for (List<Long> chunk : chunks(new ArrayList<>(parentIds))) {
+                flightRepository.findSegmentsByParentFlightIds(chunk).forEach(f -> network.putIfAbsent(f.getId(), f));
+            }
+            loadedAircraft.addAll(aircraftIds);
+            loadedParents.addAll(parentIds);
+        }
+
+        // Segment'i etkilenen ana uçuşlar da güncelleneceği için yüklü olmalı
+        Set<Long> missingParents = network.values().stream()
+                .map(Flight::getParentFlightId)
+                .filter(id -> id != null && !network.containsKey(id))
+                .collect(Collectors.toSet());
+        for (List<Long> chunk : chunks(new ArrayList<>(missingParents))) {
+            flightRepository.findAllById(chunk).forEach(f -> network.putIfAbsent(f.getId(), f));
+        }
+
+        return network;
+    }
+
+    private Map<Long, List<Edge>> buildPredecessors(Collection<Flight> flights, Comparator<Flight> byOriginalDeparture) {
+        Map<Long, List<Edge>> predecessors = new HashMap<>();
+
+        // Uçak rotasyonu: aynı uçağın ardışık uçuşları (ana connecting kayıtları segment'leriyle çakıştığı için hariç)
+        Map<Long, List<Flight>> byAircraft = flights.stream()
+                .filter(f -> f.getAircraftId() != null && !isMainConnectingFlight(f))
+                .collect(Collectors.groupingBy(Flight::getAircraftId));
+        byAircraft.values().forEach(rotation -> {
+            rotation.sort(byOriginalDeparture);
+            for (int i = 1; i < rotation.size(); i++) {
+                addEdge(predecessors, rotation.get(i - 1), rotation.get(i), minTurnaroundMinutes, "ROTATION");
+            }
+        });
+
+        // Segment zinciri: aynı parent altındaki ardışık segment'ler
+        Map<Long, List<Flight>> byParent = flights.stream()
+                .filter(f -> f.getParentFlightId() != null)
+                .collect(Collectors.groupingBy(Flight::getParentFlightId));
+        byParent.values().forEach(chain -> {
+            chain.sort(Comparator.comparing(Flight::getSegmentNumber, Comparator.nullsLast(Comparator.naturalOrder())));
+            for (int i = 1; i < chain.size(); i++) {
+                addEdge(predecessors, chain.get(i - 1), chain.get(i), minConnectionMinutes, "CONNECTION");
+            }
+        });
+
+        return predecessors;
+    }
+
+    private void addEdge(Map<Long, List<Edge>> predecessors, Flight from, Flight to, int bufferMinutes, String type) {
+        predecessors.computeIfAbsent(to.getId(), k -> new ArrayList<>()).add(new Edge(from.getId(), bufferMinutes, type));
+    }
+
+    /**
+     * Segment'leri gecikmiş ana uçuşların kalkış/varış saatlerini segment'lerle hizalar.
+     */
+    private List<Flight> syncMainFlights(Map<Long, Flight> network, Set<Long> affectedIds) {
+        Set<Long> parentIds = affectedIds.stream()
+                .map(id -> network.get(id).getParentFlightId())
+                .filter(id -> id != null)
+                .collect(Collectors.toSet());
+
+        List<Flight> updated = new ArrayList<>();
+        for (Long parentId : parentIds) {
+            Flight main = network.get(parentId);
+            if (main == null || FROZEN_STATUSES.contains(main.getStatus())) {
+                continue;
+            }
+
+            List<Flight> segments = network.values().stream()
+                    .filter(f -> parentId.equals(f.getParentFlightId()))
+                    .sorted(Comparator.comparing(Flight::getSegmentNumber, Comparator.nullsLast(Comparator.naturalOrder())))
+                    .collect(Collectors.toList());
+            if (segments.isEmpty()) {
+                continue;
+            }
+
+            Flight last = segments.get(segments.size() - 1);
+            int maxDelay = segments.stream()
+                    .map(Flight::getDelayMinutes)
+                    .filter(d -> d != null)
+                    .max(Integer::compareTo)
+                    .orElse(0);
+
+            main.setScheduledDeparture(segments.get(0).getScheduledDeparture());
+            main.setScheduledArrival(last.getScheduledArrival());
+            main.setDelayMinutes(maxDelay);
+            if (maxDelay > 0 && main.getStatus() == FlightStatus.SCHEDULED) {
+                main.setStatus(FlightStatus.DELAYED);
+            }
+            updated.add(main);
+        }
+        return updated;
+    }
+
+    // ===============================
+    // HELPERS
+    // ===============================
+
+    private void applyDelay(Flight flight, int addedMinutes, String reason) {
+        int current = flight.getDelayMinutes() != null ? flight.getDelayMinutes() : 0;
+        flight.setDelayMinutes(current + addedMinutes);
+        flight.setDelayReason(reason);
+        flight.setScheduledDeparture(flight.getScheduledDeparture().plusMinutes(addedMinutes));
+        flight.setScheduledArrival(flight.getScheduledArrival().plusMinutes(addedMinutes));
+        if (flight.getStatus() == FlightStatus.SCHEDULED) {
+            flight.setStatus(FlightStatus.DELAYED);
+        }
+    }
+
+    private DelayPropagationPayload.AffectedFlight toAffected(Flight flight, int added, String cause) {
+        return new DelayPropagationPayload.AffectedFlight(flight.getId(), flight.getFlightNumber(),
+                flight.getAircraftId(), flight.getParentFlightId(), added, flight.getDelayMinutes(),
+                flight.getScheduledDeparture(), flight.getScheduledArrival(), cause);
+    }
+
+    private DelayPropagationPayload buildPayload(Map<Long, Integer> sourceDelays, String reason,
+                                                 Map<Long, DelayPropagationPayload.AffectedFlight> affected) {
+        List<DelayPropagationPayload.AffectedFlight> flights = new ArrayList<>(affected.values());
+        int total = flights.stream().mapToInt(DelayPropagationPayload.AffectedFlight::getAddedDelayMinutes).sum();
+        int max = flights.stream().mapToInt(DelayPropagationPayload.AffectedFlight::getAddedDelayMinutes).max().orElse(0);
+
+        return DelayPropagationPayload.builder()
+                .sourceFlightIds(new ArrayList<>(sourceDelays.keySet()))
+                .reason(reason)
+                .affectedFlightCount(flights.size())
+                .totalAddedDelayMinutes(total)
+                .maxAddedDelayMinutes(max)
+                .affectedFlights(flights)
+                .build();
+    }
+
+    private boolean isMainConnectingFlight(Flight flight) {
+        return Boolean.TRUE.equals(flight.getIsConnectingFlight()) && flight.getParentFlightId() == null;
+    }
+
+    private List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += IN_CLAUSE_CHUNK) {
+            chunks.add(ids.subList(i, Math.min(i + IN_CLAUSE_CHUNK, ids.size())));
+        }
+        return chunks;
+    }
+
+    private static final class Edge {
+        private final Long fromId;
+        private final int bufferMinutes;
+        private final String type;
+
+        private Edge(Long fromId, int bufferMinutes, String type) {
+            this.fromId = fromId;
+            this.bufferMinutes = bufferMinutes;
+            this.type = type;
+        }
+    }
+}
@@ -14,6 +14,7 @@ import com.flightmanagement.flightservice.dto.response.stats.FlightTypeDistribut
 import com.flightmanagement.flightservice.entity.Flight;
 import com.flightmanagement.flightservice.entity.enums.FlightStatus;
 import com.flightmanagement.flightservice.entity.enums.FlightType;
+import com.flightmanagement.flightservice.event.DelayPropagationPayload;
 import com.flightmanagement.flightservice.exception.BusinessException;
 import com.flightmanagement.flightservice.exception.DuplicateResourceException;
 import com.flightmanagement.flightservice.exception.InvalidRequestException;
@@ -45,12 +46,15 @@ public class FlightService {
     private final FlightRepository flightRepository;
     private final FlightMapper flightMapper;
     private final FlightValidator flightValidator;
-    private final ReferenceDataService referenceDataService;
+    private final ReferenceLookupContext referenceLookupContext;
     private final KafkaProducerService kafkaProducerService;
     private final WebSocketMessageService webSocketMessageService;
     private final ConnectingFlightService connectingFlightService;
     private final ArchiveServiceClient archiveServiceClient;
     private final AutoRouteService autoRouteService;
+    private final DelayPropagationService delayPropagationService;
+    private final ConnectingFlightAggregateLoader connectingFlightAggregateLoader;
+    private final ReferenceFanOutService referenceFanOutService;
 
 
     // ===============================
@@ -160,7 +164,7 @@ public class FlightService {
         List<Flight> flights = new ArrayList<>();
         try {
             // Tüm aktif route'ları al ve bu airport'u içerenleri filtrele
-            RouteCache[] routes = referenceDataService.getActiveRoutes();
+            RouteCache[] routes = referenceLookupContext.getActiveRoutes();
             for (RouteCache route : routes) {
                 if (route.getOriginAirportId() != null && route.getOriginAirportId().equals(airportId) ||
                         route.getDestinationAirportId() != null && route.getDestinationAirportId().equals(airportId)) {
@@ -201,9 +205,12 @@ public class FlightService {
             // Reference data'ları cache'den al
             FlightResponse response = buildFlightResponse(flight);
 
-            // Events
-            kafkaProducerService.sendFlightEvent("FLIGHT_CREATED", flight);
-            webSocketMessageService.sendFlightUpdate("CREATE", response, flight.getId(), flight.getFlightNumber());
+            // Events (commit sonrası)
+            Flight created = flight;
+            TransactionCallbacks.afterCommit(() -> {
+                kafkaProducerService.sendFlightEvent("FLIGHT_CREATED", created, response);
+                webSocketMessageService.sendFlightUpdate("CREATE", response, created.getId(), created.getFlightNumber());
+            });
 
             log.info("Flight created successfully with ID: {} and route ID: {}", flight.getId(), routeId);
             return response;
@@ -224,8 +231,8 @@ public class FlightService {
             Map<String, Object> preview = new HashMap<>();
 
             // Airport bilgilerini al
-            var originAirport = referenceDataService.getAirport(originAirportId);
-            var destinationAirport = referenceDataService.getAirport(destinationAirportId);
+            var originAirport = referenceLookupContext.getAirport(originAirportId);
+            var destinationAirport = referenceLookupContext.getAirport(destinationAirportId);
 
             if (originAirport == null || destinationAirport == null) {
                 throw new BusinessException("Invalid airport IDs provided");
@@ -317,8 +324,8 @@ public class FlightService {
                 AirportSegmentRequest lastSegment = segments.get(segments.size() - 1);
 
                 try {
-                    var firstOrigin = referenceDataService.getAirport(firstSegment.getOriginAirportId());
-                    var lastDestination = referenceDataService.getAirport(lastSegment.getDestinationAirportId());
+                    var firstOrigin = referenceLookupContext.getAirport(firstSegment.getOriginAirportId());
+                    var lastDestination = referenceLookupContext.getAirport(lastSegment.getDestinationAirportId());
 
                     if (firstOrigin != null && lastDestination != null) {
                         String estimatedCode = generateMultiSegmentRouteCode(
@@ -353,10 +360,12 @@ public class FlightService {
         flightMapper.updateEntity(existingFlight, request);
         Flight updatedFlight = flightRepository.save(existingFlight);
 
-        kafkaProducerService.sendFlightEvent("FLIGHT_UPDATED", updatedFlight);
-
         FlightResponse newResponse = buildFlightResponse(updatedFlight);
-        webSocketMessageService.sendFlightUpdate("UPDATE", newResponse, updatedFlight.getId(), updatedFlight.getFlightNumber());
+
+        TransactionCallbacks.afterCommit(() -> {
+            kafkaProducerService.sendFlightEvent("FLIGHT_UPDATED", updatedFlight, newResponse);
+            webSocketMessageService.sendFlightUpdate("UPDATE", newResponse, updatedFlight.getId(), updatedFlight.getFlightNumber());
+        });
 
         return newResponse;
     }
@@ -388,11 +397,14 @@ public class FlightService {
 
         flight = flightRepository.save(flight);
 
-        kafkaProducerService.sendFlightEvent("FLIGHT_STATUS_CHANGED", flight);
-
         FlightResponse response = buildFlightResponse(flight);
-        webSocketMessageService.sendFlightStatusUpdate(flight.getFlightNumber(), oldStatus.name(),
-                status.name(), response, flight.getId());
+
+        Flight changed = flight;
+        TransactionCallbacks.afterCommit(() -> {
+            kafkaProducerService.sendFlightEvent("FLIGHT_STATUS_CHANGED", changed, response);
+            webSocketMessageService.sendFlightStatusUpdate(changed.getFlightNumber(), oldStatus.name(),
+                    status.name(), response, changed.getId());
+        });
 
         return response;
     }
@@ -414,14 +426,28 @@ public class FlightService {
 
         flight = flightRepository.save(flight);
 
-        kafkaProducerService.sendFlightEvent("FLIGHT_DELAYED", flight);
+        // Aynı uçağın sonraki rotasyonlarına ve sonraki segment'lere knock-on gecikmeyi yay.
+        // Propagation limit aşımında transaction'ı geri alabileceği için event'lerden önce çalışır.
+        if (delayMinutes > 0) {
+            delayPropagationService.propagateFrom(flight, delayMinutes);
+        }
 
         FlightResponse response = buildFlightResponse(flight);
-        webSocketMessageService.sendFlightUpdate("DELAY", response, flight.getId(), flight.getFlightNumber());
+
+        Flight delayed = flight;
+        TransactionCallbacks.afterCommit(() -> {
+            kafkaProducerService.sendFlightEvent("FLIGHT_DELAYED", delayed, response);
+            webSocketMessageService.sendFlightUpdate("DELAY", response, delayed.getId(), delayed.getFlightNumber());
+        });
 
         return response;
     }
 
+    public DelayPropagationPayload recordBulkDelay(List<Long> flightIds, Integer delayMinutes, String reason) {
+        log.debug("Recording bulk delay of {} minutes for {} flights", delayMinutes, flightIds.size());
+        return delayPropagationService.applyDisruption(flightIds, delayMinutes, reason);
+    }
+
     public void deleteFlight(Long id) {
         log.debug("Deleting flight with id: {}", id);
 
@@ -435,8 +461,10 @@ public class FlightService {
 
         flightRepository.delete(flight);
 
-        kafkaProducerService.sendFlightEvent("FLIGHT_DELETED", flight);
-        webSocketMessageService.sendFlightUpdate("DELETE", null, id, flight.getFlightNumber());
+        TransactionCallbacks.afterCommit(() -> {
+            kafkaProducerService.sendFlightEvent("FLIGHT_DELETED", flight);
+            webSocketMessageService.sendFlightUpdate("DELETE", null, id, flight.getFlightNumber());
+        });
     }
 
     // ===============================
@@ -450,22 +478,12 @@ public class FlightService {
 
     public FlightResponse getConnectingFlightDetails(Long mainFlightId) {
         log.debug("Getting connecting flight details: {}", mainFlightId);
-        Flight mainFlight = flightRepository.findById(mainFlightId)
-                .orElseThrow(() -> new ResourceNotFoundException("Main flight not found"));
-
-        if (!Boolean.TRUE.equals(mainFlight.getIsConnectingFlight())) {
-            throw new BusinessException("Flight is not a connecting flight");
-        }
-
-        return buildFlightResponse(mainFlight);
+        return connectingFlightAggregateLoader.loadConnectingFlight(mainFlightId);
     }
 
     public List<FlightResponse> getConnectingFlights(Long mainFlightId) {
         log.debug("Getting connecting flight segments: {}", mainFlightId);
-        List<Flight> segments = flightRepository.findByParentFlightIdOrderBySegmentNumber(mainFlightId);
-        return segments.stream()
-                .map(this::buildFlightResponse)
-                .collect(Collectors.toList());
+        return connectingFlightAggregateLoader.loadSegments(mainFlightId);
     }
 
     public FlightResponse updateConnectingFlight(Long mainFlightId, ConnectingFlightRequest request) {
@@ -597,7 +615,7 @@ public class FlightService {
         routeInfo.put("routeId", flight.getRouteId());
 
         try {
-            RouteCache route = referenceDataService.getRoute(flight.getRouteId());
+            RouteCache route = referenceLookupContext.getRoute(flight.getRouteId());
             routeInfo.put("route", route);
         } catch (Exception e) {
             log.warn("Could not fetch route info: {}", e.getMessage());
@@ -638,16 +656,23 @@ public class FlightService {
     // ===============================
 
     private FlightResponse buildFlightResponse(Flight flight) {
+        // Aktarmalı ana uçuşlar segment + connection'larıyla aggregate loader'dan kurulur
+        if (Boolean.TRUE.equals(flight.getIsConnectingFlight()) && flight.getParentFlightId() == null) {
+            return connectingFlightAggregateLoader.loadConnectingFlights(List.of(flight)).get(0);
+        }
+
         FlightResponse response = flightMapper.toResponse(flight);
 
         try {
-            // Reference data'ları cache'ten al
-            response.setAirline(referenceDataService.getAirline(flight.getAirlineId()));
-            response.setAircraft(referenceDataService.getAircraft(flight.getAircraftId()));
+            // Airline, aircraft ve route paralel, route'un airport'ları ardından paralel çözülür
+            ReferenceFanOutService.ReferenceSnapshot references = referenceFanOutService.resolve(
+                    flight.getAirlineId(), flight.getAircraftId(), flight.getRouteId());
+            response.setAirline(references.getAirline());
+            response.setAircraft(references.getAircraft());
 
             // Route bilgilerini al
-            if (flight.getRouteId() != null) {
-                RouteCache route = referenceDataService.getRoute(flight.getRouteId());
+            RouteCache route = references.getRoute();
+            if (route != null) {
                 response.setRoute(route);
                 response.setRoutePath(route.getRoutePath());
                 response.setRouteDistance(route.getDistance());
@@ -655,23 +680,8 @@ public class FlightService {
                 response.setIsMultiSegmentRoute(route.getIsMultiSegment());
 
                 // Route'dan airport bilgilerini al (backward compatibility için)
-                if (route.getOriginAirportId() != null) {
-                    response.setOriginAirport(referenceDataService.getAirport(route.getOriginAirportId()));
-                }
-                if (route.getDestinationAirportId() != null) {
-                    response.setDestinationAirport(referenceDataService.getAirport(route.getDestinationAirportId()));
-                }
-            }
-
-            // Connecting flight segments
-            if (Boolean.TRUE.equals(flight.getIsConnectingFlight()) && flight.getParentFlightId() == null) {
-                List<Flight> segments = flightRepository.findByParentFlightIdOrderBySegmentNumber(flight.getId());
-                List<FlightResponse> segmentResponses = segments.stream()
-                        .map(this::buildFlightResponse)
-                        .collect(Collectors.toList());
-                response.setConnectingFlights(segmentResponses);
-                response.setTotalSegments(segments.size());
-                response.setFullRoute(buildFullRouteFromSegments(segments));
+                response.setOriginAirport(references.getOriginAirport());
+                response.setDestinationAirport(references.getDestinationAirport());
             }
 
         } catch (Exception e) {
@@ -681,37 +691,6 @@ public class FlightService {
         return response;
     }
 
-    private String buildFullRouteFromSegments(List<Flight> segments) {
-        if (segments.isEmpty()) return "";
-
-        StringBuilder route = new StringBuilder();
-
-        try {
-            Flight firstSegment = segments.get(0);
-            if (firstSegment.getRouteId() != null) {
-                RouteCache firstRoute = referenceDataService.getRoute(firstSegment.getRouteId());
-                if (firstRoute.getOriginAirportCode() != null) {
-                    route.append(firstRoute.getOriginAirportCode());
-                }
-            }
-
-            for (Flight segment : segments) {
-                if (segment.getRouteId() != null) {
-                    RouteCache segmentRoute = referenceDataService.getRoute(segment.getRouteId());
-                    if (segmentRoute.getDestinationAirportCode() != null) {
-                        route.append(" → ").append(segmentRoute.getDestinationAirportCode());
-                    }
-                }
-            }
-
-        } catch (Exception e) {
-            log.warn("Error building full route from segments: {}", e.getMessage());
-            return "Complex Route";
-        }
-
-        return route.toString();
-    }
-
     private void archiveCompletedFlight(Flight flight) {
         try {
             if (FlightStatus.ARRIVED.equals(flight.getStatus()) || FlightStatus.CANCELLED.equals(flight.getStatus())) {
@@ -752,7 +731,10 @@ public class FlightService {
 
         // Reference data
         try {
-            var airline = referenceDataService.getAirline(flight.getAirlineId());
+            ReferenceFanOutService.ReferenceSnapshot references = referenceFanOutService.resolve(
+                    flight.getAirlineId(), flight.getAircraftId(), flight.getRouteId());
+
+            var airline = references.getAirline();
             if (airline != null) {
                 Map<String, Object> airlineData = new HashMap<>();
                 airlineData.put("id", airline.getId());
@@ -762,7 +744,7 @@ public class FlightService {
                 data.put("airline", airlineData);
             }
 
-            var aircraft = referenceDataService.getAircraft(flight.getAircraftId());
+            var aircraft = references.getAircraft();
             if (aircraft != null) {
                 Map<String, Object> aircraftData = new HashMap<>();
                 aircraftData.put("id", aircraft.getId());
@@ -772,40 +754,34 @@ public class FlightService {
                 data.put("aircraft", aircraftData);
             }
 
-            if (flight.getRouteId() != null) {
-                var route = referenceDataService.getRoute(flight.getRouteId());
-                if (route != null) {
-                    Map<String, Object> routeData = new HashMap<>();
-                    routeData.put("id", route.getId());
-                    routeData.put("routeCode", route.getRouteCode());
-                    routeData.put("routePath", route.getRoutePath());
-                    routeData.put("distance", route.getDistance());
-                    data.put("route", routeData);
-
-                    // Airport data from route
-                    if (route.getOriginAirportId() != null) {
-                        var originAirport = referenceDataService.getAirport(route.getOriginAirportId());
-                        if (originAirport != null) {
-                            Map<String, Object> originData = new HashMap<>();
-                            originData.put("id", originAirport.getId());
-                            originData.put("iataCode", originAirport.getIataCode());
-                            originData.put("name", originAirport.getName());
-                            originData.put("city", originAirport.getCity());
-                            data.put("originAirport", originData);
-                        }
-                    }
+            var route = references.getRoute();
+            if (route != null) {
+                Map<String, Object> routeData = new HashMap<>();
+                routeData.put("id", route.getId());
+                routeData.put("routeCode", route.getRouteCode());
+                routeData.put("routePath", route.getRoutePath());
+                routeData.put("distance", route.getDistance());
+                data.put("route", routeData);
+
+                // Airport data from route
+                var originAirport = references.getOriginAirport();
+                if (originAirport != null) {
+                    Map<String, Object> originData = new HashMap<>();
+                    originData.put("id", originAirport.getId());
+                    originData.put("iataCode", originAirport.getIataCode());
+                    originData.put("name", originAirport.getName());
+                    originData.put("city", originAirport.getCity());
+                    data.put("originAirport", originData);
+                }
 
-                    if (route.getDestinationAirportId() != null) {
-                        var destAirport = referenceDataService.getAirport(route.getDestinationAirportId());
-                        if (destAirport != null) {
-                            Map<String, Object> destData = new HashMap<>();
-                            destData.put("id", destAirport.getId());
-                            destData.put("iataCode", destAirport.getIataCode());
-                            destData.put("name", destAirport.getName());
-                            destData.put("city", destAirport.getCity());
-                            data.put("destinationAirport", destData);
-                        }
-                    }
+                var destAirport = references.getDestinationAirport();
+                if (destAirport != null) {
+                    Map<String, Object> destData = new HashMap<>();
+                    destData.put("id", destAirport.getId());
+                    destData.put("iataCode", destAirport.getIataCode());
+                    destData.put("name", destAirport.getName());
+                    destData.put("city", destAirport.getCity());
+                    data.put("destinationAirport", destData);
                 }
             }
         } catch (Exception e) {
@@ -845,7 +821,7 @@ public class FlightService {
 
             // Route'un varlığını ve aktifliğini kontrol et
             try {
-                RouteCache route = referenceDataService.getRoute(request.getRouteId());
+                RouteCache route = referenceLookupContext.getRoute(request.getRouteId());
                 if (route == null || !route.isActive()) {
                     throw new InvalidRequestException("Selected route is invalid or inactive: " + request.getRouteId());
                 }
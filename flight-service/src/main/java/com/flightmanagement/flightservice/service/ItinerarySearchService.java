@@ -0,0 +1,518 @@
+package com.flightmanagement.flightservice.service;
+
+import com.flightmanagement.flightservice.dto.cache.AirportCache;
+import com.flightmanagement.flightservice.dto.cache.RouteCache;
+import com.flightmanagement.flightservice.dto.response.ItineraryResponse;
+import com.flightmanagement.flightservice.entity.Flight;
+import com.flightmanagement.flightservice.entity.enums.FlightStatus;
+import com.flightmanagement.flightservice.exception.BusinessException;
+import com.flightmanagement.flightservice.metrics.CacheMetrics;
+import com.flightmanagement.flightservice.repository.FlightRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mevcut uçuşlar üzerinden aktarmalı itinerary araması.
+ *
+ * Her tarih için havalimanı bazlı, kalkış saatine göre sıralı bir "departure board" tutulur
+ * (flights + route index'inden türetilir). Arama RAPTOR tarzı round bazlıdır: k. round en fazla
+ * k bacaklı yolculukları tarar, maxStops ve minimum connection süresiyle sınırlanır.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ItinerarySearchService {
+
+    private static final long INFINITY = Long.MAX_VALUE;
+
+    private final FlightRepository flightRepository;
+    private final ReferenceLookupContext referenceLookupContext;
+    private final MeterRegistry meterRegistry;
+    private final CacheMetrics cacheMetrics;
+
+    // Tarih başına board; inşa map kilidi dışında yapılır, eşzamanlı istekler aynı future'ı bekler
+    private final Map<LocalDate, CompletableFuture<DepartureBoard>> boards = new ConcurrentHashMap<>();
+
+    @Value("${itinerary.board-ttl-seconds:30}")
+    private long boardTtlSeconds;
+
+    @Value("${itinerary.board-horizon-days:2}")
+    private int boardHorizonDays;
+
+    @Value("${itinerary.max-cached-boards:14}")
+    private int maxCachedBoards;
+
+    @Value("${itinerary.max-stops-limit:3}")
+    private int maxStopsLimit;
+
+    @Value("${itinerary.max-connection-minutes:720}")
+    private int maxConnectionMinutes;
+
+    @Value("${itinerary.max-results-limit:20}")
+    private int maxResultsLimit;
+
+    // ===============================
+    // SEARCH
+    // ===============================
+
+    /**
+     * origin → destination için date günü kalkan, en fazla maxStops aktarmalı itinerary'leri döner.
+     * Sonuçlar (varış saati, aktarma sayısı) açısından Pareto-optimal olup ilk kalkışa göre sıralıdır.
+     */
+    public List<ItineraryResponse> search(String origin, String destination, LocalDate date,
+                                          LocalTime departAfter, int maxStops,
+                                          int minConnectionMinutes, int maxResults) {
+
+        String originCode = normalizeCode(origin, "origin");
+        String destinationCode = normalizeCode(destination, "destination");
+
+        if (date == null) {
+            throw new BusinessException("Search date is required");
+        }
+        if (originCode.equals(destinationCode)) {
+            throw new BusinessException("Origin and destination must be different");
+        }
+        if (maxStops < 0 || maxStops > maxStopsLimit) {
+            throw new BusinessException("maxStops must be between 0 and " + maxStopsLimit);
+        }
+        if (minConnectionMinutes < 0) {
+            throw new BusinessException("minConnectionMinutes cannot be negative");
+        }
+        int resultLimit = Math.max(1, Math.min(maxResults, maxResultsLimit));
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        List<ItineraryResponse> results = new ArrayList<>();
+
+        try {
+            DepartureBoard board = getBoard(date);
+
+            long windowStart = toMinutes(date.atTime(departAfter != null ? departAfter : LocalTime.MIN));
+            long windowEnd = toMinutes(date.plusDays(1).atStartOfDay());
+
+            // Range search: her iterasyonda bir önceki ilk kalkıştan sonrası için yeniden arama
+            long departFrom = windowStart;
+            Set<String> seen = new HashSet<>();
+
+            while (results.size() < resultLimit && departFrom < windowEnd) {
+                List<Journey> journeys = scan(board, originCode, destinationCode, departFrom, windowEnd,
+                        maxStops, minConnectionMinutes);
+                if (journeys.isEmpty()) {
+                    break;
+                }
+
+                long earliestFirstDeparture = INFINITY;
+                for (Journey journey : journeys) {
+                    earliestFirstDeparture = Math.min(earliestFirstDeparture, journey.legs.get(0).departureMinutes);
+                    if (seen.add(journey.signature()) && results.size() < resultLimit) {
+                        results.add(toResponse(journey, originCode, destinationCode));
+                    }
+                }
+                departFrom = earliestFirstDeparture + 1;
+            }
+
+            results.sort(Comparator.comparing(ItineraryResponse::getDeparture)
+                    .thenComparing(ItineraryResponse::getArrival)
+                    .thenComparing(ItineraryResponse::getStops));
+
+            log.debug("Itinerary search {} -> {} on {} (maxStops: {}, minConnection: {}) returned {} results",
+                    originCode, destinationCode, date, maxStops, minConnectionMinutes, results.size());
+            return results;
+        } finally {
+            sample.stop(Timer.builder("itinerary_search_duration")
+                    .description("Itinerary search latency")
+                    .tag("service", "flight-service")
+                    .tag("result", results.isEmpty() ? "empty" : "found")
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Round bazlı tarama. round k'da varılan her havalimanından, varış + min connection sonrasındaki
+     * kalkışlar binary search ile bulunur; hedefe en iyi varıştan daha geç kalkan bacaklar budanır.
+     */
+    private List<Journey> scan(DepartureBoard board, String origin, String destination,
+                               long departFrom, long firstLegDeadline, int maxStops, int minConnectionMinutes) {
+
+        Map<String, Long> bestArrival = new HashMap<>();
+        Map<String, Label> previousRound = new HashMap<>();
+        previousRound.put(origin, new Label(departFrom, null, null));
+        Set<String> marked = new HashSet<>();
+        marked.add(origin);
+
+        List<Journey> journeys = new ArrayList<>();
+
+        for (int round = 1; round <= maxStops + 1 && !marked.isEmpty(); round++) {
+            Map<String, Label> currentRound = new HashMap<>();
+            Set<String> nextMarked = new HashSet<>();
+
+            for (String airport : marked) {
+                Label from = previousRound.get(airport);
+                boolean firstLeg = from.leg == null;
+                long earliest = firstLeg ? from.arrivalMinutes : from.arrivalMinutes + minConnectionMinutes;
+                long latest = firstLeg ? firstLegDeadline - 1 : from.arrivalMinutes + maxConnectionMinutes;
+
+                Leg[] departures = board.departuresFrom(airport);
+                for (int i = board.firstDepartureIndex(airport, earliest); i < departures.length; i++) {
+                    Leg leg = departures[i];
+                    if (leg.departureMinutes > latest) {
+                        break;
+                    }
+                    // Hedefe bundan daha erken varılıyorsa bu ve sonraki kalkışlar iyileştiremez
+                    if (leg.departureMinutes >= bestArrival.getOrDefault(destination, INFINITY)) {
+                        break;
+                    }
+                    if (leg.destination.equals(origin) || from.visits(leg.destination)) {
+                        continue;
+                    }
+                    if (leg.arrivalMinutes < bestArrival.getOrDefault(leg.destination, INFINITY)) {
+                        bestArrival.put(leg.destination, leg.arrivalMinutes);
+                        currentRound.put(leg.destination, new Label(leg.arrivalMinutes, leg, from));
+                        nextMarked.add(leg.destination);
+                    }
+                }
+            }
+
+            Label target = currentRound.get(destination);
+            if (target != null) {
+                journeys.add(new Journey(target.path()));
+            }
+
+            // Hedefe varılan label'dan devam edilmez
+            nextMarked.remove(destination);
+            previousRound = currentRound;
+            marked = nextMarked;
+        }
+
+        return journeys;
+    }
+
+    // ===============================
+    // DEPARTURE BOARD
+    // ===============================
+
+    public void invalidateBoards() {
+        boards.clear();
+    }
+
+    private DepartureBoard getBoard(LocalDate date) {
+        if (boards.size() > maxCachedBoards) {
+            boards.keySet().stream()
+                    .min(Comparator.naturalOrder())
+                    .ifPresent(boards::remove);
+        }
+
+        while (true) {
+            CompletableFuture<DepartureBoard> current = boards.get(date);
+
+            if (current != null) {
+                if (!current.isDone()) {
+                    // Başka bir istek bu tarihi inşa ediyor, onun sonucunu bekle
+                    cacheMetrics.record("itinerary-board", true);
+                    return await(current);
+                }
+                if (!current.isCompletedExceptionally() && !current.join().isExpired(boardTtlSeconds)) {
+                    cacheMetrics.record("itinerary-board", true);
+                    return current.join();
+                }
+            }
+
+            // Board'u yalnızca future'ı map'e yerleştirebilen istek inşa eder; kaybeden döngüye döner
+            CompletableFuture<DepartureBoard> pending = new CompletableFuture<>();
+            boolean owner = current == null
+                    ? boards.putIfAbsent(date, pending) == null
+                    : boards.replace(date, current, pending);
+            if (!owner) {
+                continue;
+            }
+
+            cacheMetrics.record("itinerary-board", false);
+            try {
+                DepartureBoard board = buildBoard(date);
+                pending.complete(board);
+                return board;
+            } catch (RuntimeException e) {
+                boards.remove(date, pending);
+                pending.completeExceptionally(e);
+                throw e;
+            }
+        }
+    }
+
+    private DepartureBoard await(CompletableFuture<DepartureBoard> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private DepartureBoard buildBoard(LocalDate date) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+
+        LocalDateTime start = date.atStartOfDay();
+        LocalDateTime end = date.plusDays(boardHorizonDays).atStartOfDay();
+        List<Flight> flights = flightRepository.findItineraryLegsInTimeRange(start, end, FlightStatus.CANCELLED);
+
+        Map<Long, String[]> routeEndpoints = new HashMap<>();
+        Map<String, List<Leg>> byAirport = new HashMap<>();
+        int skipped = 0;
+
+        // Route'lar tek batch çağrısıyla çözülür; aşağıdaki getRoute çağrıları scope'tan memoized döner
+        boolean scopeOwner = referenceLookupContext.openScope("itinerary-board");
+        try {
+            Set<Long> routeIds = new HashSet<>();
+            for (Flight flight : flights) {
+                if (flight.getRouteId() != null) {
+                    routeIds.add(flight.getRouteId());
+                }
+            }
+            referenceLookupContext.prefetchRoutes(routeIds);
+
+            for (Flight flight : flights) {
+                if (flight.getRouteId() == null || flight.getScheduledDeparture() == null
+                        || flight.getScheduledArrival() == null) {
+                    skipped++;
+                    continue;
+                }
+
+                String[] endpoints = routeEndpoints.computeIfAbsent(flight.getRouteId(), this::resolveRouteEndpoints);
+                if (endpoints == null) {
+                    skipped++;
+                    continue;
+                }
+
+                Leg leg = new Leg(flight.getId(), flight.getFlightNumber(), flight.getParentFlightId(),
+                        endpoints[0], endpoints[1], flight.getScheduledDeparture(), flight.getScheduledArrival());
+                byAirport.computeIfAbsent(leg.origin, k -> new ArrayList<>()).add(leg);
+            }
+        } finally {
+            if (scopeOwner) {
+                referenceLookupContext.closeScope();
+            }
+        }
+
+        DepartureBoard board = new DepartureBoard(byAirport);
+
+        sample.stop(Timer.builder("itinerary_board_build_duration")
+                .description("Time to build the per-airport departure board for a date")
+                .tag("service", "flight-service")
+                .register(meterRegistry));
+
+        log.info("Departure board built for {}: {} legs from {} airports ({} skipped)",
+                date, flights.size() - skipped, byAirport.size(), skipped);
+        return board;
+    }
+
+    private String[] resolveRouteEndpoints(Long routeId) {
+        try {
+            RouteCache route = referenceLookupContext.getRoute(routeId);
+            if (route == null) {
+                return null;
+            }
+
+            String origin = route.getOriginAirportCode();
+            String destination = route.getDestinationAirportCode();
+
+            if (origin == null && route.getOriginAirportId() != null) {
+                AirportCache airport = referenceLookupContext.getAirport(route.getOriginAirportId());
+                origin = airport != null ? airport.getIataCode() : null;
+            }
+            if (destination == null && route.getDestinationAirportId() != null) {
+                AirportCache airport = referenceLookupContext.getAirport(route.getDestinationAirportId());
+                destination = airport != null ? airport.getIataCode() : null;
+            }
+
+            if (origin == null || destination == null) {
+                return null;
+            }
+            return new String[]{origin.toUpperCase(), destination.toUpperCase()};
+        } catch (Exception e) {
+            log.warn("Could not resolve route {} for departure board: {}", routeId, e.getMessage());
+            return null;
+        }
+    }
+
+    // ===============================
+    // HELPERS
+    // ===============================
+
+    private ItineraryResponse toResponse(Journey journey, String origin, String destination) {
+        List<ItineraryResponse.Leg> legs = new ArrayList<>();
+        Leg previous = null;
+
+        for (Leg leg : journey.legs) {
+            Integer connection = previous != null
+                    ? (int) (leg.departureMinutes - previous.arrivalMinutes)
+                    : null;
+            legs.add(new ItineraryResponse.Leg(leg.flightId, leg.flightNumber, leg.parentFlightId,
+                    leg.origin, leg.destination, leg.departure, leg.arrival, connection));
+            previous = leg;
+        }
+
+        Leg first = journey.legs.get(0);
+        Leg last = journey.legs.get(journey.legs.size() - 1);
+
+        return new ItineraryResponse(origin, destination, journey.legs.size() - 1,
+                (int) (last.arrivalMinutes - first.departureMinutes),
+                first.departure, last.arrival, legs);
+    }
+
+    private String normalizeCode(String code, String field) {
+        if (code == null || code.isBlank()) {
+            throw new BusinessException("Airport code is required: " + field);
+        }
+        return code.trim().toUpperCase();
+    }
+
+    private static long toMinutes(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    private static final class Leg {
+        private final Long flightId;
+        private final String flightNumber;
+        private final Long parentFlightId;
+        private final String origin;
+        private final String destination;
+        private final LocalDateTime departure;
+        private final LocalDateTime arrival;
+        private final long departureMinutes;
+        private final long arrivalMinutes;
+
+        private Leg(Long flightId, String flightNumber, Long parentFlightId, String origin, String destination,
+                    LocalDateTime departure, LocalDateTime arrival) {
+            this.flightId = flightId;
+            this.flightNumber = flightNumber;
+            this.parentFlightId = parentFlightId;
+            this.origin = origin;
+            this.destination = destination;
+            this.departure = departure;
+            this.arrival = arrival;
+            this.departureMinutes = toMinutes(departure);
+            this.arrivalMinutes = toMinutes(arrival);
+        }
+    }
+
+    private static final class Label {
+        private final long arrivalMinutes;
+        private final Leg leg;
+        private final Label previous;
+
+        private Label(long arrivalMinutes, Leg leg, Label previous) {
+            this.arrivalMinutes = arrivalMinutes;
+            this.leg = leg;
+            this.previous = previous;
+        }
+
+        private boolean visits(String airport) {
+            for (Label label = this; label != null && label.leg != null; label = label.previous) {
+                if (label.leg.origin.equals(airport) || label.leg.destination.equals(airport)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private List<Leg> path() {
+            LinkedList<Leg> legs = new LinkedList<>();
+            for (Label label = this; label != null && label.leg != null; label = label.previous) {
+                legs.addFirst(label.leg);
+            }
+            return legs;
+        }
+    }
+
+    private static final class Journey {
+        private final List<Leg> legs;
+
+        private Journey(List<Leg> legs) {
+            this.legs = legs;
+        }
+
+        private String signature() {
+            StringBuilder signature = new StringBuilder();
+            for (Leg leg : legs) {
+                signature.append(leg.flightId).append('>');
+            }
+            return signature.toString();
+        }
+    }
+
+    /**
+     * Havalimanı bazlı, kalkışa göre sıralı bacaklar. Oluşturulduktan sonra değişmez.
+     */
+    private static final class DepartureBoard {
+        private static final Leg[] NO_LEGS = new Leg[0];
+
+        private final Map<String, Leg[]> departures = new HashMap<>();
+        private final Map<String, long[]> departureTimes = new HashMap<>();
+        private final long builtAt = System.currentTimeMillis();
+
+        private DepartureBoard(Map<String, List<Leg>> byAirport) {
+            byAirport.forEach((airport, legs) -> {
+                Leg[] sorted = legs.toArray(NO_LEGS);
+                Arrays.sort(sorted, Comparator.comparingLong(leg -> leg.departureMinutes));
+
+                long[] times = new long[sorted.length];
+                for (int i = 0; i < sorted.length; i++) {
+                    times[i] = sorted[i].departureMinutes;
+                }
+
+                departures.put(airport, sorted);
+                departureTimes.put(airport, times);
+            });
+        }
+
+        private Leg[] departuresFrom(String airport) {
+            return departures.getOrDefault(airport, NO_LEGS);
+        }
+
+        private int firstDepartureIndex(String airport, long earliestMinutes) {
+            long[] times = departureTimes.get(airport);
+            if (times == null) {
+                return 0;
+            }
+            int low = 0;
+            int high = times.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (times[mid] < earliestMinutes) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private boolean isExpired(long ttlSeconds) {
+            return System.currentTimeMillis() - builtAt > ttlSeconds * 1000;
+        }
+    }
+}
@@ -4,17 +4,23 @@ import com.flightmanagement.flightservice.dto.cache.AircraftCache;
 import com.flightmanagement.flightservice.dto.cache.AirlineCache;
 import com.flightmanagement.flightservice.dto.cache.AirportCache;
 import com.flightmanagement.flightservice.dto.cache.RouteCache;
+import com.flightmanagement.flightservice.dto.response.FlightResponse;
 import com.flightmanagement.flightservice.entity.Flight;
+import com.flightmanagement.flightservice.event.DelayPropagationPayload;
 import com.flightmanagement.flightservice.event.FlightEvent;
+import com.flightmanagement.flightservice.event.FlightEventPayload;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -22,12 +28,27 @@ import java.util.UUID;
 public class KafkaProducerService {
 
     private final KafkaTemplate<String, FlightEvent> kafkaTemplate;
-    private final ReferenceDataService referenceDataService;
+    private final ReferenceLookupContext referenceLookupContext;
+    private final MeterRegistry meterRegistry;
     private static final String TOPIC = "flight.events";
 
+    /**
+     * Reference data'yı yeniden çözerek event gönderir.
+     * Zenginleştirilmiş bir FlightResponse elde varsa diğer overload tercih edilmeli.
+     */
     public void sendFlightEvent(String eventType, Flight flight) {
+        sendFlightEvent(eventType, flight, null);
+    }
+
+    /**
+     * Zaten oluşturulmuş FlightResponse'taki airline/aircraft/route/airport bilgilerini kullanır,
+     * ek reference lookup yapmaz. Gönderim asenkron; sonuç callback ile loglanır ve ölçülür.
+     */
+    public void sendFlightEvent(String eventType, Flight flight, FlightResponse response) {
         try {
-            Map<String, Object> payload = buildFlightPayload(flight);
+            FlightEventPayload payload = response != null
+                    ? buildFlightPayload(flight, response)
+                    : buildFlightPayload(flight);
 
             FlightEvent event = FlightEvent.builder()
                     .eventId(UUID.randomUUID().toString())
@@ -40,87 +61,174 @@ public class KafkaProducerService {
                     .build();
 
             log.info("Sending flight event: {} for flight: {}", eventType, flight.getFlightNumber());
-            kafkaTemplate.send(TOPIC, event);
+            publish(partitionKey(flight), event, flight.getFlightNumber());
         } catch (Exception e) {
+            recordResult(eventType, "failure");
             log.error("Failed to send flight event: {} for flight: {}", eventType, flight.getFlightNumber(), e);
         }
     }
 
-    private Map<String, Object> buildFlightPayload(Flight flight) {
-        Map<String, Object> payload = new HashMap<>();
-
-        // Basic flight info
-        payload.put("id", flight.getId());
-        payload.put("flightNumber", flight.getFlightNumber());
-        payload.put("flightDate", flight.getFlightDate());
-        payload.put("scheduledDeparture", flight.getScheduledDeparture());
-        payload.put("scheduledArrival", flight.getScheduledArrival());
-        payload.put("actualDeparture", flight.getActualDeparture());
-        payload.put("actualArrival", flight.getActualArrival());
-        payload.put("status", flight.getStatus());
-        payload.put("type", flight.getType());
-        payload.put("passengerCount", flight.getPassengerCount());
-        payload.put("cargoWeight", flight.getCargoWeight());
-        payload.put("gateNumber", flight.getGateNumber());
-        payload.put("delayMinutes", flight.getDelayMinutes());
-        payload.put("delayReason", flight.getDelayReason());
-        payload.put("active", flight.getActive());
+    /**
+     * Aynı event'i birden fazla uçuş için gönderir (ör. propagation ile gecikmiş uçuşlar).
+     * Reference data scope'ta toplu prefetch edilir; uçuş başına remote lookup yapılmaz.
+     */
+    public void sendFlightEvents(String eventType, List<Flight> flights) {
+        if (flights.isEmpty()) {
+            return;
+        }
+        boolean opened = referenceLookupContext.openScope("flight-events:" + eventType);
+        try {
+            referenceLookupContext.prefetchAirlines(flights.stream().map(Flight::getAirlineId).collect(Collectors.toSet()));
+            referenceLookupContext.prefetchAircraft(flights.stream().map(Flight::getAircraftId).collect(Collectors.toSet()));
+            referenceLookupContext.prefetchRoutes(flights.stream().map(Flight::getRouteId).collect(Collectors.toSet()));
+            for (Flight flight : flights) {
+                sendFlightEvent(eventType, flight);
+            }
+        } finally {
+            if (opened) {
+                referenceLookupContext.closeScope();
+            }
+        }
+    }
+
+    /**
+     * Delay propagation sonucunun konsolide özeti (WebSocket/bildirim tüketicileri için).
+     * Uçuş başına FLIGHT_DELAYED yalnızca delay-propagation.publish-flight-events açıkken ayrıca gönderilir.
+     */
+    public void sendDelayPropagationEvent(DelayPropagationPayload payload) {
+        String eventType = "FLIGHT_DELAYS_PROPAGATED";
+        String sourceId = payload.getSourceFlightIds().isEmpty()
+                ? "none" : String.valueOf(payload.getSourceFlightIds().get(0));
+        try {
+            FlightEvent event = FlightEvent.builder()
+                    .eventId(UUID.randomUUID().toString())
+                    .eventType(eventType)
+                    .eventTime(LocalDateTime.now())
+                    .entityType("FLIGHT_DELAY_PROPAGATION")
+                    .entityId(sourceId)
+                    .payload(payload)
+                    .version("1.0")
+                    .build();
+
+            log.info("Sending delay propagation event: {} flights affected", payload.getAffectedFlightCount());
+            publish(sourceId, event, "delay-propagation:" + sourceId);
+        } catch (Exception e) {
+            recordResult(eventType, "failure");
+            log.error("Failed to send delay propagation event for sources: {}", payload.getSourceFlightIds(), e);
+        }
+    }
+
+    /**
+     * Aynı uçuşa ait tüm event'ler aynı partition'a düşsün diye key olarak flight ID kullanılır.
+     * Segment'ler ana uçuşla birlikte sıralansın diye parent flight ID'yi kullanır.
+     */
+    private String partitionKey(Flight flight) {
+        Long keyId = flight.getParentFlightId() != null ? flight.getParentFlightId() : flight.getId();
+        return String.valueOf(keyId);
+    }
+
+    private void publish(String key, FlightEvent event, String flightNumber) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+
+        kafkaTemplate.send(TOPIC, key, event).whenComplete((result, ex) -> {
+            sample.stop(Timer.builder("flight_event_publish_duration")
+                    .description("Time from send to broker acknowledgement for flight events")
+                    .tag("service", "flight-service")
+                    .tag("result", ex == null ? "success" : "failure")
+                    .register(meterRegistry));
+
+            if (ex == null) {
+                recordResult(event.getEventType(), "success");
+                log.debug("Flight event {} acknowledged: partition {}, offset {}", event.getEventId(),
+                        result.getRecordMetadata().partition(), result.getRecordMetadata().offset());
+            } else {
+                recordResult(event.getEventType(), "failure");
+                log.error("Flight event {} could not be delivered for flight: {}", event.getEventId(), flightNumber, ex);
+            }
+        });
+    }
+
+    private void recordResult(String eventType, String result) {
+        Counter.builder("flight_events_published_total")
+                .description("Flight events handed to Kafka, by delivery result")
+                .tag("service", "flight-service")
+                .tag("eventType", eventType)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    // ===============================
+    // PAYLOAD BUILDERS
+    // ===============================
+
+    private FlightEventPayload buildFlightPayload(Flight flight, FlightResponse response) {
+        FlightEventPayload payload = basePayload(flight);
+
+        if (response.getAirline() != null) {
+            payload.setAirline(toAirlineInfo(response.getAirline()));
+        }
+        if (response.getAircraft() != null) {
+            payload.setAircraft(toAircraftInfo(response.getAircraft()));
+        }
+        if (response.getRoute() != null) {
+            payload.setRoute(toRouteInfo(response.getRoute()));
+        }
+        if (response.getOriginAirport() != null) {
+            payload.setOriginAirport(toAirportInfo(response.getOriginAirport()));
+        }
+        if (response.getDestinationAirport() != null) {
+            payload.setDestinationAirport(toAirportInfo(response.getDestinationAirport()));
+        }
+
+        // Response'ta airport yoksa route üzerindeki kod/isim bilgisini kullan
+        if (response.getRoute() != null) {
+            fillAirportsFromRoute(payload, response.getRoute());
+        }
+
+        // Airline/aircraft response'a eklenemediyse eski yoldaki gibi lookup'a düş
+        if (payload.getAirline() == null || payload.getAircraft() == null) {
+            FlightEventPayload fallback = buildFlightPayload(flight);
+            if (payload.getAirline() == null) payload.setAirline(fallback.getAirline());
+            if (payload.getAircraft() == null) payload.setAircraft(fallback.getAircraft());
+            if (payload.getRoute() == null) payload.setRoute(fallback.getRoute());
+            if (payload.getOriginAirport() == null) payload.setOriginAirport(fallback.getOriginAirport());
+            if (payload.getDestinationAirport() == null) payload.setDestinationAirport(fallback.getDestinationAirport());
+        }
+
+        return payload;
+    }
+
+    private FlightEventPayload buildFlightPayload(Flight flight) {
+        FlightEventPayload payload = basePayload(flight);
 
         // Add reference data
         try {
-            AirlineCache airline = referenceDataService.getAirline(flight.getAirlineId());
-            Map<String, Object> airlineInfo = new HashMap<>();
-            airlineInfo.put("id", airline.getId());
-            airlineInfo.put("iataCode", airline.getIataCode());
-            airlineInfo.put("name", airline.getName());
-            payload.put("airline", airlineInfo);
+            payload.setAirline(toAirlineInfo(referenceLookupContext.getAirline(flight.getAirlineId())));
         } catch (Exception e) {
             log.warn("Could not fetch airline info for flight event: {}", flight.getAirlineId());
         }
 
         try {
-            AircraftCache aircraft = referenceDataService.getAircraft(flight.getAircraftId());
-            Map<String, Object> aircraftInfo = new HashMap<>();
-            aircraftInfo.put("id", aircraft.getId());
-            aircraftInfo.put("registrationNumber", aircraft.getRegistrationNumber());
-            aircraftInfo.put("aircraftType", aircraft.getAircraftType());
-            payload.put("aircraft", aircraftInfo);
+            payload.setAircraft(toAircraftInfo(referenceLookupContext.getAircraft(flight.getAircraftId())));
         } catch (Exception e) {
             log.warn("Could not fetch aircraft info for flight event: {}", flight.getAircraftId());
         }
 
         try {
             if (flight.getRouteId() != null) {
-                RouteCache route = referenceDataService.getRoute(flight.getRouteId());
+                RouteCache route = referenceLookupContext.getRoute(flight.getRouteId());
                 if (route != null) {
-                    // Origin airport
-                    if (route.getOriginAirportId() != null) {
-                        AirportCache originAirport = referenceDataService.getAirport(route.getOriginAirportId());
-                        Map<String, Object> originInfo = new HashMap<>();
-                        originInfo.put("id", originAirport.getId());
-                        originInfo.put("iataCode", originAirport.getIataCode());
-                        originInfo.put("name", originAirport.getName());
-                        payload.put("originAirport", originInfo);
-                    }
+                    payload.setRoute(toRouteInfo(route));
+                    fillAirportsFromRoute(payload, route);
 
-                    // Destination airport
-                    if (route.getDestinationAirportId() != null) {
-                        AirportCache destinationAirport = referenceDataService.getAirport(route.getDestinationAirportId());
-                        Map<String, Object> destInfo = new HashMap<>();
-                        destInfo.put("id", destinationAirport.getId());
-                        destInfo.put("iataCode", destinationAirport.getIataCode());
-                        destInfo.put("name", destinationAirport.getName());
-                        payload.put("destinationAirport", destInfo);
+                    // Route üzerinde airport bilgisi eksikse airport lookup'ına düş
+                    if (payload.getOriginAirport() == null && route.getOriginAirportId() != null) {
+                        payload.setOriginAirport(toAirportInfo(referenceLookupContext.getAirport(route.getOriginAirportId())));
+                    }
+                    if (payload.getDestinationAirport() == null && route.getDestinationAirportId() != null) {
+                        payload.setDestinationAirport(toAirportInfo(referenceLookupContext.getAirport(route.getDestinationAirportId())));
                     }
-
-                    // Route bilgilerini de ekle
-                    Map<String, Object> routeInfo = new HashMap<>();
-                    routeInfo.put("id", route.getId());
-                    routeInfo.put("routeCode", route.getRouteCode());
-                    routeInfo.put("routePath", route.getRoutePath());
-                    routeInfo.put("distance", route.getDistance());
-                    routeInfo.put("estimatedTime", route.getEstimatedFlightTime());
-                    payload.put("route", routeInfo);
                 }
             }
         } catch (Exception e) {
@@ -130,4 +238,56 @@ public class KafkaProducerService {
 
         return payload;
     }
-}
\ No newline at end of file
+
+    private FlightEventPayload basePayload(Flight flight) {
+        return FlightEventPayload.builder()
+                .id(flight.getId())
+                .flightNumber(flight.getFlightNumber())
+                .flightDate(flight.getFlightDate())
+                .scheduledDeparture(flight.getScheduledDeparture())
+                .scheduledArrival(flight.getScheduledArrival())
+                .actualDeparture(flight.getActualDeparture())
+                .actualArrival(flight.getActualArrival())
+                .status(flight.getStatus())
+                .type(flight.getType())
+                .passengerCount(flight.getPassengerCount())
+                .cargoWeight(flight.getCargoWeight())
+                .gateNumber(flight.getGateNumber())
+                .delayMinutes(flight.getDelayMinutes())
+                .delayReason(flight.getDelayReason())
+                .active(flight.getActive())
+                .parentFlightId(flight.getParentFlightId())
+                .segmentNumber(flight.getSegmentNumber())
+                .build();
+    }
+
+    private void fillAirportsFromRoute(FlightEventPayload payload, RouteCache route) {
+        if (payload.getOriginAirport() == null && route.getOriginAirportId() != null
+                && route.getOriginAirportCode() != null) {
+            payload.setOriginAirport(new FlightEventPayload.AirportInfo(
+                    route.getOriginAirportId(), route.getOriginAirportCode(), route.getOriginAirportName()));
+        }
+        if (payload.getDestinationAirport() == null && route.getDestinationAirportId() != null
+                && route.getDestinationAirportCode() != null) {
+            payload.setDestinationAirport(new FlightEventPayload.AirportInfo(
+                    route.getDestinationAirportId(), route.getDestinationAirportCode(), route.getDestinationAirportName()));
+        }
+    }
+
+    private FlightEventPayload.AirlineInfo toAirlineInfo(AirlineCache airline) {
+        return new FlightEventPayload.AirlineInfo(airline.getId(), airline.getIataCode(), airline.getName());
+    }
+
+    private FlightEventPayload.AircraftInfo toAircraftInfo(AircraftCache aircraft) {
+        return new FlightEventPayload.AircraftInfo(aircraft.getId(), aircraft.getRegistrationNumber(), aircraft.getAircraftType());
+    }
+
+    private FlightEventPayload.AirportInfo toAirportInfo(AirportCache airport) {
+        return new FlightEventPayload.AirportInfo(airport.getId(), airport.getIataCode(), airport.getName());
+    }
+
+    private FlightEventPayload.RouteInfo toRouteInfo(RouteCache route) {
+        return new FlightEventPayload.RouteInfo(route.getId(), route.getRouteCode(), route.getRoutePath(),
+                route.getDistance(), route.getEstimatedFlightTime());
+    }
+}
@@ -1,12 +1,17 @@
 package com.flightmanagement.flightservice.service;
 
+import com.flightmanagement.flightservice.dto.cache.RouteCache;
+import com.flightmanagement.flightservice.metrics.FlightGauges;
+import com.flightmanagement.flightservice.repository.FlightRepository;
 import io.micrometer.core.instrument.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
-import java.util.concurrent.atomic.AtomicLong;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -14,7 +19,9 @@ import java.util.concurrent.atomic.AtomicLong;
 public class MetricsService {
 
     private final MeterRegistry meterRegistry;
-    private final FlightService flightService;
+    private final FlightRepository flightRepository;
+    private final FlightGauges flightGauges;
+    private final ReferenceDataService referenceDataService;
 
     // Counters
     private Counter flightCreatedCounter;
@@ -25,22 +32,13 @@ public class MetricsService {
     private Counter connectingFlightCreatedCounter;
     private Counter archiveOperationCounter;
     private Counter archiveOperationErrorCounter;
-    private Counter cacheHitCounter;
-    private Counter cacheMissCounter;
     private Counter referenceServiceCallCounter;
     private Counter referenceServiceErrorCounter;
 
     // Timers
-    private Timer flightCreationTimer;
-    private Timer flightQueryTimer;
     private Timer csvProcessingTimer;
-    private Timer referenceDataFetchTimer;
     private Timer archiveOperationTimer;
-
-    // Gauges (for real-time values)
-    private final AtomicLong activeFlightsGauge = new AtomicLong(0);
-    private final AtomicLong delayedFlightsGauge = new AtomicLong(0);
-    private final AtomicLong todayFlightsGauge = new AtomicLong(0);
+    private Counter gaugeDriftCounter;
 
     @PostConstruct
     public void initializeMetrics() {
@@ -87,16 +85,6 @@ public class MetricsService {
                 .tag("service", "flight-service")
                 .register(meterRegistry);
 
-        cacheHitCounter = Counter.builder("cache_hits_total")
-                .description("Total number of cache hits")
-                .tag("service", "flight-service")
-                .register(meterRegistry);
-
-        cacheMissCounter = Counter.builder("cache_misses_total")
-                .description("Total number of cache misses")
-                .tag("service", "flight-service")
-                .register(meterRegistry);
-
         referenceServiceCallCounter = Counter.builder("reference_service_calls_total")
                 .description("Total number of reference service calls")
                 .tag("service", "flight-service")
@@ -108,32 +96,24 @@ public class MetricsService {
                 .register(meterRegistry);
 
         // Initialize Timers
-        flightCreationTimer = Timer.builder("flights_creation_duration")
-                .description("Time taken to create a flight")
-                .tag("service", "flight-service")
-                .register(meterRegistry);
-
-        flightQueryTimer = Timer.builder("flights_query_duration")
-                .description("Time taken to query flights")
-                .tag("service", "flight-service")
-                .register(meterRegistry);
-
+        // flights_creation/query ve reference_data_fetch timer'ları HotPathMetricsAspect'te,
+        // cache_hits/misses_total sayaçları CacheMetrics'te kaydedilir
         csvProcessingTimer = Timer.builder("csv_processing_duration")
                 .description("Time taken to process CSV files")
                 .tag("service", "flight-service")
                 .register(meterRegistry);
 
-        referenceDataFetchTimer = Timer.builder("reference_data_fetch_duration")
-                .description("Time taken to fetch reference data")
+        archiveOperationTimer = Timer.builder("archive_operation_duration")
+                .description("Time taken for archive operations")
                 .tag("service", "flight-service")
                 .register(meterRegistry);
 
-        archiveOperationTimer = Timer.builder("archive_operation_duration")
-                .description("Time taken for archive operations")
+        gaugeDriftCounter = Counter.builder("flights_gauge_reconcile_drift_total")
+                .description("Absolute active-flight difference corrected by gauge reconciliation")
                 .tag("service", "flight-service")
                 .register(meterRegistry);
 
-        // Initialize Gauges - DÜZELTME: Doğru sözdizimi
+        // Initialize Gauges - flight mutasyonlarından artımlı güncellenen FlightGauges'tan okunur
         Gauge.builder("flights_active_current", this, MetricsService::getCurrentActiveFlights)
                 .description("Current number of active flights")
                 .tag("service", "flight-service")
@@ -191,14 +171,6 @@ public class MetricsService {
         archiveOperationErrorCounter.increment();
     }
 
-    public void incrementCacheHit() {
-        cacheHitCounter.increment();
-    }
-
-    public void incrementCacheMiss() {
-        cacheMissCounter.increment();
-    }
-
     public void incrementReferenceServiceCall() {
         referenceServiceCallCounter.increment();
     }
@@ -208,22 +180,6 @@ public class MetricsService {
     }
 
     // Timer methods
-    public Timer.Sample startFlightCreationTimer() {
-        return Timer.start(meterRegistry);
-    }
-
-    public void stopFlightCreationTimer(Timer.Sample sample) {
-        sample.stop(flightCreationTimer);
-    }
-
-    public Timer.Sample startFlightQueryTimer() {
-        return Timer.start(meterRegistry);
-    }
-
-    public void stopFlightQueryTimer(Timer.Sample sample) {
-        sample.stop(flightQueryTimer);
-    }
-
     public Timer.Sample startCsvProcessingTimer() {
         return Timer.start(meterRegistry);
     }
@@ -232,14 +188,6 @@ public class MetricsService {
         sample.stop(csvProcessingTimer);
     }
 
-    public Timer.Sample startReferenceDataFetchTimer() {
-        return Timer.start(meterRegistry);
-    }
-
-    public void stopReferenceDataFetchTimer(Timer.Sample sample) {
-        sample.stop(referenceDataFetchTimer);
-    }
-
     public Timer.Sample startArchiveOperationTimer() {
         return Timer.start(meterRegistry);
     }
@@ -250,31 +198,15 @@ public class MetricsService {
 
     // Gauge value methods
     public double getCurrentActiveFlights() {
-        try {
-            // Count flights that are not arrived/cancelled
-            return activeFlightsGauge.get();
-        } catch (Exception e) {
-            log.warn("Failed to get active flights count: {}", e.getMessage());
-            return 0;
-        }
+        return flightGauges.getActiveFlights();
     }
 
     public double getCurrentDelayedFlights() {
-        try {
-            return delayedFlightsGauge.get();
-        } catch (Exception e) {
-            log.warn("Failed to get delayed flights count: {}", e.getMessage());
-            return 0;
-        }
+        return flightGauges.getDelayedFlights();
     }
 
     public double getTodayFlightsCount() {
-        try {
-            return todayFlightsGauge.get();
-        } catch (Exception e) {
-            log.warn("Failed to get today's flights count: {}", e.getMessage());
-            return 0;
-        }
+        return flightGauges.getTodayFlights();
     }
 
     public double getMemoryUsagePercent() {
@@ -287,68 +219,46 @@ public class MetricsService {
         return (double) usedMemory / maxMemory * 100;
     }
 
-    // Methods to update gauge values
-    public void updateActiveFlightsGauge(long count) {
-        activeFlightsGauge.set(count);
-    }
-
-    public void updateDelayedFlightsGauge(long count) {
-        delayedFlightsGauge.set(count);
-    }
-
-    public void updateTodayFlightsGauge(long count) {
-        todayFlightsGauge.set(count);
-    }
-
-    // Periodic gauge update method (should be called by scheduler)
-    public void updateAllGauges() {
+    /**
+     * Gauge'ları veritabanıyla karşılaştırıp düzeltir (düşük frekanslı, scheduler çağırır).
+     * Gauge'lar normalde flight mutasyonlarından güncellenir; bu sadece kaçan delta'ları
+     * (ör. commit sonrası crash, DB'ye doğrudan yazım) ve gün dönümünü düzeltir.
+     */
+    public void reconcileGauges() {
         try {
-            // Update active flights
-            long activeFlights = getCurrentActiveFlightsFromDB();
-            updateActiveFlightsGauge(activeFlights);
+            LocalDate today = LocalDate.now();
+            long drift = flightGauges.reconcile(today, () -> flightRepository.countGaugeSegmentsByDate(today));
+            if (drift != 0) {
+                gaugeDriftCounter.increment(Math.abs(drift));
+                log.info("Flight gauges reconciled with drift of {} active flights", drift);
+            }
 
-            // Update delayed flights
-            long delayedFlights = getCurrentDelayedFlightsFromDB();
-            updateDelayedFlightsGauge(delayedFlights);
+            mapRouteOrigins();
 
-            // Update today's flights
-            long todayFlights = getTodayFlightsFromDB();
-            updateTodayFlightsGauge(todayFlights);
-
-            log.debug("Updated gauge metrics - Active: {}, Delayed: {}, Today: {}",
-                    activeFlights, delayedFlights, todayFlights);
+            log.debug("Reconciled gauge metrics - Active: {}, Delayed: {}, Today: {}",
+                    flightGauges.getActiveFlights(), flightGauges.getDelayedFlights(), flightGauges.getTodayFlights());
         } catch (Exception e) {
-            log.error("Failed to update gauge metrics: {}", e.getMessage());
+            log.error("Failed to reconcile gauge metrics: {}", e.getMessage());
         }
     }
 
-    private long getCurrentActiveFlightsFromDB() {
-        try {
-            // Implementation to count active flights from DB
-            return 0; // Placeholder
-        } catch (Exception e) {
-            log.warn("Failed to count active flights from DB: {}", e.getMessage());
-            return 0;
+    private void mapRouteOrigins() {
+        Set<Long> unmapped = flightGauges.getTrackedRouteIds().stream()
+                .filter(routeId -> !flightGauges.isRouteMapped(routeId))
+                .collect(Collectors.toSet());
+        if (unmapped.isEmpty()) {
+            return;
         }
-    }
-
-    private long getCurrentDelayedFlightsFromDB() {
-        try {
-            // Implementation to count delayed flights from DB
-            return 0; // Placeholder
-        } catch (Exception e) {
-            log.warn("Failed to count delayed flights from DB: {}", e.getMessage());
-            return 0;
-        }
-    }
 
-    private long getTodayFlightsFromDB() {
         try {
-            java.time.LocalDate today = java.time.LocalDate.now();
-            return flightService.getFlightCountByDate(today);
+            RouteCache[] routes = referenceDataService.getRoutesByIds(unmapped.toArray(new Long[0]));
+            if (routes != null) {
+                for (RouteCache route : routes) {
+                    flightGauges.mapRouteOrigin(route.getId(), route.getOriginAirportId());
+                }
+            }
         } catch (Exception e) {
-            log.warn("Failed to count today's flights from DB: {}", e.getMessage());
-            return 0;
+            log.warn("Could not resolve route origins for airport gauges: {}", e.getMessage());
         }
     }
 
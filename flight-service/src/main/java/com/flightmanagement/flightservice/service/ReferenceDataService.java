@@ -4,24 +4,30 @@ import com.flightmanagement.flightservice.dto.cache.AircraftCache;
 import com.flightmanagement.flightservice.dto.cache.AirlineCache;
 import com.flightmanagement.flightservice.dto.cache.AirportCache;
 import com.flightmanagement.flightservice.dto.cache.RouteCache;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.annotation.Primary;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.Duration;
 
+// Fan-out tekil lookup'ları için deadline timeout'lu ikinci instance: RestTemplateConfig#fanOutReferenceDataService
 @Service
-@RequiredArgsConstructor
+@Primary
 @Slf4j
 public class ReferenceDataService {
 
     private final RestTemplate restTemplate;
     private final ServiceTokenManager serviceTokenManager;
 
+    public ReferenceDataService(RestTemplate restTemplate, ServiceTokenManager serviceTokenManager) {
+        this.restTemplate = restTemplate;
+        this.serviceTokenManager = serviceTokenManager;
+    }
+
     @Value("${reference-manager.base-url:http://localhost:8081}")
     private String referenceServiceUrl;
 
@@ -168,6 +174,20 @@ public class ReferenceDataService {
         }
     }
 
+    public AircraftCache[] getAircraftsByIds(Long[] aircraftIds) {
+        log.debug("Fetching multiple aircrafts: {}", aircraftIds.length);
+        try {
+            String url = referenceServiceUrl + "/api/v1/aircrafts/batch";
+            HttpHeaders headers = createAuthHeaders();
+            HttpEntity<Long[]> entity = new HttpEntity<>(aircraftIds, headers);
+
+            return restTemplate.exchange(url, HttpMethod.POST, entity, AircraftCache[].class).getBody();
+        } catch (Exception e) {
+            log.error("Error fetching multiple aircrafts: {}", e.getMessage());
+            throw new RuntimeException("Failed to fetch batch aircraft data", e);
+        }
+    }
+
     // Route specific methods
     public RouteCache[] getRoutesByAirline(Long airlineId) {
         log.debug("Fetching routes for airline: {}", airlineId);
@@ -0,0 +1,148 @@
+package com.flightmanagement.flightservice.service;
+
+import com.flightmanagement.flightservice.dto.cache.AircraftCache;
+import com.flightmanagement.flightservice.dto.cache.AirlineCache;
+import com.flightmanagement.flightservice.dto.cache.AirportCache;
+import com.flightmanagement.flightservice.dto.cache.RouteCache;
+import com.flightmanagement.flightservice.metrics.RemoteCallMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.*;
+import java.util.function.Function;
+
+/**
+ * Bir uçuşun airline/aircraft/route ve route'a bağlı airport lookup'larını paralel çalıştırır.
+ *
+ * Birbirinden bağımsız lookup'lar (airline, aircraft, route) aynı anda başlatılır; airport'lar
+ * route geldikten sonra yine paralel çözülür. Tüm lookup'lar ortak bir deadline'a tabidir;
+ * süresi dolan lookup'ın sonucu beklenmez ve null olur (çağıran kısmi response üretir).
+ * Future iptali RestTemplate'in bloklayan socket çağrısını kesmez; arka plandaki HTTP çağrısını
+ * deadline'a göre ayarlanmış connect/read timeout'ları sonlandırır; bu yüzden remote lookup'lar
+ * RestTemplateConfig#fanOutReferenceDataService üzerinden yapılır.
+ *
+ * Request scope'ta (ReferenceLookupContext) zaten çözülmüş değerler için task açılmaz;
+ * worker thread'lerde çözülen değerler çağıran thread'de scope'a geri yazılır.
+ */
+@Service
+@Slf4j
+public class ReferenceFanOutService {
+
+    private final ReferenceDataService referenceDataService;
+    private final ReferenceLookupContext referenceLookupContext;
+    private final RemoteCallMetrics remoteCallMetrics;
+    private final ExecutorService executor;
+    private final Counter timeoutCounter;
+
+    @Value("${reference-fanout.enabled:true}")
+    private boolean enabled;
+
+    @Value("${reference-fanout.deadline-ms:3000}")
+    private long deadlineMs;
+
+    public ReferenceFanOutService(@Qualifier("fanOutReferenceDataService") ReferenceDataService referenceDataService,
+                                  ReferenceLookupContext referenceLookupContext,
+                                  RemoteCallMetrics remoteCallMetrics,
+                                  @Qualifier("referenceFanOutExecutor") ExecutorService executor,
+                                  MeterRegistry meterRegistry) {
+        this.referenceDataService = referenceDataService;
+        this.referenceLookupContext = referenceLookupContext;
+        this.remoteCallMetrics = remoteCallMetrics;
+        this.executor = executor;
+        this.timeoutCounter = Counter.builder("reference_fanout_timeouts_total")
+                .description("Reference lookups abandoned because the shared deadline expired")
+                .tag("service", "flight-service")
+                .register(meterRegistry);
+    }
+
+    public ReferenceSnapshot resolve(Long airlineId, Long aircraftId, Long routeId) {
+        ReferenceSnapshot snapshot = new ReferenceSnapshot();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMs);
+
+        Lookup<AirlineCache> airline = start("airline", airlineId,
+                referenceDataService::getAirline, referenceLookupContext::getAirline);
+        Lookup<AircraftCache> aircraft = start("aircraft", aircraftId,
+                referenceDataService::getAircraft, referenceLookupContext::getAircraft);
+        Lookup<RouteCache> route = start("route", routeId,
+                referenceDataService::getRoute, referenceLookupContext::getRoute);
+
+        snapshot.route = route.await(deadline);
+        if (snapshot.route != null) {
+            Lookup<AirportCache> origin = start("airport", snapshot.route.getOriginAirportId(),
+                    referenceDataService::getAirport, referenceLookupContext::getAirport);
+            Lookup<AirportCache> destination = start("airport", snapshot.route.getDestinationAirportId(),
+                    referenceDataService::getAirport, referenceLookupContext::getAirport);
+            snapshot.originAirport = origin.await(deadline);
+            snapshot.destinationAirport = destination.await(deadline);
+        }
+        snapshot.airline = airline.await(deadline);
+        snapshot.aircraft = aircraft.await(deadline);
+
+        return snapshot;
+    }
+
+    private <T> Lookup<T> start(String type, Long id, Function<Long, T> remote, Function<Long, T> memoized) {
+        if (id == null) {
+            return new Lookup<>(type, null, CompletableFuture.completedFuture(null), false);
+        }
+
+        // Fan-out kapalıysa veya değer scope'ta varsa çağıran thread'de (memoized) çözülür
+        if (!enabled || referenceLookupContext.isMemoized(type, id)) {
+            try {
+                return new Lookup<>(type, id, CompletableFuture.completedFuture(memoized.apply(id)), false);
+            } catch (Exception e) {
+                return new Lookup<>(type, id, CompletableFuture.failedFuture(e), false);
+            }
+        }
+
+        return new Lookup<>(type, id, CompletableFuture.supplyAsync(remoteCallMetrics.propagate(() -> remote.apply(id)), executor), true);
+    }
+
+    private final class Lookup<T> {
+        private final String type;
+        private final Long id;
+        private final CompletableFuture<T> future;
+        private final boolean remote;
+
+        private Lookup(String type, Long id, CompletableFuture<T> future, boolean remote) {
+            this.type = type;
+            this.id = id;
+            this.future = future;
+            this.remote = remote;
+        }
+
+        private T await(long deadline) {
+            try {
+                T value = future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (remote) {
+                    referenceLookupContext.prime(type, id, value);
+                }
+                return value;
+            } catch (TimeoutException e) {
+                // Sadece bekleme bırakılır; worker'daki HTTP çağrısı read timeout'a kadar sürebilir
+                future.cancel(true);
+                timeoutCounter.increment();
+                log.warn("Reference lookup {}:{} exceeded fan-out deadline of {} ms", type, id, deadlineMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                log.warn("Reference lookup {}:{} failed: {}", type, id, e.getCause().getMessage());
+            }
+            return null;
+        }
+    }
+
+    @Getter
+    public static class ReferenceSnapshot {
+        private AirlineCache airline;
+        private AircraftCache aircraft;
+        private RouteCache route;
+        private AirportCache originAirport;
+        private AirportCache destinationAirport;
+    }
+}
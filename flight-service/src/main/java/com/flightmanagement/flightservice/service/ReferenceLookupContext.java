@@ -0,0 +1,302 @@
+package com.flightmanagement.flightservice.service;
+
+import com.flightmanagement.flightservice.dto.cache.AircraftCache;
+import com.flightmanagement.flightservice.dto.cache.AirlineCache;
+import com.flightmanagement.flightservice.dto.cache.AirportCache;
+import com.flightmanagement.flightservice.dto.cache.RouteCache;
+import com.flightmanagement.flightservice.metrics.CacheMetrics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Request bazlı referans veri memoization'ı.
+ *
+ * Bir scope açıkken (HTTP request, CSV import vb.) airline/aircraft/route/airport
+ * çözümlemeleri thread'e bağlı bir haritada tutulur; aynı ID için ikinci çağrı
+ * ReferenceDataService'e (ve dolayısıyla Redis/HTTP'ye) hiç gitmez.
+ * Scope açık değilse çağrılar doğrudan ReferenceDataService'e iletilir.
+ *
+ * Batch prefetch önce ReferenceDataService'in @Cacheable cache'lerine bakar; sadece
+ * cache'te olmayan ID'ler batch endpoint'ine gider ve dönen değerler aynı cache'lere yazılır.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReferenceLookupContext {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+    private static final Object NULL_VALUE = new Object();
+
+    // ReferenceDataService tekil getter'larının @Cacheable isimleri
+    private static final String AIRLINE_CACHE = "airlines";
+    private static final String AIRCRAFT_CACHE = "aircraft";
+    private static final String ROUTE_CACHE = "routes";
+    private static final String AIRPORT_CACHE = "airports";
+
+    private final ReferenceDataService referenceDataService;
+    private final MeterRegistry meterRegistry;
+    private final CacheMetrics cacheMetrics;
+    private final ObjectProvider<CacheManager> cacheManagerProvider;
+
+    // ===============================
+    // SCOPE YÖNETİMİ
+    // ===============================
+
+    /**
+     * Yeni bir lookup scope açar. Zaten açık bir scope varsa onu yeniden kullanır
+     * (iç içe çağrılar dış scope'un cache'ini paylaşır).
+     *
+     * @return scope'u açan çağıran ise true; close sadece bu durumda çağrılmalı
+     */
+    public boolean openScope(String name) {
+        if (CURRENT.get() != null) {
+            return false;
+        }
+        CURRENT.set(new Scope(name));
+        return true;
+    }
+
+    public void closeScope() {
+        Scope scope = CURRENT.get();
+        CURRENT.remove();
+        if (scope == null) {
+            return;
+        }
+
+        if (scope.hits + scope.misses > 0) {
+            DistributionSummary.builder("reference_lookups_per_request")
+                    .description("Reference data lookups resolved per request scope")
+                    .tag("service", "flight-service")
+                    .tag("result", "remote")
+                    .register(meterRegistry)
+                    .record(scope.misses);
+            DistributionSummary.builder("reference_lookups_per_request")
+                    .description("Reference data lookups resolved per request scope")
+                    .tag("service", "flight-service")
+                    .tag("result", "memoized")
+                    .register(meterRegistry)
+                    .record(scope.hits);
+
+            log.debug("Reference lookups for {}: {} resolved, {} memoized", scope.name, scope.misses, scope.hits);
+        }
+    }
+
+    public boolean isScopeActive() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Aktif scope'taki lookup sayıları (remote = ReferenceDataService'e giden, memoized = haritadan dönen)
+     */
+    public Map<String, Integer> getCurrentLookupCounts() {
+        Scope scope = CURRENT.get();
+        Map<String, Integer> counts = new HashMap<>();
+        counts.put("remote", scope != null ? scope.misses : 0);
+        counts.put("memoized", scope != null ? scope.hits : 0);
+        return counts;
+    }
+
+    // ===============================
+    // LOOKUP METHODS
+    // ===============================
+
+    public AirlineCache getAirline(Long airlineId) {
+        return lookup("airline", airlineId, referenceDataService::getAirline);
+    }
+
+    public AircraftCache getAircraft(Long aircraftId) {
+        return lookup("aircraft", aircraftId, referenceDataService::getAircraft);
+    }
+
+    public RouteCache getRoute(Long routeId) {
+        return lookup("route", routeId, referenceDataService::getRoute);
+    }
+
+    public AirportCache getAirport(Long airportId) {
+        return lookup("airport", airportId, referenceDataService::getAirport);
+    }
+
+    public AirportCache getAirportByIataCode(String iataCode) {
+        return lookup("airportIata", iataCode, referenceDataService::getAirportByIataCode);
+    }
+
+    public RouteCache[] getActiveRoutes() {
+        return lookup("activeRoutes", "all", key -> referenceDataService.getActiveRoutes());
+    }
+
+    /**
+     * Değer aktif scope'ta zaten çözülmüş mü (remote çağrı gerektirmeden okunabilir mi)
+     */
+    public boolean isMemoized(String type, Object id) {
+        Scope scope = CURRENT.get();
+        return scope != null && id != null && scope.values.containsKey(type + ":" + id);
+    }
+
+    /**
+     * Başka bir kaynaktan (ör. batch fetch) çözülmüş değeri scope'a ekler.
+     */
+    public void prime(String type, Object id, Object value) {
+        Scope scope = CURRENT.get();
+        if (scope != null && id != null) {
+            scope.values.put(type + ":" + id, value != null ? value : NULL_VALUE);
+        }
+    }
+
+    // ===============================
+    // BATCH PREFETCH
+    // ===============================
+
+    /**
+     * Scope'ta henüz olmayan airline'ları önce reference cache'ten, kalanları tek batch
+     * çağrısıyla çözer ve scope'a ekler. Sonraki getAirline çağrıları memoized döner.
+     */
+    public void prefetchAirlines(Collection<Long> airlineIds) {
+        prefetch("airline", AIRLINE_CACHE, airlineIds, referenceDataService::getAirlinesByIds, AirlineCache::getId);
+    }
+
+    public void prefetchAircraft(Collection<Long> aircraftIds) {
+        prefetch("aircraft", AIRCRAFT_CACHE, aircraftIds, referenceDataService::getAircraftsByIds, AircraftCache::getId);
+    }
+
+    public void prefetchRoutes(Collection<Long> routeIds) {
+        prefetch("route", ROUTE_CACHE, routeIds, referenceDataService::getRoutesByIds, RouteCache::getId);
+    }
+
+    public void prefetchAirports(Collection<Long> airportIds) {
+        prefetch("airport", AIRPORT_CACHE, airportIds, referenceDataService::getAirportsByIds, AirportCache::getId);
+    }
+
+    private <T> void prefetch(String type, String cacheName, Collection<Long> ids,
+                              Function<Long[], T[]> batchLoader, Function<T, Long> idOf) {
+        Scope scope = CURRENT.get();
+        if (scope == null || ids == null || ids.isEmpty()) {
+            return;
+        }
+
+        Cache cache = referenceCache(cacheName);
+        Set<Long> missing = new LinkedHashSet<>();
+        for (Long id : ids) {
+            if (id == null || scope.values.containsKey(type + ":" + id)) {
+                continue;
+            }
+
+            Cache.ValueWrapper cached = readCache(cache, id);
+            cacheMetrics.record("reference-cache", cached != null);
+            if (cached != null) {
+                // Tekil getter'ın cache'lediği null da "yok" olarak kabul edilir
+                scope.hits++;
+                scope.values.put(type + ":" + id, cached.get() != null ? cached.get() : NULL_VALUE);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        T[] values;
+        try {
+            values = batchLoader.apply(missing.toArray(new Long[0]));
+        } catch (Exception e) {
+            // Batch başarısızsa tekil lookup'lar (eski davranış) devreye girer
+            log.warn("Batch {} prefetch failed for {} ids, falling back to single lookups: {}",
+                    type, missing.size(), e.getMessage());
+            return;
+        }
+
+        // Tek batch = tek remote çağrı
+        scope.misses++;
+
+        if (values == null) {
+            return;
+        }
+
+        for (T value : values) {
+            Long id = value != null ? idOf.apply(value) : null;
+            if (id != null) {
+                scope.values.put(type + ":" + id, value);
+                writeCache(cache, id, value);
+            }
+        }
+
+        // Batch'in dönmediği ID'ler yok kabul edilir; tekil lookup'a tekrar düşmemeleri için NULL_VALUE
+        for (Long id : missing) {
+            scope.values.putIfAbsent(type + ":" + id, NULL_VALUE);
+        }
+    }
+
+    private Cache referenceCache(String cacheName) {
+        CacheManager cacheManager = cacheManagerProvider.getIfAvailable();
+        return cacheManager != null ? cacheManager.getCache(cacheName) : null;
+    }
+
+    // Cache hatası prefetch'i bozmaz; ID batch'e düşer
+    private Cache.ValueWrapper readCache(Cache cache, Long id) {
+        if (cache == null) {
+            return null;
+        }
+        try {
+            return cache.get(id);
+        } catch (Exception e) {
+            log.debug("Reference cache {} read failed for {}: {}", cache.getName(), id, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeCache(Cache cache, Long id, Object value) {
+        if (cache == null) {
+            return;
+        }
+        try {
+            cache.put(id, value);
+        } catch (Exception e) {
+            log.debug("Reference cache {} write failed for {}: {}", cache.getName(), id, e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <K, T> T lookup(String type, K id, Function<K, T> loader) {
+        Scope scope = CURRENT.get();
+        if (scope == null || id == null) {
+            return loader.apply(id);
+        }
+
+        String key = type + ":" + id;
+        Object cached = scope.values.get(key);
+        cacheMetrics.record("reference-lookup", cached != null);
+        if (cached != null) {
+            scope.hits++;
+            return cached == NULL_VALUE ? null : (T) cached;
+        }
+
+        // Exception'lar memoize edilmez, çağırana aynen iletilir
+        T value = loader.apply(id);
+        scope.misses++;
+        scope.values.put(key, value != null ? value : NULL_VALUE);
+        return value;
+    }
+
+    private static final class Scope {
+        private final String name;
+        private final Map<String, Object> values = new HashMap<>();
+        private int hits;
+        private int misses;
+
+        private Scope(String name) {
+            this.name = name;
+        }
+    }
+}
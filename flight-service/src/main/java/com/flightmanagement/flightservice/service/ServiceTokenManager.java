@@ -1,71 +1,254 @@
 package com.flightmanagement.flightservice.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
-import java.time.LocalDateTime;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * reference-manager / archive-service çağrıları için servis token'ı.
+ *
+ * Token immutable bir TokenState olarak AtomicReference'ta tutulur; okuma yolu kilitsizdir.
+ * Yenileme single-flight'tır: aynı anda en fazla bir login isteği yapılır, diğer çağıranlar
+ * aynı future'ı bekler. Token geçerliyken hiçbir request yenilemeyi beklemez; süre dolmaya
+ * yaklaşınca yenileme arka planda başlatılır (hem request yolundan hem zamanlanmış kontrolden).
+ * Güvenlik payına girilmiş ama süresi dolmamış token, yenileme başarısız olursa kullanılmaya devam eder.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ServiceTokenManager {
 
+    private static final long DEFAULT_TOKEN_LIFETIME_SECONDS = 3600;
+
     private final RestTemplate restTemplate;
+    private final MeterRegistry meterRegistry;
 
     @Value("${reference-manager.base-url}")
     private String referenceManagerBaseUrl;
 
-    private String cachedToken;
-    private LocalDateTime tokenExpiry;
+    @Value("${service-token.expiry-margin-seconds:300}")
+    private long expiryMarginSeconds;
+
+    @Value("${service-token.refresh-ahead-seconds:600}")
+    private long refreshAheadSeconds;
+
+    @Value("${service-token.wait-timeout-ms:5000}")
+    private long waitTimeoutMs;
+
+    @Value("${service-token.failure-backoff-seconds:15}")
+    private long failureBackoffSeconds;
+
+    private final AtomicReference<TokenState> tokenState = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<TokenState>> inFlightRefresh = new AtomicReference<>();
+    private final AtomicLong renewalBlockedUntilMillis = new AtomicLong();
+
+    private ExecutorService refreshExecutor;
+    private Timer refreshSuccessTimer;
+    private Timer refreshFailureTimer;
+    private Counter refreshFailureCounter;
+
+    @PostConstruct
+    public void init() {
+        refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "service-token-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        refreshSuccessTimer = refreshTimer("success");
+        refreshFailureTimer = refreshTimer("failure");
+        refreshFailureCounter = Counter.builder("service_token_refresh_failures_total")
+                .description("Failed service token refresh attempts")
+                .tag("service", "flight-service")
+                .register(meterRegistry);
+        Gauge.builder("service_token_seconds_to_expiry", tokenState, ref -> {
+                    TokenState state = ref.get();
+                    return state == null ? 0 : Math.max(0, Duration.between(Instant.now(), state.expiresAt).getSeconds());
+                })
+                .description("Seconds until the current service token expires")
+                .tag("service", "flight-service")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
 
     public String getServiceToken() {
-        // Token var ve geçerli mi kontrol et
-        if (cachedToken != null && tokenExpiry != null &&
-                LocalDateTime.now().isBefore(tokenExpiry.minusMinutes(5))) {
-            return cachedToken;
+        Instant now = Instant.now();
+        TokenState state = tokenState.get();
+
+        // Token geçerli: hemen dön, yenileme zamanı geldiyse arka planda başlat
+        if (state != null && state.isUsable(now)) {
+            if (state.shouldRenew(now) && renewalAllowed()) {
+                refreshAsync();
+            }
+            return state.token;
         }
 
-        // Yeni token al
-        return refreshToken();
-    }
+        // Güvenlik payı içindeki token: son yenileme başarısızsa backoff boyunca beklemeden kullanılır
+        boolean unexpired = state != null && state.isUnexpired(now);
+        if (unexpired && !renewalAllowed()) {
+            return state.token;
+        }
 
-    private String refreshToken() {
+        // Geçerli token yok: devam eden (veya yeni başlatılan) tek yenilemeyi bekle
         try {
-            String loginUrl = referenceManagerBaseUrl + "/api/v1/auth/login";
+            return refreshAsync().get(waitTimeoutMs, TimeUnit.MILLISECONDS).token;
+        } catch (TimeoutException e) {
+            log.warn("Timed out after {} ms waiting for service token refresh", waitTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.error("Failed to obtain service token: {}", e.getCause().getMessage());
+        }
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
+        // Yenileme başarısız veya zaman aşımı: süresi dolmamış eski token null'dan iyidir
+        if (unexpired && state.isUnexpired(Instant.now())) {
+            log.warn("Using current service token until it expires at {}", state.expiresAt);
+            return state.token;
+        }
+        return null;
+    }
 
-            Map<String, String> loginData = new HashMap<>();
-            loginData.put("username", "admin");
-            loginData.put("password", "admin123");
+    /**
+     * Proaktif yenileme: request trafiği olmasa bile token süresi dolmadan yenilenir.
+     */
+    @Scheduled(fixedDelayString = "${service-token.renewal-check-ms:30000}")
+    public void renewIfNeeded() {
+        TokenState state = tokenState.get();
+        if (state != null && state.shouldRenew(Instant.now()) && renewalAllowed()) {
+            refreshAsync();
+        }
+    }
 
-            HttpEntity<Map<String, String>> request = new HttpEntity<>(loginData, headers);
+    private boolean renewalAllowed() {
+        return System.currentTimeMillis() >= renewalBlockedUntilMillis.get();
+    }
 
-            ResponseEntity<LoginResponse> response = restTemplate.exchange(
-                    loginUrl, HttpMethod.POST, request, LoginResponse.class);
+    private CompletableFuture<TokenState> refreshAsync() {
+        while (true) {
+            CompletableFuture<TokenState> existing = inFlightRefresh.get();
+            if (existing != null) {
+                return existing;
+            }
 
-            if (response.getBody() != null && response.getBody().getToken() != null) {
-                cachedToken = response.getBody().getToken(); // getAccessToken() -> getToken()
-                tokenExpiry = LocalDateTime.now().plusSeconds(response.getBody().getExpiresIn());
-                log.info("Service token refreshed successfully");
-                return cachedToken;
+            CompletableFuture<TokenState> refresh = new CompletableFuture<>();
+            if (!inFlightRefresh.compareAndSet(null, refresh)) {
+                continue;
             }
 
-            log.error("Login response body or token is null");
-            return null;
+            try {
+                refreshExecutor.execute(() -> runRefresh(refresh));
+            } catch (RejectedExecutionException e) {
+                inFlightRefresh.compareAndSet(refresh, null);
+                refresh.completeExceptionally(e);
+            }
+            return refresh;
+        }
+    }
 
+    private void runRefresh(CompletableFuture<TokenState> refresh) {
+        long start = System.nanoTime();
+        try {
+            TokenState fresh = login();
+            // Önce yeni token yayınlanır, sonra in-flight temizlenir: sonradan gelenler yeni token'ı görür
+            tokenState.set(fresh);
+            inFlightRefresh.compareAndSet(refresh, null);
+            refreshSuccessTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            log.info("Service token refreshed successfully, expires at {}", fresh.expiresAt);
+            refresh.complete(fresh);
         } catch (Exception e) {
+            // Eski token hâlâ geçerliyse kullanılmaya devam eder; proaktif yenileme backoff sonrası tekrar denenir
+            renewalBlockedUntilMillis.set(System.currentTimeMillis() + failureBackoffSeconds * 1000);
+            inFlightRefresh.compareAndSet(refresh, null);
+            refreshFailureTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            refreshFailureCounter.increment();
             log.error("Failed to refresh service token: {}", e.getMessage(), e);
-            cachedToken = null;
-            tokenExpiry = null;
-            return null;
+            refresh.completeExceptionally(e);
+        }
+    }
+
+    private TokenState login() {
+        String loginUrl = referenceManagerBaseUrl + "/api/v1/auth/login";
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        Map<String, String> loginData = new HashMap<>();
+        loginData.put("username", "admin");
+        loginData.put("password", "admin123");
+
+        HttpEntity<Map<String, String>> request = new HttpEntity<>(loginData, headers);
+
+        ResponseEntity<LoginResponse> response = restTemplate.exchange(
+                loginUrl, HttpMethod.POST, request, LoginResponse.class);
+
+        if (response.getBody() == null || response.getBody().getToken() == null) {
+            throw new IllegalStateException("Login response body or token is null");
+        }
+
+        long lifetimeSeconds = response.getBody().getExpiresIn() > 0
+                ? response.getBody().getExpiresIn() : DEFAULT_TOKEN_LIFETIME_SECONDS;
+        Instant issuedAt = Instant.now();
+        Instant expiresAt = issuedAt.plusSeconds(lifetimeSeconds);
+        // Kısa ömürlü token'larda ömrün en fazla yarısı kadar erken yenile
+        Instant renewAt = expiresAt.minusSeconds(Math.min(refreshAheadSeconds, lifetimeSeconds / 2));
+        Instant usableUntil = expiresAt.minusSeconds(Math.min(expiryMarginSeconds, lifetimeSeconds / 4));
+
+        return new TokenState(response.getBody().getToken(), expiresAt, renewAt, usableUntil);
+    }
+
+    private Timer refreshTimer(String outcome) {
+        return Timer.builder("service_token_refresh_duration")
+                .description("Service token login round-trip latency")
+                .tag("service", "flight-service")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static final class TokenState {
+        private final String token;
+        private final Instant expiresAt;
+        private final Instant renewAt;
+        private final Instant usableUntil;
+
+        private TokenState(String token, Instant expiresAt, Instant renewAt, Instant usableUntil) {
+            this.token = token;
+            this.expiresAt = expiresAt;
+            this.renewAt = renewAt;
+            this.usableUntil = usableUntil;
+        }
+
+        private boolean isUsable(Instant now) {
+            return now.isBefore(usableUntil);
+        }
+
+        private boolean isUnexpired(Instant now) {
+            return now.isBefore(expiresAt);
+        }
+
+        private boolean shouldRenew(Instant now) {
+            return !now.isBefore(renewAt);
         }
     }
 
@@ -83,4 +266,4 @@ public class ServiceTokenManager {
         public long getExpiresIn() { return expiresIn; }
         public void setExpiresIn(long expiresIn) { this.expiresIn = expiresIn; }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,27 @@
+package com.flightmanagement.flightservice.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Dış dünyaya giden yan etkileri (Kafka, WebSocket) transaction commit'ine bağlar.
+ * Rollback olan bir değişiklik için event yayınlanmaz; transaction yoksa aksiyon hemen çalışır.
+ */
+public final class TransactionCallbacks {
+
+    private TransactionCallbacks() {
+    }
+
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
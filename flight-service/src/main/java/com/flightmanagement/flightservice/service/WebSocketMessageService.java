@@ -3,7 +3,6 @@ package com.flightmanagement.flightservice.service;
 import com.flightmanagement.flightservice.dto.WebSocketMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -11,13 +10,16 @@ import org.springframework.stereotype.Service;
 @Slf4j
 public class WebSocketMessageService {
 
-    private final SimpMessagingTemplate messagingTemplate;
+    private final WebSocketOutboundDispatcher outboundDispatcher;
 
+    // Mesajlar dispatcher üzerinden gider: aynı uçuşun ardışık güncellemeleri birleştirilir,
+    // topic başına tek frame halinde asenkron gönderilir
     public void sendFlightUpdate(String type, Object data, Long entityId, String flightNumber) {
         WebSocketMessage message = WebSocketMessage.create(type, data, entityId, flightNumber);
-        sendMessage("/topic/flights", message);
-        sendMessage("/topic/flights/" + flightNumber, message);
-        sendMessage("/topic/updates", message);
+        String key = flightKey(entityId, flightNumber);
+        sendMessage("/topic/flights", key, message);
+        sendMessage("/topic/flights/" + flightNumber, key, message);
+        sendMessage("/topic/updates", key, message);
         log.debug("Sent flight {} message for flight: {}", type, flightNumber);
     }
 
@@ -25,10 +27,11 @@ public class WebSocketMessageService {
         WebSocketMessage message = WebSocketMessage.create("STATUS_CHANGE", data, entityId, flightNumber);
         message.setStatus(newStatus);
 
-        sendMessage("/topic/flights", message);
-        sendMessage("/topic/flights/" + flightNumber, message);
-        sendMessage("/topic/flights/status/" + newStatus, message);
-        sendMessage("/topic/updates", message);
+        String key = flightKey(entityId, flightNumber);
+        sendMessage("/topic/flights", key, message);
+        sendMessage("/topic/flights/" + flightNumber, key, message);
+        sendMessage("/topic/flights/status/" + newStatus, key, message);
+        sendMessage("/topic/updates", key, message);
 
         log.info("Flight {} status changed from {} to {}", flightNumber, oldStatus, newStatus);
     }
@@ -41,14 +44,18 @@ public class WebSocketMessageService {
                 .timestamp(java.time.LocalDateTime.now())
                 .build();
 
-        sendMessage("/topic/flights/bulk", message);
-        sendMessage("/topic/updates", message);
+        sendMessage("/topic/flights/bulk", null, message);
+        sendMessage("/topic/updates", null, message);
         log.info("Sent bulk flight {} update", type);
     }
 
-    private void sendMessage(String destination, WebSocketMessage message) {
+    private String flightKey(Long entityId, String flightNumber) {
+        return entityId != null ? "flight:" + entityId : "flightNumber:" + flightNumber;
+    }
+
+    private void sendMessage(String destination, String coalesceKey, WebSocketMessage message) {
         try {
-            messagingTemplate.convertAndSend(destination, message);
+            outboundDispatcher.dispatch(destination, coalesceKey, message);
         } catch (Exception e) {
             log.error("Failed to send WebSocket message to {}: {}", destination, e.getMessage());
         }
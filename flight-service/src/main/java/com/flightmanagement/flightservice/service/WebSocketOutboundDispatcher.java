@@ -0,0 +1,276 @@
+package com.flightmanagement.flightservice.service;
+
+import com.flightmanagement.flightservice.dto.WebSocketMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * WebSocket çıkış mesajlarını topic bazında biriktirip kısa bir pencere sonunda tek frame olarak gönderir.
+ *
+ * - Aynı topic'te aynı uçuş için bekleyen mesaj varsa yenisiyle birleştirilir (son veri kazanır);
+ *   bekleyen CREATE veya STATUS_CHANGE'in ardından gelen UPDATE mesaj tipini ve status'u ezmez,
+ *   henüz gönderilmemiş bir CREATE'in ardından gelen DELETE ikisini birden iptal eder
+ * - Pencerede tek mesaj varsa mesaj olduğu gibi gönderilir; birden fazlaysa
+ *   {@link WebSocketMessage#batch} zarfıyla (type=BATCH, version=1) tek frame olarak gönderilir
+ * - Her topic'in kuyruğu sınırlıdır; dolunca en eski (bayat) mesaj düşürülür
+ * - Gönderim mutation thread'inde değil, dispatcher thread'inde yapılır
+ */
+@Service
+@Slf4j
+public class WebSocketOutboundDispatcher {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, TopicBuffer> buffers = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingMessages = new AtomicInteger();
+    private ScheduledExecutorService flushExecutor;
+
+    @Value("${websocket.dispatch.enabled:true}")
+    private boolean enabled;
+
+    @Value("${websocket.dispatch.window-ms:250}")
+    private long windowMs;
+
+    @Value("${websocket.dispatch.max-pending-per-topic:500}")
+    private int maxPendingPerTopic;
+
+    @Value("${websocket.dispatch.max-topics:2000}")
+    private int maxTopics;
+
+    private Counter coalescedCounter;
+    private Counter droppedCounter;
+    private Counter framesCounter;
+
+    public WebSocketOutboundDispatcher(SimpMessagingTemplate messagingTemplate, MeterRegistry meterRegistry) {
+        this.messagingTemplate = messagingTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void start() {
+        coalescedCounter = Counter.builder("websocket_messages_coalesced_total")
+                .description("WebSocket updates merged into a newer pending update for the same flight")
+                .tag("service", "flight-service")
+                .register(meterRegistry);
+        droppedCounter = Counter.builder("websocket_messages_dropped_total")
+                .description("Stale WebSocket updates dropped because a topic queue was full")
+                .tag("service", "flight-service")
+                .register(meterRegistry);
+        framesCounter = Counter.builder("websocket_frames_sent_total")
+                .description("WebSocket frames sent by the outbound dispatcher")
+                .tag("service", "flight-service")
+                .register(meterRegistry);
+        Gauge.builder("websocket_messages_pending", pendingMessages, AtomicInteger::get)
+                .description("WebSocket updates waiting for the next dispatch window")
+                .tag("service", "flight-service")
+                .register(meterRegistry);
+
+        if (!enabled) {
+            log.info("WebSocket outbound dispatcher disabled, messages will be sent synchronously");
+            return;
+        }
+
+        flushExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "ws-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flushExecutor.scheduleWithFixedDelay(this::flushSafely, windowMs, windowMs, TimeUnit.MILLISECONDS);
+        log.info("WebSocket outbound dispatcher started (window: {} ms, max pending per topic: {})",
+                windowMs, maxPendingPerTopic);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (flushExecutor != null) {
+            flushExecutor.shutdown();
+            flushSafely();
+        }
+    }
+
+    /**
+     * Mesajı topic kuyruğuna ekler.
+     *
+     * @param coalesceKey aynı key'e sahip bekleyen mesaj yenisiyle değiştirilir; null ise birleştirilmez
+     */
+    public void dispatch(String destination, String coalesceKey, WebSocketMessage message) {
+        if (!enabled) {
+            send(destination, message);
+            return;
+        }
+
+        while (true) {
+            TopicBuffer buffer = buffers.get(destination);
+            if (buffer == null) {
+                if (buffers.size() >= maxTopics) {
+                    // Çok sayıda topic birikmişse yeni topic'i kuyruğa almadan direkt gönder
+                    send(destination, message);
+                    return;
+                }
+                buffer = buffers.computeIfAbsent(destination, d -> new TopicBuffer());
+            }
+
+            // Flush sırasında emekliye ayrılan buffer'a eklenemez, yenisiyle tekrar dene
+            if (buffer.add(coalesceKey, message)) {
+                return;
+            }
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("WebSocket dispatcher flush failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void flush() {
+        Iterator<Map.Entry<String, TopicBuffer>> iterator = buffers.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, TopicBuffer> entry = iterator.next();
+            List<WebSocketMessage> messages = entry.getValue().drain();
+
+            if (messages == null) {
+                // Bir pencere boyunca boş kalan topic buffer'ı kaldırılır
+                buffers.remove(entry.getKey(), entry.getValue());
+                continue;
+            }
+
+            // Tek mesajlık pencerede mevcut tekil format korunur
+            if (messages.size() == 1) {
+                send(entry.getKey(), messages.get(0));
+            } else {
+                send(entry.getKey(), WebSocketMessage.batch(messages));
+            }
+        }
+    }
+
+    private void send(String destination, WebSocketMessage message) {
+        try {
+            messagingTemplate.convertAndSend(destination, message);
+            if (framesCounter != null) {
+                framesCounter.increment();
+            }
+        } catch (Exception e) {
+            log.error("Failed to send WebSocket message to {}: {}", destination, e.getMessage());
+        }
+    }
+
+    /**
+     * @return birleşmiş mesaj; null ise iki mesaj birbirini iptal eder ve hiçbiri gönderilmez
+     */
+    private static WebSocketMessage merge(WebSocketMessage previous, WebSocketMessage next) {
+        if ("CREATE".equals(previous.getType())) {
+            // İstemci hiç görmediği bir uçuşun silinmesini almamalı
+            if ("DELETE".equals(next.getType())) {
+                return null;
+            }
+            // CREATE henüz gönderilmediyse istemci uçuşu CREATE olarak görmeli, veri ise en güncel olmalı
+            return withLatestData("CREATE", next.getStatus(), next);
+        }
+        if ("STATUS_CHANGE".equals(previous.getType()) && "UPDATE".equals(next.getType())) {
+            // Status değişikliği düz bir UPDATE'e dönüşmemeli; yeni status yoksa öncekisi korunur
+            return withLatestData("STATUS_CHANGE",
+                    next.getStatus() != null ? next.getStatus() : previous.getStatus(), next);
+        }
+        return next;
+    }
+
+    // Mesaj nesnesi diğer topic'lerle paylaşıldığı için değiştirilmez, kopyası oluşturulur
+    private static WebSocketMessage withLatestData(String type, String status, WebSocketMessage next) {
+        return WebSocketMessage.builder()
+                .type(type)
+                .entity(next.getEntity())
+                .data(next.getData())
+                .entityId(next.getEntityId())
+                .flightNumber(next.getFlightNumber())
+                .status(status)
+                .timestamp(next.getTimestamp())
+                .userId(next.getUserId())
+                .build();
+    }
+
+    // synchronized yerine ReentrantLock: virtual thread modunda çağıran thread carrier'a pinlenmez
+    private final class TopicBuffer {
+        private final LinkedHashMap<String, WebSocketMessage> pending = new LinkedHashMap<>();
+        private final ReentrantLock lock = new ReentrantLock();
+        private long sequence;
+        private boolean retired;
+
+        boolean add(String coalesceKey, WebSocketMessage message) {
+            lock.lock();
+            try {
+                if (retired) {
+                    return false;
+                }
+                String key = coalesceKey != null ? coalesceKey : "#" + (sequence++);
+
+                WebSocketMessage previous = pending.remove(key);
+                if (previous != null) {
+                    coalescedCounter.increment();
+                    WebSocketMessage merged = merge(previous, message);
+                    if (merged != null) {
+                        pending.put(key, merged);
+                    } else {
+                        pendingMessages.decrementAndGet();
+                    }
+                    return true;
+                }
+
+                if (pending.size() >= maxPendingPerTopic) {
+                    Iterator<String> oldest = pending.keySet().iterator();
+                    oldest.next();
+                    oldest.remove();
+                    pendingMessages.decrementAndGet();
+                    droppedCounter.increment();
+                }
+
+                pending.put(key, message);
+                pendingMessages.incrementAndGet();
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * @return bekleyen mesajlar; buffer boşsa emekliye ayrılır ve null döner
+         */
+        List<WebSocketMessage> drain() {
+            lock.lock();
+            try {
+                if (pending.isEmpty()) {
+                    retired = true;
+                    return null;
+                }
+                List<WebSocketMessage> messages = new ArrayList<>(pending.values());
+                pending.clear();
+                pendingMessages.addAndGet(-messages.size());
+                return messages;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.flightmanagement.flightservice.validator;
+
+import com.flightmanagement.flightservice.dto.cache.AircraftCache;
+import com.flightmanagement.flightservice.dto.cache.AirlineCache;
+import com.flightmanagement.flightservice.dto.cache.AirportCache;
+import com.flightmanagement.flightservice.dto.cache.RouteCache;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Validation planı tarafından toplu çözülmüş referans verileri.
+ *
+ * Key var ve değer null ise kayıt bulunamadı; key hiç yoksa lookup hata verdi
+ * (reference-manager'a ulaşılamadı vb.) demektir. Kurallar sadece bu haritalar
+ * üzerinden çalışır, validation sırasında remote çağrı yapılmaz.
+ */
+class FlightValidationContext {
+
+    final Map<Long, AirlineCache> airlines = new HashMap<>();
+    final Map<Long, AircraftCache> aircraft = new HashMap<>();
+    final Map<Long, RouteCache> routes = new HashMap<>();
+    final Map<Long, AirportCache> airports = new HashMap<>();
+
+    /**
+     * Bir request için toplanan ihlaller (alan -> mesaj). Aynı alana birden fazla
+     * ihlal düşerse mesajlar birleştirilir.
+     */
+    static final class Violations {
+
+        private final Map<String, String> errors = new LinkedHashMap<>();
+
+        void add(String field, String message) {
+            errors.merge(field, message, (existing, added) -> existing + "; " + added);
+        }
+
+        boolean isEmpty() {
+            return errors.isEmpty();
+        }
+
+        Map<String, String> asMap() {
+            return errors;
+        }
+    }
+}
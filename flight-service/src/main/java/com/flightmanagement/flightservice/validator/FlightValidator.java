@@ -5,177 +5,285 @@ import com.flightmanagement.flightservice.dto.request.AirportSegmentRequest;
 import com.flightmanagement.flightservice.dto.request.FlightRequest;
 import com.flightmanagement.flightservice.entity.Flight;
 import com.flightmanagement.flightservice.exception.BusinessException;
-import com.flightmanagement.flightservice.service.ReferenceDataService;
+import com.flightmanagement.flightservice.exception.FlightValidationException;
+import com.flightmanagement.flightservice.service.ReferenceLookupContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.*;
+import java.util.function.Function;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class FlightValidator {
 
-    private final ReferenceDataService referenceDataService;
+    private final ReferenceLookupContext referenceLookupContext;
 
+    /**
+     * Tek bir request'i doğrular; tüm kural ihlalleri tek bir FlightValidationException ile döner.
+     */
     public void validateFlightRequest(FlightRequest request) {
-        validateBasicRules(request);
+        FlightValidationContext context = resolveReferences(List.of(request), false);
+        throwIfViolated(collectCreateViolations(request, context));
+    }
+
+    public void validateFlightUpdate(Flight existingFlight, FlightRequest request) {
+        FlightValidationContext context = resolveReferences(List.of(request), true);
+
+        FlightValidationContext.Violations violations = new FlightValidationContext.Violations();
+        validateBasicRules(request, violations);
+        validateRouteData(request, context, violations);
+        validateReferenceData(request, context, violations);
+        validateBusinessRules(request, context, violations);
+        validateUpdateRules(existingFlight, request, violations);
+        throwIfViolated(violations);
+    }
+
+    /**
+     * Bir request grubunu (ör. CSV import) tek validation planıyla doğrular: tüm referans
+     * ID'leri toplanır, tür başına tek batch çağrıyla çözülür ve kurallar bellekteki
+     * context üzerinde çalışır. Dönen liste request sırasıyla ihlal haritalarıdır
+     * (geçerli request için boş harita).
+     */
+    public List<Map<String, String>> validateFlightRequests(List<FlightRequest> requests) {
+        if (requests.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        FlightValidationContext context = resolveReferences(requests, false);
+
+        List<Map<String, String>> results = new ArrayList<>(requests.size());
+        for (FlightRequest request : requests) {
+            results.add(collectCreateViolations(request, context).asMap());
+        }
+        return results;
+    }
+
+    // ===============================
+    // VALIDATION PLAN
+    // ===============================
+
+    /**
+     * Request'lerin ihtiyaç duyduğu tüm airline/aircraft/route/airport ID'lerini toplar
+     * ve her tür için tek batch fetch ile çözer.
+     */
+    private FlightValidationContext resolveReferences(List<FlightRequest> requests, boolean includeRoutesForAllModes) {
+        Set<Long> airlineIds = new HashSet<>();
+        Set<Long> aircraftIds = new HashSet<>();
+        Set<Long> routeIds = new HashSet<>();
+        Set<Long> airportIds = new HashSet<>();
+
+        for (FlightRequest request : requests) {
+            addIfPresent(airlineIds, request.getAirlineId());
+            addIfPresent(aircraftIds, request.getAircraftId());
+
+            if (includeRoutesForAllModes || request.isRouteBasedCreation()) {
+                addIfPresent(routeIds, request.getRouteId());
+            }
+
+            if (request.isMultiSegmentAirportCreation() && request.getAirportSegments() != null) {
+                for (AirportSegmentRequest segment : request.getAirportSegments()) {
+                    addIfPresent(airportIds, segment.getOriginAirportId());
+                    addIfPresent(airportIds, segment.getDestinationAirportId());
+                }
+            }
+        }
+
+        FlightValidationContext context = new FlightValidationContext();
+        boolean opened = referenceLookupContext.openScope("flight-validation");
+        try {
+            referenceLookupContext.prefetchAirlines(airlineIds);
+            referenceLookupContext.prefetchAircraft(aircraftIds);
+            referenceLookupContext.prefetchRoutes(routeIds);
+            referenceLookupContext.prefetchAirports(airportIds);
+
+            resolveAll(airlineIds, referenceLookupContext::getAirline, context.airlines);
+            resolveAll(aircraftIds, referenceLookupContext::getAircraft, context.aircraft);
+            resolveAll(routeIds, referenceLookupContext::getRoute, context.routes);
+            resolveAll(airportIds, referenceLookupContext::getAirport, context.airports);
+        } finally {
+            if (opened) {
+                referenceLookupContext.closeScope();
+            }
+        }
+
+        log.debug("Validation plan resolved {} airlines, {} aircraft, {} routes, {} airports for {} requests",
+                context.airlines.size(), context.aircraft.size(), context.routes.size(),
+                context.airports.size(), requests.size());
+
+        return context;
+    }
+
+    private <T> void resolveAll(Set<Long> ids, Function<Long, T> lookup, Map<Long, T> target) {
+        for (Long id : ids) {
+            try {
+                target.put(id, lookup.apply(id));
+            } catch (Exception e) {
+                // Key eklenmez: kurallar bunu "geçersiz ID" olarak raporlar
+                log.debug("Reference lookup failed for id {}: {}", id, e.getMessage());
+            }
+        }
+    }
+
+    private void addIfPresent(Set<Long> ids, Long id) {
+        if (id != null) {
+            ids.add(id);
+        }
+    }
+
+    private FlightValidationContext.Violations collectCreateViolations(FlightRequest request, FlightValidationContext context) {
+        FlightValidationContext.Violations violations = new FlightValidationContext.Violations();
+
+        validateBasicRules(request, violations);
 
         if (request.isRouteBasedCreation()) {
-            validateRouteData(request);
+            validateRouteData(request, context, violations);
         }
 
         if (request.isMultiSegmentAirportCreation()) {
-            validateMultiSegmentAirportData(request);
+            validateMultiSegmentAirportData(request, context, violations);
         }
 
-        validateReferenceData(request);
-        validateBusinessRules(request);
+        validateReferenceData(request, context, violations);
+        validateBusinessRules(request, context, violations);
+        return violations;
     }
 
-    public void validateFlightUpdate(Flight existingFlight, FlightRequest request) {
-        validateBasicRules(request);
-        validateRouteData(request);
-        validateReferenceData(request);
-        validateBusinessRules(request);
-        validateUpdateRules(existingFlight, request);
+    private void throwIfViolated(FlightValidationContext.Violations violations) {
+        if (!violations.isEmpty()) {
+            throw new FlightValidationException(violations.asMap());
+        }
     }
 
-    private void validateBasicRules(FlightRequest request) {
+    // ===============================
+    // RULES
+    // ===============================
+
+    private void validateBasicRules(FlightRequest request, FlightValidationContext.Violations violations) {
         // Flight time consistency kontrolü
         if (!request.isFlightTimeValid()) {
-            throw new BusinessException("Scheduled arrival must be after scheduled departure");
+            violations.add("scheduledArrival", "Scheduled arrival must be after scheduled departure");
         }
 
         // Route veya Airport bilgisi zorunlu
         if (!request.hasValidFlightData()) {
-            throw new BusinessException("Either routeId, airport pair, or airport segments must be provided");
+            violations.add("creationMode", "Either routeId, airport pair, or airport segments must be provided");
         }
 
         // Flight date, scheduled departure ile uyumlu olmalı
         if (request.getFlightDate() != null && request.getScheduledDeparture() != null) {
             if (!request.getFlightDate().equals(request.getScheduledDeparture().toLocalDate())) {
-                throw new BusinessException("Flight date must match scheduled departure date");
+                violations.add("flightDate", "Flight date must match scheduled departure date");
             }
         }
     }
 
-    private void validateRouteData(FlightRequest request) {
+    private void validateRouteData(FlightRequest request, FlightValidationContext context,
+                                   FlightValidationContext.Violations violations) {
         log.debug("Validating route-based flight with route ID: {}", request.getRouteId());
 
-        try {
-            RouteCache route = referenceDataService.getRoute(request.getRouteId());
-            if (route == null) {
-                throw new BusinessException("Route not found with ID: " + request.getRouteId());
-            }
-
-            if (route.getActive() != null && !route.getActive()) {
-                throw new BusinessException("Route is not active: " + request.getRouteId());
-            }
+        if (!context.routes.containsKey(request.getRouteId())) {
+            violations.add("routeId", "Invalid route ID: " + request.getRouteId());
+            return;
+        }
 
-            // Eğer request'te airport bilgileri de varsa tutarlılık kontrolü yap
-            if (request.isAirportBasedCreation()) {
-                validateRouteAirportConsistency(request, route);
-            }
+        RouteCache route = context.routes.get(request.getRouteId());
+        if (route == null) {
+            violations.add("routeId", "Route not found with ID: " + request.getRouteId());
+            return;
+        }
 
-            log.debug("Route validation passed for route: {}", route.getRouteCode());
+        if (route.getActive() != null && !route.getActive()) {
+            violations.add("routeId", "Route is not active: " + request.getRouteId());
+        }
 
-        } catch (Exception e) {
-            if (e instanceof BusinessException) {
-                throw e;
-            }
-            throw new BusinessException("Invalid route ID: " + request.getRouteId());
+        // Eğer request'te airport bilgileri de varsa tutarlılık kontrolü yap
+        if (request.isAirportBasedCreation()) {
+            validateRouteAirportConsistency(request, route, violations);
         }
     }
 
-    private void validateReferenceData(FlightRequest request) {
+    private void validateReferenceData(FlightRequest request, FlightValidationContext context,
+                                       FlightValidationContext.Violations violations) {
         // Airline validation
-        try {
-            var airline = referenceDataService.getAirline(request.getAirlineId());
+        if (!context.airlines.containsKey(request.getAirlineId())) {
+            violations.add("airlineId", "Invalid airline ID: " + request.getAirlineId());
+        } else {
+            var airline = context.airlines.get(request.getAirlineId());
             if (airline == null) {
-                throw new BusinessException("Airline not found with ID: " + request.getAirlineId());
-            }
-            if (airline.getActive() != null && !airline.getActive()) {
-                throw new BusinessException("Airline is not active: " + request.getAirlineId());
+                violations.add("airlineId", "Airline not found with ID: " + request.getAirlineId());
+            } else if (airline.getActive() != null && !airline.getActive()) {
+                violations.add("airlineId", "Airline is not active: " + request.getAirlineId());
             }
-        } catch (Exception e) {
-            if (e instanceof BusinessException) {
-                throw e;
-            }
-            throw new BusinessException("Invalid airline ID: " + request.getAirlineId());
         }
 
         // Aircraft validation
-        try {
-            var aircraft = referenceDataService.getAircraft(request.getAircraftId());
+        if (!context.aircraft.containsKey(request.getAircraftId())) {
+            violations.add("aircraftId", "Invalid aircraft ID: " + request.getAircraftId());
+        } else {
+            var aircraft = context.aircraft.get(request.getAircraftId());
             if (aircraft == null) {
-                throw new BusinessException("Aircraft not found with ID: " + request.getAircraftId());
-            }
-            if (aircraft.getStatus() != null && !aircraft.getStatus().equals("ACTIVE")) {
-                throw new BusinessException("Aircraft is not active: " + request.getAircraftId());
-            }
-        } catch (Exception e) {
-            if (e instanceof BusinessException) {
-                throw e;
+                violations.add("aircraftId", "Aircraft not found with ID: " + request.getAircraftId());
+            } else if (aircraft.getStatus() != null && !aircraft.getStatus().equals("ACTIVE")) {
+                violations.add("aircraftId", "Aircraft is not active: " + request.getAircraftId());
             }
-            throw new BusinessException("Invalid aircraft ID: " + request.getAircraftId());
         }
     }
 
-    private void validateBusinessRules(FlightRequest request) {
+    private void validateBusinessRules(FlightRequest request, FlightValidationContext context,
+                                       FlightValidationContext.Violations violations) {
         // Flight number format kontrolü
         if (request.getFlightNumber() != null &&
                 !request.getFlightNumber().matches("^[A-Z]{2}\\d{1,4}$")) {
-            throw new BusinessException("Flight number must be in format: TK123");
+            violations.add("flightNumber", "Flight number must be in format: TK123");
         }
 
-        // Passenger count vs aircraft capacity kontrolü
-        try {
-            var aircraft = referenceDataService.getAircraft(request.getAircraftId());
-            if (request.getPassengerCount() != null && aircraft.getPassengerCapacity() != null) {
-                if (request.getPassengerCount() > aircraft.getPassengerCapacity()) {
-                    throw new BusinessException(
-                            String.format("Passenger count (%d) exceeds aircraft capacity (%d)",
-                                    request.getPassengerCount(), aircraft.getPassengerCapacity())
-                    );
-                }
+        // Passenger count vs aircraft capacity kontrolü (aircraft çözülemediyse atlanır)
+        var aircraft = context.aircraft.get(request.getAircraftId());
+        if (aircraft != null && request.getPassengerCount() != null && aircraft.getPassengerCapacity() != null) {
+            if (request.getPassengerCount() > aircraft.getPassengerCapacity()) {
+                violations.add("passengerCount",
+                        String.format("Passenger count (%d) exceeds aircraft capacity (%d)",
+                                request.getPassengerCount(), aircraft.getPassengerCapacity()));
             }
-        } catch (Exception e) {
-            log.warn("Could not validate passenger capacity: {}", e.getMessage());
-            // Aircraft bilgisi alınamazsa capacity kontrolü yapma
         }
 
         // Departure time gelecekte olmalı (yeni uçuşlar için)
         if (request.getScheduledDeparture() != null &&
                 request.getScheduledDeparture().isBefore(LocalDateTime.now().minusHours(1))) {
             // 1 saat tolerans veriyoruz
-            throw new BusinessException("Scheduled departure cannot be more than 1 hour in the past");
+            violations.add("scheduledDeparture", "Scheduled departure cannot be more than 1 hour in the past");
         }
 
         // Flight type vs cargo/passenger validation
-        validateFlightTypeConsistency(request);
+        validateFlightTypeConsistency(request, violations);
 
         // Connecting flight validation
         if (request.isConnectingFlightRequest()) {
-            validateConnectingFlightSegments(request);
+            validateConnectingFlightSegments(request, violations);
         }
     }
 
-    private void validateFlightTypeConsistency(FlightRequest request) {
+    private void validateFlightTypeConsistency(FlightRequest request, FlightValidationContext.Violations violations) {
+        if (request.getType() == null) {
+            return;
+        }
+
         switch (request.getType()) {
             case CARGO:
                 if (request.getPassengerCount() != null && request.getPassengerCount() > 0) {
-                    throw new BusinessException("CARGO flights cannot have passengers");
+                    violations.add("passengerCount", "CARGO flights cannot have passengers");
                 }
                 if (request.getCargoWeight() == null || request.getCargoWeight() <= 0) {
-                    throw new BusinessException("CARGO flights must have cargo weight");
+                    violations.add("cargoWeight", "CARGO flights must have cargo weight");
                 }
                 break;
             case PASSENGER:
                 if (request.getPassengerCount() == null || request.getPassengerCount() <= 0) {
-                    throw new BusinessException("PASSENGER flights must have passenger count");
+                    violations.add("passengerCount", "PASSENGER flights must have passenger count");
                 }
                 break;
             case POSITIONING:
@@ -186,17 +294,14 @@ public class FlightValidator {
         }
     }
 
-    private void validateConnectingFlightSegments(FlightRequest request) {
-        if (request.getSegments() == null || request.getSegments().isEmpty()) {
-            throw new BusinessException("Connecting flight must have segments");
-        }
-
+    private void validateConnectingFlightSegments(FlightRequest request, FlightValidationContext.Violations violations) {
         if (request.getSegments().size() < 2) {
-            throw new BusinessException("Connecting flight must have at least 2 segments");
+            violations.add("segments", "Connecting flight must have at least 2 segments");
+            return;
         }
 
         if (request.getSegments().size() > 10) {
-            throw new BusinessException("Connecting flight cannot have more than 10 segments");
+            violations.add("segments", "Connecting flight cannot have more than 10 segments");
         }
 
         // Segment'lerin bağlantısını kontrol et
@@ -204,17 +309,20 @@ public class FlightValidator {
             var currentSegment = request.getSegments().get(i);
             var nextSegment = request.getSegments().get(i + 1);
 
-            if (!currentSegment.getDestinationAirportId().equals(nextSegment.getOriginAirportId())) {
-                throw new BusinessException(
-                        String.format("Segment %d destination must match segment %d origin", i + 1, i + 2)
-                );
+            if (!Objects.equals(currentSegment.getDestinationAirportId(), nextSegment.getOriginAirportId())) {
+                violations.add("segments",
+                        String.format("Segment %d destination must match segment %d origin", i + 1, i + 2));
+            }
+
+            if (currentSegment.getScheduledArrival() == null || nextSegment.getScheduledDeparture() == null) {
+                continue;
             }
 
             // Connection time kontrolü
             if (currentSegment.getScheduledArrival().isAfter(nextSegment.getScheduledDeparture())) {
-                throw new BusinessException(
-                        String.format("Segment %d arrival time must be before segment %d departure time", i + 1, i + 2)
-                );
+                violations.add("segments",
+                        String.format("Segment %d arrival time must be before segment %d departure time", i + 1, i + 2));
+                continue;
             }
 
             // Minimum connection time (30 dakika)
@@ -222,54 +330,53 @@ public class FlightValidator {
                     currentSegment.getScheduledArrival(), nextSegment.getScheduledDeparture()).toMinutes();
 
             if (connectionMinutes < 30) {
-                throw new BusinessException(
-                        String.format("Minimum 30 minutes connection time required between segments %d and %d", i + 1, i + 2)
-                );
+                violations.add("segments",
+                        String.format("Minimum 30 minutes connection time required between segments %d and %d", i + 1, i + 2));
             }
 
             // Maximum connection time (24 saat)
             if (connectionMinutes > 1440) {
-                throw new BusinessException(
-                        String.format("Maximum 24 hours connection time allowed between segments %d and %d", i + 1, i + 2)
-                );
+                violations.add("segments",
+                        String.format("Maximum 24 hours connection time allowed between segments %d and %d", i + 1, i + 2));
             }
         }
     }
 
-    private void validateUpdateRules(Flight existingFlight, FlightRequest request) {
+    private void validateUpdateRules(Flight existingFlight, FlightRequest request,
+                                     FlightValidationContext.Violations violations) {
         // Eğer uçuş DEPARTED veya ARRIVED durumunda ise, bazı alanlar değiştirilemez
         if (existingFlight.isDeparted()) {
             if (!existingFlight.getFlightNumber().equals(request.getFlightNumber())) {
-                throw new BusinessException("Cannot change flight number after departure");
+                violations.add("flightNumber", "Cannot change flight number after departure");
             }
 
             if (!existingFlight.getRouteId().equals(request.getRouteId())) {
-                throw new BusinessException("Cannot change route after departure");
+                violations.add("routeId", "Cannot change route after departure");
             }
 
             if (!existingFlight.getScheduledDeparture().equals(request.getScheduledDeparture())) {
-                throw new BusinessException("Cannot change scheduled departure after departure");
+                violations.add("scheduledDeparture", "Cannot change scheduled departure after departure");
             }
         }
 
         // Completed flights için daha kısıtlayıcı kurallar
         if (existingFlight.isCompleted()) {
             if (!existingFlight.getScheduledArrival().equals(request.getScheduledArrival())) {
-                throw new BusinessException("Cannot change scheduled arrival for completed flights");
+                violations.add("scheduledArrival", "Cannot change scheduled arrival for completed flights");
             }
         }
 
         // Cancelled flights güncellenmemeli
         if (existingFlight.getStatus() != null &&
                 existingFlight.getStatus().name().equals("CANCELLED")) {
-            throw new BusinessException("Cannot update cancelled flights");
+            violations.add("status", "Cannot update cancelled flights");
         }
     }
 
     // Route availability validation
     public void validateRouteAvailability(Long routeId, LocalDateTime departure, LocalDateTime arrival) {
         try {
-            RouteCache route = referenceDataService.getRoute(routeId);
+            RouteCache route = referenceLookupContext.getRoute(routeId);
             if (route == null) {
                 throw new BusinessException("Route not found: " + routeId);
             }
@@ -288,8 +395,8 @@ public class FlightValidator {
     // Aircraft route compatibility validation
     public void validateAircraftRouteCompatibility(Long aircraftId, Long routeId) {
         try {
-            var aircraft = referenceDataService.getAircraft(aircraftId);
-            var route = referenceDataService.getRoute(routeId);
+            var aircraft = referenceLookupContext.getAircraft(aircraftId);
+            var route = referenceLookupContext.getRoute(routeId);
 
             if (aircraft == null || route == null) {
                 return; // Bu kontrol referenceData validation'da yapıldı
@@ -322,11 +429,12 @@ public class FlightValidator {
         // Business requirement'a göre implement edilebilir
     }
 
-    private void validateRouteAirportConsistency(FlightRequest request, RouteCache route) {
+    private void validateRouteAirportConsistency(FlightRequest request, RouteCache route,
+                                                 FlightValidationContext.Violations violations) {
         if (route.getOriginAirportId() != null && route.getDestinationAirportId() != null) {
             if (!route.getOriginAirportId().equals(request.getOriginAirportId()) ||
                     !route.getDestinationAirportId().equals(request.getDestinationAirportId())) {
-                throw new BusinessException("Route airports don't match provided airport IDs");
+                violations.add("routeId", "Route airports don't match provided airport IDs");
             }
         }
     }
@@ -334,15 +442,17 @@ public class FlightValidator {
     /**
      * Multi-segment airport data validation
      */
-    private void validateMultiSegmentAirportData(FlightRequest request) {
+    private void validateMultiSegmentAirportData(FlightRequest request, FlightValidationContext context,
+                                                 FlightValidationContext.Violations violations) {
         List<AirportSegmentRequest> segments = request.getAirportSegments();
 
         if (segments == null || segments.size() < 2) {
-            throw new BusinessException("Multi-segment flight must have at least 2 segments");
+            violations.add("airportSegments", "Multi-segment flight must have at least 2 segments");
+            return;
         }
 
         if (segments.size() > 10) {
-            throw new BusinessException("Multi-segment flight cannot have more than 10 segments");
+            violations.add("airportSegments", "Multi-segment flight cannot have more than 10 segments");
         }
 
         // Segment order validation
@@ -350,15 +460,15 @@ public class FlightValidator {
             AirportSegmentRequest segment = segments.get(i);
 
             if (segment.getSegmentOrder() == null || segment.getSegmentOrder() != (i + 1)) {
-                throw new BusinessException("Segment order must be sequential starting from 1");
+                violations.add("airportSegments", "Segment order must be sequential starting from 1");
             }
 
             if (!segment.isValidSegment()) {
-                throw new BusinessException("Invalid segment " + (i + 1) + ": origin and destination must be different");
+                violations.add("airportSegments", "Invalid segment " + (i + 1) + ": origin and destination must be different");
             }
 
             if (!segment.hasValidConnectionTime()) {
-                throw new BusinessException("Invalid connection time for segment " + (i + 1) + ": must be between 30-1440 minutes");
+                violations.add("airportSegments", "Invalid connection time for segment " + (i + 1) + ": must be between 30-1440 minutes");
             }
         }
 
@@ -367,33 +477,32 @@ public class FlightValidator {
             AirportSegmentRequest current = segments.get(i);
             AirportSegmentRequest next = segments.get(i + 1);
 
-            if (!current.getDestinationAirportId().equals(next.getOriginAirportId())) {
-                throw new BusinessException(
+            if (!Objects.equals(current.getDestinationAirportId(), next.getOriginAirportId())) {
+                violations.add("airportSegments",
                         String.format("Segment %d destination must match segment %d origin", i + 1, i + 2));
             }
         }
 
-        // Airport existence validation
+        // Airport existence validation (toplu çözülmüş context üzerinden)
         for (int i = 0; i < segments.size(); i++) {
             AirportSegmentRequest segment = segments.get(i);
 
-            try {
-                var origin = referenceDataService.getAirport(segment.getOriginAirportId());
-                var destination = referenceDataService.getAirport(segment.getDestinationAirportId());
+            if (!context.airports.containsKey(segment.getOriginAirportId()) ||
+                    !context.airports.containsKey(segment.getDestinationAirportId())) {
+                violations.add("airportSegments", "Error validating airports for segment " + (i + 1));
+                continue;
+            }
 
-                if (origin == null || !origin.getActive()) {
-                    throw new BusinessException("Invalid or inactive origin airport in segment " + (i + 1));
-                }
+            var origin = context.airports.get(segment.getOriginAirportId());
+            var destination = context.airports.get(segment.getDestinationAirportId());
 
-                if (destination == null || !destination.getActive()) {
-                    throw new BusinessException("Invalid or inactive destination airport in segment " + (i + 1));
-                }
-            } catch (Exception e) {
-                if (e instanceof BusinessException) {
-                    throw e;
-                }
-                throw new BusinessException("Error validating airports for segment " + (i + 1) + ": " + e.getMessage());
+            if (origin == null || !Boolean.TRUE.equals(origin.getActive())) {
+                violations.add("airportSegments", "Invalid or inactive origin airport in segment " + (i + 1));
+            }
+
+            if (destination == null || !Boolean.TRUE.equals(destination.getActive())) {
+                violations.add("airportSegments", "Invalid or inactive destination airport in segment " + (i + 1));
             }
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,142 @@
+package com.flightmanagement.flightservice.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Redis modunda sliding window counter kararları, security öncesi IP limiti ve Redis hatasında
+ * local bucket'a düşüş.
+ */
+class RequestRateLimiterTest {
+
+    private static final int LIMIT = 10;
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RequestRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        rateLimiter = new RequestRateLimiter(mock(RedisConnectionFactory.class), meterRegistry);
+        ReflectionTestUtils.setField(rateLimiter, "enabled", true);
+        ReflectionTestUtils.setField(rateLimiter, "mode", "redis");
+        ReflectionTestUtils.setField(rateLimiter, "anonymousLimit", LIMIT);
+        ReflectionTestUtils.setField(rateLimiter, "authenticatedLimit", 100);
+        ReflectionTestUtils.setField(rateLimiter, "ipLimit", 600);
+        ReflectionTestUtils.setField(rateLimiter, "routePolicyDefinitions", new String[0]);
+        ReflectionTestUtils.setField(rateLimiter, "principalPolicyDefinitions", new String[0]);
+        ReflectionTestUtils.setField(rateLimiter, "maxKeys", 1000);
+        rateLimiter.init();
+        ReflectionTestUtils.setField(rateLimiter, "redisTemplate", redisTemplate);
+    }
+
+    @Test
+    void allowsWhileWindowCountIsWithinLimit() {
+        givenCounts(LIMIT, 0);
+
+        RequestRateLimiter.Decision decision = rateLimiter.check("/api/v1/flights", null, "10.0.0.1");
+
+        assertThat(decision.isAllowed()).isTrue();
+        assertThat(decision.getRemaining()).isZero();
+    }
+
+    @Test
+    void rejectsOverLimitUntilCurrentWindowEnds() {
+        givenCounts(LIMIT + 1, 0);
+
+        RequestRateLimiter.Decision decision = rateLimiter.check("/api/v1/flights", null, "10.0.0.1");
+
+        assertThat(decision.isAllowed()).isFalse();
+        assertThat(decision.getRetryAfterMillis()).isBetween(1L, 60_000L);
+    }
+
+    @Test
+    void previousWindowCountIsWeightedNotIgnored() {
+        // Önceki pencere limitin 100 katıysa, pencerenin son milisaniyesinde bile tahmin limiti aşar
+        givenCounts(1, LIMIT * 100_000L);
+
+        assertThat(rateLimiter.check("/api/v1/flights", null, "10.0.0.1").isAllowed()).isFalse();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void usesCurrentAndPreviousWindowKeysPerPolicyAndClient() {
+        givenCounts(1, 0);
+
+        rateLimiter.check("/api/v1/flights", "alice", "10.0.0.1");
+
+        ArgumentCaptor<List<String>> keys = ArgumentCaptor.forClass(List.class);
+        verify(redisTemplate).execute(any(RedisScript.class), keys.capture(), eq("120000"));
+        String current = keys.getValue().get(0);
+        String previous = keys.getValue().get(1);
+        assertThat(current).startsWith("rate:authenticated|user:alice:");
+        long window = Long.parseLong(current.substring(current.lastIndexOf(':') + 1));
+        assertThat(previous).isEqualTo("rate:authenticated|user:alice:" + (window - 1));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void clientIpLimitIsKeyedByIpOnly() {
+        givenCounts(LIMIT + 1, 0);
+
+        // Anonymous limiti aşan sayı, daha yüksek IP limitinin altında kalır
+        assertThat(rateLimiter.checkClientIp("10.0.0.3").isAllowed()).isTrue();
+
+        ArgumentCaptor<List<String>> keys = ArgumentCaptor.forClass(List.class);
+        verify(redisTemplate).execute(any(RedisScript.class), keys.capture(), eq("120000"));
+        assertThat(keys.getValue().get(0)).startsWith("rate:ip|ip:10.0.0.3:");
+    }
+
+    @Test
+    void decisionCountersAreRegisteredOnceUpFront() {
+        assertThat(meterRegistry.find("rate_limit_decisions_total").counters()).hasSize(10);
+
+        givenCounts(LIMIT + 1, 0);
+        rateLimiter.check("/api/v1/flights", null, "10.0.0.1");
+        rateLimiter.check("/api/v1/flights", null, "10.0.0.1");
+
+        assertThat(meterRegistry.find("rate_limit_decisions_total").counters()).hasSize(10);
+        assertThat(meterRegistry.get("rate_limit_decisions_total")
+                .tag("policy", "anonymous").tag("result", "rejected").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void fallsBackToLocalBucketWhenRedisFails() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), eq("120000")))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        RequestRateLimiter.Decision first = rateLimiter.check("/api/v1/flights", null, "10.0.0.2");
+        assertThat(first.isAllowed()).isTrue();
+        assertThat(first.getRemaining()).isEqualTo(LIMIT - 1);
+
+        for (int i = 1; i < LIMIT; i++) {
+            rateLimiter.check("/api/v1/flights", null, "10.0.0.2");
+        }
+        assertThat(rateLimiter.check("/api/v1/flights", null, "10.0.0.2").isAllowed()).isFalse();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenCounts(long current, long previous) {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), eq("120000")))
+                .thenReturn(Arrays.asList(current, previous));
+    }
+}
@@ -0,0 +1,79 @@
+package com.flightmanagement.flightservice.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private static final long WINDOW_MILLIS = 60_000;
+
+    @Test
+    void fullBucketAllowsCapacityRequestsThenRejects() {
+        TokenBucket bucket = new TokenBucket(3, 0);
+
+        assertThat(bucket.tryAcquire(0, 3, WINDOW_MILLIS)).isEqualTo(2);
+        assertThat(bucket.tryAcquire(0, 3, WINDOW_MILLIS)).isEqualTo(1);
+        assertThat(bucket.tryAcquire(0, 3, WINDOW_MILLIS)).isEqualTo(0);
+        assertThat(bucket.tryAcquire(0, 3, WINDOW_MILLIS)).isNegative();
+    }
+
+    @Test
+    void rejectionCarriesWaitUntilNextToken() {
+        TokenBucket bucket = new TokenBucket(60, 0);
+        for (int i = 0; i < 60; i++) {
+            bucket.tryAcquire(0, 60, WINDOW_MILLIS);
+        }
+
+        // 60/dk: bir token 1000 ms'de dolar
+        long result = bucket.tryAcquire(0, 60, WINDOW_MILLIS);
+        assertThat(-result - 1).isEqualTo(1001);
+    }
+
+    @Test
+    void tokensRefillProportionallyToElapsedTime() {
+        TokenBucket bucket = new TokenBucket(60, 0);
+        for (int i = 0; i < 60; i++) {
+            bucket.tryAcquire(0, 60, WINDOW_MILLIS);
+        }
+
+        assertThat(bucket.tryAcquire(999, 60, WINDOW_MILLIS)).isNegative();
+        assertThat(bucket.tryAcquire(1_000, 60, WINDOW_MILLIS)).isZero();
+        assertThat(bucket.tryAcquire(1_000, 60, WINDOW_MILLIS)).isNegative();
+        // 5 saniyede 5 token birikir
+        assertThat(bucket.tryAcquire(6_000, 60, WINDOW_MILLIS)).isEqualTo(4);
+    }
+
+    @Test
+    void refillIsCappedAtCapacityAfterLongIdle() {
+        TokenBucket bucket = new TokenBucket(5, 0);
+        bucket.tryAcquire(0, 5, WINDOW_MILLIS);
+
+        long muchLater = 10 * WINDOW_MILLIS;
+        assertThat(bucket.tryAcquire(muchLater, 5, WINDOW_MILLIS)).isEqualTo(4);
+        for (int i = 0; i < 4; i++) {
+            bucket.tryAcquire(muchLater, 5, WINDOW_MILLIS);
+        }
+        assertThat(bucket.tryAcquire(muchLater, 5, WINDOW_MILLIS)).isNegative();
+    }
+
+    @Test
+    void maxCapacityFitsInTokenBitsWithoutCorruptingTimestamp() {
+        long start = 365L * 24 * 3600 * 1000;   // Bir yıllık uptime, 40 bit zaman alanına sığar
+        TokenBucket bucket = new TokenBucket(TokenBucket.MAX_CAPACITY, start);
+
+        assertThat(bucket.tryAcquire(start, TokenBucket.MAX_CAPACITY, WINDOW_MILLIS))
+                .isEqualTo(TokenBucket.MAX_CAPACITY - 1);
+        assertThat(bucket.isIdle(start + WINDOW_MILLIS - 1, WINDOW_MILLIS)).isFalse();
+        assertThat(bucket.isIdle(start + WINDOW_MILLIS, WINDOW_MILLIS)).isTrue();
+    }
+
+    @Test
+    void clockGoingBackwardsDoesNotAddTokens() {
+        TokenBucket bucket = new TokenBucket(2, 10_000);
+        bucket.tryAcquire(10_000, 2, WINDOW_MILLIS);
+        bucket.tryAcquire(10_000, 2, WINDOW_MILLIS);
+
+        assertThat(bucket.tryAcquire(5_000, 2, WINDOW_MILLIS)).isNegative();
+    }
+}
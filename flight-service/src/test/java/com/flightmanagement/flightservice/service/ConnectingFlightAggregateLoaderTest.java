@@ -0,0 +1,137 @@
+package com.flightmanagement.flightservice.service;
+
+import com.flightmanagement.flightservice.dto.cache.AircraftCache;
+import com.flightmanagement.flightservice.dto.cache.AirlineCache;
+import com.flightmanagement.flightservice.dto.cache.AirportCache;
+import com.flightmanagement.flightservice.dto.cache.RouteCache;
+import com.flightmanagement.flightservice.dto.response.FlightResponse;
+import com.flightmanagement.flightservice.entity.Flight;
+import com.flightmanagement.flightservice.mapper.FlightMapper;
+import com.flightmanagement.flightservice.metrics.CacheMetrics;
+import com.flightmanagement.flightservice.repository.FlightConnectionRepository;
+import com.flightmanagement.flightservice.repository.FlightRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Aggregate reference prefetch'i önce reference cache'lerinden okur; batch endpoint'i
+ * sadece cache'te olmayan ID'ler için çağrılır.
+ */
+@ExtendWith(MockitoExtension.class)
+class ConnectingFlightAggregateLoaderTest {
+
+    private static final Long MAIN_FLIGHT_ID = 10L;
+
+    @Mock
+    private FlightRepository flightRepository;
+    @Mock
+    private FlightConnectionRepository flightConnectionRepository;
+    @Mock
+    private FlightMapper flightMapper;
+    @Mock
+    private ReferenceDataService referenceDataService;
+
+    private final CacheManager cacheManager = new ConcurrentMapCacheManager("airlines", "aircraft", "routes", "airports");
+
+    private ConnectingFlightAggregateLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("cacheManager", cacheManager);
+
+        ReferenceLookupContext referenceLookupContext = new ReferenceLookupContext(referenceDataService, meterRegistry,
+                new CacheMetrics(meterRegistry), beanFactory.getBeanProvider(CacheManager.class));
+        loader = new ConnectingFlightAggregateLoader(flightRepository, flightConnectionRepository, flightMapper,
+                referenceLookupContext);
+
+        when(flightRepository.findByParentFlightIdOrderBySegmentNumber(MAIN_FLIGHT_ID)).thenReturn(List.of(segment()));
+        when(flightMapper.toResponse(any(Flight.class))).thenAnswer(invocation -> new FlightResponse());
+    }
+
+    @Test
+    void cachedReferencesAreNotBatchFetched() {
+        cacheManager.getCache("airlines").put(1L, airline());
+        cacheManager.getCache("aircraft").put(2L, aircraft());
+        cacheManager.getCache("routes").put(3L, route());
+        cacheManager.getCache("airports").put(4L, airport(4L));
+        cacheManager.getCache("airports").put(5L, airport(5L));
+
+        List<FlightResponse> responses = loader.loadSegments(MAIN_FLIGHT_ID);
+
+        assertThat(responses).hasSize(1);
+        assertThat(responses.get(0).getAirline().getId()).isEqualTo(1L);
+        assertThat(responses.get(0).getOriginAirport().getId()).isEqualTo(4L);
+        verifyNoInteractions(referenceDataService);
+    }
+
+    @Test
+    void onlyUncachedReferencesGoToTheBatchEndpoint() {
+        cacheManager.getCache("aircraft").put(2L, aircraft());
+        cacheManager.getCache("routes").put(3L, route());
+        cacheManager.getCache("airports").put(4L, airport(4L));
+        cacheManager.getCache("airports").put(5L, airport(5L));
+        when(referenceDataService.getAirlinesByIds(aryEq(new Long[]{1L}))).thenReturn(new AirlineCache[]{airline()});
+
+        List<FlightResponse> responses = loader.loadSegments(MAIN_FLIGHT_ID);
+
+        assertThat(responses.get(0).getAirline().getId()).isEqualTo(1L);
+        assertThat(cacheManager.getCache("airlines").get(1L)).isNotNull();
+        verify(referenceDataService).getAirlinesByIds(aryEq(new Long[]{1L}));
+        verifyNoMoreInteractions(referenceDataService);
+    }
+
+    private Flight segment() {
+        Flight segment = new Flight();
+        segment.setId(11L);
+        segment.setParentFlightId(MAIN_FLIGHT_ID);
+        segment.setAirlineId(1L);
+        segment.setAircraftId(2L);
+        segment.setRouteId(3L);
+        return segment;
+    }
+
+    private AirlineCache airline() {
+        AirlineCache airline = new AirlineCache();
+        airline.setId(1L);
+        return airline;
+    }
+
+    private AircraftCache aircraft() {
+        AircraftCache aircraft = new AircraftCache();
+        aircraft.setId(2L);
+        return aircraft;
+    }
+
+    private RouteCache route() {
+        RouteCache route = new RouteCache();
+        route.setId(3L);
+        route.setOriginAirportId(4L);
+        route.setDestinationAirportId(5L);
+        return route;
+    }
+
+    private AirportCache airport(Long id) {
+        AirportCache airport = new AirportCache();
+        airport.setId(id);
+        return airport;
+    }
+}
@@ -0,0 +1,494 @@
+package com.flightmanagement.flightservice.service;
+
+import com.flightmanagement.flightservice.dto.cache.AircraftCache;
+import com.flightmanagement.flightservice.dto.cache.AirlineCache;
+import com.flightmanagement.flightservice.dto.cache.RouteCache;
+import com.flightmanagement.flightservice.dto.request.ConnectingFlightRequest;
+import com.flightmanagement.flightservice.dto.request.FlightSegmentRequest;
+import com.flightmanagement.flightservice.dto.response.FlightResponse;
+import com.flightmanagement.flightservice.entity.Flight;
+import com.flightmanagement.flightservice.entity.FlightConnection;
+import com.flightmanagement.flightservice.entity.enums.FlightStatus;
+import com.flightmanagement.flightservice.entity.enums.FlightType;
+import com.flightmanagement.flightservice.mapper.FlightMapper;
+import com.flightmanagement.flightservice.repository.FlightConnectionRepository;
+import com.flightmanagement.flightservice.repository.FlightRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.invocation.Invocation;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * updateConnectingFlight segment diff'i: segment'ler kimlik (segmentFlightId, yoksa route) ile
+ * eşleşir ve pozisyonu değişse de yerinde güncellenir, sadece değişenler için commit sonrası event yayınlanır.
+ */
+@ExtendWith(MockitoExtension.class)
+class ConnectingFlightServiceTest {
+
+    private static final long MAIN_ID = 100L;
+    private static final long IST = 1L;
+    private static final long ESB = 2L;
+    private static final long ADB = 3L;
+    private static final long AYT = 4L;
+
+    private static final LocalDateTime SEG1_DEP = LocalDateTime.of(2026, 11, 2, 8, 0);
+    private static final LocalDateTime SEG1_ARR = LocalDateTime.of(2026, 11, 2, 9, 0);
+    private static final LocalDateTime SEG2_DEP = LocalDateTime.of(2026, 11, 2, 10, 30);
+    private static final LocalDateTime SEG2_ARR = LocalDateTime.of(2026, 11, 2, 11, 30);
+    private static final LocalDateTime SEG3_DEP = LocalDateTime.of(2026, 11, 2, 13, 0);
+    private static final LocalDateTime SEG3_ARR = LocalDateTime.of(2026, 11, 2, 14, 0);
+    private static final LocalDateTime SEG4_DEP = LocalDateTime.of(2026, 11, 2, 15, 30);
+    private static final LocalDateTime SEG4_ARR = LocalDateTime.of(2026, 11, 2, 16, 30);
+
+    @Mock
+    private FlightRepository flightRepository;
+    @Mock
+    private FlightConnectionRepository flightConnectionRepository;
+    @Mock
+    private FlightMapper flightMapper;
+    @Mock
+    private ReferenceLookupContext referenceLookupContext;
+    @Mock
+    private KafkaProducerService kafkaProducerService;
+    @Mock
+    private WebSocketMessageService webSocketMessageService;
+    @Mock
+    private ConnectingFlightAggregateLoader connectingFlightAggregateLoader;
+
+    @InjectMocks
+    private ConnectingFlightService connectingFlightService;
+
+    @BeforeEach
+    void setUp() {
+        RouteCache[] routes = {
+                route(12L, IST, ESB), route(23L, ESB, ADB), route(31L, ADB, IST), route(21L, ESB, IST),
+                route(24L, ESB, AYT), route(43L, AYT, ADB)
+        };
+        Map<Long, RouteCache> routesById = Arrays.stream(routes)
+                .collect(Collectors.toMap(RouteCache::getId, Function.identity()));
+        when(referenceLookupContext.getActiveRoutes()).thenReturn(routes);
+        when(referenceLookupContext.getRoute(anyLong()))
+                .thenAnswer(invocation -> routesById.get(invocation.<Long>getArgument(0)));
+
+        AirlineCache airline = new AirlineCache();
+        airline.setActive(true);
+        when(referenceLookupContext.getAirline(anyLong())).thenReturn(airline);
+        AircraftCache aircraft = new AircraftCache();
+        aircraft.setStatus("ACTIVE");
+        when(referenceLookupContext.getAircraft(anyLong())).thenReturn(aircraft);
+
+        when(flightMapper.toResponse(any(Flight.class))).thenAnswer(invocation -> new FlightResponse());
+    }
+
+    @Test
+    void unchangedRequestWritesAndPublishesNothing() {
+        Flight seg1 = existingSegment(1001L, 1, 12L, SEG1_DEP, SEG1_ARR);
+        Flight seg2 = existingSegment(1002L, 2, 23L, SEG2_DEP, SEG2_ARR);
+        givenExisting(mainFlight(12L, SEG1_DEP, SEG2_ARR), List.of(seg1, seg2));
+
+        connectingFlightService.updateConnectingFlight(MAIN_ID, request(
+                segment(1, IST, ESB, SEG1_DEP, SEG1_ARR),
+                segment(2, ESB, ADB, SEG2_DEP, SEG2_ARR)));
+
+        verify(flightRepository, never()).save(any(Flight.class));
+        verify(flightRepository, never()).saveAll(anyList());
+        verify(flightRepository, never()).deleteAll(anyIterable());
+        verify(flightConnectionRepository, never()).saveAll(anyList());
+        verifyNoInteractions(kafkaProducerService, webSocketMessageService);
+    }
+
+    @Test
+    void changedSegmentIsUpdatedInPlaceAndKeepsItsId() {
+        Flight seg1 = existingSegment(1001L, 1, 12L, SEG1_DEP, SEG1_ARR);
+        Flight seg2 = existingSegment(1002L, 2, 23L, SEG2_DEP, SEG2_ARR);
+        givenExisting(mainFlight(12L, SEG1_DEP, SEG2_ARR), List.of(seg1, seg2));
+        givenConnections(connections(seg1, seg2));
+
+        FlightSegmentRequest changed = segment(2, ESB, ADB, SEG2_DEP, SEG2_ARR);
+        changed.setGateNumber("B12");
+        connectingFlightService.updateConnectingFlight(MAIN_ID, request(
+                segment(1, IST, ESB, SEG1_DEP, SEG1_ARR), changed));
+
+        List<Flight> saved = captureSavedFlights();
+        assertThat(saved).hasSize(1);
+        assertThat(saved.get(0)).isSameAs(seg2);
+        assertThat(saved.get(0).getId()).isEqualTo(1002L);
+        assertThat(saved.get(0).getGateNumber()).isEqualTo("B12");
+
+        verify(flightRepository, never()).save(any(Flight.class));
+        verify(flightRepository, never()).deleteAll(anyIterable());
+        // Connection süresi değişmedi, connection yazılmaz
+        verify(flightConnectionRepository, never()).saveAll(anyList());
+        assertThat(segmentEvents()).containsExactly("SEGMENT_UPDATED TK100-S2 route 23");
+    }
+
+    @Test
+    void changedSegmentEventsArePublishedOnlyAfterCommit() {
+        Flight seg1 = existingSegment(1001L, 1, 12L, SEG1_DEP, SEG1_ARR);
+        Flight seg2 = existingSegment(1002L, 2, 23L, SEG2_DEP, SEG2_ARR);
+        givenExisting(mainFlight(12L, SEG1_DEP, SEG2_ARR), List.of(seg1, seg2));
+        givenConnections(connections(seg1, seg2));
+
+        FlightSegmentRequest changed = segment(2, ESB, ADB, SEG2_DEP, SEG2_ARR);
+        changed.setGateNumber("B12");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            connectingFlightService.updateConnectingFlight(MAIN_ID, request(
+                    segment(1, IST, ESB, SEG1_DEP, SEG1_ARR), changed));
+
+            verifyNoInteractions(kafkaProducerService, webSocketMessageService);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(segmentEvents()).containsExactly("SEGMENT_UPDATED TK100-S2 route 23");
+        verify(kafkaProducerService).sendFlightEvent(eq("CONNECTING_FLIGHT_UPDATED"), any(Flight.class), any());
+    }
+
+    @Test
+    void reorderedSegmentsKeepTheirIdsAndMoveThroughPlaceholderKeys() {
+        Flight seg1 = existingSegment(1001L, 1, 12L, SEG1_DEP, SEG1_ARR);
+        Flight seg2 = existingSegment(1002L, 2, 21L, SEG2_DEP, SEG2_ARR);
+        List<FlightConnection> existingConnections = connections(seg1, seg2);
+        givenExisting(mainFlight(12L, SEG1_DEP, SEG2_ARR), List.of(seg1, seg2));
+        givenConnections(existingConnections);
+        givenMainFlightSaved();
+        List<String> keysAtFlush = recordKeysAtFlush(List.of(seg1, seg2), existingConnections);
+
+        // IST→ESB, ESB→IST yerine ESB→IST, IST→ESB: segment'ler route ile eşleşip yer değiştirir
+        connectingFlightService.updateConnectingFlight(MAIN_ID, request(
+                segment(1, ESB, IST, SEG1_DEP, SEG1_ARR),
+                segment(2, IST, ESB, SEG2_DEP, SEG2_ARR)));
+
+        // Unique key'ler ara durumda çakışmasın diye önce geçici değerlerle flush edilir
+        assertThat(keysAtFlush).containsExactly("~rt/~ru 1001/1000");
+        InOrder order = inOrder(flightRepository);
+        order.verify(flightRepository).flush();
+        order.verify(flightRepository).saveAll(anyList());
+        verify(flightRepository, never()).deleteAll(anyIterable());
+
+        assertThat(captureSavedFlights()).containsExactly(seg2, seg1);
+        assertThat(seg2.getFlightNumber()).isEqualTo("TK100-S1");
+        assertThat(seg2.getSegmentNumber()).isEqualTo(1);
+        assertThat(seg1.getFlightNumber()).isEqualTo("TK100-S2");
+        assertThat(seg1.getSegmentNumber()).isEqualTo(2);
+
+        List<FlightConnection> savedConnections = captureSavedConnections();
+        assertThat(savedConnections).containsExactly(existingConnections.get(1), existingConnections.get(0));
+        assertThat(savedConnections).extracting(FlightConnection::getSegmentOrder).containsExactly(1, 2);
+        assertThat(savedConnections).extracting(FlightConnection::getConnectionTimeMinutes).containsExactly(90, null);
+
+        assertThat(segmentEvents()).containsExactly(
+                "SEGMENT_UPDATED TK100-S1 route 21",
+                "SEGMENT_UPDATED TK100-S2 route 12");
+        // Ana uçuşun ilk route'u değiştiği için ana uçuş da kaydedilir
+        verify(flightRepository).save(any(Flight.class));
+    }
+
+    @Test
+    void insertedMiddleSegmentShiftsFollowingSegmentsInsteadOfRecreatingThem() {
+        Flight seg1 = existingSegment(1001L, 1, 12L, SEG1_DEP, SEG1_ARR);
+        Flight seg2 = existingSegment(1002L, 2, 23L, SEG2_DEP, SEG2_ARR);
+        Flight seg3 = existingSegment(1003L, 3, 31L, SEG3_DEP, SEG3_ARR);
+        List<FlightConnection> existingConnections = connections(seg1, seg2, seg3);
+        givenExisting(mainFlight(12L, SEG1_DEP, SEG3_ARR), List.of(seg1, seg2, seg3));
+        givenConnections(existingConnections);
+        givenMainFlightSaved();
+        givenSegmentsMapped();
+        List<String> keysAtFlush = recordKeysAtFlush(List.of(seg3), List.of(existingConnections.get(2)));
+
+        // ESB→ADB yerine ESB→AYT→ADB; ADB→IST segment'i 4. sıraya kayar
+        connectingFlightService.updateConnectingFlight(MAIN_ID, request(
+                segment(1, IST, ESB, SEG1_DEP, SEG1_ARR),
+                segment(2, ESB, AYT, SEG2_DEP, SEG2_ARR),
+                segment(3, AYT, ADB, SEG3_DEP, SEG3_ARR),
+                segment(4, ADB, IST, SEG4_DEP, SEG4_ARR)));
+
+        verify(flightConnectionRepository).deleteAll(List.of(existingConnections.get(1)));
+        verify(flightRepository).deleteAll(List.of(seg2));
+        // Silinen seg2 ile kayan seg3'ün geçici key'leri aynı flush'ta yazılır
+        assertThat(keysAtFlush).containsExactly("~rv 1000");
+
+        List<List<Flight>> saved = captureAllSavedFlights();
+        assertThat(saved.get(0)).containsExactly(seg3);
+        assertThat(seg3.getId()).isEqualTo(1003L);
+        assertThat(seg3.getFlightNumber()).isEqualTo("TK100-S4");
+        assertThat(seg3.getSegmentNumber()).isEqualTo(4);
+        assertThat(saved.get(1)).extracting(Flight::getFlightNumber).containsExactly("TK100-S2", "TK100-S3");
+        assertThat(saved.get(1)).extracting(Flight::getRouteId).containsExactly(24L, 43L);
+
+        List<FlightConnection> savedConnections = captureSavedConnections();
+        assertThat(savedConnections).extracting(FlightConnection::getSegmentOrder).containsExactly(2, 3, 4);
+        assertThat(savedConnections.get(2)).isSameAs(existingConnections.get(2));
+
+        assertThat(segmentEvents()).containsExactly(
+                "SEGMENT_REMOVED TK100-S2 route 23",
+                "SEGMENT_ADDED TK100-S2 route 24",
+                "SEGMENT_ADDED TK100-S3 route 43",
+                "SEGMENT_UPDATED TK100-S4 route 31");
+    }
+
+    @Test
+    void explicitSegmentIdKeepsSegmentAcrossRouteChange() {
+        Flight seg1 = existingSegment(1001L, 1, 12L, SEG1_DEP, SEG1_ARR);
+        Flight seg2 = existingSegment(1002L, 2, 23L, SEG2_DEP, SEG2_ARR);
+        givenExisting(mainFlight(12L, SEG1_DEP, SEG2_ARR), List.of(seg1, seg2));
+        givenConnections(connections(seg1, seg2));
+
+        FlightSegmentRequest rerouted = segment(2, ESB, IST, SEG2_DEP, SEG2_ARR);
+        rerouted.setSegmentFlightId(1002L);
+        connectingFlightService.updateConnectingFlight(MAIN_ID, request(
+                segment(1, IST, ESB, SEG1_DEP, SEG1_ARR), rerouted));
+
+        assertThat(captureSavedFlights()).containsExactly(seg2);
+        assertThat(seg2.getRouteId()).isEqualTo(21L);
+        verify(flightRepository, never()).deleteAll(anyIterable());
+        verify(flightRepository, never()).flush();
+        assertThat(segmentEvents()).containsExactly("SEGMENT_UPDATED TK100-S2 route 21");
+    }
+
+    @Test
+    void surplusExistingSegmentIsRemovedWithItsConnection() {
+        Flight seg1 = existingSegment(1001L, 1, 12L, SEG1_DEP, SEG1_ARR);
+        Flight seg2 = existingSegment(1002L, 2, 23L, SEG2_DEP, SEG2_ARR);
+        Flight seg3 = existingSegment(1003L, 3, 31L, SEG3_DEP, SEG3_ARR);
+        List<FlightConnection> existingConnections = connections(seg1, seg2, seg3);
+        givenExisting(mainFlight(12L, SEG1_DEP, SEG3_ARR), List.of(seg1, seg2, seg3));
+        givenConnections(existingConnections);
+        givenMainFlightSaved();
+
+        connectingFlightService.updateConnectingFlight(MAIN_ID, request(
+                segment(1, IST, ESB, SEG1_DEP, SEG1_ARR),
+                segment(2, ESB, ADB, SEG2_DEP, SEG2_ARR)));
+
+        verify(flightConnectionRepository).deleteAll(List.of(existingConnections.get(2)));
+        verify(flightRepository).deleteAll(List.of(seg3));
+        verify(flightRepository, never()).saveAll(anyList());
+        assertThat(segmentEvents()).containsExactly("SEGMENT_REMOVED TK100-S3 route 31");
+
+        // Artık son segment olan seg2'nin connection süresi kalkar
+        List<FlightConnection> savedConnections = captureSavedConnections();
+        assertThat(savedConnections).hasSize(1);
+        assertThat(savedConnections.get(0).getSegmentFlightId()).isEqualTo(1002L);
+        assertThat(savedConnections.get(0).getConnectionTimeMinutes()).isNull();
+    }
+
+    @Test
+    void appendedSegmentIsInsertedAndPreviousConnectionUpdated() {
+        Flight seg1 = existingSegment(1001L, 1, 12L, SEG1_DEP, SEG1_ARR);
+        Flight seg2 = existingSegment(1002L, 2, 23L, SEG2_DEP, SEG2_ARR);
+        givenExisting(mainFlight(12L, SEG1_DEP, SEG2_ARR), List.of(seg1, seg2));
+        givenConnections(connections(seg1, seg2));
+        givenMainFlightSaved();
+        givenSegmentsMapped();
+
+        connectingFlightService.updateConnectingFlight(MAIN_ID, request(
+                segment(1, IST, ESB, SEG1_DEP, SEG1_ARR),
+                segment(2, ESB, ADB, SEG2_DEP, SEG2_ARR),
+                segment(3, ADB, IST, SEG3_DEP, SEG3_ARR)));
+
+        verify(flightRepository, never()).deleteAll(anyIterable());
+        List<Flight> inserted = captureSavedFlights();
+        assertThat(inserted).extracting(Flight::getFlightNumber).containsExactly("TK100-S3");
+        assertThat(segmentEvents()).containsExactly("SEGMENT_ADDED TK100-S3 route 31");
+
+        List<FlightConnection> savedConnections = captureSavedConnections();
+        assertThat(savedConnections).hasSize(2);
+        assertThat(savedConnections.get(0).getSegmentFlightId()).isEqualTo(1002L);
+        assertThat(savedConnections.get(0).getConnectionTimeMinutes()).isEqualTo(90);
+        assertThat(savedConnections.get(1).getSegmentOrder()).isEqualTo(3);
+    }
+
+    // ===============================
+    // HELPERS
+    // ===============================
+
+    private void givenExisting(Flight mainFlight, List<Flight> segments) {
+        when(flightRepository.findById(MAIN_ID)).thenReturn(Optional.of(mainFlight));
+        when(flightRepository.findByParentFlightIdOrderBySegmentNumber(MAIN_ID)).thenReturn(segments);
+    }
+
+    private void givenConnections(List<FlightConnection> connections) {
+        when(flightConnectionRepository.findByMainFlightIdOrderBySegmentOrder(MAIN_ID)).thenReturn(connections);
+    }
+
+    private void givenMainFlightSaved() {
+        when(flightRepository.save(any(Flight.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    private void givenSegmentsMapped() {
+        when(flightMapper.segmentRequestToEntity(any())).thenAnswer(invocation -> new Flight());
+    }
+
+    /**
+     * Segment başına yayınlanan event'ler: "EVENT_TYPE flightNumber route routeId"
+     */
+    private List<String> segmentEvents() {
+        List<String> events = new ArrayList<>();
+        for (Invocation invocation : mockingDetails(kafkaProducerService).getInvocations()) {
+            if (invocation.getMethod().getName().equals("sendFlightEvent") && invocation.getArguments().length == 2) {
+                Flight segment = invocation.getArgument(1);
+                events.add(invocation.getArgument(0) + " " + segment.getFlightNumber() + " route " + segment.getRouteId());
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Her flush anındaki flight number'lar ve connection sıraları: "S1/S2 order1/order2"
+     */
+    private List<String> recordKeysAtFlush(List<Flight> segments, List<FlightConnection> connections) {
+        List<String> keys = new ArrayList<>();
+        doAnswer(invocation -> {
+            keys.add(segments.stream().map(Flight::getFlightNumber).collect(Collectors.joining("/")) + " "
+                    + connections.stream().map(c -> String.valueOf(c.getSegmentOrder())).collect(Collectors.joining("/")));
+            return null;
+        }).when(flightRepository).flush();
+        return keys;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<Flight>> captureAllSavedFlights() {
+        ArgumentCaptor<List<Flight>> captor = ArgumentCaptor.forClass(List.class);
+        verify(flightRepository, times(2)).saveAll(captor.capture());
+        return captor.getAllValues();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Flight> captureSavedFlights() {
+        ArgumentCaptor<List<Flight>> captor = ArgumentCaptor.forClass(List.class);
+        verify(flightRepository).saveAll(captor.capture());
+        return captor.getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<FlightConnection> captureSavedConnections() {
+        ArgumentCaptor<List<FlightConnection>> captor = ArgumentCaptor.forClass(List.class);
+        verify(flightConnectionRepository).saveAll(captor.capture());
+        return captor.getValue();
+    }
+
+    private static RouteCache route(Long id, Long origin, Long destination) {
+        RouteCache route = new RouteCache();
+        route.setId(id);
+        route.setActive(true);
+        route.setOriginAirportId(origin);
+        route.setDestinationAirportId(destination);
+        return route;
+    }
+
+    private static ConnectingFlightRequest request(FlightSegmentRequest... segments) {
+        ConnectingFlightRequest request = new ConnectingFlightRequest();
+        request.setMainFlightNumber("TK100");
+        request.setAirlineId(7L);
+        request.setAircraftId(8L);
+        request.setType(FlightType.PASSENGER);
+        request.setPassengerCount(150);
+        request.setActive(true);
+        request.setSegments(Arrays.asList(segments));
+        return request;
+    }
+
+    private static FlightSegmentRequest segment(int number, Long origin, Long destination,
+                                                LocalDateTime departure, LocalDateTime arrival) {
+        FlightSegmentRequest segment = new FlightSegmentRequest();
+        segment.setSegmentNumber(number);
+        segment.setOriginAirportId(origin);
+        segment.setDestinationAirportId(destination);
+        segment.setScheduledDeparture(departure);
+        segment.setScheduledArrival(arrival);
+        return segment;
+    }
+
+    private static Flight mainFlight(Long firstRouteId, LocalDateTime departure, LocalDateTime arrival) {
+        Flight flight = new Flight();
+        flight.setId(MAIN_ID);
+        flight.setFlightNumber("TK100");
+        flight.setAirlineId(7L);
+        flight.setAircraftId(8L);
+        flight.setType(FlightType.PASSENGER);
+        flight.setPassengerCount(150);
+        flight.setActive(true);
+        flight.setRouteId(firstRouteId);
+        flight.setFlightDate(departure.toLocalDate());
+        flight.setScheduledDeparture(departure);
+        flight.setScheduledArrival(arrival);
+        flight.setIsConnectingFlight(true);
+        flight.setSegmentNumber(0);
+        flight.setStatus(FlightStatus.SCHEDULED);
+        return flight;
+    }
+
+    private static Flight existingSegment(Long id, int number, Long routeId,
+                                          LocalDateTime departure, LocalDateTime arrival) {
+        Flight segment = new Flight();
+        segment.setId(id);
+        segment.setFlightNumber("TK100-S" + number);
+        segment.setAirlineId(7L);
+        segment.setAircraftId(8L);
+        segment.setType(FlightType.PASSENGER);
+        segment.setPassengerCount(150);
+        segment.setActive(true);
+        segment.setRouteId(routeId);
+        segment.setFlightDate(departure.toLocalDate());
+        segment.setScheduledDeparture(departure);
+        segment.setScheduledArrival(arrival);
+        segment.setParentFlightId(MAIN_ID);
+        segment.setSegmentNumber(number);
+        segment.setIsConnectingFlight(false);
+        segment.setStatus(FlightStatus.SCHEDULED);
+        return segment;
+    }
+
+    private static List<FlightConnection> connections(Flight... segments) {
+        List<FlightConnection> connections = new ArrayList<>();
+        for (int i = 0; i < segments.length; i++) {
+            FlightConnection connection = new FlightConnection();
+            connection.setId(5000L + i);
+            connection.setMainFlightId(MAIN_ID);
+            connection.setSegmentFlightId(segments[i].getId());
+            connection.setSegmentOrder(i + 1);
+            connection.setConnectionTimeMinutes(i < segments.length - 1
+                    ? (int) Duration.between(segments[i].getScheduledArrival(),
+                            segments[i + 1].getScheduledDeparture()).toMinutes()
+                    : null);
+            connections.add(connection);
+        }
+        return connections;
+    }
+}
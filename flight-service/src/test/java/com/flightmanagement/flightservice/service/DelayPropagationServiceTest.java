@@ -0,0 +1,321 @@
+package com.flightmanagement.flightservice.service;
+
+import com.flightmanagement.flightservice.entity.Flight;
+import com.flightmanagement.flightservice.entity.enums.FlightStatus;
+import com.flightmanagement.flightservice.event.DelayPropagationPayload;
+import com.flightmanagement.flightservice.exception.BusinessException;
+import com.flightmanagement.flightservice.repository.FlightRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_DEFAULTS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Gecikmenin uçak rotasyonu (min turnaround) ve segment zinciri (min connection) boyunca yayılması;
+ * buffer'ın emdiği gecikme, dondurulmuş status'lar, ana connecting uçuşun hizalanması ve
+ * konsolide özet / opt-in uçuş başına event'ler.
+ */
+@ExtendWith(MockitoExtension.class)
+class DelayPropagationServiceTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2026, 11, 2, 0, 0);
+
+    @Mock
+    private KafkaProducerService kafkaProducerService;
+    @Mock
+    private WebSocketMessageService webSocketMessageService;
+
+    private FlightRepository flightRepository;
+    private DelayPropagationService delayPropagationService;
+
+    // Repository sorgularının okuduğu "veritabanı"
+    private final List<Flight> flights = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // Sorgular stub yerine bellek içi listeden cevaplanır; her test yalnızca veriyi kurar
+        flightRepository = mock(FlightRepository.class, this::queryFlights);
+        delayPropagationService = new DelayPropagationService(flightRepository, kafkaProducerService,
+                webSocketMessageService, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(delayPropagationService, "enabled", true);
+        ReflectionTestUtils.setField(delayPropagationService, "minTurnaroundMinutes", 30);
+        ReflectionTestUtils.setField(delayPropagationService, "minConnectionMinutes", 45);
+        ReflectionTestUtils.setField(delayPropagationService, "horizonHours", 24);
+        ReflectionTestUtils.setField(delayPropagationService, "maxAffectedFlights", 20000);
+    }
+
+    @Test
+    void rotationDelayIsPropagatedUntilTurnaroundBufferAbsorbsIt() {
+        Flight first = flight(1L, "TK1", 7L, at(8, 0), at(9, 0));
+        Flight second = flight(2L, "TK2", 7L, at(9, 40), at(10, 40));
+        Flight third = flight(3L, "TK3", 7L, at(13, 0), at(14, 0));
+        delaySaved(first, 60);
+
+        DelayPropagationPayload payload = delayPropagationService.propagateFrom(first, 60);
+
+        // 10:00 varış + 30 dk turnaround = 10:30; 09:40 kalkış 50 dk kayar
+        assertThat(second.getScheduledDeparture()).isEqualTo(at(10, 30));
+        assertThat(second.getScheduledArrival()).isEqualTo(at(11, 30));
+        assertThat(second.getDelayMinutes()).isEqualTo(50);
+        assertThat(second.getStatus()).isEqualTo(FlightStatus.DELAYED);
+        assertThat(second.getDelayReason()).isEqualTo("Knock-on delay from TK1");
+
+        // 11:30 + 30 = 12:00 < 13:00, gecikme emilir
+        assertThat(third.getScheduledDeparture()).isEqualTo(at(13, 0));
+        assertThat(third.getDelayMinutes()).isNull();
+
+        assertThat(payload.getSourceFlightIds()).containsExactly(1L);
+        assertThat(payload.getAffectedFlightCount()).isEqualTo(1);
+        assertThat(payload.getTotalAddedDelayMinutes()).isEqualTo(50);
+        assertThat(payload.getMaxAddedDelayMinutes()).isEqualTo(50);
+        DelayPropagationPayload.AffectedFlight affected = payload.getAffectedFlights().get(0);
+        assertThat(affected.getId()).isEqualTo(2L);
+        assertThat(affected.getCause()).isEqualTo("ROTATION");
+
+        assertThat(savedFlights()).containsExactly(second);
+        verify(kafkaProducerService, never()).sendFlightEvents(anyString(), anyList());
+        verify(kafkaProducerService).sendDelayPropagationEvent(payload);
+        verify(webSocketMessageService).sendBulkFlightUpdate("DELAY_PROPAGATION", payload);
+    }
+
+    @Test
+    void delayChainsAcrossSeveralRotationLegs() {
+        Flight first = flight(1L, "TK1", 7L, at(8, 0), at(9, 0));
+        Flight second = flight(2L, "TK2", 7L, at(9, 30), at(10, 30));
+        Flight third = flight(3L, "TK3", 7L, at(11, 0), at(12, 0));
+        delaySaved(first, 90);
+
+        DelayPropagationPayload payload = delayPropagationService.propagateFrom(first, 90);
+
+        assertThat(second.getDelayMinutes()).isEqualTo(90);
+        assertThat(third.getDelayMinutes()).isEqualTo(90);
+        assertThat(third.getDelayReason()).isEqualTo("Knock-on delay from TK1");
+        assertThat(payload.getAffectedFlights())
+                .extracting(DelayPropagationPayload.AffectedFlight::getId)
+                .containsExactly(2L, 3L);
+        assertThat(payload.getTotalAddedDelayMinutes()).isEqualTo(180);
+    }
+
+    @Test
+    void segmentChainDelaysNextSegmentAndRealignsMainFlight() {
+        Flight main = flight(50L, "TK50", null, at(8, 0), at(11, 0));
+        main.setIsConnectingFlight(true);
+        Flight firstSegment = segment(51L, "TK50-1", 8L, 50L, 1, at(8, 0), at(9, 0));
+        Flight secondSegment = segment(52L, "TK50-2", 9L, 50L, 2, at(9, 50), at(11, 0));
+        delaySaved(firstSegment, 30);
+
+        DelayPropagationPayload payload = delayPropagationService.propagateFrom(firstSegment, 30);
+
+        // 09:30 varış + 45 dk connection = 10:15; ikinci segment 25 dk kayar
+        assertThat(secondSegment.getScheduledDeparture()).isEqualTo(at(10, 15));
+        assertThat(secondSegment.getDelayMinutes()).isEqualTo(25);
+        assertThat(payload.getAffectedFlights().get(0).getCause()).isEqualTo("CONNECTION");
+
+        assertThat(main.getScheduledDeparture()).isEqualTo(at(8, 30));
+        assertThat(main.getScheduledArrival()).isEqualTo(at(11, 25));
+        assertThat(main.getDelayMinutes()).isEqualTo(30);
+        assertThat(main.getStatus()).isEqualTo(FlightStatus.DELAYED);
+
+        assertThat(savedFlights()).containsExactlyInAnyOrder(secondSegment, main);
+    }
+
+    @Test
+    void frozenFlightIsNotDelayedAndStopsTheChain() {
+        Flight first = flight(1L, "TK1", 7L, at(8, 0), at(9, 0));
+        Flight departed = flight(2L, "TK2", 7L, at(9, 40), at(10, 40));
+        departed.setStatus(FlightStatus.DEPARTED);
+        Flight third = flight(3L, "TK3", 7L, at(11, 0), at(12, 0));
+        delaySaved(first, 60);
+
+        DelayPropagationPayload payload = delayPropagationService.propagateFrom(first, 60);
+
+        assertThat(departed.getScheduledDeparture()).isEqualTo(at(9, 40));
+        assertThat(third.getDelayMinutes()).isNull();
+        assertThat(payload.getAffectedFlightCount()).isZero();
+        verifyNoInteractions(kafkaProducerService, webSocketMessageService);
+    }
+
+    @Test
+    void nothingIsPropagatedWhenDisabledOrDelayNotPositive() {
+        Flight first = flight(1L, "TK1", 7L, at(8, 0), at(9, 0));
+
+        assertThat(delayPropagationService.propagateFrom(first, 0)).isNull();
+
+        ReflectionTestUtils.setField(delayPropagationService, "enabled", false);
+        assertThat(delayPropagationService.propagateFrom(first, 30)).isNull();
+
+        verify(flightRepository, never()).findRotationFlights(anyCollection(), any(), any());
+    }
+
+    @Test
+    void exceedingAffectedFlightLimitAborts() {
+        ReflectionTestUtils.setField(delayPropagationService, "maxAffectedFlights", 1);
+        Flight first = flight(1L, "TK1", 7L, at(8, 0), at(9, 0));
+        flight(2L, "TK2", 7L, at(9, 30), at(10, 30));
+        flight(3L, "TK3", 7L, at(11, 0), at(12, 0));
+        delaySaved(first, 90);
+
+        assertThatThrownBy(() -> delayPropagationService.propagateFrom(first, 90))
+                .isInstanceOf(BusinessException.class);
+        verify(flightRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void disruptionDelaysActiveSourcesAndSkipsFrozenOnes() {
+        Flight source = flight(1L, "TK1", 7L, at(8, 0), at(9, 0));
+        Flight arrived = flight(4L, "TK4", 8L, at(6, 0), at(7, 0));
+        arrived.setStatus(FlightStatus.ARRIVED);
+        Flight next = flight(2L, "TK2", 7L, at(9, 40), at(10, 40));
+
+        DelayPropagationPayload payload = delayPropagationService.applyDisruption(
+                List.of(1L, 4L, 1L), 60, "Hub closure");
+
+        assertThat(source.getScheduledDeparture()).isEqualTo(at(9, 0));
+        assertThat(source.getDelayMinutes()).isEqualTo(60);
+        assertThat(source.getDelayReason()).isEqualTo("Hub closure");
+        assertThat(source.getStatus()).isEqualTo(FlightStatus.DELAYED);
+        assertThat(arrived.getScheduledDeparture()).isEqualTo(at(6, 0));
+        assertThat(next.getDelayMinutes()).isEqualTo(50);
+
+        assertThat(payload.getSourceFlightIds()).containsExactly(1L);
+        assertThat(payload.getReason()).isEqualTo("Hub closure");
+        verify(kafkaProducerService).sendDelayPropagationEvent(payload);
+        verify(kafkaProducerService, never()).sendFlightEvents(anyString(), anyList());
+    }
+
+    @Test
+    void disruptionWithoutKnockOnStillPublishesSummary() {
+        flight(1L, "TK1", 7L, at(8, 0), at(9, 0));
+
+        DelayPropagationPayload payload = delayPropagationService.applyDisruption(List.of(1L), 30, "ATC");
+
+        assertThat(payload.getAffectedFlightCount()).isZero();
+        verify(kafkaProducerService).sendDelayPropagationEvent(payload);
+        verify(kafkaProducerService, never()).sendFlightEvents(anyString(), anyList());
+    }
+
+    @Test
+    void perFlightEventsArePublishedOnlyWhenEnabled() {
+        ReflectionTestUtils.setField(delayPropagationService, "publishFlightEvents", true);
+        Flight source = flight(1L, "TK1", 7L, at(8, 0), at(9, 0));
+        Flight next = flight(2L, "TK2", 7L, at(9, 40), at(10, 40));
+
+        DelayPropagationPayload payload = delayPropagationService.applyDisruption(List.of(1L), 60, "Hub closure");
+
+        verify(kafkaProducerService).sendFlightEvents("FLIGHT_DELAYED", List.of(source));
+        verify(kafkaProducerService).sendFlightEvents("FLIGHT_DELAYED", List.of(next));
+        verify(kafkaProducerService).sendDelayPropagationEvent(payload);
+    }
+
+    @Test
+    void disruptionFallsBackToPerFlightEventsWhenPropagationIsDisabled() {
+        ReflectionTestUtils.setField(delayPropagationService, "enabled", false);
+        Flight source = flight(1L, "TK1", 7L, at(8, 0), at(9, 0));
+
+        assertThat(delayPropagationService.applyDisruption(List.of(1L), 30, "ATC")).isNull();
+
+        verify(kafkaProducerService).sendFlightEvents("FLIGHT_DELAYED", List.of(source));
+        verify(kafkaProducerService, never()).sendDelayPropagationEvent(any());
+    }
+
+    @Test
+    void disruptionWithUnknownFlightsIsRejected() {
+        assertThatThrownBy(() -> delayPropagationService.applyDisruption(List.of(99L), 30, "x"))
+                .isInstanceOf(BusinessException.class);
+        verifyNoInteractions(kafkaProducerService, webSocketMessageService);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object queryFlights(InvocationOnMock invocation) throws Throwable {
+        switch (invocation.getMethod().getName()) {
+            case "findRotationFlights": {
+                Collection<Long> aircraftIds = invocation.getArgument(0);
+                LocalDateTime start = invocation.getArgument(1);
+                LocalDateTime end = invocation.getArgument(2);
+                return flights.stream()
+                        .filter(f -> aircraftIds.contains(f.getAircraftId()))
+                        .filter(f -> !f.getScheduledDeparture().isBefore(start) && f.getScheduledDeparture().isBefore(end))
+                        .collect(Collectors.toList());
+            }
+            case "findSegmentsByParentFlightIds": {
+                Collection<Long> parentIds = invocation.getArgument(0);
+                return flights.stream()
+                        .filter(f -> parentIds.contains(f.getParentFlightId()))
+                        .collect(Collectors.toList());
+            }
+            case "findAllById": {
+                Set<Long> ids = new HashSet<>();
+                ((Iterable<Long>) invocation.getArgument(0)).forEach(ids::add);
+                return flights.stream().filter(f -> ids.contains(f.getId())).collect(Collectors.toList());
+            }
+            default:
+                return RETURNS_DEFAULTS.answer(invocation);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Flight> savedFlights() {
+        ArgumentCaptor<List<Flight>> captor = ArgumentCaptor.forClass(List.class);
+        verify(flightRepository).saveAll(captor.capture());
+        return captor.getValue();
+    }
+
+    // Kaynak uçuşun gecikmesi, propagateFrom çağrılmadan önce kaydedilmiş olur
+    private static void delaySaved(Flight flight, int minutes) {
+        flight.setDelayMinutes(minutes);
+        flight.setStatus(FlightStatus.DELAYED);
+        flight.setScheduledDeparture(flight.getScheduledDeparture().plusMinutes(minutes));
+        flight.setScheduledArrival(flight.getScheduledArrival().plusMinutes(minutes));
+    }
+
+    private Flight flight(Long id, String flightNumber, Long aircraftId, LocalDateTime departure, LocalDateTime arrival) {
+        Flight flight = new Flight();
+        flight.setId(id);
+        flight.setFlightNumber(flightNumber);
+        flight.setAircraftId(aircraftId);
+        flight.setFlightDate(departure.toLocalDate());
+        flight.setScheduledDeparture(departure);
+        flight.setScheduledArrival(arrival);
+        flight.setStatus(FlightStatus.SCHEDULED);
+        flights.add(flight);
+        return flight;
+    }
+
+    private Flight segment(Long id, String flightNumber, Long aircraftId, Long parentId, int segmentNumber,
+                           LocalDateTime departure, LocalDateTime arrival) {
+        Flight segment = flight(id, flightNumber, aircraftId, departure, arrival);
+        segment.setParentFlightId(parentId);
+        segment.setSegmentNumber(segmentNumber);
+        segment.setIsConnectingFlight(true);
+        return segment;
+    }
+
+    private static LocalDateTime at(int hour, int minute) {
+        return DAY.withHour(hour).withMinute(minute);
+    }
+}
@@ -0,0 +1,255 @@
+package com.flightmanagement.flightservice.service;
+
+import com.flightmanagement.flightservice.dto.cache.RouteCache;
+import com.flightmanagement.flightservice.dto.response.ItineraryResponse;
+import com.flightmanagement.flightservice.entity.Flight;
+import com.flightmanagement.flightservice.entity.enums.FlightStatus;
+import com.flightmanagement.flightservice.exception.BusinessException;
+import com.flightmanagement.flightservice.metrics.CacheMetrics;
+import com.flightmanagement.flightservice.repository.FlightRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * RAPTOR tarzı itinerary araması: direkt ve aktarmalı bacaklar, minimum connection süresi,
+ * maxStops sınırı ve tarih bazlı departure board cache'i.
+ */
+@ExtendWith(MockitoExtension.class)
+class ItinerarySearchServiceTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 11, 2);
+
+    @Mock
+    private FlightRepository flightRepository;
+    @Mock
+    private ReferenceLookupContext referenceLookupContext;
+    @Mock
+    private CacheMetrics cacheMetrics;
+
+    private ItinerarySearchService itinerarySearchService;
+
+    private final List<Flight> flights = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        itinerarySearchService = new ItinerarySearchService(flightRepository, referenceLookupContext,
+                new SimpleMeterRegistry(), cacheMetrics);
+        ReflectionTestUtils.setField(itinerarySearchService, "boardTtlSeconds", 30L);
+        ReflectionTestUtils.setField(itinerarySearchService, "boardHorizonDays", 2);
+        ReflectionTestUtils.setField(itinerarySearchService, "maxCachedBoards", 14);
+        ReflectionTestUtils.setField(itinerarySearchService, "maxStopsLimit", 3);
+        ReflectionTestUtils.setField(itinerarySearchService, "maxConnectionMinutes", 720);
+        ReflectionTestUtils.setField(itinerarySearchService, "maxResultsLimit", 20);
+
+        flights.add(flight(11L, "TK100", 1L, at(8, 0), at(9, 0)));     // IST → ESB
+        flights.add(flight(12L, "TK200", 2L, at(9, 10), at(10, 10)));  // ESB → ADB, 10 dk aktarma
+        flights.add(flight(13L, "TK300", 2L, at(9, 45), at(10, 45)));  // ESB → ADB, 45 dk aktarma
+        flights.add(flight(14L, "TK400", 3L, at(12, 0), at(13, 15)));  // IST → ADB direkt
+    }
+
+    @Test
+    void findsDirectAndConnectingItinerariesOrderedByDeparture() {
+        givenBoard();
+
+        List<ItineraryResponse> results = itinerarySearchService.search(" ist ", "adb", DATE, null, 1, 30, 10);
+
+        assertThat(results).hasSize(2);
+
+        ItineraryResponse connecting = results.get(0);
+        assertThat(flightIds(connecting)).containsExactly(11L, 13L);
+        assertThat(connecting.getStops()).isEqualTo(1);
+        assertThat(connecting.getDeparture()).isEqualTo(at(8, 0));
+        assertThat(connecting.getArrival()).isEqualTo(at(10, 45));
+        assertThat(connecting.getTotalDurationMinutes()).isEqualTo(165);
+        assertThat(connecting.getLegs().get(0).getConnectionTimeMinutes()).isNull();
+        assertThat(connecting.getLegs().get(1).getConnectionTimeMinutes()).isEqualTo(45);
+        assertThat(connecting.getLegs().get(1).getOriginAirportCode()).isEqualTo("ESB");
+
+        ItineraryResponse direct = results.get(1);
+        assertThat(flightIds(direct)).containsExactly(14L);
+        assertThat(direct.getStops()).isZero();
+        assertThat(direct.getOriginAirportCode()).isEqualTo("IST");
+        assertThat(direct.getDestinationAirportCode()).isEqualTo("ADB");
+    }
+
+    @Test
+    void shorterMinimumConnectionAllowsEarlierArrival() {
+        givenBoard();
+
+        List<ItineraryResponse> results = itinerarySearchService.search("IST", "ADB", DATE, null, 1, 5, 10);
+
+        assertThat(results).extracting(this::flightIds)
+                .containsExactly(List.of(11L, 12L), List.of(14L));
+    }
+
+    @Test
+    void longerMinimumConnectionDropsMissedTransfers() {
+        givenBoard();
+
+        List<ItineraryResponse> results = itinerarySearchService.search("IST", "ADB", DATE, null, 1, 60, 10);
+
+        assertThat(results).extracting(this::flightIds).containsExactly(List.of(14L));
+    }
+
+    @Test
+    void maxStopsZeroReturnsOnlyDirectFlights() {
+        givenBoard();
+
+        List<ItineraryResponse> results = itinerarySearchService.search("IST", "ADB", DATE, null, 0, 30, 10);
+
+        assertThat(results).extracting(this::flightIds).containsExactly(List.of(14L));
+    }
+
+    @Test
+    void departAfterSkipsEarlierFirstLegs() {
+        givenBoard();
+
+        List<ItineraryResponse> results = itinerarySearchService.search("IST", "ADB", DATE,
+                LocalTime.of(8, 30), 2, 30, 10);
+
+        assertThat(results).extracting(this::flightIds).containsExactly(List.of(14L));
+    }
+
+    @Test
+    void maxResultsCapsTheResultList() {
+        givenBoard();
+
+        List<ItineraryResponse> results = itinerarySearchService.search("IST", "ADB", DATE, null, 1, 30, 1);
+
+        assertThat(results).hasSize(1);
+    }
+
+    @Test
+    void unknownAirportReturnsEmpty() {
+        givenBoard();
+
+        assertThat(itinerarySearchService.search("IST", "AYT", DATE, null, 2, 30, 10)).isEmpty();
+    }
+
+    @Test
+    void unresolvableRouteIsSkipped() {
+        givenRoutes(false);
+        givenFlights();
+
+        List<ItineraryResponse> results = itinerarySearchService.search("IST", "ADB", DATE, null, 1, 30, 10);
+
+        assertThat(results).extracting(this::flightIds).containsExactly(List.of(14L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void boardIsBuiltOnceWithBatchedRouteLookup() {
+        givenBoard();
+
+        itinerarySearchService.search("IST", "ADB", DATE, null, 1, 30, 10);
+        itinerarySearchService.search("IST", "ESB", DATE, null, 1, 30, 10);
+
+        verify(flightRepository, times(1)).findItineraryLegsInTimeRange(
+                eq(DATE.atStartOfDay()), eq(DATE.plusDays(2).atStartOfDay()), eq(FlightStatus.CANCELLED));
+        ArgumentCaptor<Collection<Long>> routeIds = ArgumentCaptor.forClass(Collection.class);
+        verify(referenceLookupContext).prefetchRoutes(routeIds.capture());
+        assertThat(routeIds.getValue()).containsExactlyInAnyOrder(1L, 2L, 3L);
+        verify(referenceLookupContext).closeScope();
+
+        itinerarySearchService.invalidateBoards();
+        itinerarySearchService.search("IST", "ADB", DATE, null, 1, 30, 10);
+
+        verify(flightRepository, times(2)).findItineraryLegsInTimeRange(any(), any(), eq(FlightStatus.CANCELLED));
+    }
+
+    @Test
+    void failedBoardBuildIsNotCached() {
+        givenRoutes(true);
+        when(flightRepository.findItineraryLegsInTimeRange(any(), any(), eq(FlightStatus.CANCELLED)))
+                .thenThrow(new IllegalStateException("db down"))
+                .thenReturn(flights);
+
+        assertThatThrownBy(() -> itinerarySearchService.search("IST", "ADB", DATE, null, 1, 30, 10))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(itinerarySearchService.search("IST", "ADB", DATE, null, 1, 30, 10)).hasSize(2);
+    }
+
+    @Test
+    void rejectsInvalidParameters() {
+        assertThatThrownBy(() -> itinerarySearchService.search("IST", "ist", DATE, null, 1, 30, 10))
+                .isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> itinerarySearchService.search("IST", "ADB", DATE, null, 4, 30, 10))
+                .isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> itinerarySearchService.search("IST", "ADB", DATE, null, 1, -1, 10))
+                .isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> itinerarySearchService.search(" ", "ADB", DATE, null, 1, 30, 10))
+                .isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> itinerarySearchService.search("IST", "ADB", null, null, 1, 30, 10))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    private void givenBoard() {
+        givenRoutes(true);
+        givenFlights();
+    }
+
+    private void givenRoutes(boolean resolvableConnection) {
+        when(referenceLookupContext.openScope(anyString())).thenReturn(true);
+        when(referenceLookupContext.getRoute(1L)).thenReturn(route(1L, "IST", "ESB"));
+        when(referenceLookupContext.getRoute(2L)).thenReturn(resolvableConnection ? route(2L, "ESB", "ADB") : null);
+        when(referenceLookupContext.getRoute(3L)).thenReturn(route(3L, "IST", "ADB"));
+    }
+
+    private void givenFlights() {
+        when(flightRepository.findItineraryLegsInTimeRange(any(), any(), eq(FlightStatus.CANCELLED)))
+                .thenReturn(flights);
+    }
+
+    private List<Long> flightIds(ItineraryResponse itinerary) {
+        return itinerary.getLegs().stream()
+                .map(ItineraryResponse.Leg::getFlightId)
+                .collect(Collectors.toList());
+    }
+
+    private static LocalDateTime at(int hour, int minute) {
+        return DATE.atTime(hour, minute);
+    }
+
+    private static Flight flight(Long id, String flightNumber, Long routeId,
+                                 LocalDateTime departure, LocalDateTime arrival) {
+        Flight flight = new Flight();
+        flight.setId(id);
+        flight.setFlightNumber(flightNumber);
+        flight.setRouteId(routeId);
+        flight.setFlightDate(DATE);
+        flight.setScheduledDeparture(departure);
+        flight.setScheduledArrival(arrival);
+        return flight;
+    }
+
+    private static RouteCache route(Long id, String origin, String destination) {
+        RouteCache route = new RouteCache();
+        route.setId(id);
+        route.setOriginAirportCode(origin);
+        route.setDestinationAirportCode(destination);
+        return route;
+    }
+}
@@ -0,0 +1,101 @@
+package com.flightmanagement.flightservice.service;
+
+import com.flightmanagement.flightservice.dto.cache.AirlineCache;
+import com.flightmanagement.flightservice.dto.cache.RouteCache;
+import com.flightmanagement.flightservice.metrics.CacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Batch prefetch: önce ReferenceDataService'in @Cacheable cache'leri, sadece eksik ID'ler
+ * batch endpoint'ine gider ve sonuçlar aynı cache'e yazılır.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReferenceLookupContextTest {
+
+    @Mock
+    private ReferenceDataService referenceDataService;
+
+    private final CacheManager cacheManager = new ConcurrentMapCacheManager("airlines", "aircraft", "routes", "airports");
+
+    private ReferenceLookupContext referenceLookupContext;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("cacheManager", cacheManager);
+
+        referenceLookupContext = new ReferenceLookupContext(referenceDataService, meterRegistry,
+                new CacheMetrics(meterRegistry), beanFactory.getBeanProvider(CacheManager.class));
+        referenceLookupContext.openScope("test");
+    }
+
+    @AfterEach
+    void tearDown() {
+        referenceLookupContext.closeScope();
+    }
+
+    @Test
+    void onlyCacheMissesAreBatchFetchedAndWrittenBack() {
+        cacheManager.getCache("airlines").put(1L, airline(1L, "TK"));
+        when(referenceDataService.getAirlinesByIds(aryEq(new Long[]{2L})))
+                .thenReturn(new AirlineCache[]{airline(2L, "PC")});
+
+        referenceLookupContext.prefetchAirlines(List.of(1L, 2L));
+
+        assertThat(referenceLookupContext.getAirline(1L).getIataCode()).isEqualTo("TK");
+        assertThat(referenceLookupContext.getAirline(2L).getIataCode()).isEqualTo("PC");
+        assertThat(cacheManager.getCache("airlines").get(2L, AirlineCache.class).getIataCode()).isEqualTo("PC");
+        verify(referenceDataService, never()).getAirline(1L);
+        verify(referenceDataService, never()).getAirline(2L);
+        assertThat(referenceLookupContext.getCurrentLookupCounts().get("remote")).isEqualTo(1);
+    }
+
+    @Test
+    void fullyCachedIdsSkipTheBatchEndpoint() {
+        RouteCache route = new RouteCache();
+        route.setId(7L);
+        cacheManager.getCache("routes").put(7L, route);
+
+        referenceLookupContext.prefetchRoutes(List.of(7L));
+
+        assertThat(referenceLookupContext.getRoute(7L)).isSameAs(route);
+        verifyNoInteractions(referenceDataService);
+        assertThat(referenceLookupContext.getCurrentLookupCounts().get("remote")).isZero();
+    }
+
+    @Test
+    void idsMissingFromBatchAreNotCached() {
+        when(referenceDataService.getAirlinesByIds(aryEq(new Long[]{3L}))).thenReturn(new AirlineCache[0]);
+
+        referenceLookupContext.prefetchAirlines(List.of(3L));
+
+        assertThat(referenceLookupContext.getAirline(3L)).isNull();
+        assertThat(cacheManager.getCache("airlines").get(3L)).isNull();
+    }
+
+    private AirlineCache airline(Long id, String iataCode) {
+        AirlineCache airline = new AirlineCache();
+        airline.setId(id);
+        airline.setIataCode(iataCode);
+        return airline;
+    }
+}
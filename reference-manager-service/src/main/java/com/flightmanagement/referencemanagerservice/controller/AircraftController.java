@@ -26,6 +26,11 @@ public class AircraftController {
         return ResponseEntity.ok(aircraftService.getAllAircrafts(pageable));
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<AircraftResponse>> getAircraftsByIds(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(aircraftService.getAircraftsByIds(ids));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<AircraftResponse> getAircraftById(@PathVariable Long id) {
         return ResponseEntity.ok(aircraftService.getAircraftById(id));
@@ -27,6 +27,11 @@ public class AirlineController {
         return ResponseEntity.ok(airlineService.getAllAirlines(pageable));
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<AirlineResponse>> getAirlinesByIds(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(airlineService.getAirlinesByIds(ids));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<AirlineResponse> getAirlineById(@PathVariable Long id) {
         return ResponseEntity.ok(airlineService.getAirlineById(id));
@@ -27,6 +27,11 @@ public class AirportController {
         return ResponseEntity.ok(airportService.getAllAirports(pageable));
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<AirportResponse>> getAirportsByIds(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(airportService.getAirportsByIds(ids));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<AirportResponse> getAirportById(@PathVariable Long id) {
         return ResponseEntity.ok(airportService.getAirportById(id));
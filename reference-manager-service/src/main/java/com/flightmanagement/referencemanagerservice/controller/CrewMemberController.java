@@ -2,14 +2,19 @@ package com.flightmanagement.referencemanagerservice.controller;
 
 import com.flightmanagement.referencemanagerservice.dto.request.CrewMemberRequest;
 import com.flightmanagement.referencemanagerservice.dto.response.CrewMemberResponse;
+import com.flightmanagement.referencemanagerservice.entity.enums.CrewStatus;
+import com.flightmanagement.referencemanagerservice.entity.enums.CrewType;
 import com.flightmanagement.referencemanagerservice.service.CrewMemberService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.util.Collections;
 import java.util.List;
 
 @RestController
@@ -24,6 +29,31 @@ public class CrewMemberController {
         return ResponseEntity.ok(crewMemberService.getAllCrewMembers());
     }
 
+    /**
+     * Örn. /eligible?airlineId=1&crewType=CAPTAIN&crewType=FIRST_OFFICER&aircraftType=A320&language=EN&licenseValidOn=2025-07-01
+     */
+    @GetMapping("/eligible")
+    public ResponseEntity<List<CrewMemberResponse>> getEligibleCrewMembers(
+            @RequestParam(required = false) Long airlineId,
+            @RequestParam(name = "crewType", required = false) List<CrewType> crewTypes,
+            @RequestParam(defaultValue = "ACTIVE") CrewStatus status,
+            @RequestParam(name = "aircraftType", required = false) List<String> aircraftTypes,
+            @RequestParam(name = "language", required = false) List<String> languages,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate licenseValidOn) {
+
+        return ResponseEntity.ok(crewMemberService.findEligibleCrewMembers(airlineId,
+                orEmpty(crewTypes), status, orEmpty(aircraftTypes), orEmpty(languages), licenseValidOn));
+    }
+
+    @GetMapping("/license-expiries")
+    public ResponseEntity<List<CrewMemberResponse>> getExpiringLicenses(
+            @RequestParam(required = false) Long airlineId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+        return ResponseEntity.ok(crewMemberService.findExpiringLicenses(airlineId, from, to));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<CrewMemberResponse> getCrewMemberById(@PathVariable Long id) {
         return ResponseEntity.ok(crewMemberService.getCrewMemberById(id));
@@ -48,4 +78,8 @@ public class CrewMemberController {
         crewMemberService.deleteCrewMember(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    private static <T> List<T> orEmpty(List<T> values) {
+        return values != null ? values : Collections.emptyList();
+    }
+}
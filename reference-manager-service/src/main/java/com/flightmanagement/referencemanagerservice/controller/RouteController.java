@@ -61,6 +61,14 @@ public class RouteController {
         return ResponseEntity.ok(routeService.getSharedRoutesForAirline(airlineId, pageable));
     }
 
+    /**
+     * ID listesindeki route'ları tek çağrıda getir
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<RouteResponse>> getRoutesByIds(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(routeService.getRoutesByIds(ids));
+    }
+
     /**
      * Route detayını getir
      */
@@ -2,6 +2,7 @@ package com.flightmanagement.referencemanagerservice.repository;
 
 import com.flightmanagement.referencemanagerservice.entity.CrewMember;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,4 +12,9 @@ public interface CrewMemberRepository extends JpaRepository<CrewMember, Long> {
     List<CrewMember> findByAirlineId(Long airlineId);
     boolean existsByEmployeeNumber(String employeeNumber);
     long countByAirlineId(Long airlineId);
+
+    // CrewEligibilityIndex kurulumu: entity/airline yüklemeden yalnızca index kolonları
+    @Query("SELECT c.id, c.airline.id, c.crewType, c.status, c.aircraftQualifications, c.languages, c.licenseExpiry " +
+            "FROM CrewMember c")
+    List<Object[]> findEligibilityRows();
 }
\ No newline at end of file
@@ -0,0 +1,112 @@
+package com.flightmanagement.referencemanagerservice.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Doğrulanmış JWT'lerin sınırlı cache'i.
+ *
+ * Servisler arası çağrılar aynı token'ı dakikada binlerce kez gönderir; token bir kez
+ * parse + HMAC doğrulanır, sonraki isteklerde hazır principal döner. Key token'ın SHA-256
+ * hash'idir (ham token bellekte tutulmaz). Entry token'ın exp claim'inde veya en geç
+ * max-ttl sonunda düşer. Geçersiz token'lar cache'lenmez.
+ */
+@Component
+@Slf4j
+public class VerifiedTokenCache {
+
+    @Value("${jwt.verification-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${jwt.verification-cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${jwt.verification-cache.max-ttl-seconds:300}")
+    private long maxTtlSeconds;
+
+    private final ConcurrentHashMap<String, CachedPrincipal> entries = new ConcurrentHashMap<>();
+
+    public UserDetails getOrVerify(String token, Function<String, JwtTokenProvider.VerifiedToken> verifier) {
+        if (!enabled) {
+            JwtTokenProvider.VerifiedToken verified = verifier.apply(token);
+            return verified != null ? verified.getUserDetails() : null;
+        }
+
+        String key = hash(token);
+        long now = System.currentTimeMillis();
+
+        CachedPrincipal cached = entries.get(key);
+        if (cached != null) {
+            if (now < cached.expiresAtMillis) {
+                return cached.userDetails;
+            }
+            entries.remove(key, cached);
+        }
+
+        JwtTokenProvider.VerifiedToken verified = verifier.apply(token);
+        if (verified == null) {
+            return null;
+        }
+
+        long expiresAt = now + maxTtlSeconds * 1000;
+        if (verified.getExpiration() != null) {
+            expiresAt = Math.min(expiresAt, verified.getExpiration().getTime());
+        }
+        if (expiresAt > now) {
+            if (entries.size() >= maxSize) {
+                evict(now);
+            }
+            entries.put(key, new CachedPrincipal(verified.getUserDetails(), expiresAt));
+        }
+        return verified.getUserDetails();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evict(long now) {
+        entries.values().removeIf(entry -> now >= entry.expiresAtMillis);
+        if (entries.size() < maxSize) {
+            return;
+        }
+
+        // Hâlâ doluysa rastgele ~%10 entry çıkarılır (yeniden doğrulama sadece bir parse maliyeti)
+        int target = Math.max(0, maxSize - Math.max(1, maxSize / 10));
+        Iterator<String> iterator = entries.keySet().iterator();
+        while (entries.size() > target && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+        log.debug("Verified token cache evicted down to {} entries", entries.size());
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class CachedPrincipal {
+        private final UserDetails userDetails;
+        private final long expiresAtMillis;
+
+        private CachedPrincipal(UserDetails userDetails, long expiresAtMillis) {
+            this.userDetails = userDetails;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
@@ -16,6 +16,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -38,6 +39,21 @@ public class AircraftService {
         return aircraftPage.map(aircraftMapper::toResponse);
     }
 
+    /**
+     * Birden fazla aircraft'ı tek sorguda döner (flight-service batch enrichment için).
+     * Bulunamayan ID'ler sessizce atlanır.
+     */
+    @Transactional(readOnly = true)
+    public List<AircraftResponse> getAircraftsByIds(List<Long> ids) {
+        log.debug("Fetching aircrafts by ids: {}", ids.size());
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return aircraftRepository.findAllById(new HashSet<>(ids)).stream()
+                .map(aircraftMapper::toResponse)
+                .toList();
+    }
+
     public AircraftResponse getAircraftById(Long id) {
         log.debug("Fetching aircraft with id: {}", id);
         Aircraft aircraft = aircraftRepository.findById(id)
@@ -20,6 +20,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -45,6 +46,21 @@ public class AirlineService {
         return airlinePage.map(airlineMapper::toResponse);
     }
 
+    /**
+     * Birden fazla airline'i tek sorguda döner (flight-service batch enrichment için).
+     * Bulunamayan ID'ler sessizce atlanır.
+     */
+    @Transactional(readOnly = true)
+    public List<AirlineResponse> getAirlinesByIds(List<Long> ids) {
+        log.debug("Fetching airlines by ids: {}", ids.size());
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return airlineRepository.findAllById(new HashSet<>(ids)).stream()
+                .map(airlineMapper::toResponse)
+                .toList();
+    }
+
     public AirlineResponse getAirlineById(Long id) {
         log.debug("Fetching airline with id: {}", id);
         Airline airline = airlineRepository.findById(id)
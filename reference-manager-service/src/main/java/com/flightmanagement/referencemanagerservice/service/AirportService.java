@@ -45,6 +45,21 @@ public class AirportService {
         return airportPage.map(airportMapper::toResponse);
     }
 
+    /**
+     * Birden fazla airport'i tek sorguda döner (flight-service batch enrichment için).
+     * Bulunamayan ID'ler sessizce atlanır.
+     */
+    @Transactional(readOnly = true)
+    public List<AirportResponse> getAirportsByIds(List<Long> ids) {
+        log.debug("Fetching airports by ids: {}", ids.size());
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return airportRepository.findAllById(new HashSet<>(ids)).stream()
+                .map(airportMapper::toResponse)
+                .toList();
+    }
+
     public AirportResponse getAirportById(Long id) {
         log.debug("Fetching airport with id: {}", id);
         Airport airport = airportRepository.findById(id)
@@ -0,0 +1,421 @@
+package com.flightmanagement.referencemanagerservice.service;
+
+import com.flightmanagement.referencemanagerservice.entity.CrewMember;
+import com.flightmanagement.referencemanagerservice.entity.enums.CrewStatus;
+import com.flightmanagement.referencemanagerservice.entity.enums.CrewType;
+import com.flightmanagement.referencemanagerservice.repository.CrewMemberRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Crew uygunluk sorguları için bellek içi bitset index'i.
+ *
+ * Her crew member'a yoğun bir slot numarası verilir. Havayolu + crew type grupları, status,
+ * aircraft qualification ve dil değerlerinin her biri slot'lardan oluşan bir BitSet'tir;
+ * "X havayolunun A320 yetkili, EN konuşan aktif kaptanları" sorgusu birkaç BitSet AND'idir,
+ * virgüllü string'ler sorgu anında parse edilmez. Lisans bitiş tarihleri ayrıca tarihe göre
+ * sıralı tutulur (yaklaşan lisans bitişleri aralık taramasıdır).
+ *
+ * Index başlangıçta veritabanından kurulur, sonrasında CrewMemberService mutasyonlarından
+ * commit sonrası güncellenir. Diğer replikaların (ve servis dışı yazımların) değişiklikleri
+ * periyodik rebuild ile en geç crew.eligibility-index.rebuild-interval-ms içinde yansır.
+ * Rebuild lock dışında kurulur; bu sırada gelen yerel mutasyonlar kaydedilip yeni state'e
+ * uygulandıktan sonra state değiştirilir. Okumalar read lock, güncellemeler write lock altındadır.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CrewEligibilityIndex {
+
+    private static final BitSet EMPTY = new BitSet();
+
+    private final CrewMemberRepository crewMemberRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private IndexState state = new IndexState();
+
+    // Rebuild sürerken gelen mutasyonlar (write lock altında erişilir); rebuild yokken null
+    private List<Consumer<IndexState>> pendingMutations;
+
+    @PostConstruct
+    public void initialize() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${crew.eligibility-index.rebuild-interval-ms:60000}",
+            initialDelayString = "${crew.eligibility-index.rebuild-interval-ms:60000}")
+    public void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("Crew eligibility index rebuild failed, keeping previous state: {}", e.getMessage());
+        }
+    }
+
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingMutations = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        IndexState rebuilt = new IndexState();
+        try {
+            for (Object[] row : crewMemberRepository.findEligibilityRows()) {
+                rebuilt.add(Entry.of(row));
+            }
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingMutations = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            // Sorgudan önce commit olmuş mutasyonlar iki kez uygulanır; upsert/remove idempotent
+            for (Consumer<IndexState> mutation : pendingMutations) {
+                mutation.accept(rebuilt);
+            }
+            pendingMutations = null;
+            state = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.debug("Crew eligibility index rebuilt with {} crew members", rebuilt.slotsById.size());
+    }
+
+    // ===============================
+    // GÜNCELLEME
+    // ===============================
+
+    /**
+     * Kaydedilen crew member'ın snapshot'ını alır, transaction commit olduktan sonra index'e yazar
+     */
+    public void onSaved(CrewMember crewMember) {
+        Entry entry = Entry.of(crewMember);
+        afterCommit(() -> put(entry));
+    }
+
+    public void onDeleted(Long crewMemberId) {
+        afterCommit(() -> remove(crewMemberId));
+    }
+
+    public void put(Entry entry) {
+        apply(target -> {
+            target.remove(entry.id);
+            target.add(entry);
+        });
+    }
+
+    public void remove(Long crewMemberId) {
+        apply(target -> target.remove(crewMemberId));
+    }
+
+    private void apply(Consumer<IndexState> mutation) {
+        lock.writeLock().lock();
+        try {
+            mutation.accept(state);
+            if (pendingMutations != null) {
+                pendingMutations.add(mutation);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // ===============================
+    // SORGU
+    // ===============================
+
+    /**
+     * Tüm kriterleri sağlayan crew member ID'leri (artan sırada).
+     *
+     * @param airlineId      null ise tüm havayolları
+     * @param crewTypes      boş ise tüm crew type'lar (ör. pilotlar için CAPTAIN + FIRST_OFFICER)
+     * @param status         null ise tüm status'lar
+     * @param aircraftTypes  hepsinde yetkili olmalı
+     * @param languages      hepsini konuşmalı
+     * @param licenseValidOn null değilse lisansı bu tarihten sonra bitmeli
+     */
+    public List<Long> findEligible(Long airlineId, Collection<CrewType> crewTypes, CrewStatus status,
+                                   Collection<String> aircraftTypes, Collection<String> languages,
+                                   LocalDate licenseValidOn) {
+        lock.readLock().lock();
+        try {
+            IndexState current = state;
+            BitSet candidates = current.group(airlineId, crewTypes);
+            if (status != null) {
+                candidates.and(current.byStatus.getOrDefault(status, EMPTY));
+            }
+            for (String aircraftType : aircraftTypes) {
+                candidates.and(current.byQualification.getOrDefault(normalize(aircraftType), EMPTY));
+            }
+            for (String language : languages) {
+                candidates.and(current.byLanguage.getOrDefault(normalize(language), EMPTY));
+            }
+
+            List<Long> ids = new ArrayList<>(candidates.cardinality());
+            for (int slot = candidates.nextSetBit(0); slot >= 0; slot = candidates.nextSetBit(slot + 1)) {
+                Entry entry = current.entries.get(slot);
+                if (licenseValidOn == null || entry.isLicenseValidOn(licenseValidOn)) {
+                    ids.add(entry.id);
+                }
+            }
+            Collections.sort(ids);
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lisansı [from, to] aralığında biten crew member ID'leri, bitiş tarihine göre sıralı
+     */
+    public List<Long> findExpiringLicenses(Long airlineId, LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            IndexState current = state;
+            BitSet scope = airlineId != null ? current.group(airlineId, Collections.emptyList()) : null;
+
+            List<Long> ids = new ArrayList<>();
+            for (BitSet slots : current.byLicenseExpiry.subMap(from, true, to, true).values()) {
+                for (int slot = slots.nextSetBit(0); slot >= 0; slot = slots.nextSetBit(slot + 1)) {
+                    if (scope == null || scope.get(slot)) {
+                        ids.add(current.entries.get(slot).id);
+                    }
+                }
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return state.slotsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static String normalize(String code) {
+        return code.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static List<String> parseCodes(String commaSeparated) {
+        if (commaSeparated == null || commaSeparated.isBlank()) {
+            return Collections.emptyList();
+        }
+        List<String> codes = new ArrayList<>();
+        for (String code : commaSeparated.split(",")) {
+            if (!code.isBlank()) {
+                codes.add(normalize(code));
+            }
+        }
+        return codes;
+    }
+
+    /**
+     * Index'in tek bir crew member için tuttuğu immutable snapshot
+     */
+    public static final class Entry {
+        private final Long id;
+        private final Long airlineId;
+        private final CrewType crewType;
+        private final CrewStatus status;
+        private final List<String> qualifications;
+        private final List<String> languages;
+        private final LocalDate licenseExpiry;
+
+        private Entry(Long id, Long airlineId, CrewType crewType, CrewStatus status,
+                      String qualifications, String languages, LocalDate licenseExpiry) {
+            this.id = id;
+            this.airlineId = airlineId;
+            this.crewType = crewType;
+            this.status = status;
+            this.qualifications = parseCodes(qualifications);
+            this.languages = parseCodes(languages);
+            this.licenseExpiry = licenseExpiry;
+        }
+
+        public static Entry of(CrewMember crewMember) {
+            return new Entry(crewMember.getId(),
+                    crewMember.getAirline() != null ? crewMember.getAirline().getId() : null,
+                    crewMember.getCrewType(), crewMember.getStatus(),
+                    crewMember.getAircraftQualifications(), crewMember.getLanguages(),
+                    crewMember.getLicenseExpiry());
+        }
+
+        /**
+         * CrewMemberRepository.findEligibilityRows satırı:
+         * [id, airlineId, crewType, status, aircraftQualifications, languages, licenseExpiry]
+         */
+        static Entry of(Object[] row) {
+            return new Entry((Long) row[0], (Long) row[1], (CrewType) row[2], (CrewStatus) row[3],
+                    (String) row[4], (String) row[5], (LocalDate) row[6]);
+        }
+
+        // CrewMember.isLicenseValid ile aynı kural, verilen tarihe göre
+        boolean isLicenseValidOn(LocalDate date) {
+            return licenseExpiry != null && licenseExpiry.isAfter(date);
+        }
+    }
+
+    /**
+     * Slot tabanlı index yapıları; yalnızca lock altında erişilir
+     */
+    private static final class IndexState {
+        private final Map<Long, Integer> slotsById = new HashMap<>();
+        private final List<Entry> entries = new ArrayList<>();
+        private final BitSet freeSlots = new BitSet();
+
+        private final Map<Long, Map<CrewType, BitSet>> byAirlineAndType = new HashMap<>();
+        private final Map<CrewStatus, BitSet> byStatus = new EnumMap<>(CrewStatus.class);
+        private final Map<String, BitSet> byQualification = new HashMap<>();
+        private final Map<String, BitSet> byLanguage = new HashMap<>();
+        private final NavigableMap<LocalDate, BitSet> byLicenseExpiry = new TreeMap<>();
+
+        void add(Entry entry) {
+            int slot = freeSlots.nextSetBit(0);
+            if (slot < 0) {
+                slot = entries.size();
+                entries.add(entry);
+            } else {
+                freeSlots.clear(slot);
+                entries.set(slot, entry);
+            }
+            slotsById.put(entry.id, slot);
+
+            if (entry.crewType != null) {
+                byAirlineAndType.computeIfAbsent(entry.airlineId, id -> new EnumMap<>(CrewType.class))
+                        .computeIfAbsent(entry.crewType, type -> new BitSet()).set(slot);
+            }
+            if (entry.status != null) {
+                byStatus.computeIfAbsent(entry.status, s -> new BitSet()).set(slot);
+            }
+            for (String qualification : entry.qualifications) {
+                byQualification.computeIfAbsent(qualification, q -> new BitSet()).set(slot);
+            }
+            for (String language : entry.languages) {
+                byLanguage.computeIfAbsent(language, l -> new BitSet()).set(slot);
+            }
+            if (entry.licenseExpiry != null) {
+                byLicenseExpiry.computeIfAbsent(entry.licenseExpiry, d -> new BitSet()).set(slot);
+            }
+        }
+
+        void remove(Long id) {
+            Integer slot = slotsById.remove(id);
+            if (slot == null) {
+                return;
+            }
+            Entry entry = entries.get(slot);
+            entries.set(slot, null);
+            freeSlots.set(slot);
+
+            if (entry.crewType != null) {
+                Map<CrewType, BitSet> types = byAirlineAndType.get(entry.airlineId);
+                clear(types, entry.crewType, slot);
+                if (types.isEmpty()) {
+                    byAirlineAndType.remove(entry.airlineId);
+                }
+            }
+            if (entry.status != null) {
+                clear(byStatus, entry.status, slot);
+            }
+            for (String qualification : entry.qualifications) {
+                clear(byQualification, qualification, slot);
+            }
+            for (String language : entry.languages) {
+                clear(byLanguage, language, slot);
+            }
+            if (entry.licenseExpiry != null) {
+                clear(byLicenseExpiry, entry.licenseExpiry, slot);
+            }
+        }
+
+        /**
+         * Havayolu / crew type filtresine uyan slot'ların kopyası (sonuç üzerinde AND yapılabilir)
+         */
+        BitSet group(Long airlineId, Collection<CrewType> crewTypes) {
+            BitSet result = new BitSet(entries.size());
+            if (airlineId != null) {
+                orTypes(result, byAirlineAndType.get(airlineId), crewTypes);
+            } else {
+                for (Map<CrewType, BitSet> types : byAirlineAndType.values()) {
+                    orTypes(result, types, crewTypes);
+                }
+            }
+            return result;
+        }
+
+        private static void orTypes(BitSet result, Map<CrewType, BitSet> types, Collection<CrewType> crewTypes) {
+            if (types == null) {
+                return;
+            }
+            if (crewTypes.isEmpty()) {
+                for (BitSet slots : types.values()) {
+                    result.or(slots);
+                }
+                return;
+            }
+            for (CrewType crewType : crewTypes) {
+                BitSet slots = types.get(crewType);
+                if (slots != null) {
+                    result.or(slots);
+                }
+            }
+        }
+
+        private static <K> void clear(Map<K, BitSet> index, K key, int slot) {
+            BitSet slots = index.get(key);
+            if (slots == null) {
+                return;
+            }
+            slots.clear(slot);
+            if (slots.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+}
@@ -4,6 +4,8 @@ import com.flightmanagement.referencemanagerservice.dto.request.CrewMemberReques
 import com.flightmanagement.referencemanagerservice.dto.response.CrewMemberResponse;
 import com.flightmanagement.referencemanagerservice.entity.Airline;
 import com.flightmanagement.referencemanagerservice.entity.CrewMember;
+import com.flightmanagement.referencemanagerservice.entity.enums.CrewStatus;
+import com.flightmanagement.referencemanagerservice.entity.enums.CrewType;
 import com.flightmanagement.referencemanagerservice.exception.ResourceNotFoundException;
 import com.flightmanagement.referencemanagerservice.exception.DuplicateResourceException;
 import com.flightmanagement.referencemanagerservice.mapper.CrewMemberMapper;
@@ -14,7 +16,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,6 +33,7 @@ public class CrewMemberService {
     private final AirlineRepository airlineRepository;
     private final CrewMemberMapper crewMemberMapper;
     private final KafkaProducerService kafkaProducerService;
+    private final CrewEligibilityIndex crewEligibilityIndex;
 
     public List<CrewMemberResponse> getAllCrewMembers() {
         log.debug("Fetching all crew members");
@@ -41,6 +49,26 @@ public class CrewMemberService {
         return crewMemberMapper.toResponse(crewMember);
     }
 
+    /**
+     * Uygunluk sorgusu CrewEligibilityIndex üzerinden çözülür; yalnızca eşleşen crew member'lar yüklenir
+     */
+    @Transactional(readOnly = true)
+    public List<CrewMemberResponse> findEligibleCrewMembers(Long airlineId, List<CrewType> crewTypes, CrewStatus status,
+                                                            List<String> aircraftTypes, List<String> languages,
+                                                            LocalDate licenseValidOn) {
+        log.debug("Finding eligible crew members for airline: {}, types: {}, aircraft: {}, languages: {}, license valid on: {}",
+                airlineId, crewTypes, aircraftTypes, languages, licenseValidOn);
+        List<Long> ids = crewEligibilityIndex.findEligible(airlineId, crewTypes, status,
+                aircraftTypes, languages, licenseValidOn);
+        return loadInOrder(ids);
+    }
+
+    @Transactional(readOnly = true)
+    public List<CrewMemberResponse> findExpiringLicenses(Long airlineId, LocalDate from, LocalDate to) {
+        log.debug("Finding crew licenses expiring between {} and {} for airline: {}", from, to, airlineId);
+        return loadInOrder(crewEligibilityIndex.findExpiringLicenses(airlineId, from, to));
+    }
+
     public CrewMemberResponse createCrewMember(CrewMemberRequest request) {
         log.debug("Creating new crew member with employee number: {}", request.getEmployeeNumber());
 
@@ -55,6 +83,7 @@ public class CrewMemberService {
         crewMember.setAirline(airline);
 
         crewMember = crewMemberRepository.save(crewMember);
+        crewEligibilityIndex.onSaved(crewMember);
 
         kafkaProducerService.sendCrewMemberEvent("CREW_MEMBER_CREATED", crewMember);
 
@@ -80,6 +109,7 @@ public class CrewMemberService {
 
         crewMemberMapper.updateEntity(crewMember, request);
         crewMember = crewMemberRepository.save(crewMember);
+        crewEligibilityIndex.onSaved(crewMember);
 
         kafkaProducerService.sendCrewMemberEvent("CREW_MEMBER_UPDATED", crewMember);
 
@@ -93,7 +123,21 @@ public class CrewMemberService {
                 .orElseThrow(() -> new ResourceNotFoundException("Crew member not found with id: " + id));
 
         crewMemberRepository.delete(crewMember);
+        crewEligibilityIndex.onDeleted(id);
 
         kafkaProducerService.sendCrewMemberEvent("CREW_MEMBER_DELETED", crewMember);
     }
+
+    private List<CrewMemberResponse> loadInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, CrewMember> crewMembers = crewMemberRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(CrewMember::getId, Function.identity()));
+        return ids.stream()
+                .map(crewMembers::get)
+                .filter(Objects::nonNull)
+                .map(crewMemberMapper::toResponse)
+                .collect(Collectors.toList());
+    }
 }
\ No newline at end of file
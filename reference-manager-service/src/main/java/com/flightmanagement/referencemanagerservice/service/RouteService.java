@@ -23,6 +23,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -111,6 +112,21 @@ public class RouteService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Birden fazla route'i tek sorguda döner (flight-service batch enrichment için).
+     * Bulunamayan ID'ler sessizce atlanır.
+     */
+    @Transactional(readOnly = true)
+    public List<RouteResponse> getRoutesByIds(List<Long> ids) {
+        log.debug("Fetching routes by ids: {}", ids.size());
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return routeRepository.findAllById(new HashSet<>(ids)).stream()
+                .map(routeMapper::toResponse)
+                .toList();
+    }
+
     public RouteResponse getRouteById(Long id) {
         log.debug("Fetching route with id: {}", id);
         Route route = routeRepository.findById(id)
@@ -0,0 +1,168 @@
+package com.flightmanagement.referencemanagerservice.service;
+
+import com.flightmanagement.referencemanagerservice.entity.enums.CrewStatus;
+import com.flightmanagement.referencemanagerservice.entity.enums.CrewType;
+import com.flightmanagement.referencemanagerservice.repository.CrewMemberRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CrewEligibilityIndexTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 19);
+
+    private final CrewMemberRepository repository = mock(CrewMemberRepository.class);
+    private final CrewEligibilityIndex index = new CrewEligibilityIndex(repository);
+
+    @Test
+    void emptyIndexMatchesNothing() {
+        givenRows();
+
+        assertThat(index.size()).isZero();
+        assertThat(findAll()).isEmpty();
+        assertThat(index.findEligible(1L, List.of(CrewType.CAPTAIN), CrewStatus.ACTIVE,
+                List.of("A320"), List.of("EN"), TODAY)).isEmpty();
+        assertThat(index.findExpiringLicenses(null, TODAY, TODAY.plusYears(10))).isEmpty();
+    }
+
+    @Test
+    void fullBitsetAcrossWordBoundariesReturnsEveryMember() {
+        // 130 slot: BitSet'in üç long word'ünü de doldurur
+        List<Object[]> rows = new ArrayList<>();
+        for (long id = 1; id <= 130; id++) {
+            rows.add(row(id, 1L, CrewType.CAPTAIN, CrewStatus.ACTIVE, "A320,B737", "EN,TR", TODAY.plusYears(1)));
+        }
+        givenRows(rows.toArray(new Object[0][]));
+
+        List<Long> expected = LongStream.rangeClosed(1, 130).boxed().collect(Collectors.toList());
+        assertThat(index.size()).isEqualTo(130);
+        assertThat(index.findEligible(1L, List.of(CrewType.CAPTAIN), CrewStatus.ACTIVE,
+                List.of("A320", "B737"), List.of("EN", "TR"), TODAY)).isEqualTo(expected);
+        assertThat(index.findEligible(1L, List.of(CrewType.CAPTAIN), CrewStatus.ACTIVE,
+                List.of("A350"), List.of(), null)).isEmpty();
+    }
+
+    @Test
+    void everyCriterionNarrowsTheCandidates() {
+        givenRows(
+                row(1L, 1L, CrewType.CAPTAIN, CrewStatus.ACTIVE, "A320,B737", "EN,TR", TODAY.plusYears(1)),
+                row(2L, 1L, CrewType.FIRST_OFFICER, CrewStatus.ACTIVE, "A320", "EN", TODAY.plusYears(1)),
+                row(3L, 1L, CrewType.CAPTAIN, CrewStatus.ON_LEAVE, "A320", "EN", TODAY.plusYears(1)),
+                row(4L, 2L, CrewType.CAPTAIN, CrewStatus.ACTIVE, "A320", "EN", TODAY.plusYears(1)),
+                row(5L, 1L, CrewType.CAPTAIN, CrewStatus.ACTIVE, "B737", "EN", TODAY.plusYears(1)),
+                row(6L, 1L, CrewType.CAPTAIN, CrewStatus.ACTIVE, "A320", "DE", TODAY.plusYears(1)),
+                row(7L, 1L, CrewType.CAPTAIN, CrewStatus.ACTIVE, "A320", "EN", TODAY));
+
+        List<CrewType> pilots = List.of(CrewType.CAPTAIN, CrewType.FIRST_OFFICER);
+
+        assertThat(index.findEligible(1L, pilots, CrewStatus.ACTIVE, List.of(" a320 "), List.of("en"), TODAY))
+                .containsExactly(1L, 2L);
+        assertThat(index.findEligible(1L, List.of(CrewType.CAPTAIN), null, List.of("A320"), List.of(), null))
+                .containsExactly(1L, 3L, 6L, 7L);
+        assertThat(index.findEligible(null, List.of(CrewType.CAPTAIN), CrewStatus.ACTIVE, List.of("A320"), List.of("EN"), null))
+                .containsExactly(1L, 4L, 7L);
+        // Lisansı bugün biten (7) artık geçerli sayılmaz
+        assertThat(index.findEligible(1L, List.of(), CrewStatus.ACTIVE, List.of(), List.of(), TODAY))
+                .containsExactly(1L, 2L, 5L, 6L);
+    }
+
+    @Test
+    void removedSlotIsClearedAndReused() {
+        givenRows(
+                row(1L, 1L, CrewType.CAPTAIN, CrewStatus.ACTIVE, "A320", "EN", TODAY.plusYears(1)),
+                row(2L, 1L, CrewType.CAPTAIN, CrewStatus.ACTIVE, "A320", "EN", TODAY.plusYears(1)));
+
+        index.remove(1L);
+        assertThat(findAll()).containsExactly(2L);
+
+        // Yeni üye boşalan slot'u alır; eski üyenin bit'leri onu eşleştirmemeli
+        index.put(CrewEligibilityIndex.Entry.of(row(3L, 1L, CrewType.PURSER, CrewStatus.ACTIVE, "", "TR", null)));
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.findEligible(1L, List.of(CrewType.CAPTAIN), null, List.of("A320"), List.of(), null))
+                .containsExactly(2L);
+        assertThat(index.findEligible(1L, List.of(CrewType.PURSER), null, List.of(), List.of("TR"), null))
+                .containsExactly(3L);
+    }
+
+    @Test
+    void putReplacesPreviousSnapshotOfSameMember() {
+        givenRows(row(1L, 1L, CrewType.CAPTAIN, CrewStatus.ACTIVE, "A320", "EN", TODAY.plusYears(1)));
+
+        index.put(CrewEligibilityIndex.Entry.of(
+                row(1L, 1L, CrewType.CAPTAIN, CrewStatus.SUSPENDED, "B737", "EN", TODAY.plusYears(1))));
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.findEligible(1L, List.of(), CrewStatus.ACTIVE, List.of(), List.of(), null)).isEmpty();
+        assertThat(index.findEligible(1L, List.of(), CrewStatus.SUSPENDED, List.of("B737"), List.of(), null))
+                .containsExactly(1L);
+    }
+
+    @Test
+    void expiringLicensesAreOrderedByExpiryAndScopedToAirline() {
+        givenRows(
+                row(1L, 1L, CrewType.CAPTAIN, CrewStatus.ACTIVE, "", "", TODAY.plusDays(20)),
+                row(2L, 1L, CrewType.CAPTAIN, CrewStatus.ACTIVE, "", "", TODAY.plusDays(5)),
+                row(3L, 2L, CrewType.CAPTAIN, CrewStatus.ACTIVE, "", "", TODAY.plusDays(10)),
+                row(4L, 1L, CrewType.CAPTAIN, CrewStatus.ACTIVE, "", "", TODAY.plusDays(90)));
+
+        assertThat(index.findExpiringLicenses(null, TODAY, TODAY.plusDays(30))).containsExactly(2L, 3L, 1L);
+        assertThat(index.findExpiringLicenses(1L, TODAY, TODAY.plusDays(30))).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void mutationsDuringRebuildAreReplayedOntoNewState() {
+        givenRows(row(1L, 1L, CrewType.CAPTAIN, CrewStatus.ACTIVE, "A320", "EN", TODAY.plusYears(1)));
+
+        // Sorgu sürerken commit olan bir ekleme ve silme (sorgu sonucunda ikisi de yok)
+        when(repository.findEligibilityRows()).thenAnswer(invocation -> {
+            index.put(CrewEligibilityIndex.Entry.of(
+                    row(2L, 1L, CrewType.CAPTAIN, CrewStatus.ACTIVE, "A320", "EN", TODAY.plusYears(1))));
+            index.remove(1L);
+            List<Object[]> rows = new ArrayList<>();
+            rows.add(row(1L, 1L, CrewType.CAPTAIN, CrewStatus.ACTIVE, "A320", "EN", TODAY.plusYears(1)));
+            return rows;
+        });
+        index.rebuild();
+
+        assertThat(findAll()).containsExactly(2L);
+    }
+
+    @Test
+    void failedRebuildKeepsPreviousState() {
+        givenRows(row(1L, 1L, CrewType.CAPTAIN, CrewStatus.ACTIVE, "A320", "EN", TODAY.plusYears(1)));
+
+        when(repository.findEligibilityRows()).thenThrow(new IllegalStateException("db down"));
+        assertThatThrownBy(index::rebuild).isInstanceOf(IllegalStateException.class);
+
+        assertThat(findAll()).containsExactly(1L);
+        // Journal kapatılmış olmalı: sonraki mutasyonlar normal uygulanır
+        index.remove(1L);
+        assertThat(findAll()).isEmpty();
+    }
+
+    private List<Long> findAll() {
+        return index.findEligible(null, Collections.emptyList(), null,
+                Collections.emptyList(), Collections.emptyList(), null);
+    }
+
+    private void givenRows(Object[]... rows) {
+        List<Object[]> result = new ArrayList<>(List.of(rows));
+        when(repository.findEligibilityRows()).thenReturn(result);
+        index.initialize();
+    }
+
+    private static Object[] row(Long id, Long airlineId, CrewType crewType, CrewStatus status,
+                                String qualifications, String languages, LocalDate licenseExpiry) {
+        return new Object[]{id, airlineId, crewType, status, qualifications, languages, licenseExpiry};
+    }
+}